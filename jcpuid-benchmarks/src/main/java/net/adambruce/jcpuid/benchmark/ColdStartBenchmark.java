@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.benchmark;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.exception.CpuidException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time taken to obtain the first CPUID implementation in a new
+ * JVM, including extracting and loading the native library. Every fork runs
+ * a single invocation, so each sample is a cold start.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class ColdStartBenchmark {
+
+    /** The access path being measured. */
+    @Param
+    private CpuidAccess access;
+
+    /**
+     * Obtains the CPUID implementation and executes the first leaf.
+     *
+     * @return the result of the first execution
+     * @throws CpuidException if the implementation cannot be created
+     */
+    @Benchmark
+    public Object firstExecute() throws CpuidException {
+        Cpuid cpuid = access.create();
+        return cpuid.execute(0x0);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.benchmark;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.bridge.CpuidBridgeFactory;
+import net.adambruce.jcpuid.concurrent.StripedCounter;
+import net.adambruce.jcpuid.exception.CpuidException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the cost of identifying the current CPU and of incrementing a
+ * counter shared by every benchmark thread, comparing the per-CPU counter
+ * with {@link LongAdder} and {@link AtomicLong}. Run with {@code -t} set to
+ * the number of cores to see the effect of contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class CounterBenchmark {
+
+    /** Whether the foreign bridge may be used, on Java 22 and above. */
+    @Param({"true", "false"})
+    private String foreign;
+
+    /** The bridge used to identify the current CPU. */
+    private CpuidBridge bridge;
+
+    /** The per-CPU counter. */
+    private StripedCounter striped;
+
+    /** The counter striped by thread. */
+    private final LongAdder adder = new LongAdder();
+
+    /** The counter with a single cell. */
+    private final AtomicLong atomic = new AtomicLong();
+
+    /**
+     * Creates the bridge and the per-CPU counter.
+     *
+     * @throws CpuidException if the bridge cannot be created
+     */
+    @Setup
+    public void setup() throws CpuidException {
+        System.setProperty(CpuidBridgeFactory.FOREIGN_BRIDGE_PROPERTY,
+                foreign);
+        bridge = CpuidBridgeFactory.getPlatformBridge();
+        striped = StripedCounter.create(bridge);
+    }
+
+    /**
+     * Identifies the current CPU.
+     *
+     * @return the current CPU
+     */
+    @Benchmark
+    public int currentCpu() {
+        return bridge.getCurrentCpu();
+    }
+
+    /**
+     * Increments the per-CPU counter.
+     */
+    @Benchmark
+    public void stripedCounter() {
+        striped.increment();
+    }
+
+    /**
+     * Increments the counter striped by thread.
+     */
+    @Benchmark
+    public void longAdder() {
+        adder.increment();
+    }
+
+    /**
+     * Increments the counter with a single cell.
+     */
+    @Benchmark
+    public void atomicLong() {
+        atomic.incrementAndGet();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.benchmark;
+
+import net.adambruce.jcpuid.CachingCpuid;
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.CpuidFactory;
+import net.adambruce.jcpuid.bridge.CpuidBridgeFactory;
+import net.adambruce.jcpuid.exception.CpuidException;
+
+/**
+ * The ways of obtaining a {@link Cpuid} that the benchmarks compare. Each
+ * constant is used as the value of a {@code @Param}, so a new bridge or cache
+ * is benchmarked side by side with the existing ones by adding a constant.
+ * <p>
+ * Constants may set system properties that select a bridge, so they rely on
+ * JMH forking a new JVM for each parameter value, which it does by default.
+ */
+public enum CpuidAccess {
+
+    /** The platform bridge, which is the foreign bridge on Java 22+. */
+    PLATFORM {
+        @Override
+        Cpuid create() throws CpuidException {
+            return CpuidFactory.getPlatformCpuid();
+        }
+    },
+
+    /** The JNI bridge, loading the native library. */
+    JNI {
+        @Override
+        Cpuid create() throws CpuidException {
+            System.setProperty(CpuidBridgeFactory.FOREIGN_BRIDGE_PROPERTY,
+                    "false");
+            return CpuidFactory.getPlatformCpuid();
+        }
+    },
+
+    /** The platform bridge behind a {@link CachingCpuid}. */
+    CACHING {
+        @Override
+        Cpuid create() throws CpuidException {
+            return CpuidFactory.getCachingCpuid();
+        }
+    };
+
+    /**
+     * Creates the CPUID implementation for this access path.
+     *
+     * @return the CPUID implementation
+     * @throws CpuidException if the implementation cannot be created
+     */
+    abstract Cpuid create() throws CpuidException;
+}
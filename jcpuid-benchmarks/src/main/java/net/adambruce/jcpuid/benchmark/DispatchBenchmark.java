@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.benchmark;
+
+import net.adambruce.jcpuid.CpuidFactory;
+import net.adambruce.jcpuid.dispatch.CpuDispatch;
+import net.adambruce.jcpuid.dispatch.DispatchVariant;
+import net.adambruce.jcpuid.exception.CpuidException;
+import net.adambruce.jcpuid.info.CpuFeature;
+import net.adambruce.jcpuid.info.CpuFeatures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of calling a small kernel through a dispatched
+ * implementation held in a {@code static final} field, through a bound
+ * method handle held in a {@code static final} field, and through a
+ * feature check on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+
+    /** A kernel with implementations for different processors. */
+    public interface Kernel {
+
+        /**
+         * Mixes the bits of a value.
+         *
+         * @param value the value
+         * @return the mixed value
+         */
+        long mix(long value);
+    }
+
+    /** The multiplier of both kernels. */
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /** The kernel for processors with BMI2. */
+    private static final Kernel BMI2 = value ->
+            Long.rotateLeft(value * MULTIPLIER, 31);
+
+    /** The kernel for other processors. */
+    private static final Kernel SCALAR = value ->
+            (value * MULTIPLIER) ^ (value >>> 31);
+
+    /** The dispatched kernel. */
+    private static final Kernel KERNEL;
+
+    /** The dispatched kernel as a method handle. */
+    private static final MethodHandle KERNEL_HANDLE;
+
+    static {
+        try {
+            CpuDispatch<Kernel> dispatch = CpuDispatch.resolve("mix",
+                    Kernel.class,
+                    DispatchVariant.of("bmi2", BMI2, CpuFeature.BMI2),
+                    DispatchVariant.of("scalar", SCALAR));
+            KERNEL = dispatch.get();
+            KERNEL_HANDLE = dispatch.bind(MethodHandles.publicLookup(),
+                    "mix", MethodType.methodType(long.class, long.class));
+        } catch (CpuidException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** The features of the processor, checked on every call. */
+    private CpuFeatures features;
+
+    /** The value to mix. */
+    private long value = 1L;
+
+    /**
+     * Detects the processor features.
+     *
+     * @throws CpuidException if the platform CPUID implementation cannot be
+     * created
+     */
+    @Setup
+    public void setup() throws CpuidException {
+        features = CpuFeatures.detect(CpuidFactory.getPlatformCpuid());
+    }
+
+    /**
+     * Calls the kernel held in a static final field.
+     *
+     * @return the mixed value
+     */
+    @Benchmark
+    public long staticFinal() {
+        return KERNEL.mix(value++);
+    }
+
+    /**
+     * Calls the kernel through a method handle held in a static final
+     * field.
+     *
+     * @return the mixed value
+     * @throws Throwable never, the kernel does not throw
+     */
+    @Benchmark
+    public long methodHandle() throws Throwable {
+        return (long) KERNEL_HANDLE.invokeExact(value++);
+    }
+
+    /**
+     * Checks the processor features before every call.
+     *
+     * @return the mixed value
+     */
+    @Benchmark
+    public long featureCheck() {
+        if (features.has(CpuFeature.BMI2)) {
+            return BMI2.mix(value++);
+        }
+
+        return SCALAR.mix(value++);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.benchmark;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.exception.CpuidException;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-call latency of executing CPUID through each access path.
+ * Run with {@code -prof gc} to see the allocation rate of each call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExecuteBenchmark {
+
+    /** The leaves executed by the batch benchmark. */
+    private static final int[] BATCH_LEAVES = {0x0, 0x1, 0x7, 0x80000000};
+
+    /** The sub-leaves executed by the batch benchmark. */
+    private static final int[] BATCH_SUBLEAVES = {0x0, 0x0, 0x0, 0x0};
+
+    /** The access path being measured. */
+    @Param
+    private CpuidAccess access;
+
+    /** The leaf to execute, leaf 0x1 is not cached by default. */
+    @Param({"0x0", "0x1"})
+    private String leaf;
+
+    /** The CPUID implementation. */
+    private Cpuid cpuid;
+
+    /** The parsed leaf. */
+    private int leafValue;
+
+    /** The destination of the raw executions. */
+    private final int[] dest = new int[CpuidResult.REGISTER_COUNT];
+
+    /** The destination of the batch executions. */
+    private final int[] batchDest =
+            new int[BATCH_LEAVES.length * CpuidResult.REGISTER_COUNT];
+
+    /**
+     * Creates the CPUID implementation.
+     *
+     * @throws CpuidException if the implementation cannot be created
+     */
+    @Setup
+    public void setup() throws CpuidException {
+        cpuid = access.create();
+        leafValue = Integer.decode(leaf);
+    }
+
+    /**
+     * Executes a leaf.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public CpuidResult executeLeaf() {
+        return cpuid.execute(leafValue);
+    }
+
+    /**
+     * Executes a leaf and sub-leaf.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public CpuidResult executeLeafSubleaf() {
+        return cpuid.execute(leafValue, 0);
+    }
+
+    /**
+     * Executes a leaf and sub-leaf into a reused array.
+     *
+     * @return the array
+     */
+    @Benchmark
+    public int[] executeRaw() {
+        cpuid.execute(leafValue, 0, dest, 0);
+        return dest;
+    }
+
+    /**
+     * Executes a batch of four leaves into a reused array.
+     *
+     * @return the array
+     */
+    @Benchmark
+    public int[] executeBatch() {
+        cpuid.executeBatch(BATCH_LEAVES, BATCH_SUBLEAVES, batchDest);
+        return batchDest;
+    }
+}
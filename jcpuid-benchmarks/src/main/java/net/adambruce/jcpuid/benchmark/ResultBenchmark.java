@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.benchmark;
+
+import net.adambruce.jcpuid.type.CpuidRegister;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of working with results once they have been read, which
+ * does not depend on the bridge. Run with {@code -prof gc} to see the
+ * allocation rate of each operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResultBenchmark {
+
+    /** A register holding part of the vendor ID. */
+    private final CpuidRegister register = new CpuidRegister(0x756E6547);
+
+    /** A result. */
+    private final CpuidResult result =
+            new CpuidResult(0x806F8, 0x800, 0x7FFAFBFF, 0xBFEBFBFF);
+
+    /** A result equal to, but not the same instance as, the other result. */
+    private final CpuidResult equalResult =
+            new CpuidResult(0x806F8, 0x800, 0x7FFAFBFF, 0xBFEBFBFF);
+
+    /**
+     * Decodes the characters held by a register.
+     *
+     * @return the characters
+     */
+    @Benchmark
+    public String registerGetStringValue() {
+        return register.getStringValue();
+    }
+
+    /**
+     * Compares two equal results.
+     *
+     * @return true
+     */
+    @Benchmark
+    public boolean resultEquals() {
+        return result.equals(equalResult);
+    }
+
+    /**
+     * Hashes a result.
+     *
+     * @return the hash code
+     */
+    @Benchmark
+    public int resultHashCode() {
+        return result.hashCode();
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.metrics.CpuidMetrics;
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * CPUID implementation that memoizes the results of another implementation.
+ * <p>
+ * Results are kept in an open-addressing table keyed on the leaf and
+ * sub-leaf packed into a single {@code long}. Lookups never lock: entries
+ * are published by writing their key last, and the table is only replaced
+ * as a whole when it grows. Leaves whose results differ between cores or
+ * change over time, such as the x2APIC ID in leaf 0xB and the thermal and
+ * power state in leaf 0x6, are never cached and always passed through to
+ * the wrapped implementation.
+ * <p>
+ * Leaf 0x1 is cached, since it holds the family, model, stepping and
+ * feature flags that are looked up most often. Only its initial APIC ID,
+ * bits 31-24 of EBX, differs between cores, so those bits are cleared in
+ * every result of the leaf, whether or not it came from the cache. Use
+ * {@link CpuidBridge#getCurrentCpu()} or a {@link CpuidSweep} for the APIC
+ * ID, or pass 0x1 as a volatile leaf to have it passed through instead.
+ * <p>
+ * Results of {@link #execute(int)} are cached as sub-leaf 0, and a miss is
+ * filled by executing sub-leaf 0 explicitly.
+ * <p>
+ * When {@link CpuidMetrics#ENABLED} is true, hits and misses are counted in
+ * the {@link CpuidMetrics#global()} metrics.
+ */
+public class CachingCpuid implements Cpuid {
+
+    /**
+     * Leaves that are passed through by default: 0x6 (thermal and power
+     * management), 0xB and 0x1F (x2APIC ID), 0x1A (hybrid core type) and
+     * 0x8000001E (extended APIC ID).
+     */
+    private static final int[] DEFAULT_VOLATILE_LEAVES = {
+            0x6, 0xB, 0x1A, 0x1F, 0x8000001E
+    };
+
+    /** The leaf whose EBX holds the initial APIC ID. */
+    private static final int FEATURES_LEAF = 0x1;
+
+    /** Mask clearing the initial APIC ID, bits 31-24 of leaf 0x1 EBX. */
+    private static final int SHARED_EBX_MASK = 0x00FFFFFF;
+
+    /** Marks an empty slot, this key is never cached. */
+    private static final long EMPTY = -1L;
+
+    /** The number of slots in a newly created table. */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /** Multiplier used to spread keys over the table. */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /** Width of a register in bits. */
+    private static final int REGISTER_WIDTH = 32;
+
+    /** Mask for converting a sub-leaf to an unsigned long. */
+    private static final long UNSIGNED_MASK = 0xFFFFFFFFL;
+
+    /** The implementation the results are obtained from. */
+    private final Cpuid delegate;
+
+    /** Sorted leaves that are always passed through. */
+    private final int[] volatileLeaves;
+
+    /** The current table, replaced as a whole when it grows. */
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+
+    /**
+     * Creates a new caching implementation wrapping the given implementation
+     * and passing through the default volatile leaves.
+     *
+     * @param cpuid the implementation to cache the results of
+     */
+    public CachingCpuid(final Cpuid cpuid) {
+        this(cpuid, DEFAULT_VOLATILE_LEAVES);
+    }
+
+    /**
+     * Creates a new caching implementation executing instructions through
+     * the given bridge and passing through the default volatile leaves.
+     *
+     * @param bridge the bridge to cache the results of
+     */
+    public CachingCpuid(final CpuidBridge bridge) {
+        this(new CpuidImpl(bridge));
+    }
+
+    /**
+     * Creates a new caching implementation wrapping the given implementation
+     * and passing through the given leaves. The default volatile leaves are
+     * not added to the given leaves.
+     *
+     * @param cpuid the implementation to cache the results of
+     * @param leaves the leaves that must never be cached
+     */
+    public CachingCpuid(final Cpuid cpuid, final int... leaves) {
+        this.delegate = cpuid;
+        this.volatileLeaves = leaves.clone();
+        Arrays.sort(this.volatileLeaves);
+    }
+
+    /**
+     * Gets the leaves that are passed through by default.
+     *
+     * @return a copy of the default volatile leaves
+     */
+    public static int[] getDefaultVolatileLeaves() {
+        return DEFAULT_VOLATILE_LEAVES.clone();
+    }
+
+    /**
+     * Executes the CPUID instruction with the given leaf, using the cached
+     * result of sub-leaf 0 where possible.
+     *
+     * @param leaf the leaf of the CPUID instruction
+     * @return the result of the CPUID execution
+     */
+    @Override
+    public CpuidResult execute(final int leaf) {
+        if (isVolatile(leaf)) {
+            return delegate.execute(leaf);
+        }
+
+        return lookup(leaf, 0);
+    }
+
+    /**
+     * Executes the CPUID instruction with the given leaf and sub-leaf, using
+     * the cached result where possible.
+     *
+     * @param leaf the leaf of the CPUID instruction
+     * @param subleaf the sub-leaf of the CPUID instruction
+     * @return the result of the CPUID execution
+     */
+    @Override
+    public CpuidResult execute(final int leaf, final int subleaf) {
+        if (isVolatile(leaf)) {
+            return delegate.execute(leaf, subleaf);
+        }
+
+        return lookup(leaf, subleaf);
+    }
+
+    /**
+     * Executes the CPUID instruction with the given leaf and sub-leaf and
+     * writes the registers to the given array, using the cached result where
+     * possible. Cache hits do not allocate.
+     *
+     * @param leaf the leaf of the CPUID instruction
+     * @param subleaf the sub-leaf of the CPUID instruction
+     * @param dest the array to write the register values to
+     * @param offset the index of the first element to write
+     */
+    @Override
+    public void execute(final int leaf, final int subleaf, final int[] dest,
+                        final int offset) {
+        long key = toKey(leaf, subleaf);
+        if (key == EMPTY || isVolatile(leaf)) {
+            delegate.execute(leaf, subleaf, dest, offset);
+            return;
+        }
+
+        Table current = table;
+        int slot = current.find(key);
+        if (current.keys.get(slot) == key) {
+            if (CpuidMetrics.ENABLED) {
+                CpuidMetrics.global().recordCacheHit();
+            }
+            current.copyTo(slot, dest, offset);
+            return;
+        }
+
+        if (CpuidMetrics.ENABLED) {
+            CpuidMetrics.global().recordCacheMiss();
+        }
+        delegate.execute(leaf, subleaf, dest, offset);
+        if (leaf == FEATURES_LEAF) {
+            dest[offset + CpuidRegisters.EBX] &= SHARED_EBX_MASK;
+        }
+        insert(key, dest, offset);
+    }
+
+    /**
+     * Checks whether results for the given leaf are always passed through.
+     *
+     * @param leaf the leaf
+     * @return whether the leaf is never cached
+     */
+    public boolean isVolatile(final int leaf) {
+        return Arrays.binarySearch(volatileLeaves, leaf) >= 0;
+    }
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return the number of cached results
+     */
+    public int size() {
+        return table.size;
+    }
+
+    /**
+     * Discards every cached result.
+     */
+    public synchronized void invalidate() {
+        table = new Table(INITIAL_CAPACITY);
+    }
+
+    private static long toKey(final int leaf, final int subleaf) {
+        return ((long) leaf << REGISTER_WIDTH) | (subleaf & UNSIGNED_MASK);
+    }
+
+    private CpuidResult lookup(final int leaf, final int subleaf) {
+        long key = toKey(leaf, subleaf);
+        if (key == EMPTY) {
+            return delegate.execute(leaf, subleaf);
+        }
+
+        Table current = table;
+        int slot = current.find(key);
+        if (current.keys.get(slot) == key) {
+            if (CpuidMetrics.ENABLED) {
+                CpuidMetrics.global().recordCacheHit();
+            }
+            return current.getResult(slot);
+        }
+
+        if (CpuidMetrics.ENABLED) {
+            CpuidMetrics.global().recordCacheMiss();
+        }
+
+        CpuidResult result = delegate.execute(leaf, subleaf);
+        int[] values = new int[CpuidResult.REGISTER_COUNT];
+        result.copyTo(values, 0);
+        if (leaf == FEATURES_LEAF) {
+            values[CpuidRegisters.EBX] &= SHARED_EBX_MASK;
+            result = new CpuidResult(values[CpuidRegisters.EAX],
+                    values[CpuidRegisters.EBX], values[CpuidRegisters.ECX],
+                    values[CpuidRegisters.EDX]);
+        }
+        insert(key, values, 0);
+        return result;
+    }
+
+    private synchronized void insert(final long key, final int[] values,
+                                     final int offset) {
+        Table current = table;
+        if ((current.size + 1) * 2 > current.capacity()) {
+            current = current.grow();
+            table = current;
+        }
+
+        current.put(key, values, offset);
+    }
+
+    /**
+     * Open-addressing table of packed keys and their register values. Slots
+     * are written by a single writer at a time, reads never lock.
+     */
+    private static final class Table {
+
+        /** The packed keys, or {@link #EMPTY} for unused slots. */
+        private final AtomicLongArray keys;
+
+        /** The register values, {@link CpuidResult#REGISTER_COUNT} per slot. */
+        private final int[] registers;
+
+        /** Mask for reducing a hash to a slot index. */
+        private final int mask;
+
+        /** The number of used slots, only written by the writer. */
+        private volatile int size;
+
+        Table(final int capacity) {
+            keys = new AtomicLongArray(capacity);
+            registers = new int[capacity * CpuidResult.REGISTER_COUNT];
+            mask = capacity - 1;
+
+            for (int i = 0; i < capacity; i++) {
+                keys.lazySet(i, EMPTY);
+            }
+        }
+
+        int capacity() {
+            return keys.length();
+        }
+
+        /**
+         * Finds the slot holding the given key, or the empty slot that
+         * terminates its probe sequence.
+         *
+         * @param key the packed key
+         * @return the index of the slot
+         */
+        int find(final long key) {
+            int slot = (int) ((key * HASH_MULTIPLIER) >>> REGISTER_WIDTH)
+                    & mask;
+            long current = keys.get(slot);
+
+            while (current != key && current != EMPTY) {
+                slot = (slot + 1) & mask;
+                current = keys.get(slot);
+            }
+
+            return slot;
+        }
+
+        CpuidResult getResult(final int slot) {
+            int offset = slot * CpuidResult.REGISTER_COUNT;
+            return new CpuidResult(registers[offset + CpuidRegisters.EAX],
+                    registers[offset + CpuidRegisters.EBX],
+                    registers[offset + CpuidRegisters.ECX],
+                    registers[offset + CpuidRegisters.EDX]);
+        }
+
+        void copyTo(final int slot, final int[] dest, final int offset) {
+            System.arraycopy(registers, slot * CpuidResult.REGISTER_COUNT,
+                    dest, offset, CpuidResult.REGISTER_COUNT);
+        }
+
+        /**
+         * Stores the given result, publishing it by writing the key after
+         * the register values.
+         *
+         * @param key the packed key
+         * @param values the array holding the register values
+         * @param offset the index of the EAX register in the array
+         */
+        void put(final long key, final int[] values, final int offset) {
+            int slot = find(key);
+            if (keys.get(slot) == key) {
+                return;
+            }
+
+            System.arraycopy(values, offset, registers,
+                    slot * CpuidResult.REGISTER_COUNT,
+                    CpuidResult.REGISTER_COUNT);
+            keys.set(slot, key);
+            size++;
+        }
+
+        Table grow() {
+            Table grown = new Table(capacity() * 2);
+
+            for (int slot = 0; slot < capacity(); slot++) {
+                long key = keys.get(slot);
+                if (key != EMPTY) {
+                    grown.put(key, registers,
+                            slot * CpuidResult.REGISTER_COUNT);
+                }
+            }
+
+            return grown;
+        }
+    }
+}
@@ -16,7 +16,11 @@
 
 package net.adambruce.jcpuid;
 
+import net.adambruce.jcpuid.internal.BatchArguments;
 import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.nio.ByteBuffer;
 
 /**
  * Interface for CPUID execution.
@@ -41,4 +45,65 @@ public interface Cpuid {
      * @return the result of the CPUID execution
      */
     CpuidResult execute(int leaf, int subleaf);
+
+    /**
+     * Executes the CPUID instruction with the given leaf and sub-leaf and
+     * writes the registers to the given array in EAX, EBX, ECX, EDX order,
+     * see {@link net.adambruce.jcpuid.type.CpuidRegisters}. Implementations
+     * should not allocate any objects.
+     * <p>
+     * The default implementation copies the result of
+     * {@link #execute(int, int)}.
+     *
+     * @param leaf the leaf of the CPUID instruction
+     * @param subleaf the sub-leaf of the CPUID instruction
+     * @param dest the array to write the register values to
+     * @param offset the index of the first element to write
+     */
+    default void execute(final int leaf, final int subleaf, final int[] dest,
+                         final int offset) {
+        execute(leaf, subleaf).copyTo(dest, offset);
+    }
+
+    /**
+     * Executes the CPUID instruction for each leaf and sub-leaf pair. The
+     * registers of the request at index {@code i} are written to
+     * {@code out} starting at {@code i * 4}, in EAX, EBX, ECX, EDX order.
+     * <p>
+     * The default implementation executes each request with
+     * {@link #execute(int, int, int[], int)}.
+     *
+     * @param leaves the leaves
+     * @param subleaves the sub-leaves, one per leaf
+     * @param out the array to write the register values to
+     * @throws IllegalArgumentException the sub-leaves do not match the
+     * leaves, or the output array is too small
+     */
+    default void executeBatch(final int[] leaves, final int[] subleaves,
+                              final int[] out) {
+        BatchArguments.check(leaves, subleaves, out);
+
+        for (int i = 0; i < leaves.length; i++) {
+            execute(leaves[i], subleaves[i], out,
+                    i * CpuidResult.REGISTER_COUNT);
+        }
+    }
+
+    /**
+     * Enumerates every standard and extended leaf, and the sub-leaves of the
+     * leaves that have them, into the given buffer. See
+     * {@link CpuidSnapshot#allocate(int)} for allocating a suitable buffer.
+     * <p>
+     * The default implementation performs the enumeration with
+     * {@link #execute(int, int)}.
+     *
+     * @param buffer the buffer to write the records to
+     * @return a snapshot reading the records from the buffer
+     * @throws IllegalArgumentException the buffer is too small to hold every
+     * record
+     */
+    default CpuidSnapshot snapshot(final ByteBuffer buffer) {
+        return CpuidSnapshot.wrap(buffer,
+                new DelegatingBridge(this).dumpCPUID(buffer));
+    }
 }
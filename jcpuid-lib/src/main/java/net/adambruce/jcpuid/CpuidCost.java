@@ -0,0 +1,239 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.bridge.CpuidBridgeFactory;
+import net.adambruce.jcpuid.exception.CpuidException;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * The measured cost of a single CPUID execution through a bridge.
+ * <p>
+ * CPUID is a serialising instruction that takes around a hundred cycles on
+ * bare metal, but inside a hardware virtual machine every execution exits
+ * to the hypervisor and typically costs one or two microseconds. A
+ * calibration executes leaf 0x0 in a number of timed rounds with
+ * {@link CpuidBridge#executeCPUID(int, int, int[], int)}, which does not
+ * allocate, and reports the median and the fastest round, so a round
+ * disturbed by an interrupt or a safepoint does not skew the result.
+ * <p>
+ * A cost is expensive when the median is at least a threshold, 500
+ * nanoseconds by default or the value of the
+ * {@value #THRESHOLD_PROPERTY} system property, and callers can then cache
+ * results with a {@link CachingCpuid}, as
+ * {@link CpuidFactory#getAdaptiveCpuid()} does.
+ */
+public final class CpuidCost {
+
+    /** The system property holding the threshold, in nanoseconds. */
+    public static final String THRESHOLD_PROPERTY =
+            "net.adambruce.jcpuid.cost.threshold";
+
+    /** The default threshold of an expensive execution, in nanoseconds. */
+    public static final long DEFAULT_THRESHOLD_NANOS = 500L;
+
+    /** The default number of timed rounds. */
+    public static final int DEFAULT_ROUNDS = 15;
+
+    /** The default number of executions per round. */
+    public static final int DEFAULT_CALLS_PER_ROUND = 32;
+
+    /** The leaf that is executed, which every hypervisor intercepts. */
+    static final int LEAF = 0x0;
+
+    /** The cost of the platform bridge, measured on first use. */
+    private static CpuidCost platformCost;
+
+    /** The median cost of an execution, in nanoseconds. */
+    private final double nanosPerCall;
+
+    /** The cost of an execution in the fastest round, in nanoseconds. */
+    private final double minNanosPerCall;
+
+    /** The number of timed rounds. */
+    private final int rounds;
+
+    /** The number of executions per round. */
+    private final int callsPerRound;
+
+    private CpuidCost(final double median, final double minimum,
+                      final int roundCount, final int calls) {
+        this.nanosPerCall = median;
+        this.minNanosPerCall = minimum;
+        this.rounds = roundCount;
+        this.callsPerRound = calls;
+    }
+
+    /**
+     * Gets the cost of the platform bridge, loading the native library if
+     * it has not already been loaded into the current JVM. The cost is
+     * calibrated on the first call and reused afterwards. The calibration
+     * uses the bridge without the metrics wrapper, so it neither adds to
+     * the metrics nor times the wrapper.
+     *
+     * @return the cost of the platform bridge
+     * @throws CpuidException the platform bridge failed to initialise
+     */
+    public static synchronized CpuidCost getPlatformCost()
+            throws CpuidException {
+        if (platformCost == null) {
+            platformCost = calibrate(
+                    CpuidBridgeFactory.getRawPlatformBridge());
+        }
+
+        return platformCost;
+    }
+
+    /**
+     * Measures the cost of an execution through the given bridge with the
+     * default number of rounds and executions.
+     *
+     * @param bridge the bridge
+     * @return the measured cost
+     */
+    public static CpuidCost calibrate(final CpuidBridge bridge) {
+        return calibrate(bridge, DEFAULT_ROUNDS, DEFAULT_CALLS_PER_ROUND);
+    }
+
+    /**
+     * Measures the cost of an execution through the given bridge. An
+     * untimed round runs first so that the code being measured is loaded.
+     *
+     * @param bridge the bridge
+     * @param roundCount the number of timed rounds
+     * @param calls the number of executions per round
+     * @return the measured cost
+     * @throws IllegalArgumentException the number of rounds or executions
+     * is not positive
+     */
+    public static CpuidCost calibrate(final CpuidBridge bridge,
+                                      final int roundCount,
+                                      final int calls) {
+        return calibrate(bridge, System::nanoTime, roundCount, calls);
+    }
+
+    /**
+     * Measures the cost of an execution against the given time source.
+     *
+     * @param bridge the bridge
+     * @param nanoTime the time source
+     * @param roundCount the number of timed rounds
+     * @param calls the number of executions per round
+     * @return the measured cost
+     */
+    static CpuidCost calibrate(final CpuidBridge bridge,
+                               final LongSupplier nanoTime,
+                               final int roundCount, final int calls) {
+        if (roundCount <= 0 || calls <= 0) {
+            throw new IllegalArgumentException("rounds and calls per round"
+                    + " must be positive: " + roundCount + ", " + calls);
+        }
+
+        int[] registers = new int[CpuidResult.REGISTER_COUNT];
+        for (int i = 0; i < calls; i++) {
+            bridge.executeCPUID(LEAF, 0, registers, 0);
+        }
+
+        long[] durations = new long[roundCount];
+        for (int round = 0; round < roundCount; round++) {
+            long start = nanoTime.getAsLong();
+            for (int i = 0; i < calls; i++) {
+                bridge.executeCPUID(LEAF, 0, registers, 0);
+            }
+            durations[round] = nanoTime.getAsLong() - start;
+        }
+
+        Arrays.sort(durations);
+        return new CpuidCost((double) durations[roundCount / 2] / calls,
+                (double) durations[0] / calls, roundCount, calls);
+    }
+
+    /**
+     * Gets the median cost of an execution.
+     *
+     * @return the cost in nanoseconds
+     */
+    public double getNanosPerCall() {
+        return nanosPerCall;
+    }
+
+    /**
+     * Gets the cost of an execution in the fastest round.
+     *
+     * @return the cost in nanoseconds
+     */
+    public double getMinNanosPerCall() {
+        return minNanosPerCall;
+    }
+
+    /**
+     * Gets the number of timed rounds.
+     *
+     * @return the number of rounds
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Gets the number of executions per round.
+     *
+     * @return the number of executions
+     */
+    public int getCallsPerRound() {
+        return callsPerRound;
+    }
+
+    /**
+     * Checks whether an execution is expensive enough to cache, comparing
+     * the median cost with the {@value #THRESHOLD_PROPERTY} system
+     * property, or {@link #DEFAULT_THRESHOLD_NANOS} when it is not set.
+     *
+     * @return true if the median cost reaches the threshold
+     */
+    public boolean isExpensive() {
+        return isExpensive(Long.getLong(THRESHOLD_PROPERTY,
+                DEFAULT_THRESHOLD_NANOS));
+    }
+
+    /**
+     * Checks whether the median cost of an execution reaches the given
+     * threshold.
+     *
+     * @param thresholdNanos the threshold, in nanoseconds
+     * @return true if the median cost reaches the threshold
+     */
+    public boolean isExpensive(final long thresholdNanos) {
+        return nanosPerCall >= thresholdNanos;
+    }
+
+    /**
+     * Returns the string representation of this cost.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "CpuidCost{nanosPerCall=" + nanosPerCall
+                + ", minNanosPerCall=" + minNanosPerCall + ", rounds="
+                + rounds + ", callsPerRound=" + callsPerRound + "}";
+    }
+}
@@ -49,4 +49,92 @@ public final class CpuidFactory {
     public static Cpuid getPlatformCpuid(final CpuidBridge bridge) {
         return new CpuidImpl(bridge);
     }
+
+    /**
+     * Gets a CPUID implementation for the current platform that caches the
+     * results of leaves that do not change for the life of the process,
+     * loading the native library if it has not already been loaded into the
+     * current JVM.
+     *
+     * @return the caching CPUID implementation for the current platform
+     * @throws CpuidException the platform CPUID implementation failed
+     * to initialise.
+     */
+    public static CachingCpuid getCachingCpuid() throws CpuidException {
+        return getCachingCpuid(CpuidBridgeFactory.getPlatformBridge());
+    }
+
+    /**
+     * Gets a CPUID implementation for the current platform that caches the
+     * results of leaves that do not change for the life of the process,
+     * using the provided bridge. This method will not load any native
+     * libraries.
+     *
+     * @param bridge the CPUID bridge to use
+     * @return the caching CPUID implementation for the current platform
+     */
+    public static CachingCpuid getCachingCpuid(final CpuidBridge bridge) {
+        return new CachingCpuid(bridge);
+    }
+
+    /**
+     * Gets a CPUID implementation for the current platform that caches
+     * results when executing CPUID is expensive, as it is inside a virtual
+     * machine, loading the native library if it has not already been
+     * loaded into the current JVM. The cost is measured once with
+     * {@link CpuidCost#getPlatformCost()}.
+     *
+     * @return a caching implementation when CPUID is expensive, otherwise
+     * an implementation that executes every request
+     * @throws CpuidException the platform CPUID implementation failed
+     * to initialise.
+     */
+    public static Cpuid getAdaptiveCpuid() throws CpuidException {
+        return getAdaptiveCpuid(CpuidBridgeFactory.getPlatformBridge(),
+                CpuidCost.getPlatformCost());
+    }
+
+    /**
+     * Gets a CPUID implementation that caches results when the given cost
+     * is expensive, using the provided bridge. This method will not load
+     * any native libraries.
+     *
+     * @param bridge the CPUID bridge to use
+     * @param cost the measured cost of executing CPUID through the bridge
+     * @return a caching implementation when the cost is expensive,
+     * otherwise an implementation that executes every request
+     */
+    public static Cpuid getAdaptiveCpuid(final CpuidBridge bridge,
+                                         final CpuidCost cost) {
+        if (cost.isExpensive()) {
+            return getCachingCpuid(bridge);
+        }
+
+        return getPlatformCpuid(bridge);
+    }
+
+    /**
+     * Gets a sweep that executes CPUID on every logical CPU of the current
+     * platform, loading the native library if it has not already been
+     * loaded into the current JVM.
+     *
+     * @return the sweep for the current platform
+     * @throws CpuidException the platform CPUID implementation failed
+     * to initialise.
+     */
+    public static CpuidSweep getCpuidSweep() throws CpuidException {
+        return getCpuidSweep(CpuidBridgeFactory.getPlatformBridge());
+    }
+
+    /**
+     * Gets a sweep that executes CPUID on every logical CPU using the
+     * provided bridge. This method will not load any native libraries.
+     *
+     * @param bridge the CPUID bridge to use, which must support thread
+     * affinity
+     * @return the sweep
+     */
+    public static CpuidSweep getCpuidSweep(final CpuidBridge bridge) {
+        return new CpuidSweep(bridge);
+    }
 }
@@ -18,6 +18,9 @@ package net.adambruce.jcpuid;
 
 import net.adambruce.jcpuid.bridge.CpuidBridge;
 import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.nio.ByteBuffer;
 
 /**
  * Implementation of the CPUID interface.
@@ -60,4 +63,45 @@ public class CpuidImpl implements Cpuid {
     public CpuidResult execute(final int leaf, final int subleaf) {
         return cpuidBridge.executeCPUID(leaf, subleaf);
     }
+
+    /**
+     * Executes the CPUID instruction with the given leaf and sub-leaf and
+     * writes the registers to the given array without allocating.
+     *
+     * @param leaf the leaf of the CPUID instruction
+     * @param subleaf the sub-leaf of the CPUID instruction
+     * @param dest the array to write the register values to
+     * @param offset the index of the first element to write
+     */
+    @Override
+    public void execute(final int leaf, final int subleaf, final int[] dest,
+                        final int offset) {
+        cpuidBridge.executeCPUID(leaf, subleaf, dest, offset);
+    }
+
+    /**
+     * Executes the CPUID instruction for each leaf and sub-leaf pair using
+     * a single batched bridge call.
+     *
+     * @param leaves the leaves
+     * @param subleaves the sub-leaves, one per leaf
+     * @param out the array to write the register values to
+     */
+    @Override
+    public void executeBatch(final int[] leaves, final int[] subleaves,
+                             final int[] out) {
+        cpuidBridge.executeCPUIDBatch(leaves, subleaves, out);
+    }
+
+    /**
+     * Enumerates every standard and extended leaf into the given buffer
+     * using a single bridge call.
+     *
+     * @param buffer the buffer to write the records to
+     * @return a snapshot reading the records from the buffer
+     */
+    @Override
+    public CpuidSnapshot snapshot(final ByteBuffer buffer) {
+        return CpuidSnapshot.wrap(buffer, cpuidBridge.dumpCPUID(buffer));
+    }
 }
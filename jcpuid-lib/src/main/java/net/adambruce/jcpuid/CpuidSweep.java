@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.internal.AffinityArguments;
+import net.adambruce.jcpuid.internal.BatchArguments;
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+
+/**
+ * Executes a set of CPUID requests on every logical CPU, or on a chosen set
+ * of logical CPUs, and collects the results into a per-CPU table.
+ * <p>
+ * A thread that is not pinned may run on any CPU, so the per-core values of
+ * leaves such as 0x1 (APIC ID), 0xB and 0x1F (topology) and 0x1A (core type)
+ * depend on where it happens to be scheduled. A sweep starts one worker
+ * thread per CPU, pins it to that CPU with
+ * {@link CpuidBridge#setThreadAffinity(int...)} and executes the whole
+ * request set as a single batch. All workers run in parallel, so a sweep
+ * takes roughly as long as the slowest CPU rather than the sum of all of
+ * them.
+ */
+public final class CpuidSweep {
+
+    /** The prefix of the worker thread names. */
+    private static final String THREAD_NAME_PREFIX = "jcpuid-sweep-";
+
+    /** The bridge used to pin the workers and execute the requests. */
+    private final CpuidBridge bridge;
+
+    /**
+     * Creates a new sweep that uses the given bridge. The bridge must
+     * support thread affinity.
+     *
+     * @param cpuidBridge the bridge
+     */
+    public CpuidSweep(final CpuidBridge cpuidBridge) {
+        this.bridge = cpuidBridge;
+    }
+
+    /**
+     * Gets the logical CPUs that the calling thread is allowed to run on,
+     * which are the CPUs swept by {@link #sweep(int[], int[])}.
+     *
+     * @return the logical CPU numbers, or an empty array when the bridge
+     * does not support thread affinity
+     */
+    public int[] getCpus() {
+        return bridge.getThreadAffinity();
+    }
+
+    /**
+     * Executes the requests on every logical CPU that the calling thread is
+     * allowed to run on.
+     *
+     * @param leaves the leaves
+     * @param subleaves the sub-leaves, one per leaf
+     * @return the per-CPU result table
+     * @throws IllegalArgumentException the sub-leaves do not match the
+     * leaves
+     * @throws UnsupportedOperationException the bridge does not support
+     * thread affinity
+     * @throws IllegalStateException a worker could not be pinned to its CPU,
+     * or failed to execute the requests
+     */
+    public CpuidSweepResult sweep(final int[] leaves, final int[] subleaves) {
+        int[] cpus = getCpus();
+        if (cpus.length == 0) {
+            throw new UnsupportedOperationException(
+                    "the bridge does not support thread affinity");
+        }
+
+        return sweep(cpus, leaves, subleaves);
+    }
+
+    /**
+     * Executes the requests on each of the given logical CPUs.
+     *
+     * @param cpus the logical CPU numbers
+     * @param leaves the leaves
+     * @param subleaves the sub-leaves, one per leaf
+     * @return the per-CPU result table, with the CPUs in the given order
+     * @throws IllegalArgumentException no CPUs were given, a CPU number is
+     * negative, or the sub-leaves do not match the leaves
+     * @throws IllegalStateException a worker could not be pinned to its CPU,
+     * or failed to execute the requests
+     */
+    public CpuidSweepResult sweep(final int[] cpus, final int[] leaves,
+                                  final int[] subleaves) {
+        AffinityArguments.check(cpus);
+        BatchArguments.check(leaves, subleaves);
+
+        int stride = leaves.length * CpuidResult.REGISTER_COUNT;
+        int[] registers = new int[cpus.length * stride];
+        Worker[] workers = new Worker[cpus.length];
+
+        for (int i = 0; i < cpus.length; i++) {
+            workers[i] = new Worker(cpus[i], leaves, subleaves, registers,
+                    i * stride);
+            workers[i].start();
+        }
+
+        for (Worker worker : workers) {
+            worker.awaitCompletion();
+        }
+
+        for (Worker worker : workers) {
+            worker.rethrowFailure();
+        }
+
+        return new CpuidSweepResult(cpus, leaves, subleaves, registers);
+    }
+
+    /**
+     * A thread that pins itself to a single CPU, executes the requests and
+     * copies the registers into its own region of the shared table.
+     */
+    private final class Worker extends Thread {
+
+        /** The CPU to pin to. */
+        private final int cpu;
+
+        /** The leaves. */
+        private final int[] leaves;
+
+        /** The sub-leaves. */
+        private final int[] subleaves;
+
+        /** The shared register table. */
+        private final int[] registers;
+
+        /** The index of the first register written by this worker. */
+        private final int offset;
+
+        /** The failure of this worker, published by joining it. */
+        private RuntimeException failure;
+
+        Worker(final int targetCpu, final int[] requestLeaves,
+               final int[] requestSubleaves, final int[] table,
+               final int tableOffset) {
+            super(THREAD_NAME_PREFIX + targetCpu);
+            setDaemon(true);
+            this.cpu = targetCpu;
+            this.leaves = requestLeaves;
+            this.subleaves = requestSubleaves;
+            this.registers = table;
+            this.offset = tableOffset;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!bridge.setThreadAffinity(cpu)) {
+                    failure = new IllegalStateException(
+                            "unable to pin a thread to CPU " + cpu);
+                    return;
+                }
+
+                int[] out = new int[leaves.length
+                        * CpuidResult.REGISTER_COUNT];
+                bridge.executeCPUIDBatch(leaves, subleaves, out);
+                System.arraycopy(out, 0, registers, offset, out.length);
+            } catch (RuntimeException ex) {
+                failure = new IllegalStateException(
+                        "CPUID sweep failed on CPU " + cpu, ex);
+            }
+        }
+
+        /**
+         * Waits for the worker to finish, preserving the interrupt status of
+         * the calling thread.
+         */
+        void awaitCompletion() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    join();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Throws the failure of the worker, if it failed.
+         */
+        void rethrowFailure() {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+/**
+ * Adapts a CPUID implementation to the bridge interface, so that the default
+ * bridge algorithms can be reused on top of any CPUID implementation.
+ */
+final class DelegatingBridge implements CpuidBridge {
+
+    /** The CPUID implementation to execute instructions with. */
+    private final Cpuid cpuid;
+
+    /**
+     * Creates a new bridge delegating to the given CPUID implementation.
+     *
+     * @param delegate the CPUID implementation to delegate to
+     */
+    DelegatingBridge(final Cpuid delegate) {
+        this.cpuid = delegate;
+    }
+
+    /**
+     * Executes the CPUID instruction with the given leaf.
+     *
+     * @param leaf the leaf
+     * @return the result of the CPUID execution
+     */
+    @Override
+    public CpuidResult executeCPUID(final int leaf) {
+        return cpuid.execute(leaf);
+    }
+
+    /**
+     * Executes the CPUID instruction with the given leaf and sub-leaf.
+     *
+     * @param leaf the leaf
+     * @param subleaf the sub-leaf
+     * @return the result of the CPUID execution
+     */
+    @Override
+    public CpuidResult executeCPUID(final int leaf, final int subleaf) {
+        return cpuid.execute(leaf, subleaf);
+    }
+}
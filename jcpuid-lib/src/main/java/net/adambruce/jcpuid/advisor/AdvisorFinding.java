@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.advisor;
+
+/**
+ * A mismatch between a JVM option and the capabilities of the processor.
+ */
+public final class AdvisorFinding {
+
+    /** The name of the option. */
+    private final String option;
+
+    /** The severity of the finding. */
+    private final Severity severity;
+
+    /** The current value of the option. */
+    private final String value;
+
+    /** Where the current value of the option came from. */
+    private final String origin;
+
+    /** The recommended value of the option. */
+    private final String recommendedValue;
+
+    /** The description of the mismatch. */
+    private final String message;
+
+    /**
+     * Creates a new finding.
+     *
+     * @param optionName the name of the option, such as {@code UseAVX}
+     * @param findingSeverity the severity of the finding
+     * @param currentValue the current value of the option
+     * @param valueOrigin where the current value came from, one of the
+     * names of {@code com.sun.management.VMOption.Origin}
+     * @param recommended the recommended value of the option
+     * @param description the description of the mismatch
+     */
+    public AdvisorFinding(final String optionName,
+                          final Severity findingSeverity,
+                          final String currentValue,
+                          final String valueOrigin,
+                          final String recommended,
+                          final String description) {
+        this.option = optionName;
+        this.severity = findingSeverity;
+        this.value = currentValue;
+        this.origin = valueOrigin;
+        this.recommendedValue = recommended;
+        this.message = description;
+    }
+
+    /**
+     * Gets the name of the option.
+     *
+     * @return the option name, without the {@code -XX:} prefix
+     */
+    public String getOption() {
+        return option;
+    }
+
+    /**
+     * Gets the severity of the finding.
+     *
+     * @return the severity
+     */
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    /**
+     * Gets the current value of the option.
+     *
+     * @return the value, as reported by the JVM
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Gets where the current value of the option came from.
+     *
+     * @return the origin, such as {@code DEFAULT}, {@code ERGONOMIC} or
+     * {@code VM_CREATION} for the command line
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Gets the recommended value of the option.
+     *
+     * @return the recommended value
+     */
+    public String getRecommendedValue() {
+        return recommendedValue;
+    }
+
+    /**
+     * Gets the description of the mismatch.
+     *
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Appends the finding to the given builder as a JSON object.
+     *
+     * @param json the builder
+     */
+    void appendJson(final StringBuilder json) {
+        json.append('{');
+        JvmAdvice.appendField(json, "option", option).append(',');
+        JvmAdvice.appendField(json, "severity", severity.name()).append(',');
+        JvmAdvice.appendField(json, "value", value).append(',');
+        JvmAdvice.appendField(json, "origin", origin).append(',');
+        JvmAdvice.appendField(json, "recommended", recommendedValue)
+                .append(',');
+        JvmAdvice.appendField(json, "message", message);
+        json.append('}');
+    }
+
+    /**
+     * Returns the string representation of this finding.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return severity + " " + option + "=" + value + " (" + origin
+                + "), recommended " + recommendedValue + ": " + message;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.advisor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The findings of a {@link JvmAdvisor}, together with the names of the
+ * options that were checked. Options that the JVM does not expose, such as
+ * diagnostic options when {@code -XX:+UnlockDiagnosticVMOptions} is not
+ * set, are left out of both.
+ */
+public final class JvmAdvice {
+
+    /** The highest character that must be escaped in a JSON string. */
+    private static final char LAST_CONTROL_CHARACTER = 0x1F;
+
+    /** The format of an escaped control character. */
+    private static final String UNICODE_ESCAPE = "\\u%04x";
+
+    /** The findings, in the order they were made. */
+    private final List<AdvisorFinding> findings;
+
+    /** The names of the options that were checked. */
+    private final List<String> checked;
+
+    /**
+     * Creates new advice.
+     *
+     * @param adviceFindings the findings
+     * @param checkedOptions the names of the options that were checked
+     */
+    JvmAdvice(final List<AdvisorFinding> adviceFindings,
+              final List<String> checkedOptions) {
+        this.findings = Collections.unmodifiableList(
+                new ArrayList<>(adviceFindings));
+        this.checked = Collections.unmodifiableList(
+                new ArrayList<>(checkedOptions));
+    }
+
+    /**
+     * Gets the findings.
+     *
+     * @return an unmodifiable list of the findings
+     */
+    public List<AdvisorFinding> getFindings() {
+        return findings;
+    }
+
+    /**
+     * Gets the findings of at least the given severity.
+     *
+     * @param minimum the lowest severity to include
+     * @return the matching findings
+     */
+    public List<AdvisorFinding> getFindings(final Severity minimum) {
+        List<AdvisorFinding> matching = new ArrayList<>();
+        for (AdvisorFinding finding : findings) {
+            if (finding.getSeverity().compareTo(minimum) >= 0) {
+                matching.add(finding);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Checks whether there is a finding of at least the given severity.
+     *
+     * @param minimum the lowest severity to consider
+     * @return true if there is a matching finding, otherwise false
+     */
+    public boolean hasFindings(final Severity minimum) {
+        return !getFindings(minimum).isEmpty();
+    }
+
+    /**
+     * Gets the names of the options that were checked.
+     *
+     * @return an unmodifiable list of the option names
+     */
+    public List<String> getChecked() {
+        return checked;
+    }
+
+    /**
+     * Returns the advice as a JSON object with a {@code findings} array,
+     * holding one object per finding with the fields {@code option},
+     * {@code severity}, {@code value}, {@code origin}, {@code recommended}
+     * and {@code message}, and a {@code checked} array of option names.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"findings\":[");
+        for (int i = 0; i < findings.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            findings.get(i).appendJson(json);
+        }
+        json.append("],\"checked\":[");
+        for (int i = 0; i < checked.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendString(json, checked.get(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Appends a JSON field with a string value to the given builder.
+     *
+     * @param json the builder
+     * @param name the field name
+     * @param value the field value, or null
+     * @return the builder
+     */
+    static StringBuilder appendField(final StringBuilder json,
+                                     final String name,
+                                     final String value) {
+        appendString(json, name);
+        json.append(':');
+        if (value == null) {
+            return json.append("null");
+        }
+        return appendString(json, value);
+    }
+
+    /**
+     * Appends a quoted JSON string, escaping quotes, backslashes and control
+     * characters.
+     *
+     * @param json the JSON being built
+     * @param value the string to append
+     * @return the JSON being built
+     */
+    private static StringBuilder appendString(final StringBuilder json,
+                                              final String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c <= LAST_CONTROL_CHARACTER) {
+                json.append(String.format(UNICODE_ESCAPE, (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"');
+    }
+
+    /**
+     * Returns the string representation of this advice.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "JvmAdvice{findings=" + findings + ", checked=" + checked
+                + "}";
+    }
+}
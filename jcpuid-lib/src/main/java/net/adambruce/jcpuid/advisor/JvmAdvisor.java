@@ -0,0 +1,394 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.advisor;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.VMOption;
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.CpuidFactory;
+import net.adambruce.jcpuid.CpuidSweep;
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.bridge.CpuidBridgeFactory;
+import net.adambruce.jcpuid.exception.CpuidException;
+import net.adambruce.jcpuid.info.CpuFeature;
+import net.adambruce.jcpuid.info.CpuFeatures;
+import net.adambruce.jcpuid.info.CpuTopology;
+import net.adambruce.jcpuid.info.TopologyLevel;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the options of the running JVM with the capabilities that CPUID
+ * reports, and reports options that request a capability the processor
+ * does not have, or leave one unused.
+ * <p>
+ * The advisor checks the {@code UseAVX} level, the {@code UseAES},
+ * {@code UseSHA} and checksum intrinsics, {@code UseLargePages} against
+ * the large page TLBs, and {@code ActiveProcessorCount} against the number
+ * of logical CPUs and physical cores. Options are read with the HotSpot
+ * diagnostic bean, which only exposes diagnostic options such as
+ * {@code UseAESIntrinsics} when the JVM runs with
+ * {@code -XX:+UnlockDiagnosticVMOptions}. Options that cannot be read are
+ * skipped.
+ * <p>
+ * CPUID cannot tell whether the operating system saves the AVX register
+ * state, so the supported AVX level also requires {@link CpuFeature#OSXSAVE}
+ * but is otherwise taken from the feature bits.
+ */
+public final class JvmAdvisor {
+
+    /** The option that selects the AVX level used by the compilers. */
+    static final String USE_AVX = "UseAVX";
+
+    /** The option that enables large pages for the heap. */
+    static final String USE_LARGE_PAGES = "UseLargePages";
+
+    /** The option that selects the large page size. */
+    static final String LARGE_PAGE_SIZE = "LargePageSizeInBytes";
+
+    /** The option that overrides the number of available processors. */
+    static final String ACTIVE_PROCESSOR_COUNT = "ActiveProcessorCount";
+
+    /** The intrinsic options and the features they need, in pairs. */
+    private static final Object[][] INTRINSICS = {
+        {"UseAES", CpuFeatures.of(CpuFeature.AES)},
+        {"UseAESIntrinsics", CpuFeatures.of(CpuFeature.AES)},
+        {"UseSHA", CpuFeatures.of(CpuFeature.SHA)},
+        {"UseCRC32Intrinsics", CpuFeatures.of(CpuFeature.PCLMULQDQ)},
+        {"UseCRC32CIntrinsics", CpuFeatures.of(CpuFeature.SSE4_2)},
+        {"UseAdler32Intrinsics",
+            CpuFeatures.of(CpuFeature.OSXSAVE, CpuFeature.AVX2)},
+    };
+
+    /** The names of the AVX levels, indexed by level. */
+    private static final String[] AVX_LEVELS = {
+        "no AVX", "AVX", "AVX2", "AVX-512"
+    };
+
+    /** The AVX level that uses AVX. */
+    private static final int AVX_LEVEL_1 = 1;
+
+    /** The AVX level that uses AVX2. */
+    private static final int AVX_LEVEL_2 = 2;
+
+    /** The AVX level that uses AVX-512. */
+    private static final int AVX_LEVEL_3 = 3;
+
+    /** The smallest large page size that needs 1 GiB page support. */
+    private static final long GIB = 0x40000000L;
+
+    /** The size of a 2 MiB page. */
+    private static final long TWO_MIB = 0x200000L;
+
+    private JvmAdvisor() {
+
+    }
+
+    /**
+     * Checks the options of the running JVM against the processor, using
+     * the platform bridge. The processor counts are only checked when the
+     * bridge supports thread affinity, which is needed to sweep the
+     * topology.
+     *
+     * @return the advice
+     * @throws CpuidException the platform bridge failed to initialise
+     * @throws IllegalStateException the JVM does not provide the HotSpot
+     * diagnostic bean
+     */
+    public static JvmAdvice advise() throws CpuidException {
+        HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(
+                HotSpotDiagnosticMXBean.class);
+        if (bean == null) {
+            throw new IllegalStateException(
+                    "the JVM does not provide HotSpotDiagnosticMXBean");
+        }
+
+        CpuidBridge bridge = CpuidBridgeFactory.getPlatformBridge();
+        CpuTopology topology = null;
+        if (bridge.getThreadAffinity().length > 0) {
+            topology = CpuTopology.detect(new CpuidSweep(bridge));
+        }
+        return advise(CpuidFactory.getPlatformCpuid(bridge), bean, topology);
+    }
+
+    /**
+     * Checks the options reported by the given bean against the processor.
+     *
+     * @param cpuid the CPUID implementation
+     * @param bean the bean reporting the JVM options
+     * @param topology the processor topology, or null to skip the
+     * processor count checks
+     * @return the advice
+     */
+    public static JvmAdvice advise(final Cpuid cpuid,
+                                   final HotSpotDiagnosticMXBean bean,
+                                   final CpuTopology topology) {
+        CpuFeatures features = CpuFeatures.detect(cpuid);
+        Check check = new Check(bean);
+
+        checkAvx(check, features);
+        checkIntrinsics(check, features);
+        checkLargePages(check, features, LargePageTlb.dataEntries(cpuid));
+        if (topology != null) {
+            checkProcessorCount(check, topology);
+        }
+        return new JvmAdvice(check.findings, check.checked);
+    }
+
+    /**
+     * Gets the highest {@code UseAVX} level that the processor supports.
+     *
+     * @param features the processor features
+     * @return the level, from 0 to 3
+     */
+    static int getSupportedAvxLevel(final CpuFeatures features) {
+        if (!features.has(CpuFeature.OSXSAVE)
+                || !features.has(CpuFeature.AVX)) {
+            return 0;
+        }
+        if (!features.has(CpuFeature.AVX2)) {
+            return AVX_LEVEL_1;
+        }
+        if (!features.has(CpuFeature.AVX512F)) {
+            return AVX_LEVEL_2;
+        }
+        return AVX_LEVEL_3;
+    }
+
+    /**
+     * Compares UseAVX with the highest level the processor supports.
+     *
+     * @param check the run collecting the findings
+     * @param features the processor features
+     */
+    private static void checkAvx(final Check check,
+                                 final CpuFeatures features) {
+        VMOption option = check.find(USE_AVX);
+        if (option == null) {
+            return;
+        }
+
+        int level = Integer.parseInt(option.getValue());
+        int supported = getSupportedAvxLevel(features);
+        String recommended = Integer.toString(supported);
+        if (level > supported) {
+            check.add(option, Severity.ERROR, recommended,
+                    "UseAVX=" + level + " requests "
+                            + avxLevelName(level) + " but the processor"
+                            + " only supports " + avxLevelName(supported));
+        } else if (level < supported) {
+            check.add(option, check.unused(option), recommended,
+                    "the processor supports " + avxLevelName(supported)
+                            + " but the compilers only use "
+                            + avxLevelName(level));
+        }
+    }
+
+    /**
+     * Compares each intrinsic option with the features it needs.
+     *
+     * @param check the run collecting the findings
+     * @param features the processor features
+     */
+    private static void checkIntrinsics(final Check check,
+                                        final CpuFeatures features) {
+        for (Object[] intrinsic : INTRINSICS) {
+            VMOption option = check.find((String) intrinsic[0]);
+            if (option == null) {
+                continue;
+            }
+
+            CpuFeatures required = (CpuFeatures) intrinsic[1];
+            boolean enabled = Boolean.parseBoolean(option.getValue());
+            boolean supported = features.containsAll(required);
+            if (enabled && !supported) {
+                check.add(option, Severity.ERROR, "false",
+                        option.getName() + " is enabled but the processor"
+                                + " lacks " + required);
+            } else if (!enabled && supported) {
+                check.add(option, check.unused(option), "true",
+                        option.getName() + " is disabled but the processor"
+                                + " has " + required);
+            }
+        }
+    }
+
+    /**
+     * Compares UseLargePages with 1 GiB page support and the large page TLB
+     * entries.
+     *
+     * @param check the run collecting the findings
+     * @param features the processor features
+     * @param tlbEntries the 2 MiB page data TLB entries, or -1
+     */
+    private static void checkLargePages(final Check check,
+                                        final CpuFeatures features,
+                                        final int tlbEntries) {
+        VMOption option = check.find(USE_LARGE_PAGES);
+        if (option == null) {
+            return;
+        }
+
+        if (!Boolean.parseBoolean(option.getValue())) {
+            if (tlbEntries > 0) {
+                check.add(option, Severity.INFO, "true",
+                        "the processor has " + tlbEntries
+                                + " data TLB entries for 2 MiB pages that"
+                                + " the heap does not use");
+            }
+            return;
+        }
+
+        if (tlbEntries == 0) {
+            check.add(option, Severity.WARNING, "false",
+                    "large pages are enabled but the processor reports no"
+                            + " data TLB entries for 2 MiB pages");
+        }
+
+        VMOption size = check.find(LARGE_PAGE_SIZE);
+        if (size != null && Long.parseLong(size.getValue()) >= GIB
+                && !features.has(CpuFeature.PDPE1GB)) {
+            check.add(size, Severity.ERROR, Long.toString(TWO_MIB),
+                    "1 GiB pages are requested but the processor does not"
+                            + " support them");
+        }
+    }
+
+    /**
+     * Compares ActiveProcessorCount with the logical CPUs and physical cores
+     * of the topology.
+     *
+     * @param check the run collecting the findings
+     * @param topology the processor topology
+     */
+    private static void checkProcessorCount(final Check check,
+                                            final CpuTopology topology) {
+        VMOption option = check.find(ACTIVE_PROCESSOR_COUNT);
+        if (option == null) {
+            return;
+        }
+
+        int configured = Integer.parseInt(option.getValue());
+        int threads = topology.getCount(TopologyLevel.THREAD);
+        int cores = topology.getCount(TopologyLevel.CORE);
+        if (configured > threads) {
+            check.add(option, Severity.ERROR, Integer.toString(threads),
+                    "ActiveProcessorCount=" + configured + " exceeds the "
+                            + threads + " logical CPUs");
+            return;
+        }
+
+        int effective = threads;
+        if (configured > 0) {
+            effective = configured;
+        }
+        if (effective > cores) {
+            check.add(option, Severity.INFO, Integer.toString(cores),
+                    "the JVM sizes its thread pools for " + effective
+                            + " processors but there are " + cores
+                            + " physical cores");
+        }
+    }
+
+    /**
+     * Names an AVX level for messages.
+     *
+     * @param level the UseAVX level
+     * @return the name of the level
+     */
+    private static String avxLevelName(final int level) {
+        if (level < 0 || level >= AVX_LEVELS.length) {
+            return "level " + level;
+        }
+        return AVX_LEVELS[level];
+    }
+
+    /**
+     * Reads options and collects the findings of a single run.
+     */
+    private static final class Check {
+
+        /** The bean reporting the JVM options. */
+        private final HotSpotDiagnosticMXBean bean;
+
+        /** The findings, in the order they were made. */
+        private final List<AdvisorFinding> findings = new ArrayList<>();
+
+        /** The names of the options that were read. */
+        private final List<String> checked = new ArrayList<>();
+
+        /**
+         * Creates a run reading options from the given bean.
+         *
+         * @param diagnosticBean the bean reporting the JVM options
+         */
+        Check(final HotSpotDiagnosticMXBean diagnosticBean) {
+            this.bean = diagnosticBean;
+        }
+
+        /**
+         * Reads an option and records that it was checked.
+         *
+         * @param name the name of the option
+         * @return the option, or null when the JVM does not expose it
+         */
+        VMOption find(final String name) {
+            VMOption option;
+            try {
+                option = bean.getVMOption(name);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            checked.add(name);
+            return option;
+        }
+
+        /**
+         * Chooses the severity of an option that leaves a capability
+         * unused: a warning when it was set explicitly, otherwise
+         * information about the choice the JVM made.
+         *
+         * @param option the option
+         * @return the severity
+         */
+        Severity unused(final VMOption option) {
+            VMOption.Origin origin = option.getOrigin();
+            if (origin == VMOption.Origin.DEFAULT
+                    || origin == VMOption.Origin.ERGONOMIC) {
+                return Severity.INFO;
+            }
+            return Severity.WARNING;
+        }
+
+        /**
+         * Adds a finding about the given option.
+         *
+         * @param option the option
+         * @param severity the severity of the finding
+         * @param recommended the recommended value
+         * @param message the explanation
+         */
+        void add(final VMOption option, final Severity severity,
+                 final String recommended, final String message) {
+            findings.add(new AdvisorFinding(option.getName(), severity,
+                    option.getValue(), option.getOrigin().name(),
+                    recommended, message));
+        }
+    }
+}
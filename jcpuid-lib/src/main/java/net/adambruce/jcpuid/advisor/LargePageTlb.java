@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.advisor;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.info.CpuVendor;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+/**
+ * Reads the number of data TLB entries for 2 MiB pages.
+ */
+final class LargePageTlb {
+
+    /** The value returned when the entry count is unknown. */
+    static final int UNKNOWN = -1;
+
+    /** The leaf reporting the highest standard leaf and the vendor. */
+    static final int VENDOR_LEAF = 0x0;
+
+    /** The leaf reporting the highest extended leaf. */
+    static final int EXTENDED_LEAF = 0x80000000;
+
+    /** The AMD leaf describing the L1 TLBs for 2 MiB and 4 MiB pages. */
+    static final int AMD_L1_TLB_LEAF = 0x80000005;
+
+    /** The AMD leaf describing the L2 TLBs for 2 MiB and 4 MiB pages. */
+    static final int AMD_L2_TLB_LEAF = 0x80000006;
+
+    /** The Intel leaf describing the deterministic address translation. */
+    static final int INTEL_TLB_LEAF = 0x18;
+
+    /** The most sub-leaves of the Intel TLB leaf that are read. */
+    static final int MAX_SUBLEAVES = 16;
+
+    /** The offset of the AMD L1 data TLB entry count. */
+    private static final int AMD_L1_ENTRIES_SHIFT = 16;
+
+    /** The mask of the AMD L1 data TLB entry count. */
+    private static final int AMD_L1_ENTRIES_MASK = 0xFF;
+
+    /** The offset of the AMD L2 data TLB entry count. */
+    private static final int AMD_L2_ENTRIES_SHIFT = 16;
+
+    /** The mask of the AMD L2 data TLB entry count. */
+    private static final int AMD_L2_ENTRIES_MASK = 0xFFF;
+
+    /** The mask of the Intel TLB type. */
+    private static final int TYPE_MASK = 0x1F;
+
+    /** The Intel TLB type of an unused sub-leaf. */
+    private static final int TYPE_NULL = 0;
+
+    /** The Intel TLB type of an instruction TLB. */
+    private static final int TYPE_INSTRUCTION = 2;
+
+    /** The bit of EBX set when an Intel TLB holds 2 MiB pages. */
+    private static final int PAGE_2M_BIT = 1 << 1;
+
+    /** The offset of the Intel TLB ways. */
+    private static final int WAYS_SHIFT = 16;
+
+    private LargePageTlb() {
+
+    }
+
+    /**
+     * Gets the number of data TLB entries for 2 MiB pages, taking the
+     * largest of the reported TLB levels. Intel processors report it in
+     * leaf 0x18, and AMD and Hygon processors in leaves 0x80000005 and
+     * 0x80000006.
+     *
+     * @param cpuid the CPUID implementation
+     * @return the number of entries, or {@link #UNKNOWN} when the processor
+     * does not report it
+     */
+    static int dataEntries(final Cpuid cpuid) {
+        CpuidResult vendorLeaf = cpuid.execute(VENDOR_LEAF);
+        CpuVendor vendor = CpuVendor.fromRegisters(
+                vendorLeaf.getEbxValue(),
+                vendorLeaf.getEdxValue(),
+                vendorLeaf.getEcxValue());
+
+        if (vendor == CpuVendor.AMD || vendor == CpuVendor.HYGON) {
+            return amdEntries(cpuid);
+        }
+        if (vendor == CpuVendor.INTEL
+                && vendorLeaf.getEaxValue() >= INTEL_TLB_LEAF) {
+            return intelEntries(cpuid);
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Reads the L1 and L2 data TLB entry counts for 2 MiB pages from the
+     * AMD extended leaves.
+     *
+     * @param cpuid the CPUID implementation
+     * @return the larger entry count, or {@link #UNKNOWN}
+     */
+    private static int amdEntries(final Cpuid cpuid) {
+        int maxLeaf = cpuid.execute(EXTENDED_LEAF).getEaxValue();
+        if (Integer.compareUnsigned(maxLeaf, AMD_L1_TLB_LEAF) < 0) {
+            return UNKNOWN;
+        }
+
+        int l1 = (cpuid.execute(AMD_L1_TLB_LEAF).getEaxValue()
+                >>> AMD_L1_ENTRIES_SHIFT) & AMD_L1_ENTRIES_MASK;
+        if (Integer.compareUnsigned(maxLeaf, AMD_L2_TLB_LEAF) < 0) {
+            return l1;
+        }
+
+        int l2 = (cpuid.execute(AMD_L2_TLB_LEAF).getEaxValue()
+                >>> AMD_L2_ENTRIES_SHIFT) & AMD_L2_ENTRIES_MASK;
+        return Math.max(l1, l2);
+    }
+
+    /**
+     * Walks the sub-leaves of leaf 0x18, skipping instruction TLBs and TLBs
+     * that do not hold 2 MiB pages.
+     *
+     * @param cpuid the CPUID implementation
+     * @return the largest entry count, or {@link #UNKNOWN}
+     */
+    private static int intelEntries(final Cpuid cpuid) {
+        int maxSubleaf = Math.min(
+                cpuid.execute(INTEL_TLB_LEAF, 0).getEaxValue(),
+                MAX_SUBLEAVES - 1);
+
+        int entries = 0;
+        for (int subleaf = 0; subleaf <= maxSubleaf; subleaf++) {
+            CpuidResult tlb = cpuid.execute(INTEL_TLB_LEAF, subleaf);
+            int type = tlb.getEdxValue() & TYPE_MASK;
+            int pages = tlb.getEbxValue();
+            if (type == TYPE_NULL || type == TYPE_INSTRUCTION
+                    || (pages & PAGE_2M_BIT) == 0) {
+                continue;
+            }
+            int ways = pages >>> WAYS_SHIFT;
+            int sets = tlb.getEcxValue();
+            entries = Math.max(entries, ways * sets);
+        }
+        return entries;
+    }
+}
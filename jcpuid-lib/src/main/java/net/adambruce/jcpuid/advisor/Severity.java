@@ -0,0 +1,32 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.advisor;
+
+/**
+ * The severity of a finding, from the least to the most severe.
+ */
+public enum Severity {
+
+    /** The JVM chose a setting that may not suit the processor. */
+    INFO,
+
+    /** An option leaves a capability of the processor unused. */
+    WARNING,
+
+    /** An option requests a capability the processor does not have. */
+    ERROR
+}
@@ -16,8 +16,12 @@
 
 package net.adambruce.jcpuid.bridge;
 
+import net.adambruce.jcpuid.internal.AffinityArguments;
+import net.adambruce.jcpuid.internal.BatchArguments;
 import net.adambruce.jcpuid.type.CpuidResult;
 
+import java.nio.ByteBuffer;
+
 /**
  * Defines the required methods that a bridge must implement.
  */
@@ -39,4 +43,169 @@ public interface CpuidBridge {
      * @return the result containing register values and return value
      */
     CpuidResult executeCPUID(int leaf, int subleaf);
+
+    /**
+     * Executes the CPUID instruction with the given leaf and sub-leaf nodes
+     * and writes the registers to the given array in EAX, EBX, ECX, EDX
+     * order. Implementations should not allocate any objects.
+     * <p>
+     * The default implementation copies the result of
+     * {@link #executeCPUID(int, int)}. Native bridges should override it to
+     * write to the array directly.
+     *
+     * @param leaf the leaf
+     * @param subleaf the sub-leaf
+     * @param dest the array to write the register values to
+     * @param offset the index of the first element to write
+     * @throws NullPointerException the array is null
+     * @throws IndexOutOfBoundsException the registers do not fit in the
+     * array at the offset
+     */
+    default void executeCPUID(final int leaf, final int subleaf,
+                              final int[] dest, final int offset) {
+        executeCPUID(leaf, subleaf).copyTo(dest, offset);
+    }
+
+    /**
+     * Executes the CPUID instruction for each leaf and sub-leaf pair. The
+     * registers of the request at index {@code i} are written to
+     * {@code out} starting at {@code i * 4}, in EAX, EBX, ECX, EDX order.
+     * <p>
+     * The default implementation executes each request with
+     * {@link #executeCPUID(int, int, int[], int)}. Native bridges should
+     * override it to execute the whole batch in a single call.
+     *
+     * @param leaves the leaves
+     * @param subleaves the sub-leaves, one per leaf
+     * @param out the array to write the register values to
+     * @throws IllegalArgumentException the sub-leaves do not match the
+     * leaves, or the output array is too small
+     */
+    default void executeCPUIDBatch(final int[] leaves, final int[] subleaves,
+                                   final int[] out) {
+        BatchArguments.check(leaves, subleaves, out);
+
+        for (int i = 0; i < leaves.length; i++) {
+            executeCPUID(leaves[i], subleaves[i], out,
+                    i * CpuidResult.REGISTER_COUNT);
+        }
+    }
+
+    /**
+     * Enumerates every standard and extended leaf, including the sub-leaves
+     * of leaves 0x4, 0x7, 0xB, 0xD, 0x1F, 0x8000001D and the other leaves
+     * that have them, and writes the results to the given buffer using the
+     * record layout described by
+     * {@link net.adambruce.jcpuid.type.CpuidSnapshot}. Records are written
+     * from the start of the buffer, and only as many as fit are written.
+     * <p>
+     * The default implementation performs the enumeration with
+     * {@link #executeCPUID(int, int)}. Native bridges should override it to
+     * perform the whole enumeration in a single call.
+     *
+     * @param buffer the buffer to write the records to
+     * @return the number of records in the full enumeration, which is larger
+     * than the number of records written when the buffer is too small
+     */
+    default int dumpCPUID(final ByteBuffer buffer) {
+        return CpuidEnumerator.dump(this, buffer);
+    }
+
+    /**
+     * Gets the logical CPUs that the calling thread is allowed to run on,
+     * which reflects any affinity set for the process, for example with
+     * {@code taskset} or a cgroup CPU set.
+     * <p>
+     * The default implementation does not support thread affinity and
+     * returns an empty array.
+     *
+     * @return the logical CPU numbers in ascending order, or an empty array
+     * when thread affinity is not supported
+     */
+    default int[] getThreadAffinity() {
+        return new int[0];
+    }
+
+    /**
+     * Restricts the calling thread to run only on the given logical CPUs.
+     * Pinning a thread to a single CPU guarantees that CPUID reports the
+     * per-core values of that CPU, such as its APIC ID.
+     * <p>
+     * The default implementation does not support thread affinity and
+     * returns false.
+     *
+     * @param cpus the logical CPU numbers
+     * @return true if the affinity was set, otherwise false
+     * @throws IllegalArgumentException no CPUs were given, or a CPU number
+     * is negative
+     */
+    default boolean setThreadAffinity(final int... cpus) {
+        AffinityArguments.check(cpus);
+        return false;
+    }
+
+    /**
+     * Identifies the logical CPU the calling thread is running on. The
+     * thread may move to another CPU as soon as the method returns, so the
+     * result is a hint, suitable for spreading work or counters across
+     * CPUs but not for correctness.
+     * <p>
+     * The default implementation returns the APIC ID of the CPU, read with
+     * CPUID from the x2APIC ID of leaf 0xB or the initial APIC ID of leaf
+     * 0x1. APIC IDs are unique per CPU but are not a dense index, and
+     * executing CPUID is slow inside virtual machines. Native bridges
+     * should override it with a faster source of the CPU number.
+     *
+     * @return an identifier of the current logical CPU
+     */
+    default int getCurrentCpu() {
+        return CurrentCpu.apicId(this);
+    }
+
+    /**
+     * Checks whether the bridge can read the time stamp counter with
+     * {@link #readTSC()}. This only states that the bridge implements the
+     * read; whether the processor has a usable counter is reported by
+     * CPUID.
+     * <p>
+     * The default implementation does not support reading the time stamp
+     * counter and returns false.
+     *
+     * @return true if the time stamp counter can be read, otherwise false
+     */
+    default boolean isTSCSupported() {
+        return false;
+    }
+
+    /**
+     * Reads the time stamp counter with the RDTSC instruction. The read is
+     * not ordered with respect to the surrounding instructions.
+     * <p>
+     * The default implementation does not support reading the time stamp
+     * counter and throws an exception.
+     *
+     * @return the value of the time stamp counter
+     * @throws UnsupportedOperationException the bridge cannot read the time
+     * stamp counter
+     */
+    default long readTSC() {
+        throw new UnsupportedOperationException(
+                "time stamp counter is not supported by this bridge");
+    }
+
+    /**
+     * Reads the time stamp counter with the RDTSCP instruction, which waits
+     * for all earlier instructions to complete before reading the counter.
+     * <p>
+     * The default implementation does not support reading the time stamp
+     * counter and throws an exception.
+     *
+     * @return the value of the time stamp counter
+     * @throws UnsupportedOperationException the bridge or the processor does
+     * not support the RDTSCP instruction
+     */
+    default long readTSCP() {
+        throw new UnsupportedOperationException(
+                "RDTSCP is not supported by this bridge");
+    }
 }
@@ -20,6 +20,7 @@ import net.adambruce.jcpuid.exception.CpuidException;
 import net.adambruce.jcpuid.loader.Architecture;
 import net.adambruce.jcpuid.loader.NativeLibraryLoader;
 import net.adambruce.jcpuid.loader.OperatingSystem;
+import net.adambruce.jcpuid.metrics.CpuidMetrics;
 
 /**
  * Provides utility methods for obtaining the CPUID instance for the current
@@ -30,8 +31,15 @@ public final class CpuidBridgeFactory {
     /** The loader that will be used for loading the native library. */
     private static final NativeLibraryLoader LOADER = new NativeLibraryLoader();
 
+    /**
+     * The system property that disables the Foreign Function and Memory API
+     * bridge when set to false, forcing the native library to be used.
+     */
+    public static final String FOREIGN_BRIDGE_PROPERTY =
+            "net.adambruce.jcpuid.foreign";
+
     /** Flag to prevent loading the native library more than once. */
-    private static boolean hasLoadedPlatformLibrary = false;
+    private static volatile boolean hasLoadedPlatformLibrary = false;
 
     private CpuidBridgeFactory() {
 
@@ -39,6 +47,16 @@ public final class CpuidBridgeFactory {
 
     /**
      * Returns the correct bridge for the current platform.
+     * <p>
+     * On Java 22 and above running on x86_64, a bridge built on the Foreign
+     * Function and Memory API is returned, which does not need the native
+     * library to be extracted and loaded. Otherwise, or when the
+     * {@value #FOREIGN_BRIDGE_PROPERTY} system property is set to false,
+     * the native library is loaded and a JNI bridge is returned.
+     * <p>
+     * When {@link CpuidMetrics#ENABLED} is true, the bridge records its
+     * executions in the {@link CpuidMetrics#global()} metrics, together with
+     * the time taken to create the first bridge.
      *
      * @return the CPUID bridge for the current platform
      * @throws CpuidException no bridged were found for the platform
@@ -46,14 +64,55 @@ public final class CpuidBridgeFactory {
     public static CpuidBridge getPlatformBridge()
             throws CpuidException {
 
+        if (!CpuidMetrics.ENABLED) {
+            return getRawPlatformBridge();
+        }
+
+        long start = System.nanoTime();
+        CpuidBridge bridge = getRawPlatformBridge();
+        CpuidMetrics metrics = CpuidMetrics.global();
+        metrics.recordBootstrap(System.nanoTime() - start);
+        return new MeteredBridge(bridge, metrics);
+    }
+
+    /**
+     * Returns the correct bridge for the current platform, chosen in the
+     * same way as {@link #getPlatformBridge()} but never wrapped to record
+     * metrics. Used by code whose executions must not be counted or timed
+     * through the wrapper, such as the calibration of
+     * {@link net.adambruce.jcpuid.CpuidCost}.
+     *
+     * @return the CPUID bridge for the current platform
+     * @throws CpuidException no bridge was found for the platform
+     */
+    public static CpuidBridge getRawPlatformBridge()
+            throws CpuidException {
+
+        if (!"false".equalsIgnoreCase(
+                System.getProperty(FOREIGN_BRIDGE_PROPERTY))) {
+            CpuidBridge foreignBridge = ForeignBridgeSupport.createBridge();
+            if (foreignBridge != null) {
+                return foreignBridge;
+            }
+        }
+
         if (!hasLoadedPlatformLibrary) {
-            LOADER.loadLibrary(getOperatingSystem(), getArchitecture());
-            hasLoadedPlatformLibrary = true;
+            loadPlatformLibrary();
         }
 
         return new CpuidBridgeImpl();
     }
 
+    private static synchronized void loadPlatformLibrary()
+            throws CpuidException {
+
+        // Concurrent first callers wait here, and only one of them loads
+        if (!hasLoadedPlatformLibrary) {
+            LOADER.loadLibrary(getOperatingSystem(), getArchitecture());
+            hasLoadedPlatformLibrary = true;
+        }
+    }
+
     private static Architecture getArchitecture()
             throws CpuidException {
 
@@ -16,13 +16,22 @@
 
 package net.adambruce.jcpuid.bridge;
 
+import net.adambruce.jcpuid.internal.AffinityArguments;
+import net.adambruce.jcpuid.internal.BatchArguments;
+import net.adambruce.jcpuid.internal.RegisterArguments;
 import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.nio.ByteBuffer;
 
 /**
  * The default implementation of the CPUIDBridge interface.
  */
 public class CpuidBridgeImpl implements CpuidBridge {
 
+    /** Whether the processor supports RDTSCP, or null until checked. */
+    private volatile Boolean rdtscpSupported;
+
     /**
      * Executes the CPUID instruction using the given leaf.
      *
@@ -46,7 +55,168 @@ public class CpuidBridgeImpl implements CpuidBridge {
         return executeCPUIDNative(leaf, subleaf);
     }
 
+    /**
+     * Executes the CPUID instruction with the given leaf and sub-leaf nodes
+     * and writes the registers straight to the given array.
+     *
+     * @param leaf the leaf
+     * @param subleaf the sub-leaf
+     * @param dest the array to write the register values to
+     * @param offset the index of the first element to write
+     * @throws NullPointerException the array is null
+     * @throws IndexOutOfBoundsException the registers do not fit in the
+     * array at the offset
+     */
+    @Override
+    public void executeCPUID(final int leaf, final int subleaf,
+                             final int[] dest, final int offset) {
+        RegisterArguments.check(dest, offset);
+        executeCPUIDNative(leaf, subleaf, dest, offset);
+    }
+
+    /**
+     * Executes the CPUID instruction for each leaf and sub-leaf pair in a
+     * single native call.
+     *
+     * @param leaves the leaves
+     * @param subleaves the sub-leaves, one per leaf
+     * @param out the array to write the register values to
+     */
+    @Override
+    public void executeCPUIDBatch(final int[] leaves, final int[] subleaves,
+                                  final int[] out) {
+        BatchArguments.check(leaves, subleaves, out);
+        executeCPUIDBatchNative(leaves, subleaves, out);
+    }
+
+    /**
+     * Enumerates every standard and extended leaf in a single native call.
+     * Buffers that are not direct are filled by the default Java
+     * enumeration.
+     *
+     * @param buffer the buffer to write the records to
+     * @return the number of records in the full enumeration
+     */
+    @Override
+    public int dumpCPUID(final ByteBuffer buffer) {
+        if (!buffer.isDirect()) {
+            return CpuidBridge.super.dumpCPUID(buffer);
+        }
+
+        return dumpCPUIDNative(buffer,
+                buffer.capacity() / CpuidSnapshot.RECORD_SIZE);
+    }
+
+    /**
+     * Gets the logical CPUs that the calling thread is allowed to run on.
+     * Thread affinity is supported on Linux and Windows. On Windows only the
+     * first 64 logical CPUs, the current processor group, are reported.
+     *
+     * @return the logical CPU numbers in ascending order, or an empty array
+     * when thread affinity is not supported
+     */
+    @Override
+    public int[] getThreadAffinity() {
+        int[] cpus = getThreadAffinityNative();
+        if (cpus == null) {
+            return new int[0];
+        }
+
+        return cpus;
+    }
+
+    /**
+     * Restricts the calling thread to run only on the given logical CPUs,
+     * using {@code sched_setaffinity} on Linux and
+     * {@code SetThreadAffinityMask} on Windows.
+     *
+     * @param cpus the logical CPU numbers
+     * @return true if the affinity was set, otherwise false
+     */
+    @Override
+    public boolean setThreadAffinity(final int... cpus) {
+        AffinityArguments.check(cpus);
+        return setThreadAffinityNative(cpus);
+    }
+
+    /**
+     * Identifies the logical CPU the calling thread is running on. On Linux
+     * the CPU number is read from TSC_AUX with RDPID, or with RDTSCP when
+     * RDPID is not supported, and on Windows it is the number returned by
+     * {@code GetCurrentProcessorNumber} within the current processor group.
+     * Elsewhere, or when neither instruction is supported, the APIC ID is
+     * returned.
+     *
+     * @return an identifier of the current logical CPU
+     */
+    @Override
+    public int getCurrentCpu() {
+        return getCurrentCpuNative();
+    }
+
+    /**
+     * Checks whether the time stamp counter can be read, which is always
+     * true for the native bridge.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isTSCSupported() {
+        return true;
+    }
+
+    /**
+     * Reads the time stamp counter with the RDTSC instruction.
+     *
+     * @return the value of the time stamp counter
+     */
+    @Override
+    public long readTSC() {
+        return readTSCNative();
+    }
+
+    /**
+     * Reads the time stamp counter with the RDTSCP instruction. Support for
+     * the instruction is checked with CPUID on the first call.
+     *
+     * @return the value of the time stamp counter
+     * @throws UnsupportedOperationException the processor does not support
+     * the RDTSCP instruction
+     */
+    @Override
+    public long readTSCP() {
+        Boolean supported = rdtscpSupported;
+        if (supported == null) {
+            supported = TscSupport.isRdtscpSupported(this);
+            rdtscpSupported = supported;
+        }
+
+        if (!supported) {
+            throw TscSupport.rdtscpUnsupported();
+        }
+
+        return readTSCPNative();
+    }
+
     private native CpuidResult executeCPUIDNative(int leaf);
 
     private native CpuidResult executeCPUIDNative(int leaf, int subleaf);
+
+    private native void executeCPUIDNative(int leaf, int subleaf, int[] dest,
+                                           int offset);
+
+    private native void executeCPUIDBatchNative(int[] leaves, int[] subleaves,
+                                                int[] out);
+
+    private native int dumpCPUIDNative(ByteBuffer buffer, int capacity);
+
+    private native int[] getThreadAffinityNative();
+
+    private native boolean setThreadAffinityNative(int[] cpus);
+
+    private native int getCurrentCpuNative();
+
+    private native long readTSCNative();
+
+    private native long readTSCPNative();
 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Enumerates every standard and extended leaf, and the sub-leaves of the
+ * leaves that have them, through a bridge. This mirrors the enumeration
+ * performed by the native libraries and is used by bridges that do not
+ * provide their own.
+ */
+final class CpuidEnumerator {
+
+    /** The first leaf of the standard range. */
+    private static final int STANDARD_BASE = 0x0;
+
+    /** The first leaf of the extended range. */
+    private static final int EXTENDED_BASE = 0x80000000;
+
+    /** Upper bound on the number of leaves enumerated in a single range. */
+    private static final int MAX_LEAVES_PER_RANGE = 0x100;
+
+    /** Upper bound on the number of sub-leaves enumerated for a leaf. */
+    private static final int MAX_SUBLEAVES = 64;
+
+    /** Deterministic cache parameters leaf (Intel). */
+    private static final int LEAF_CACHE_PARAMETERS = 0x4;
+
+    /** Structured extended feature flags leaf. */
+    private static final int LEAF_EXTENDED_FEATURES = 0x7;
+
+    /** Extended topology enumeration leaf. */
+    private static final int LEAF_EXTENDED_TOPOLOGY = 0xB;
+
+    /** Processor extended state enumeration leaf. */
+    private static final int LEAF_EXTENDED_STATE = 0xD;
+
+    /** Intel processor trace enumeration leaf. */
+    private static final int LEAF_PROCESSOR_TRACE = 0x14;
+
+    /** System-on-chip vendor attribute enumeration leaf. */
+    private static final int LEAF_SOC_VENDOR = 0x17;
+
+    /** Deterministic address translation parameters leaf. */
+    private static final int LEAF_ADDRESS_TRANSLATION = 0x18;
+
+    /** Tile information leaf. */
+    private static final int LEAF_TILE_INFORMATION = 0x1D;
+
+    /** V2 extended topology enumeration leaf. */
+    private static final int LEAF_EXTENDED_TOPOLOGY_V2 = 0x1F;
+
+    /** Processor history reset leaf. */
+    private static final int LEAF_HISTORY_RESET = 0x20;
+
+    /** Cache topology information leaf (AMD). */
+    private static final int LEAF_AMD_CACHE_TOPOLOGY = 0x8000001D;
+
+    /** Extended CPU topology leaf (AMD). */
+    private static final int LEAF_AMD_EXTENDED_TOPOLOGY = 0x80000026;
+
+    /** Mask of the cache type field, zero once there are no more caches. */
+    private static final int CACHE_TYPE_MASK = 0x1F;
+
+    /** Offset of the level type field, zero once there are no more levels. */
+    private static final int LEVEL_TYPE_OFFSET = 8;
+
+    /** Width of a register in bits. */
+    private static final int REGISTER_WIDTH = 32;
+
+    /** Mask for converting a register to an unsigned long. */
+    private static final long UNSIGNED_MASK = 0xFFFFFFFFL;
+
+    /** Offset of the leaf within a record. */
+    private static final int LEAF_OFFSET = 0;
+
+    /** Offset of the sub-leaf within a record. */
+    private static final int SUBLEAF_OFFSET = 4;
+
+    /** Offset of the EAX register within a record. */
+    private static final int EAX_OFFSET = 8;
+
+    /** Offset of the EBX register within a record. */
+    private static final int EBX_OFFSET = 12;
+
+    /** Offset of the ECX register within a record. */
+    private static final int ECX_OFFSET = 16;
+
+    /** Offset of the EDX register within a record. */
+    private static final int EDX_OFFSET = 20;
+
+    /** The bridge used to execute the CPUID instructions. */
+    private final CpuidBridge bridge;
+
+    /** The buffer the records are written to. */
+    private final ByteBuffer records;
+
+    /** The number of records that fit in the buffer. */
+    private final int capacity;
+
+    /** The registers of the most recently executed record. */
+    private final int[] registers = new int[CpuidResult.REGISTER_COUNT];
+
+    /** The number of records enumerated so far. */
+    private int count;
+
+    private CpuidEnumerator(final CpuidBridge cpuidBridge,
+                            final ByteBuffer buffer) {
+        this.bridge = cpuidBridge;
+        this.records = buffer.duplicate().order(ByteOrder.nativeOrder());
+        this.capacity = buffer.capacity() / CpuidSnapshot.RECORD_SIZE;
+    }
+
+    /**
+     * Enumerates every leaf through the given bridge and writes as many
+     * records as fit into the buffer.
+     *
+     * @param bridge the bridge to execute the CPUID instructions with
+     * @param buffer the buffer to write the records to
+     * @return the number of records in the full enumeration, which may be
+     * larger than the number of records written to the buffer
+     */
+    static int dump(final CpuidBridge bridge, final ByteBuffer buffer) {
+        CpuidEnumerator enumerator = new CpuidEnumerator(bridge, buffer);
+        enumerator.recordRange(STANDARD_BASE);
+        enumerator.recordRange(EXTENDED_BASE);
+        return enumerator.count;
+    }
+
+    private void recordRange(final int base) {
+        record(base, 0);
+        int max = registers[CpuidRegisters.EAX];
+        if (Integer.compareUnsigned(max, base) < 0) {
+            return;
+        }
+
+        int last = max - base;
+        if (Integer.compareUnsigned(last, MAX_LEAVES_PER_RANGE) >= 0) {
+            last = MAX_LEAVES_PER_RANGE - 1;
+        }
+
+        for (int i = 1; i <= last; i++) {
+            recordLeaf(base + i);
+        }
+    }
+
+    private void recordLeaf(final int leaf) {
+        switch (leaf) {
+            case LEAF_CACHE_PARAMETERS:
+            case LEAF_AMD_CACHE_TOPOLOGY:
+                recordCacheLeaf(leaf);
+                break;
+            case LEAF_EXTENDED_TOPOLOGY:
+            case LEAF_EXTENDED_TOPOLOGY_V2:
+            case LEAF_AMD_EXTENDED_TOPOLOGY:
+                recordTopologyLeaf(leaf);
+                break;
+            case LEAF_EXTENDED_FEATURES:
+            case LEAF_PROCESSOR_TRACE:
+            case LEAF_SOC_VENDOR:
+            case LEAF_ADDRESS_TRANSLATION:
+            case LEAF_TILE_INFORMATION:
+            case LEAF_HISTORY_RESET:
+                recordCountedLeaf(leaf);
+                break;
+            case LEAF_EXTENDED_STATE:
+                recordExtendedStateLeaf();
+                break;
+            default:
+                record(leaf, 0);
+                break;
+        }
+    }
+
+    private void recordCacheLeaf(final int leaf) {
+        for (int subleaf = 0; subleaf < MAX_SUBLEAVES; subleaf++) {
+            record(leaf, subleaf);
+            if ((registers[CpuidRegisters.EAX] & CACHE_TYPE_MASK) == 0) {
+                return;
+            }
+        }
+    }
+
+    private void recordTopologyLeaf(final int leaf) {
+        for (int subleaf = 0; subleaf < MAX_SUBLEAVES; subleaf++) {
+            record(leaf, subleaf);
+            if (CpuidRegisters.getByteValue(registers[CpuidRegisters.ECX],
+                    LEVEL_TYPE_OFFSET) == 0) {
+                return;
+            }
+        }
+    }
+
+    private void recordCountedLeaf(final int leaf) {
+        record(leaf, 0);
+        int max = registers[CpuidRegisters.EAX];
+        if (Integer.compareUnsigned(max, MAX_SUBLEAVES) >= 0) {
+            max = MAX_SUBLEAVES - 1;
+        }
+
+        for (int subleaf = 1; subleaf <= max; subleaf++) {
+            record(leaf, subleaf);
+        }
+    }
+
+    private void recordExtendedStateLeaf() {
+        record(LEAF_EXTENDED_STATE, 0);
+        long mask = toLong(registers[CpuidRegisters.EAX],
+                registers[CpuidRegisters.EDX]);
+
+        record(LEAF_EXTENDED_STATE, 1);
+        mask |= toLong(registers[CpuidRegisters.ECX],
+                registers[CpuidRegisters.EDX]);
+
+        for (int subleaf = 2; subleaf < MAX_SUBLEAVES; subleaf++) {
+            if ((mask & (1L << subleaf)) != 0) {
+                record(LEAF_EXTENDED_STATE, subleaf);
+            }
+        }
+    }
+
+    private static long toLong(final int low, final int high) {
+        return (low & UNSIGNED_MASK) | ((long) high << REGISTER_WIDTH);
+    }
+
+    private void record(final int leaf, final int subleaf) {
+        bridge.executeCPUID(leaf, subleaf, registers, 0);
+
+        if (count < capacity) {
+            int offset = count * CpuidSnapshot.RECORD_SIZE;
+            records.putInt(offset + LEAF_OFFSET, leaf);
+            records.putInt(offset + SUBLEAF_OFFSET, subleaf);
+            records.putInt(offset + EAX_OFFSET,
+                    registers[CpuidRegisters.EAX]);
+            records.putInt(offset + EBX_OFFSET,
+                    registers[CpuidRegisters.EBX]);
+            records.putInt(offset + ECX_OFFSET,
+                    registers[CpuidRegisters.ECX]);
+            records.putInt(offset + EDX_OFFSET,
+                    registers[CpuidRegisters.EDX]);
+        }
+
+        count++;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+/**
+ * Selects how bridges identify the logical CPU the calling thread runs on,
+ * and reads the APIC ID used when the processor offers nothing faster.
+ * <p>
+ * Linux stores the number of each logical CPU in the low 12 bits of the
+ * TSC_AUX register, which the RDPID instruction reads directly and RDTSCP
+ * reads as a side effect of reading the time stamp counter. Processors with
+ * neither instruction are identified by their APIC ID, which needs a CPUID
+ * execution and is not a dense index.
+ */
+final class CurrentCpu {
+
+    /** The CPU number is read with RDPID. */
+    static final int RDPID = 0;
+
+    /** The CPU number is read from TSC_AUX with RDTSCP. */
+    static final int RDTSCP = 1;
+
+    /** The APIC ID is read with CPUID. */
+    static final int APIC_ID = 2;
+
+    /** The bits of TSC_AUX that hold the CPU number on Linux. */
+    static final int CPU_NUMBER_MASK = 0xFFF;
+
+    /** The leaf that reports the RDPID instruction. */
+    private static final int STRUCTURED_FEATURES = 0x7;
+
+    /** The bit of ECX in leaf 0x7 that reports RDPID. */
+    private static final int RDPID_BIT = 22;
+
+    /** The leaf that reports the x2APIC ID. */
+    private static final int TOPOLOGY_LEAF = 0xB;
+
+    /** The position of the initial APIC ID in EBX of leaf 0x1. */
+    private static final int INITIAL_APIC_ID_SHIFT = 24;
+
+    private CurrentCpu() {
+
+    }
+
+    /**
+     * Selects the fastest way to identify the current CPU that the
+     * processor supports.
+     *
+     * @param bridge the bridge to execute CPUID with
+     * @return {@link #RDPID}, {@link #RDTSCP} or {@link #APIC_ID}
+     */
+    static int selectSource(final CpuidBridge bridge) {
+        int maxStandard = bridge.executeCPUID(0x0).getEaxValue();
+        if (maxStandard >= STRUCTURED_FEATURES
+                && CpuidRegisters.isBitSet(bridge.executeCPUID(
+                        STRUCTURED_FEATURES, 0).getEcxValue(), RDPID_BIT)) {
+            return RDPID;
+        }
+
+        if (TscSupport.isRdtscpSupported(bridge)) {
+            return RDTSCP;
+        }
+
+        return APIC_ID;
+    }
+
+    /**
+     * Reads the APIC ID of the current CPU, which is the 32-bit x2APIC ID
+     * of leaf 0xB when the processor reports it, and otherwise the 8-bit
+     * initial APIC ID of leaf 0x1.
+     *
+     * @param bridge the bridge to execute CPUID with
+     * @return the APIC ID
+     */
+    static int apicId(final CpuidBridge bridge) {
+        int maxStandard = bridge.executeCPUID(0x0).getEaxValue();
+        if (maxStandard >= TOPOLOGY_LEAF) {
+            CpuidResult topology = bridge.executeCPUID(TOPOLOGY_LEAF, 0);
+            if (topology.getEbxValue() != 0) {
+                return topology.getEdxValue();
+            }
+        }
+
+        return bridge.executeCPUID(0x1).getEbxValue()
+                >>> INITIAL_APIC_ID_SHIFT;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+/**
+ * Creates the bridge built on the Foreign Function and Memory API. This is
+ * the baseline version of the class, used by runtimes older than Java 22,
+ * and it never provides a bridge. The multi-release JAR replaces it with a
+ * version that does on Java 22 and above.
+ */
+final class ForeignBridgeSupport {
+
+    private ForeignBridgeSupport() {
+
+    }
+
+    /**
+     * Creates the foreign bridge, if the current runtime and platform
+     * support it.
+     *
+     * @return the foreign bridge, or null when it is not supported
+     */
+    static CpuidBridge createBridge() {
+        return null;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.metrics.CpuidMetrics;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A bridge that records the CPUID executions of another bridge in a
+ * {@link CpuidMetrics}. Each leaf of a batch is counted, and the batch is
+ * recorded as a single latency sample. Enumerations are only recorded as
+ * a latency sample, as the leaves they execute are not known.
+ */
+final class MeteredBridge implements CpuidBridge {
+
+    /** The bridge executing the instructions. */
+    private final CpuidBridge delegate;
+
+    /** The metrics to record the executions in. */
+    private final CpuidMetrics metrics;
+
+    /**
+     * Creates a bridge recording the executions of the given bridge.
+     *
+     * @param bridge the bridge to record
+     * @param cpuidMetrics the metrics to record the executions in
+     */
+    MeteredBridge(final CpuidBridge bridge,
+                  final CpuidMetrics cpuidMetrics) {
+        this.delegate = bridge;
+        this.metrics = cpuidMetrics;
+    }
+
+    @Override
+    public CpuidResult executeCPUID(final int leaf) {
+        long start = System.nanoTime();
+        CpuidResult result = delegate.executeCPUID(leaf);
+        metrics.recordLatency(System.nanoTime() - start);
+        metrics.recordCall(leaf);
+        return result;
+    }
+
+    @Override
+    public CpuidResult executeCPUID(final int leaf, final int subleaf) {
+        long start = System.nanoTime();
+        CpuidResult result = delegate.executeCPUID(leaf, subleaf);
+        metrics.recordLatency(System.nanoTime() - start);
+        metrics.recordCall(leaf);
+        return result;
+    }
+
+    @Override
+    public void executeCPUID(final int leaf, final int subleaf,
+                             final int[] dest, final int offset) {
+        long start = System.nanoTime();
+        delegate.executeCPUID(leaf, subleaf, dest, offset);
+        metrics.recordLatency(System.nanoTime() - start);
+        metrics.recordCall(leaf);
+    }
+
+    @Override
+    public void executeCPUIDBatch(final int[] leaves, final int[] subleaves,
+                                  final int[] out) {
+        long start = System.nanoTime();
+        delegate.executeCPUIDBatch(leaves, subleaves, out);
+        metrics.recordLatency(System.nanoTime() - start);
+        for (int leaf : leaves) {
+            metrics.recordCall(leaf);
+        }
+    }
+
+    @Override
+    public int dumpCPUID(final ByteBuffer buffer) {
+        long start = System.nanoTime();
+        int records = delegate.dumpCPUID(buffer);
+        metrics.recordLatency(System.nanoTime() - start);
+        return records;
+    }
+
+    @Override
+    public int[] getThreadAffinity() {
+        return delegate.getThreadAffinity();
+    }
+
+    @Override
+    public boolean setThreadAffinity(final int... cpus) {
+        return delegate.setThreadAffinity(cpus);
+    }
+
+    @Override
+    public int getCurrentCpu() {
+        return delegate.getCurrentCpu();
+    }
+
+    @Override
+    public boolean isTSCSupported() {
+        return delegate.isTSCSupported();
+    }
+
+    @Override
+    public long readTSC() {
+        return delegate.readTSC();
+    }
+
+    @Override
+    public long readTSCP() {
+        return delegate.readTSCP();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.type.CpuidRegisters;
+
+/**
+ * Checks the processor support needed by bridges that read the time stamp
+ * counter.
+ */
+final class TscSupport {
+
+    /** The first extended leaf, which reports the highest extended leaf. */
+    private static final int EXTENDED_BASE = 0x80000000;
+
+    /** The extended leaf that reports the RDTSCP instruction. */
+    private static final int EXTENDED_FEATURES = 0x80000001;
+
+    /** The bit of EDX in leaf 0x80000001 that reports RDTSCP. */
+    private static final int RDTSCP_BIT = 27;
+
+    private TscSupport() {
+
+    }
+
+    /**
+     * Checks whether the processor supports the RDTSCP instruction, using
+     * the given bridge to execute CPUID.
+     *
+     * @param bridge the bridge to execute CPUID with
+     * @return true if RDTSCP is supported, otherwise false
+     */
+    static boolean isRdtscpSupported(final CpuidBridge bridge) {
+        int maxExtended = bridge.executeCPUID(EXTENDED_BASE).getEaxValue();
+        if (Integer.compareUnsigned(maxExtended, EXTENDED_FEATURES) < 0) {
+            return false;
+        }
+
+        return CpuidRegisters.isBitSet(
+                bridge.executeCPUID(EXTENDED_FEATURES).getEdxValue(),
+                RDTSCP_BIT);
+    }
+
+    /**
+     * Creates the exception thrown when the processor does not support the
+     * RDTSCP instruction.
+     *
+     * @return the exception
+     */
+    static UnsupportedOperationException rdtscpUnsupported() {
+        return new UnsupportedOperationException(
+                "RDTSCP is not supported by this processor");
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.clock;
+
+/**
+ * The source of the time stamp counter frequency used by a
+ * {@link TscClock}.
+ */
+public enum FrequencySource {
+
+    /**
+     * The frequency of the core crystal clock and the ratio of the time
+     * stamp counter to it, both reported by leaf 0x15.
+     */
+    CRYSTAL,
+
+    /**
+     * The ratio of the time stamp counter to the core crystal clock reported
+     * by leaf 0x15, and the processor base frequency reported by leaf 0x16,
+     * which the time stamp counter runs at when the crystal frequency is
+     * not enumerated.
+     */
+    BASE_FREQUENCY,
+
+    /**
+     * The frequency reported by the hypervisor in its timing leaf, which
+     * takes the place of the base frequency inside a virtual machine.
+     */
+    HYPERVISOR,
+
+    /** The frequency measured against {@link System#nanoTime()}. */
+    CALIBRATED
+}
@@ -0,0 +1,499 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.clock;
+
+import net.adambruce.jcpuid.CpuidImpl;
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.bridge.CpuidBridgeFactory;
+import net.adambruce.jcpuid.exception.CpuidException;
+import net.adambruce.jcpuid.info.HypervisorInfo;
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A clock that reads the processor time stamp counter and converts ticks of
+ * the counter to nanoseconds.
+ * <p>
+ * The clock is only created when the counter is reliable: the processor
+ * must report an invariant time stamp counter in bit 8 of EDX in leaf
+ * 0x80000007, which runs at a constant rate in every power state and is
+ * synchronised between the cores of a package. The frequency of the
+ * counter is derived from leaf 0x15 when the processor enumerates the
+ * crystal frequency, then from the timing leaf of the hypervisor inside a
+ * virtual machine, then from leaf 0x16, and is otherwise calibrated
+ * against {@link System#nanoTime()}.
+ * <p>
+ * Ticks are converted to nanoseconds with a 32.32 fixed point multiplier
+ * instead of a division, so converting an interval shorter than a second
+ * costs a multiplication and a shift.
+ */
+public final class TscClock {
+
+    /** The default duration of a frequency calibration, 20 milliseconds. */
+    public static final long DEFAULT_CALIBRATION_NANOS = 20_000_000L;
+
+    /** The lowest counter frequency accepted as plausible, 100 MHz. */
+    static final long MIN_FREQUENCY = 100_000_000L;
+
+    /** The highest counter frequency accepted as plausible, 20 GHz. */
+    static final long MAX_FREQUENCY = 20_000_000_000L;
+
+    /** The number of nanoseconds in a second. */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /** The number of fraction bits of the conversion multiplier. */
+    private static final int SHIFT = 32;
+
+    /** The leaves executed to check the counter. */
+    private static final int[] PROBE_LEAVES = {
+        0x0, 0x1, 0x15, 0x16, 0x80000000, 0x80000001, 0x80000007
+    };
+
+    /** The sub-leaves executed to check the counter. */
+    private static final int[] PROBE_SUBLEAVES = new int[PROBE_LEAVES.length];
+
+    /** The index of the request for the highest standard leaf. */
+    private static final int MAX_STANDARD_REQUEST = 0;
+
+    /** The index of the request for leaf 0x1. */
+    private static final int FEATURES_REQUEST = 1;
+
+    /** The index of the request for leaf 0x15. */
+    private static final int CRYSTAL_REQUEST = 2;
+
+    /** The index of the request for leaf 0x16. */
+    private static final int FREQUENCY_REQUEST = 3;
+
+    /** The index of the request for the highest extended leaf. */
+    private static final int MAX_EXTENDED_REQUEST = 4;
+
+    /** The index of the request for leaf 0x80000001. */
+    private static final int EXTENDED_FEATURES_REQUEST = 5;
+
+    /** The index of the request for leaf 0x80000007. */
+    private static final int POWER_REQUEST = 6;
+
+    /** The bit of EDX in leaf 0x1 that reports the time stamp counter. */
+    private static final int TSC_BIT = 4;
+
+    /** The bit of EDX in leaf 0x80000001 that reports RDTSCP. */
+    private static final int RDTSCP_BIT = 27;
+
+    /** The bit of EDX in leaf 0x80000007 that reports an invariant TSC. */
+    private static final int INVARIANT_TSC_BIT = 8;
+
+    /** The bit of ECX in leaf 0x1 set under a hypervisor. */
+    private static final int HYPERVISOR_BIT = 31;
+
+    /** The mask of the base frequency in EAX of leaf 0x16, in MHz. */
+    private static final int BASE_FREQUENCY_MASK = 0xFFFF;
+
+    /** The number of hertz in a megahertz. */
+    private static final long HERTZ_PER_MEGAHERTZ = 1_000_000L;
+
+    /** The number of reads taken to find the tightest calibration sample. */
+    private static final int CALIBRATION_READS = 5;
+
+    /** The bridge used to read the counter. */
+    private final CpuidBridge bridge;
+
+    /** The frequency of the counter, in hertz. */
+    private final long frequency;
+
+    /** The source of the frequency. */
+    private final FrequencySource frequencySource;
+
+    /** Whether the counter can be read with RDTSCP. */
+    private final boolean rdtscp;
+
+    /** The nanoseconds per tick, with {@link #SHIFT} fraction bits. */
+    private final long multiplier;
+
+    private TscClock(final CpuidBridge tscBridge, final long tscFrequency,
+                     final FrequencySource source,
+                     final boolean rdtscpSupported) {
+        this.bridge = tscBridge;
+        this.frequency = tscFrequency;
+        this.frequencySource = source;
+        this.rdtscp = rdtscpSupported;
+        // Rounding the multiplier up makes whole nanoseconds exact
+        this.multiplier = ((NANOS_PER_SECOND << SHIFT) + tscFrequency - 1)
+                / tscFrequency;
+    }
+
+    /**
+     * Creates a clock for the current platform, loading the native library
+     * if it has not already been loaded into the current JVM.
+     *
+     * @return the clock
+     * @throws CpuidException the platform CPUID implementation failed to
+     * initialise, or the time stamp counter is not reliable
+     */
+    public static TscClock create() throws CpuidException {
+        return create(CpuidBridgeFactory.getPlatformBridge());
+    }
+
+    /**
+     * Creates a clock that reads the time stamp counter with the given
+     * bridge. When the frequency must be calibrated, the calibration takes
+     * {@link #DEFAULT_CALIBRATION_NANOS} nanoseconds.
+     *
+     * @param bridge the bridge to execute CPUID and read the counter with
+     * @return the clock
+     * @throws CpuidException the time stamp counter is not reliable
+     */
+    public static TscClock create(final CpuidBridge bridge)
+            throws CpuidException {
+        return create(bridge, DEFAULT_CALIBRATION_NANOS);
+    }
+
+    /**
+     * Creates a clock that reads the time stamp counter with the given
+     * bridge, calibrating the frequency for the given duration when the
+     * processor does not report it. Longer calibrations give a more
+     * accurate frequency.
+     *
+     * @param bridge the bridge to execute CPUID and read the counter with
+     * @param calibrationNanos the duration of the calibration, in
+     * nanoseconds
+     * @return the clock
+     * @throws CpuidException the time stamp counter is not reliable
+     * @throws IllegalArgumentException the calibration duration is not
+     * positive
+     */
+    public static TscClock create(final CpuidBridge bridge,
+                                  final long calibrationNanos)
+            throws CpuidException {
+        return create(bridge, System::nanoTime, calibrationNanos);
+    }
+
+    /**
+     * Creates a clock, calibrating against the given time source.
+     *
+     * @param bridge the bridge to execute CPUID and read the counter with
+     * @param nanoTime the time source to calibrate against
+     * @param calibrationNanos the duration of the calibration, in
+     * nanoseconds
+     * @return the clock
+     * @throws CpuidException the time stamp counter is not reliable
+     */
+    static TscClock create(final CpuidBridge bridge,
+                           final LongSupplier nanoTime,
+                           final long calibrationNanos)
+            throws CpuidException {
+
+        if (calibrationNanos <= 0) {
+            throw new IllegalArgumentException(
+                    "calibration duration must be positive: "
+                            + calibrationNanos);
+        }
+
+        if (!bridge.isTSCSupported()) {
+            throw new CpuidException(
+                    "the bridge cannot read the time stamp counter");
+        }
+
+        int[] out = new int[PROBE_LEAVES.length * CpuidResult.REGISTER_COUNT];
+        bridge.executeCPUIDBatch(PROBE_LEAVES, PROBE_SUBLEAVES, out);
+
+        if (!isBitSet(out, FEATURES_REQUEST, CpuidRegisters.EDX, TSC_BIT)) {
+            throw new CpuidException(
+                    "the processor has no time stamp counter");
+        }
+
+        if (!isBitSet(out, POWER_REQUEST, CpuidRegisters.EDX,
+                INVARIANT_TSC_BIT)) {
+            throw new CpuidException(
+                    "the time stamp counter is not invariant");
+        }
+
+        boolean rdtscp = isBitSet(out, EXTENDED_FEATURES_REQUEST,
+                CpuidRegisters.EDX, RDTSCP_BIT);
+
+        FrequencySource source = FrequencySource.CALIBRATED;
+        long frequency = 0L;
+
+        if (isValid(out, CRYSTAL_REQUEST)) {
+            long denominator = register(out, CRYSTAL_REQUEST,
+                    CpuidRegisters.EAX);
+            long numerator = register(out, CRYSTAL_REQUEST,
+                    CpuidRegisters.EBX);
+            long crystal = register(out, CRYSTAL_REQUEST,
+                    CpuidRegisters.ECX);
+            long baseMegahertz = 0L;
+            if (isValid(out, FREQUENCY_REQUEST)) {
+                baseMegahertz = register(out, FREQUENCY_REQUEST,
+                        CpuidRegisters.EAX) & BASE_FREQUENCY_MASK;
+            }
+
+            if (denominator != 0L && numerator != 0L) {
+                if (crystal != 0L) {
+                    frequency = crystal * numerator / denominator;
+                    source = FrequencySource.CRYSTAL;
+                } else if (baseMegahertz != 0L) {
+                    frequency = baseMegahertz * HERTZ_PER_MEGAHERTZ;
+                    source = FrequencySource.BASE_FREQUENCY;
+                }
+            }
+        }
+
+        if (source != FrequencySource.CRYSTAL && isBitSet(out,
+                FEATURES_REQUEST, CpuidRegisters.ECX, HYPERVISOR_BIT)) {
+            long reported = HypervisorInfo.detect(new CpuidImpl(bridge))
+                    .getTscFrequency();
+            if (reported != 0L) {
+                frequency = reported;
+                source = FrequencySource.HYPERVISOR;
+            }
+        }
+
+        if (source == FrequencySource.CALIBRATED) {
+            frequency = calibrate(bridge, nanoTime, calibrationNanos);
+        }
+
+        if (frequency < MIN_FREQUENCY || frequency > MAX_FREQUENCY) {
+            throw new CpuidException("implausible time stamp counter "
+                    + "frequency: " + frequency + " Hz");
+        }
+
+        return new TscClock(bridge, frequency, source, rdtscp);
+    }
+
+    /**
+     * Reads the time stamp counter with RDTSC. The read may be reordered
+     * with the surrounding instructions, so it is best suited to measuring
+     * intervals much longer than the pipeline.
+     *
+     * @return the value of the time stamp counter, in ticks
+     */
+    public long ticks() {
+        return bridge.readTSC();
+    }
+
+    /**
+     * Reads the time stamp counter with RDTSCP, which waits for all earlier
+     * instructions to complete before the counter is read. Processors
+     * without RDTSCP are read with RDTSC.
+     *
+     * @return the value of the time stamp counter, in ticks
+     */
+    public long ticksOrdered() {
+        if (rdtscp) {
+            return bridge.readTSCP();
+        }
+
+        return bridge.readTSC();
+    }
+
+    /**
+     * Reads the time stamp counter and converts it to nanoseconds. The
+     * origin of the value is arbitrary, usually the last processor reset,
+     * so it is only meaningful when compared with other values returned by
+     * the same clock.
+     *
+     * @return the value of the time stamp counter, in nanoseconds
+     */
+    public long nanoTime() {
+        return ticksToNanos(bridge.readTSC());
+    }
+
+    /**
+     * Converts ticks of the time stamp counter to nanoseconds. Values of
+     * less than one second of ticks, such as the difference between two
+     * reads, are converted with a multiplication and a shift; larger values
+     * also need a division. The result is within one nanosecond of the
+     * exact value, and whole nanoseconds are converted exactly.
+     *
+     * @param ticks the ticks
+     * @return the nanoseconds
+     */
+    public long ticksToNanos(final long ticks) {
+        if (ticks >= 0L && ticks < frequency) {
+            return ticks * multiplier >>> SHIFT;
+        }
+
+        long seconds = ticks / frequency;
+        long remainder = ticks % frequency;
+        if (remainder < 0L) {
+            seconds--;
+            remainder += frequency;
+        }
+
+        return seconds * NANOS_PER_SECOND
+                + (remainder * multiplier >>> SHIFT);
+    }
+
+    /**
+     * Converts a range of ticks of the time stamp counter to nanoseconds,
+     * giving the same results as {@link #ticksToNanos(long)}. The source
+     * and destination may be the same array, to convert in place.
+     *
+     * @param src the ticks to convert
+     * @param srcOffset the index of the first tick to convert
+     * @param dest the array to write the nanoseconds to
+     * @param destOffset the index of the first element to write
+     * @param length the number of values to convert
+     * @throws IllegalArgumentException either range is outside its array,
+     * or the length is negative
+     */
+    public void ticksToNanos(final long[] src, final int srcOffset,
+                             final long[] dest, final int destOffset,
+                             final int length) {
+        checkRange(src, srcOffset, length);
+        checkRange(dest, destOffset, length);
+
+        long freq = frequency;
+        long mult = multiplier;
+        for (int i = 0; i < length; i++) {
+            long ticks = src[srcOffset + i];
+            if (ticks >= 0L && ticks < freq) {
+                dest[destOffset + i] = ticks * mult >>> SHIFT;
+            } else {
+                dest[destOffset + i] = ticksToNanos(ticks);
+            }
+        }
+    }
+
+    /**
+     * Gets the frequency of the time stamp counter.
+     *
+     * @return the frequency, in hertz
+     */
+    public long getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * Gets the source of the frequency of the time stamp counter.
+     *
+     * @return the frequency source
+     */
+    public FrequencySource getFrequencySource() {
+        return frequencySource;
+    }
+
+    /**
+     * Checks whether {@link #ticksOrdered()} reads the counter with RDTSCP.
+     *
+     * @return true if RDTSCP is used, otherwise false
+     */
+    public boolean isOrdered() {
+        return rdtscp;
+    }
+
+    /**
+     * Returns the string representation of this clock.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "TscClock{frequency=" + frequency
+                + ", source=" + frequencySource
+                + ", ordered=" + rdtscp
+                + "}";
+    }
+
+    /**
+     * Measures the frequency of the time stamp counter by reading it at the
+     * start and end of a busy wait of the given duration. Each read is
+     * bracketed by two reads of the time source, and the tightest bracket
+     * of a few attempts is kept, so a thread preempted during a read does
+     * not skew the result.
+     *
+     * @param bridge the bridge to read the counter with
+     * @param nanoTime the time source
+     * @param durationNanos the duration of the busy wait
+     * @return the frequency, in hertz
+     * @throws CpuidException the counter did not advance
+     */
+    static long calibrate(final CpuidBridge bridge,
+                          final LongSupplier nanoTime,
+                          final long durationNanos) throws CpuidException {
+        long[] start = sample(bridge, nanoTime);
+        long now = start[0];
+        while (now - start[0] < durationNanos) {
+            now = nanoTime.getAsLong();
+        }
+        long[] end = sample(bridge, nanoTime);
+
+        long ticks = end[1] - start[1];
+        long nanos = end[0] - start[0];
+        if (ticks <= 0L || nanos <= 0L) {
+            throw new CpuidException(
+                    "the time stamp counter did not advance");
+        }
+
+        return Math.round((double) ticks * NANOS_PER_SECOND / nanos);
+    }
+
+    private static long[] sample(final CpuidBridge bridge,
+                                 final LongSupplier nanoTime) {
+        // Each sample is the midpoint of the bracketing time source reads
+        // and the counter value between them
+        long[] best = new long[2];
+        long bestWidth = Long.MAX_VALUE;
+
+        for (int i = 0; i < CALIBRATION_READS; i++) {
+            long before = nanoTime.getAsLong();
+            long ticks = bridge.readTSC();
+            long after = nanoTime.getAsLong();
+
+            if (after - before < bestWidth) {
+                bestWidth = after - before;
+                best[0] = before + (after - before) / 2;
+                best[1] = ticks;
+            }
+        }
+
+        return best;
+    }
+
+    private static void checkRange(final long[] array, final int offset,
+                                   final int length) {
+        if (length < 0 || offset < 0 || offset > array.length - length) {
+            throw new IllegalArgumentException("range [" + offset + ", "
+                    + offset + " + " + length + ") is outside an array of "
+                    + "length " + array.length);
+        }
+    }
+
+    private static boolean isValid(final int[] out, final int request) {
+        int leaf = PROBE_LEAVES[request];
+        int max = out[MAX_STANDARD_REQUEST * CpuidResult.REGISTER_COUNT];
+        if (leaf < 0) {
+            max = out[MAX_EXTENDED_REQUEST * CpuidResult.REGISTER_COUNT];
+        }
+
+        return Integer.compareUnsigned(leaf, max) <= 0;
+    }
+
+    private static boolean isBitSet(final int[] out, final int request,
+                                    final int register, final int bit) {
+        return isValid(out, request)
+                && (out[request * CpuidResult.REGISTER_COUNT + register]
+                >>> bit & 1) != 0;
+    }
+
+    private static long register(final int[] out, final int request,
+                                 final int register) {
+        return Integer.toUnsignedLong(
+                out[request * CpuidResult.REGISTER_COUNT + register]);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.bridge.CpuidBridgeFactory;
+import net.adambruce.jcpuid.exception.CpuidException;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds one value per logical CPU, selected by the CPU the calling thread is
+ * running on. Threads that run on the same CPU share a value, so values that
+ * are updated very often, such as counters or buffers, stay in the cache of
+ * that CPU instead of moving between cores.
+ * <p>
+ * A thread may be moved to another CPU at any time, including between
+ * getting a value and using it, so the values must be safe to use from
+ * several threads. Values are created on first use by the given supplier.
+ *
+ * @param <T> the type of the values
+ */
+public final class CpuLocal<T> {
+
+    /** The bridge used to identify the current CPU. */
+    private final CpuidBridge bridge;
+
+    /** The supplier of the initial value of each slot. */
+    private final Supplier<? extends T> initial;
+
+    /** The value of each slot, null until first used. */
+    private final AtomicReferenceArray<T> values;
+
+    /** The mask that maps a CPU to its slot. */
+    private final int mask;
+
+    CpuLocal(final CpuidBridge cpuBridge,
+             final Supplier<? extends T> supplier, final int slots) {
+        this.bridge = cpuBridge;
+        this.initial = Objects.requireNonNull(supplier, "supplier");
+        this.values = new AtomicReferenceArray<>(slots);
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Creates a CPU local value for the current platform, loading the native
+     * library if it has not already been loaded into the current JVM.
+     *
+     * @param supplier the supplier of the initial value of each CPU
+     * @param <S> the type of the values
+     * @return the CPU local value
+     * @throws CpuidException the platform CPUID implementation failed to
+     * initialise
+     */
+    public static <S> CpuLocal<S> withInitial(
+            final Supplier<? extends S> supplier) throws CpuidException {
+        return withInitial(CpuidBridgeFactory.getPlatformBridge(), supplier);
+    }
+
+    /**
+     * Creates a CPU local value that identifies the current CPU with the
+     * given bridge.
+     *
+     * @param bridge the bridge used to identify the current CPU
+     * @param supplier the supplier of the initial value of each CPU
+     * @param <S> the type of the values
+     * @return the CPU local value
+     */
+    public static <S> CpuLocal<S> withInitial(
+            final CpuidBridge bridge, final Supplier<? extends S> supplier) {
+        return new CpuLocal<>(bridge, supplier, CpuSlots.count(bridge,
+                Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Gets the value of the CPU the calling thread is running on, creating
+     * it if it has not been used before.
+     *
+     * @return the value of the current CPU
+     */
+    public T get() {
+        return getForCpu(bridge.getCurrentCpu());
+    }
+
+    /**
+     * Gets the value of the given CPU, creating it if it has not been used
+     * before.
+     *
+     * @param cpu the CPU, as identified by
+     * {@link CpuidBridge#getCurrentCpu()}
+     * @return the value of the CPU
+     */
+    public T getForCpu(final int cpu) {
+        int slot = cpu & mask;
+        T value = values.get(slot);
+        if (value != null) {
+            return value;
+        }
+
+        // Racing threads may each create a value, but only the first one is
+        // kept and returned to all of them
+        T created = Objects.requireNonNull(initial.get(),
+                "supplier returned null");
+        if (values.compareAndSet(slot, null, created)) {
+            return created;
+        }
+
+        return values.get(slot);
+    }
+
+    /**
+     * Passes every value that has been created to the given action, for
+     * example to sum per-CPU counters.
+     *
+     * @param action the action
+     */
+    public void forEach(final Consumer<? super T> action) {
+        for (int i = 0; i < values.length(); i++) {
+            T value = values.get(i);
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of slots. Each CPU maps to one slot, and CPUs share a
+     * slot only when there are more CPUs than slots or when CPUs are
+     * identified by sparse APIC IDs.
+     *
+     * @return the number of slots, a power of two
+     */
+    public int getSlotCount() {
+        return values.length();
+    }
+}
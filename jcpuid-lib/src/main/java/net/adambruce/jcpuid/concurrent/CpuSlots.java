@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+
+/**
+ * Sizes the per-CPU slots of {@link CpuLocal} and {@link StripedCounter}.
+ */
+final class CpuSlots {
+
+    /**
+     * The largest number of slots, which covers every CPU number that Linux
+     * stores in TSC_AUX.
+     */
+    static final int MAX_SLOTS = 0x1000;
+
+    private CpuSlots() {
+
+    }
+
+    /**
+     * Counts the slots needed so that each CPU the calling thread may run
+     * on has its own slot. The count covers the number of available
+     * processors and the highest CPU number in the affinity of the calling
+     * thread, rounded up to a power of two so that a CPU is mapped to its
+     * slot with a mask. CPUs identified by sparse APIC IDs may share slots.
+     *
+     * @param bridge the bridge used to read the thread affinity
+     * @param availableProcessors the number of available processors
+     * @return the number of slots, a power of two
+     */
+    static int count(final CpuidBridge bridge,
+                     final int availableProcessors) {
+        int cpus = Math.max(1, availableProcessors);
+        for (int cpu : bridge.getThreadAffinity()) {
+            cpus = Math.max(cpus, cpu + 1);
+        }
+
+        if (cpus >= MAX_SLOTS) {
+            return MAX_SLOTS;
+        }
+
+        return Integer.highestOneBit(cpus * 2 - 1);
+    }
+}
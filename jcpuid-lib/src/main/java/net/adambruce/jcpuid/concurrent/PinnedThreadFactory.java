@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.bridge.CpuidBridgeFactory;
+import net.adambruce.jcpuid.exception.CpuidException;
+import net.adambruce.jcpuid.info.CpuTopology;
+import net.adambruce.jcpuid.info.TopologyLevel;
+import net.adambruce.jcpuid.info.TopologyNode;
+
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread factory that pins each new thread to the logical CPUs of one
+ * node of the processor topology, such as a core or an L3 domain, taking
+ * the nodes in turn.
+ * <p>
+ * Each thread pins itself with {@link CpuidBridge#setThreadAffinity(int...)}
+ * as soon as it starts, before running its task. Pinning is best effort:
+ * on platforms without thread affinity the threads run unpinned.
+ */
+public final class PinnedThreadFactory implements ThreadFactory {
+
+    /** The prefix of the thread names. */
+    private static final String THREAD_NAME_PREFIX = "jcpuid-pinned-";
+
+    /** The bridge used to pin the threads. */
+    private final CpuidBridge bridge;
+
+    /** The logical CPUs of each node, in the order they are assigned. */
+    private final int[][] cpuSets;
+
+    /** The number of threads created so far. */
+    private final AtomicInteger created = new AtomicInteger();
+
+    PinnedThreadFactory(final CpuidBridge pinningBridge,
+                        final int[][] nodeCpus) {
+        this.bridge = pinningBridge;
+        this.cpuSets = nodeCpus;
+    }
+
+    /**
+     * Creates a factory that pins one thread to each node of the given
+     * level, with the platform bridge, loading the native library if it has
+     * not already been loaded into the current JVM.
+     *
+     * @param topology the processor topology
+     * @param level the level of the nodes to pin the threads to
+     * @return the thread factory
+     * @throws CpuidException the platform CPUID implementation failed to
+     * initialise
+     */
+    public static PinnedThreadFactory create(final CpuTopology topology,
+                                             final TopologyLevel level)
+            throws CpuidException {
+        return create(topology, level, CpuidBridgeFactory.getPlatformBridge());
+    }
+
+    /**
+     * Creates a factory that pins one thread to each node of the given
+     * level, with the given bridge.
+     *
+     * @param topology the processor topology
+     * @param level the level of the nodes to pin the threads to
+     * @param bridge the bridge used to pin the threads
+     * @return the thread factory
+     */
+    public static PinnedThreadFactory create(final CpuTopology topology,
+                                             final TopologyLevel level,
+                                             final CpuidBridge bridge) {
+        List<TopologyNode> nodes = topology.getNodes(level);
+        int[][] cpuSets = new int[nodes.size()][];
+        for (int i = 0; i < cpuSets.length; i++) {
+            cpuSets[i] = nodes.get(i).getCpus();
+        }
+
+        return new PinnedThreadFactory(bridge, cpuSets);
+    }
+
+    /**
+     * Creates a thread pinned to the CPUs of the next node, starting over
+     * from the first node once every node has a thread.
+     *
+     * @param task the task run by the thread
+     * @return the thread, which has not been started
+     */
+    @Override
+    public Thread newThread(final Runnable task) {
+        int number = created.getAndIncrement();
+        return pin(task, cpuSets[Math.floorMod(number, cpuSets.length)],
+                number);
+    }
+
+    /**
+     * Creates a thread pinned to the given CPUs.
+     *
+     * @param task the task run by the thread
+     * @param cpus the logical CPUs to pin the thread to
+     * @return the thread, which has not been started
+     */
+    Thread newThread(final Runnable task, final int[] cpus) {
+        return pin(task, cpus, created.getAndIncrement());
+    }
+
+    private Thread pin(final Runnable task, final int[] cpus,
+                       final int number) {
+        Runnable pinned = () -> {
+            bridge.setThreadAffinity(cpus);
+            task.run();
+        };
+
+        return new Thread(pinned, THREAD_NAME_PREFIX + number);
+    }
+
+    /**
+     * Gets the number of nodes that the threads are pinned to.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return cpuSets.length;
+    }
+
+    /**
+     * Gets the logical CPUs of a node that the threads are pinned to.
+     *
+     * @param index the index of the node
+     * @return the logical CPU numbers in ascending order
+     * @throws IndexOutOfBoundsException the index is out of range
+     */
+    public int[] getCpus(final int index) {
+        return cpuSets[index].clone();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.bridge.CpuidBridgeFactory;
+import net.adambruce.jcpuid.exception.CpuidException;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter with one cell per logical CPU, in the style of
+ * {@link java.util.concurrent.atomic.LongAdder}. Where a {@code LongAdder}
+ * picks a cell by a hash of the thread and only spreads out after
+ * contention, this counter picks the cell of the CPU the calling thread is
+ * running on, so threads sharing a core share a cell and threads on
+ * different cores never touch the same cache line.
+ * <p>
+ * Each cell is padded to its own pair of cache lines, which also keeps the
+ * adjacent line prefetcher from pulling in a neighbouring cell. Updates are
+ * atomic, so a thread moved to another CPU during an update is still
+ * counted correctly. Reading the sum is not atomic with respect to
+ * concurrent updates.
+ */
+public final class StripedCounter {
+
+    /** The number of array elements between cells, 128 bytes. */
+    static final int STRIDE = 16;
+
+    /** The bridge used to identify the current CPU. */
+    private final CpuidBridge bridge;
+
+    /** The cells, one every {@link #STRIDE} elements after the first. */
+    private final AtomicLongArray cells;
+
+    /** The mask that maps a CPU to its cell. */
+    private final int mask;
+
+    StripedCounter(final CpuidBridge cpuBridge, final int slots) {
+        this.bridge = cpuBridge;
+        this.cells = new AtomicLongArray((slots + 2) * STRIDE);
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Creates a counter for the current platform, loading the native library
+     * if it has not already been loaded into the current JVM.
+     *
+     * @return the counter
+     * @throws CpuidException the platform CPUID implementation failed to
+     * initialise
+     */
+    public static StripedCounter create() throws CpuidException {
+        return create(CpuidBridgeFactory.getPlatformBridge());
+    }
+
+    /**
+     * Creates a counter that identifies the current CPU with the given
+     * bridge.
+     *
+     * @param bridge the bridge used to identify the current CPU
+     * @return the counter
+     */
+    public static StripedCounter create(final CpuidBridge bridge) {
+        return new StripedCounter(bridge, CpuSlots.count(bridge,
+                Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Adds one to the counter.
+     */
+    public void increment() {
+        add(1L);
+    }
+
+    /**
+     * Subtracts one from the counter.
+     */
+    public void decrement() {
+        add(-1L);
+    }
+
+    /**
+     * Adds the given value to the cell of the current CPU.
+     *
+     * @param value the value to add
+     */
+    public void add(final long value) {
+        cells.getAndAdd(index(bridge.getCurrentCpu()), value);
+    }
+
+    /**
+     * Gets the sum of every cell.
+     *
+     * @return the sum
+     */
+    public long sum() {
+        long sum = 0L;
+        for (int i = STRIDE; i < cells.length() - STRIDE; i += STRIDE) {
+            sum += cells.get(i);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Sets every cell to zero. Updates made concurrently with the reset may
+     * be lost.
+     */
+    public void reset() {
+        for (int i = STRIDE; i < cells.length() - STRIDE; i += STRIDE) {
+            cells.set(i, 0L);
+        }
+    }
+
+    /**
+     * Gets the sum of every cell and sets each cell to zero. Each cell is
+     * read and cleared atomically, so no concurrent update is lost; it is
+     * counted either in the returned sum or in the next one.
+     *
+     * @return the sum before the reset
+     */
+    public long sumThenReset() {
+        long sum = 0L;
+        for (int i = STRIDE; i < cells.length() - STRIDE; i += STRIDE) {
+            sum += cells.getAndSet(i, 0L);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Gets the number of cells.
+     *
+     * @return the number of cells, a power of two
+     */
+    public int getCellCount() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the sum of the counter as a string.
+     *
+     * @return the string representation of the sum
+     */
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+
+    private int index(final int cpu) {
+        // The first cell starts one stride in, so that it does not share
+        // a line with the array header
+        return ((cpu & mask) + 1) * STRIDE;
+    }
+}
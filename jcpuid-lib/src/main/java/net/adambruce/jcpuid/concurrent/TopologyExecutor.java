@@ -0,0 +1,494 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.bridge.CpuidBridgeFactory;
+import net.adambruce.jcpuid.exception.CpuidException;
+import net.adambruce.jcpuid.info.CpuTopology;
+import net.adambruce.jcpuid.info.TopologyLevel;
+import net.adambruce.jcpuid.info.TopologyNode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An executor with one worker per node of the processor topology, such as
+ * one per core or one per L3 domain, each pinned to the logical CPUs of its
+ * node, and one work queue per L3 domain.
+ * <p>
+ * Tasks submitted from a worker are queued in the domain of that worker, so
+ * that follow-up work stays near the data it shares. Other tasks are queued
+ * in each domain in turn, or in a chosen domain with
+ * {@link #execute(int, Runnable)}, which suits partitioned work whose
+ * partitions are assigned to domains. An idle worker takes work from its
+ * own domain first, then steals from the other domains in order of
+ * distance: domains on the same die, then on the same package, then on
+ * other packages.
+ * <p>
+ * When the workers are placed per die or per package, each worker has a
+ * queue of its own. Workers are started when the executor is created and
+ * run until it is shut down.
+ */
+public final class TopologyExecutor extends AbstractExecutorService {
+
+    /** The state of an executor that accepts tasks. */
+    private static final int RUNNING = 0;
+
+    /** The state of an executor that finishes its queued tasks. */
+    private static final int SHUTDOWN = 1;
+
+    /** The state of an executor that abandons its queued tasks. */
+    private static final int STOP = 2;
+
+    /** The queues, in order of the domains in the topology. */
+    private final Domain[] domains;
+
+    /** The worker threads. */
+    private final Thread[] workers;
+
+    /** Counts down as each worker exits. */
+    private final CountDownLatch terminated;
+
+    /** The state of the executor. */
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+    /** The number of tasks submitted from outside of the workers. */
+    private final AtomicInteger submitted = new AtomicInteger();
+
+    /** The domain of the calling worker, null for other threads. */
+    private final ThreadLocal<Domain> currentDomain = new ThreadLocal<>();
+
+    private TopologyExecutor(final CpuTopology topology,
+                             final TopologyLevel level,
+                             final PinnedThreadFactory threadFactory) {
+        List<TopologyNode> nodes = topology.getNodes(level);
+        Map<TopologyNode, Domain> byNode = new IdentityHashMap<>();
+        List<Domain> domainList = new ArrayList<>();
+        Domain[] workerDomains = new Domain[nodes.size()];
+        for (int i = 0; i < workerDomains.length; i++) {
+            TopologyNode node = nodes.get(i);
+            if (level.compareTo(TopologyLevel.L3_DOMAIN) > 0) {
+                node = node.getAncestor(TopologyLevel.L3_DOMAIN);
+            }
+
+            Domain domain = byNode.get(node);
+            if (domain == null) {
+                domain = new Domain(domainList.size(), node);
+                byNode.put(node, domain);
+                domainList.add(domain);
+            }
+            workerDomains[i] = domain;
+        }
+
+        domains = domainList.toArray(new Domain[0]);
+        for (Domain domain : domains) {
+            List<Domain> others = new ArrayList<>(domainList);
+            others.remove(domain);
+            others.sort(Comparator.comparingInt(
+                    other -> distance(domain.node, other.node)));
+            domain.stealOrder = others.toArray(new Domain[0]);
+        }
+
+        workers = new Thread[workerDomains.length];
+        terminated = new CountDownLatch(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = threadFactory.newThread(new Worker(workerDomains[i]),
+                    nodes.get(i).getCpus());
+        }
+    }
+
+    /**
+     * Creates an executor with one worker per node of the given level,
+     * pinned with the platform bridge, loading the native library if it has
+     * not already been loaded into the current JVM.
+     *
+     * @param topology the processor topology
+     * @param level the level of the nodes that each have a worker, usually
+     * {@link TopologyLevel#CORE} or {@link TopologyLevel#L3_DOMAIN}
+     * @return the executor, with its workers started
+     * @throws CpuidException the platform CPUID implementation failed to
+     * initialise
+     */
+    public static TopologyExecutor create(final CpuTopology topology,
+                                          final TopologyLevel level)
+            throws CpuidException {
+        return create(topology, level, CpuidBridgeFactory.getPlatformBridge());
+    }
+
+    /**
+     * Creates an executor with one worker per node of the given level,
+     * pinned with the given bridge.
+     *
+     * @param topology the processor topology
+     * @param level the level of the nodes that each have a worker, usually
+     * {@link TopologyLevel#CORE} or {@link TopologyLevel#L3_DOMAIN}
+     * @param bridge the bridge used to pin the workers
+     * @return the executor, with its workers started
+     */
+    public static TopologyExecutor create(final CpuTopology topology,
+                                          final TopologyLevel level,
+                                          final CpuidBridge bridge) {
+        TopologyExecutor executor = new TopologyExecutor(topology, level,
+                PinnedThreadFactory.create(topology, level, bridge));
+        for (Thread worker : executor.workers) {
+            worker.start();
+        }
+
+        return executor;
+    }
+
+    /**
+     * Queues a task in the domain of the calling worker, or in the next
+     * domain in turn when called from another thread.
+     *
+     * @param task the task
+     * @throws RejectedExecutionException the executor has been shut down
+     */
+    @Override
+    public void execute(final Runnable task) {
+        Domain domain = currentDomain.get();
+        if (domain == null) {
+            domain = domains[Math.floorMod(submitted.getAndIncrement(),
+                    domains.length)];
+        }
+
+        enqueue(domain, task);
+    }
+
+    /**
+     * Queues a task in the given domain, whose workers run it unless they
+     * are busy and a worker of another domain steals it first.
+     *
+     * @param domain the index of the domain
+     * @param task the task
+     * @throws IllegalArgumentException the domain index is out of range
+     * @throws RejectedExecutionException the executor has been shut down
+     */
+    public void execute(final int domain, final Runnable task) {
+        if (domain < 0 || domain >= domains.length) {
+            throw new IllegalArgumentException("domain " + domain
+                    + " out of range for " + domains.length + " domains");
+        }
+
+        enqueue(domains[domain], task);
+    }
+
+    /**
+     * Gets the number of domains, each with its own queue.
+     *
+     * @return the number of domains
+     */
+    public int getDomainCount() {
+        return domains.length;
+    }
+
+    /**
+     * Gets the logical CPUs of a domain.
+     *
+     * @param domain the index of the domain
+     * @return the logical CPU numbers in ascending order
+     * @throws IndexOutOfBoundsException the domain index is out of range
+     */
+    public int[] getCpus(final int domain) {
+        return domains[domain].node.getCpus();
+    }
+
+    /**
+     * Gets the number of workers.
+     *
+     * @return the number of workers
+     */
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * Gets the domain of the calling thread.
+     *
+     * @return the index of the domain of the calling worker, or -1 when
+     * the calling thread is not a worker of this executor
+     */
+    public int getCurrentDomain() {
+        Domain domain = currentDomain.get();
+        if (domain == null) {
+            return -1;
+        }
+
+        return domain.index;
+    }
+
+    /**
+     * Gets the domains that the workers of a domain steal from, nearest
+     * first.
+     *
+     * @param domain the index of the domain
+     * @return the indices of the other domains
+     */
+    int[] getStealOrder(final int domain) {
+        Domain[] order = domains[domain].stealOrder;
+        int[] indices = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            indices[i] = order[i].index;
+        }
+
+        return indices;
+    }
+
+    @Override
+    public void shutdown() {
+        state.compareAndSet(RUNNING, SHUTDOWN);
+        wakeAll();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        state.set(STOP);
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        wakeAll();
+
+        List<Runnable> pending = new ArrayList<>();
+        for (Domain domain : domains) {
+            Runnable task = domain.queue.poll();
+            while (task != null) {
+                pending.add(task);
+                task = domain.queue.poll();
+            }
+        }
+
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state.get() != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    private void enqueue(final Domain domain, final Runnable task) {
+        Objects.requireNonNull(task, "task");
+        if (state.get() != RUNNING) {
+            throw new RejectedExecutionException(
+                    "the executor has been shut down");
+        }
+
+        domain.queue.offer(task);
+        if (state.get() != RUNNING && domain.queue.remove(task)) {
+            throw new RejectedExecutionException(
+                    "the executor has been shut down");
+        }
+
+        // Idle workers count themselves before checking the queues for the
+        // last time, so one of them either sees the task or is signalled
+        if (domain.idle.get() > 0) {
+            domain.signal();
+            return;
+        }
+
+        for (Domain other : domain.stealOrder) {
+            if (other.idle.get() > 0) {
+                other.signal();
+                return;
+            }
+        }
+    }
+
+    private void wakeAll() {
+        for (Domain domain : domains) {
+            domain.lock.lock();
+            try {
+                domain.wakeup.signalAll();
+            } finally {
+                domain.lock.unlock();
+            }
+        }
+    }
+
+    private static int distance(final TopologyNode from,
+                                final TopologyNode to) {
+        // Counts the levels up to the nearest common ancestor, which is
+        // null for nodes of different packages
+        TopologyNode a = from;
+        TopologyNode b = to;
+        int distance = 0;
+        while (a != b) {
+            a = a.getParent();
+            b = b.getParent();
+            distance++;
+        }
+
+        return distance;
+    }
+
+    /**
+     * A work queue shared by the workers of one domain.
+     */
+    private static final class Domain {
+
+        /** The index of the domain. */
+        private final int index;
+
+        /** The topology node that the domain covers. */
+        private final TopologyNode node;
+
+        /** The queued tasks. */
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+        /** Held by idle workers while they check for work and wait. */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /** Signalled when a task is queued for an idle worker. */
+        private final Condition wakeup = lock.newCondition();
+
+        /** The number of workers of the domain that are idle. */
+        private final AtomicInteger idle = new AtomicInteger();
+
+        /** The other domains, nearest first. */
+        private Domain[] stealOrder;
+
+        Domain(final int domainIndex, final TopologyNode domainNode) {
+            this.index = domainIndex;
+            this.node = domainNode;
+        }
+
+        void signal() {
+            lock.lock();
+            try {
+                wakeup.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Runs the tasks of its own domain and steals from the others.
+     */
+    private final class Worker implements Runnable {
+
+        /** The domain of the worker. */
+        private final Domain domain;
+
+        Worker(final Domain workerDomain) {
+            this.domain = workerDomain;
+        }
+
+        @Override
+        public void run() {
+            currentDomain.set(domain);
+            try {
+                while (state.get() != STOP) {
+                    Runnable task = poll();
+                    if (task != null) {
+                        runTask(task);
+                    } else if (!awaitWork()) {
+                        break;
+                    }
+                }
+            } finally {
+                terminated.countDown();
+            }
+        }
+
+        private Runnable poll() {
+            Runnable task = domain.queue.poll();
+            for (int i = 0; task == null && i < domain.stealOrder.length;
+                 i++) {
+                task = domain.stealOrder[i].queue.poll();
+            }
+
+            return task;
+        }
+
+        private boolean hasWork() {
+            boolean found = !domain.queue.isEmpty();
+            for (int i = 0; !found && i < domain.stealOrder.length; i++) {
+                found = !domain.stealOrder[i].queue.isEmpty();
+            }
+
+            return found;
+        }
+
+        private void runTask(final Runnable task) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler()
+                        .uncaughtException(thread, e);
+            }
+
+            // Clear an interrupt left by the task unless stopping
+            if (state.get() != STOP) {
+                Thread.interrupted();
+            }
+        }
+
+        private boolean awaitWork() {
+            // Returns false once the worker should exit
+            domain.lock.lock();
+            domain.idle.incrementAndGet();
+            try {
+                while (true) {
+                    int current = state.get();
+                    if (current == STOP) {
+                        return false;
+                    } else if (hasWork()) {
+                        return true;
+                    } else if (current == SHUTDOWN) {
+                        return false;
+                    }
+
+                    try {
+                        domain.wakeup.await();
+                    } catch (InterruptedException e) {
+                        // Stopping interrupts the workers, so check again
+                        continue;
+                    }
+                }
+            } finally {
+                domain.idle.decrementAndGet();
+                domain.lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.dispatch;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.CpuidFactory;
+import net.adambruce.jcpuid.exception.CpuidException;
+import net.adambruce.jcpuid.info.CpuFeatures;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Chooses the best implementation of an operation for the processor once,
+ * so that hot code calls it without checking the processor features on
+ * every call.
+ * <p>
+ * The variants are given from the most to the least specialised, and the
+ * first variant whose features are all present wins. Keeping the winner in
+ * a {@code static final} field lets the JIT compiler treat it as a
+ * constant, so calls through the field are devirtualised and inlined:
+ * <pre>{@code
+ * static final Kernel KERNEL = CpuDispatch.resolve("sum", Kernel.class,
+ *         DispatchVariant.of("avx2", new Avx2Kernel(), CpuFeature.AVX2),
+ *         DispatchVariant.of("scalar", new ScalarKernel())).get();
+ * }</pre>
+ * The winner is also available as a {@link ConstantCallSite} for
+ * {@code invokedynamic} bootstrap methods, and as method handles bound to
+ * the winner, which fold in the same way when kept in {@code static final}
+ * fields.
+ * <p>
+ * Setting the system property {@value #PROPERTY_PREFIX}{@code <name>} to
+ * the name of a variant forces that variant whether or not the processor
+ * supports it, for benchmarking each variant on the same host.
+ * <p>
+ * Features that need operating system support, such as AVX and AVX-512,
+ * are reported by the processor whether or not the operating system has
+ * enabled them. Variants using them should also require
+ * {@link net.adambruce.jcpuid.info.CpuFeature#OSXSAVE}.
+ *
+ * @param <T> the type of the implementations
+ */
+public final class CpuDispatch<T> {
+
+    /** The prefix of the system properties that force a variant. */
+    public static final String PROPERTY_PREFIX =
+            "net.adambruce.jcpuid.dispatch.";
+
+    /** The name of the dispatched operation. */
+    private final String name;
+
+    /** The type of the implementations. */
+    private final Class<T> type;
+
+    /** The variants, from the most to the least specialised. */
+    private final List<DispatchVariant<? extends T>> variants;
+
+    /** The chosen variant. */
+    private final DispatchVariant<? extends T> variant;
+
+    /** Whether the variant was forced with a system property. */
+    private final boolean forced;
+
+    /** The call site that returns the chosen implementation. */
+    private final CallSite callSite;
+
+    private CpuDispatch(final String dispatchName, final Class<T> dispatchType,
+                        final List<DispatchVariant<? extends T>> candidates,
+                        final DispatchVariant<? extends T> chosen,
+                        final boolean forcedVariant) {
+        this.name = dispatchName;
+        this.type = dispatchType;
+        this.variants = candidates;
+        this.variant = chosen;
+        this.forced = forcedVariant;
+        this.callSite = new ConstantCallSite(MethodHandles.constant(
+                dispatchType, chosen.getImplementation()));
+    }
+
+    /**
+     * Chooses the variant for the processor of the current platform,
+     * loading the native library if it has not already been loaded into
+     * the current JVM.
+     *
+     * @param name the name of the operation, used in the system property
+     * that forces a variant
+     * @param type the type of the implementations
+     * @param variants the variants, from the most to the least specialised
+     * @param <T> the type of the implementations
+     * @return the dispatch holding the chosen variant
+     * @throws CpuidException the platform CPUID implementation failed to
+     * initialise
+     * @throws IllegalArgumentException no variants were given, two variants
+     * have the same name, or the system property names an unknown variant
+     * @throws IllegalStateException the processor supports none of the
+     * variants
+     */
+    @SafeVarargs
+    public static <T> CpuDispatch<T> resolve(
+            final String name, final Class<T> type,
+            final DispatchVariant<? extends T>... variants)
+            throws CpuidException {
+        List<DispatchVariant<? extends T>> candidates =
+                new ArrayList<>(variants.length);
+        for (DispatchVariant<? extends T> candidate : variants) {
+            candidates.add(candidate);
+        }
+
+        return choose(CpuFeatures.detect(CpuidFactory.getPlatformCpuid()),
+                name, type, candidates);
+    }
+
+    /**
+     * Chooses the variant for the processor that the given CPUID
+     * implementation describes.
+     *
+     * @param cpuid the CPUID implementation used to detect the features
+     * @param name the name of the operation, used in the system property
+     * that forces a variant
+     * @param type the type of the implementations
+     * @param variants the variants, from the most to the least specialised
+     * @param <T> the type of the implementations
+     * @return the dispatch holding the chosen variant
+     * @throws IllegalArgumentException no variants were given, two variants
+     * have the same name, or the system property names an unknown variant
+     * @throws IllegalStateException the processor supports none of the
+     * variants
+     */
+    @SafeVarargs
+    public static <T> CpuDispatch<T> resolve(
+            final Cpuid cpuid, final String name, final Class<T> type,
+            final DispatchVariant<? extends T>... variants) {
+        List<DispatchVariant<? extends T>> candidates =
+                new ArrayList<>(variants.length);
+        for (DispatchVariant<? extends T> candidate : variants) {
+            candidates.add(candidate);
+        }
+
+        return choose(CpuFeatures.detect(cpuid), name, type, candidates);
+    }
+
+    /**
+     * Chooses the variant for a processor with the given features.
+     *
+     * @param features the features of the processor
+     * @param name the name of the operation, used in the system property
+     * that forces a variant
+     * @param type the type of the implementations
+     * @param variants the variants, from the most to the least specialised
+     * @param <T> the type of the implementations
+     * @return the dispatch holding the chosen variant
+     * @throws IllegalArgumentException no variants were given, two variants
+     * have the same name, or the system property names an unknown variant
+     * @throws IllegalStateException the processor supports none of the
+     * variants
+     */
+    @SafeVarargs
+    public static <T> CpuDispatch<T> resolve(
+            final CpuFeatures features, final String name,
+            final Class<T> type,
+            final DispatchVariant<? extends T>... variants) {
+        List<DispatchVariant<? extends T>> candidates =
+                new ArrayList<>(variants.length);
+        for (DispatchVariant<? extends T> candidate : variants) {
+            candidates.add(candidate);
+        }
+
+        return choose(features, name, type, candidates);
+    }
+
+    /**
+     * Chooses the variant for a processor with the given features.
+     *
+     * @param features the features of the processor
+     * @param name the name of the operation
+     * @param type the type of the implementations
+     * @param variants the copied variants, from the most to the least
+     * specialised
+     * @param <T> the type of the implementations
+     * @return the dispatch holding the chosen variant
+     */
+    private static <T> CpuDispatch<T> choose(
+            final CpuFeatures features, final String name,
+            final Class<T> type,
+            final List<DispatchVariant<? extends T>> variants) {
+        if (variants.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "expected at least one variant of " + name);
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        for (DispatchVariant<? extends T> candidate : variants) {
+            if (!names.add(candidate.getName())) {
+                throw new IllegalArgumentException("duplicate variant "
+                        + candidate.getName() + " of " + name);
+            }
+        }
+
+        List<DispatchVariant<? extends T>> candidates =
+                Collections.unmodifiableList(variants);
+
+        String forcedName = System.getProperty(PROPERTY_PREFIX + name);
+        if (forcedName != null) {
+            for (DispatchVariant<? extends T> candidate : candidates) {
+                if (candidate.getName().equals(forcedName)) {
+                    return new CpuDispatch<>(name, type, candidates,
+                            candidate, true);
+                }
+            }
+
+            throw new IllegalArgumentException("unknown variant "
+                    + forcedName + " of " + name + " set by "
+                    + PROPERTY_PREFIX + name + ", expected one of "
+                    + names);
+        }
+
+        for (DispatchVariant<? extends T> candidate : candidates) {
+            if (candidate.isSupported(features)) {
+                return new CpuDispatch<>(name, type, candidates, candidate,
+                        false);
+            }
+        }
+
+        throw new IllegalStateException("the processor supports no variant "
+                + "of " + name + ", add a variant without features as a "
+                + "fallback");
+    }
+
+    /**
+     * Gets the chosen implementation.
+     *
+     * @return the implementation
+     */
+    public T get() {
+        return type.cast(variant.getImplementation());
+    }
+
+    /**
+     * Gets the chosen variant.
+     *
+     * @return the variant
+     */
+    public DispatchVariant<? extends T> getVariant() {
+        return variant;
+    }
+
+    /**
+     * Gets every variant, from the most to the least specialised.
+     *
+     * @return the unmodifiable list of variants
+     */
+    public List<DispatchVariant<? extends T>> getVariants() {
+        return variants;
+    }
+
+    /**
+     * Gets the name of the dispatched operation.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks whether the variant was forced with a system property rather
+     * than chosen from the processor features.
+     *
+     * @return true if the variant was forced, otherwise false
+     */
+    public boolean isForced() {
+        return forced;
+    }
+
+    /**
+     * Gets a constant call site whose target takes no arguments and returns
+     * the chosen implementation, for use by {@code invokedynamic}
+     * bootstrap methods.
+     *
+     * @return the call site
+     */
+    public CallSite getCallSite() {
+        return callSite;
+    }
+
+    /**
+     * Finds a method of the implementation type and binds it to the chosen
+     * implementation, so that the handle invokes the chosen implementation
+     * directly. Keep the handle in a {@code static final} field for the JIT
+     * compiler to inline it.
+     *
+     * @param lookup the lookup with access to the method
+     * @param methodName the name of the method
+     * @param methodType the type of the method, without the receiver
+     * @return the method handle bound to the chosen implementation
+     * @throws IllegalArgumentException the method does not exist or is not
+     * accessible
+     */
+    public MethodHandle bind(final MethodHandles.Lookup lookup,
+                             final String methodName,
+                             final MethodType methodType) {
+        try {
+            return lookup.findVirtual(type, methodName, methodType)
+                    .bindTo(variant.getImplementation());
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("cannot bind " + methodName
+                    + methodType + " of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Returns the string representation of this dispatch.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "CpuDispatch{"
+                + "name=" + name
+                + ", variant=" + variant.getName()
+                + ", forced=" + forced
+                + "}";
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.dispatch;
+
+import net.adambruce.jcpuid.info.CpuFeature;
+import net.adambruce.jcpuid.info.CpuFeatures;
+
+import java.util.Objects;
+
+/**
+ * An implementation of a dispatched operation, tagged with the processor
+ * features it needs, such as an AVX2 or a scalar version of a kernel.
+ *
+ * @param <T> the type of the implementation
+ */
+public final class DispatchVariant<T> {
+
+    /** The name of the variant. */
+    private final String name;
+
+    /** The implementation. */
+    private final T implementation;
+
+    /** The features the implementation needs. */
+    private final CpuFeatures requiredFeatures;
+
+    private DispatchVariant(final String variantName,
+                            final T variantImplementation,
+                            final CpuFeatures features) {
+        this.name = variantName;
+        this.implementation = variantImplementation;
+        this.requiredFeatures = features;
+    }
+
+    /**
+     * Creates a variant that needs the given features. A variant without
+     * features runs on any processor and serves as the fallback.
+     *
+     * @param name the name of the variant, used to force it with a system
+     * property
+     * @param implementation the implementation
+     * @param features the features the implementation needs
+     * @param <T> the type of the implementation
+     * @return the variant
+     * @throws IllegalArgumentException the name is empty
+     */
+    public static <T> DispatchVariant<T> of(final String name,
+                                            final T implementation,
+                                            final CpuFeature... features) {
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("the name must not be empty");
+        }
+
+        return new DispatchVariant<>(name,
+                Objects.requireNonNull(implementation, "implementation"),
+                CpuFeatures.of(features));
+    }
+
+    /**
+     * Gets the name of the variant.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the implementation.
+     *
+     * @return the implementation
+     */
+    public T getImplementation() {
+        return implementation;
+    }
+
+    /**
+     * Gets the features the implementation needs.
+     *
+     * @return the required features
+     */
+    public CpuFeatures getRequiredFeatures() {
+        return requiredFeatures;
+    }
+
+    /**
+     * Checks whether a processor with the given features can run the
+     * implementation.
+     *
+     * @param features the features of the processor
+     * @return true if every required feature is present, otherwise false
+     */
+    public boolean isSupported(final CpuFeatures features) {
+        return features.containsAll(requiredFeatures);
+    }
+
+    /**
+     * Returns the string representation of this variant.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "DispatchVariant{"
+                + "name=" + name
+                + ", requires=" + requiredFeatures
+                + "}";
+    }
+}
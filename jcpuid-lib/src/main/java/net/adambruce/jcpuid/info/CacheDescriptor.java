@@ -0,0 +1,310 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.type.CpuidRegisters;
+
+/**
+ * Describes a single cache, decoded from the deterministic cache parameters
+ * reported by CPUID leaf 0x4 on Intel processors and leaf 0x8000001D on AMD
+ * processors, which share the same register layout.
+ */
+public final class CacheDescriptor {
+
+    /** Offset of the cache type field in EAX. */
+    private static final int TYPE_OFFSET = 0;
+
+    /** Width of the cache type field in EAX. */
+    private static final int TYPE_WIDTH = 5;
+
+    /** Offset of the cache level field in EAX. */
+    private static final int LEVEL_OFFSET = 5;
+
+    /** Width of the cache level field in EAX. */
+    private static final int LEVEL_WIDTH = 3;
+
+    /** Bit of EAX set for fully associative caches. */
+    private static final int FULLY_ASSOCIATIVE_BIT = 9;
+
+    /** Offset of the sharing threads field in EAX. */
+    private static final int SHARING_OFFSET = 14;
+
+    /** Width of the sharing threads field in EAX. */
+    private static final int SHARING_WIDTH = 12;
+
+    /** Offset of the line size field in EBX. */
+    private static final int LINE_SIZE_OFFSET = 0;
+
+    /** Width of the line size field in EBX. */
+    private static final int LINE_SIZE_WIDTH = 12;
+
+    /** Offset of the physical line partitions field in EBX. */
+    private static final int PARTITIONS_OFFSET = 12;
+
+    /** Width of the physical line partitions field in EBX. */
+    private static final int PARTITIONS_WIDTH = 10;
+
+    /** Offset of the ways of associativity field in EBX. */
+    private static final int WAYS_OFFSET = 22;
+
+    /** Width of the ways of associativity field in EBX. */
+    private static final int WAYS_WIDTH = 10;
+
+    /** Bit of EDX set for caches inclusive of lower cache levels. */
+    private static final int INCLUSIVE_BIT = 1;
+
+    /** The number of bytes in a kibibyte. */
+    private static final long KIB = 1024L;
+
+    /** The raw EAX value. */
+    private final int eax;
+
+    /** The raw EBX value. */
+    private final int ebx;
+
+    /** The raw ECX value. */
+    private final int ecx;
+
+    /** The raw EDX value. */
+    private final int edx;
+
+    /**
+     * The number of ways of a fully associative cache with too many lines
+     * for the ways field, or 0 when the ways field holds them.
+     */
+    private final int fullyAssociativeWays;
+
+    private CacheDescriptor(final int eaxValue, final int ebxValue,
+                            final int ecxValue, final int edxValue,
+                            final int ways) {
+        this.eax = eaxValue;
+        this.ebx = ebxValue;
+        this.ecx = ecxValue;
+        this.edx = edxValue;
+        this.fullyAssociativeWays = ways;
+    }
+
+    /**
+     * Decodes a cache from the registers of a leaf 0x4 or 0x8000001D
+     * sub-leaf.
+     *
+     * @param eax the EAX value
+     * @param ebx the EBX value
+     * @param ecx the ECX value
+     * @param edx the EDX value
+     * @return the cache, or null if the registers do not describe a cache
+     */
+    public static CacheDescriptor decode(final int eax, final int ebx,
+                                         final int ecx, final int edx) {
+        if (getType(eax) == null) {
+            return null;
+        }
+
+        return new CacheDescriptor(eax, ebx, ecx, edx, 0);
+    }
+
+    /**
+     * Creates a fully associative cache, which has a single set with one
+     * way per line. The legacy AMD leaves can describe such caches with
+     * more lines than the 10-bit ways field of EBX holds, so the number of
+     * ways is kept outside the registers.
+     *
+     * @param eax the EAX value, with the fully associative bit set
+     * @param lineSize the size of a cache line in bytes
+     * @param lines the number of lines
+     * @return the cache, or null if EAX does not describe a cache
+     */
+    static CacheDescriptor fullyAssociative(final int eax,
+                                            final int lineSize,
+                                            final int lines) {
+        if (getType(eax) == null) {
+            return null;
+        }
+
+        return new CacheDescriptor(eax, lineSize - 1, 0, 0, lines);
+    }
+
+    /**
+     * Gets the cache type encoded in the EAX value of a leaf 0x4 or
+     * 0x8000001D sub-leaf.
+     *
+     * @param eax the EAX value
+     * @return the cache type, or null if there is no cache
+     */
+    static CacheType getType(final int eax) {
+        return CacheType.fromCode(
+                CpuidRegisters.getBits(eax, TYPE_OFFSET, TYPE_WIDTH));
+    }
+
+    /**
+     * Gets the level of the cache, starting at 1.
+     *
+     * @return the cache level
+     */
+    public int getLevel() {
+        return CpuidRegisters.getBits(eax, LEVEL_OFFSET, LEVEL_WIDTH);
+    }
+
+    /**
+     * Gets the type of the cache.
+     *
+     * @return the cache type
+     */
+    public CacheType getType() {
+        return getType(eax);
+    }
+
+    /**
+     * Gets the number of ways of associativity.
+     *
+     * @return the number of ways
+     */
+    public int getWays() {
+        if (fullyAssociativeWays > 0) {
+            return fullyAssociativeWays;
+        }
+
+        return CpuidRegisters.getBits(ebx, WAYS_OFFSET, WAYS_WIDTH) + 1;
+    }
+
+    /**
+     * Gets the number of physical line partitions.
+     *
+     * @return the number of partitions
+     */
+    public int getPartitions() {
+        return CpuidRegisters.getBits(ebx, PARTITIONS_OFFSET,
+                PARTITIONS_WIDTH) + 1;
+    }
+
+    /**
+     * Gets the size of a cache line in bytes.
+     *
+     * @return the line size
+     */
+    public int getLineSize() {
+        return CpuidRegisters.getBits(ebx, LINE_SIZE_OFFSET,
+                LINE_SIZE_WIDTH) + 1;
+    }
+
+    /**
+     * Gets the number of sets.
+     *
+     * @return the number of sets
+     */
+    public long getSets() {
+        return Integer.toUnsignedLong(ecx) + 1;
+    }
+
+    /**
+     * Gets the size of the cache in bytes, which is the product of the ways,
+     * partitions, line size and sets.
+     *
+     * @return the cache size in bytes
+     */
+    public long getSize() {
+        return (long) getWays() * getPartitions() * getLineSize() * getSets();
+    }
+
+    /**
+     * Gets the maximum number of logical processors sharing the cache. This
+     * is the number of IDs reserved for them, which may be larger than the
+     * number of processors actually present.
+     *
+     * @return the number of sharing threads
+     */
+    public int getSharingThreads() {
+        return CpuidRegisters.getBits(eax, SHARING_OFFSET, SHARING_WIDTH)
+                + 1;
+    }
+
+    /**
+     * Checks whether the cache is fully associative.
+     *
+     * @return true if the cache is fully associative, otherwise false
+     */
+    public boolean isFullyAssociative() {
+        return CpuidRegisters.isBitSet(eax, FULLY_ASSOCIATIVE_BIT);
+    }
+
+    /**
+     * Checks whether the cache is inclusive of the lower cache levels.
+     *
+     * @return true if the cache is inclusive, otherwise false
+     */
+    public boolean isInclusive() {
+        return CpuidRegisters.isBitSet(edx, INCLUSIVE_BIT);
+    }
+
+    /**
+     * Compares this cache with another object for equality.
+     *
+     * @param o the other object
+     * @return true if the other object describes the same cache, otherwise
+     * false
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof CacheDescriptor)) {
+            return false;
+        }
+
+        CacheDescriptor that = (CacheDescriptor) o;
+        return eax == that.eax && ebx == that.ebx && ecx == that.ecx
+                && edx == that.edx
+                && fullyAssociativeWays == that.fullyAssociativeWays;
+    }
+
+    /**
+     * Generates a hash code for this cache.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        int result = eax;
+        result = Integer.rotateLeft(result, Byte.SIZE) ^ ebx;
+        result = Integer.rotateLeft(result, Byte.SIZE) ^ ecx;
+        result = Integer.rotateLeft(result, Byte.SIZE) ^ edx;
+        return Integer.rotateLeft(result, Byte.SIZE) ^ fullyAssociativeWays;
+    }
+
+    /**
+     * Returns the string representation of this cache.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("CacheDescriptor{L")
+                .append(getLevel()).append(' ').append(getType())
+                .append(", ").append(getSize() / KIB).append(" KiB, ")
+                .append(getWays()).append("-way, ")
+                .append(getLineSize()).append(" B lines, ")
+                .append(getSharingThreads()).append(" threads");
+
+        if (isInclusive()) {
+            builder.append(", inclusive");
+        }
+
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,463 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Describes the caches of the processor, for sizing data structures such as
+ * hash table partitions and sort blocks to the caches of the host.
+ * <p>
+ * The caches are read from leaf 0x4 on Intel processors and leaf 0x8000001D
+ * on AMD processors. Older AMD processors without leaf 0x8000001D are
+ * described from the legacy leaves 0x80000005 and 0x80000006, which do not
+ * report inclusiveness and only report the sharing of the L3 cache.
+ */
+public final class CacheHierarchy {
+
+    /** The line size assumed when the processor reports no data cache. */
+    public static final int DEFAULT_LINE_SIZE = 64;
+
+    /** The leaf reporting Intel deterministic cache parameters. */
+    private static final int INTEL_CACHE_LEAF = 0x4;
+
+    /** The leaf reporting AMD deterministic cache parameters. */
+    private static final int AMD_CACHE_LEAF = 0x8000001D;
+
+    /** The leaf reporting the highest extended leaf. */
+    private static final int EXTENDED_BASE = 0x80000000;
+
+    /** The leaf reporting the AMD extended feature flags. */
+    private static final int EXTENDED_FEATURES_LEAF = 0x80000001;
+
+    /** The bit of 0x80000001 ECX set when leaf 0x8000001D is supported. */
+    private static final int TOPOLOGY_EXTENSIONS_BIT = 22;
+
+    /** The leaf reporting the AMD L1 caches. */
+    private static final int AMD_L1_LEAF = 0x80000005;
+
+    /** The leaf reporting the AMD L2 and L3 caches. */
+    private static final int AMD_L2_L3_LEAF = 0x80000006;
+
+    /** The leaf reporting the AMD core count. */
+    private static final int AMD_SIZE_LEAF = 0x80000008;
+
+    /** The maximum number of sub-leaves read from a cache leaf. */
+    private static final int MAX_SUBLEAVES = 64;
+
+    /** The L1 associativity value of a fully associative cache. */
+    private static final int L1_FULLY_ASSOCIATIVE = 0xFF;
+
+    /** Offset of the L1 size field in 0x80000005 ECX and EDX. */
+    private static final int L1_SIZE_OFFSET = 24;
+
+    /** Offset of the L1 associativity field in 0x80000005 ECX and EDX. */
+    private static final int L1_WAYS_OFFSET = 16;
+
+    /** Offset of the L2 size field in 0x80000006 ECX. */
+    private static final int L2_SIZE_OFFSET = 16;
+
+    /** Offset of the L3 size field in 0x80000006 EDX. */
+    private static final int L3_SIZE_OFFSET = 18;
+
+    /** Width of the L3 size field in 0x80000006 EDX. */
+    private static final int L3_SIZE_WIDTH = 14;
+
+    /** Offset of the L2 and L3 associativity codes in 0x80000006. */
+    private static final int AMD_WAYS_OFFSET = 12;
+
+    /** The ways value used for fully associative legacy caches. */
+    private static final int FULLY_ASSOCIATIVE_WAYS = -1;
+
+    /** The L2 and L3 associativity code of a fully associative cache. */
+    private static final int FULLY_ASSOCIATIVE_CODE = 0xF;
+
+    /**
+     * The ways of associativity for each L2 and L3 associativity code, with
+     * 0 for disabled caches and reserved codes.
+     */
+    private static final int[] AMD_WAYS = {
+        0, 1, 2, 3, 4, 6, 8, 0, 16, 0, 32, 48, 64, 96, 128, 0
+    };
+
+    /** The number of bytes in a kibibyte. */
+    private static final int KIB = 1024;
+
+    /** The number of bytes in a unit of the AMD L3 size field. */
+    private static final int L3_SIZE_UNIT = 512 * KIB;
+
+    /** Offset of the level field in synthesised EAX values. */
+    private static final int LEVEL_SHIFT = 5;
+
+    /** Bit of synthesised EAX values set for fully associative caches. */
+    private static final int FULLY_ASSOCIATIVE_FLAG = 0x200;
+
+    /** Offset of the sharing threads field in synthesised EAX values. */
+    private static final int SHARING_SHIFT = 14;
+
+    /** Offset of the ways field in synthesised EBX values. */
+    private static final int WAYS_SHIFT = 22;
+
+    /** The first level of the cache hierarchy. */
+    private static final int L1 = 1;
+
+    /** The second level of the cache hierarchy. */
+    private static final int L2 = 2;
+
+    /** The third level of the cache hierarchy. */
+    private static final int L3 = 3;
+
+    /** Orders caches by level, then data, instruction and unified. */
+    private static final Comparator<CacheDescriptor> ORDER = Comparator
+            .comparingInt(CacheDescriptor::getLevel)
+            .thenComparing(CacheDescriptor::getType);
+
+    /** The caches, ordered by level and type. */
+    private final List<CacheDescriptor> caches;
+
+    /**
+     * Creates a new cache hierarchy from the given caches.
+     *
+     * @param descriptors the caches
+     */
+    public CacheHierarchy(final List<CacheDescriptor> descriptors) {
+        List<CacheDescriptor> sorted = new ArrayList<>(descriptors);
+        sorted.sort(ORDER);
+        this.caches = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Detects the caches of the processor.
+     *
+     * @param cpuid the CPUID implementation to use
+     * @return the cache hierarchy, which is empty if the processor does not
+     * report its caches
+     */
+    public static CacheHierarchy detect(final Cpuid cpuid) {
+        int[] registers = new int[CpuidResult.REGISTER_COUNT];
+        List<CacheDescriptor> descriptors = new ArrayList<>();
+
+        cpuid.execute(0x0, 0x0, registers, 0);
+        if (Integer.compareUnsigned(registers[CpuidRegisters.EAX],
+                INTEL_CACHE_LEAF) >= 0) {
+            readDeterministic(cpuid, INTEL_CACHE_LEAF, registers, descriptors);
+        }
+
+        cpuid.execute(EXTENDED_BASE, 0x0, registers, 0);
+        int maxExtended = registers[CpuidRegisters.EAX];
+
+        if (descriptors.isEmpty() && supportsAmdCacheLeaf(cpuid, maxExtended,
+                registers)) {
+            readDeterministic(cpuid, AMD_CACHE_LEAF, registers, descriptors);
+        }
+
+        if (descriptors.isEmpty()) {
+            readLegacyAmd(cpuid, maxExtended, registers, descriptors);
+        }
+
+        return new CacheHierarchy(descriptors);
+    }
+
+    /**
+     * Gets the caches, ordered by level and then by data, instruction and
+     * unified caches.
+     *
+     * @return the caches
+     */
+    public List<CacheDescriptor> getCaches() {
+        return caches;
+    }
+
+    /**
+     * Gets the data or unified cache at the given level.
+     *
+     * @param level the cache level, starting at 1
+     * @return the cache, or null if there is no data cache at that level
+     */
+    public CacheDescriptor getDataCache(final int level) {
+        for (CacheDescriptor cache : caches) {
+            if (cache.getLevel() == level
+                    && cache.getType() != CacheType.INSTRUCTION) {
+                return cache;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the instruction or unified cache at the given level.
+     *
+     * @param level the cache level, starting at 1
+     * @return the cache, or null if there is no instruction cache at that
+     * level
+     */
+    public CacheDescriptor getInstructionCache(final int level) {
+        for (CacheDescriptor cache : caches) {
+            if (cache.getLevel() == level
+                    && cache.getType() != CacheType.DATA) {
+                return cache;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the highest cache level.
+     *
+     * @return the highest level, or 0 if there are no caches
+     */
+    public int getLevels() {
+        if (caches.isEmpty()) {
+            return 0;
+        }
+
+        return caches.get(caches.size() - 1).getLevel();
+    }
+
+    /**
+     * Gets the line size of the L1 data cache, which is the granularity to
+     * align and pad data structures to in order to avoid false sharing.
+     *
+     * @return the line size in bytes, or {@link #DEFAULT_LINE_SIZE} if there
+     * is no L1 data cache
+     */
+    public int getLineSize() {
+        CacheDescriptor cache = getDataCache(L1);
+        if (cache == null) {
+            return DEFAULT_LINE_SIZE;
+        }
+
+        return cache.getLineSize();
+    }
+
+    /**
+     * Gets the number of logical processors in a core, taken as the number
+     * of logical processors sharing the L1 data cache.
+     *
+     * @return the number of threads per core, at least 1
+     */
+    public int getThreadsPerCore() {
+        CacheDescriptor cache = getDataCache(L1);
+        if (cache == null) {
+            return 1;
+        }
+
+        return cache.getSharingThreads();
+    }
+
+    /**
+     * Gets the share of the data cache at the given level available to a
+     * single logical processor when every processor sharing it is busy.
+     *
+     * @param level the cache level, starting at 1
+     * @return the per-thread size in bytes, or 0 if there is no data cache at
+     * that level
+     */
+    public long getPerThreadDataCacheSize(final int level) {
+        CacheDescriptor cache = getDataCache(level);
+        if (cache == null) {
+            return 0;
+        }
+
+        return cache.getSize() / cache.getSharingThreads();
+    }
+
+    /**
+     * Gets the share of the data cache at the given level available to a
+     * single core, which is the largest working set a single-threaded task
+     * can keep in that cache level while the other cores are busy. For
+     * example {@code getPerCoreDataCacheSize(2)} is the largest working set
+     * that fits in the per-core L2 cache.
+     *
+     * @param level the cache level, starting at 1
+     * @return the per-core size in bytes, or 0 if there is no data cache at
+     * that level
+     */
+    public long getPerCoreDataCacheSize(final int level) {
+        CacheDescriptor cache = getDataCache(level);
+        if (cache == null) {
+            return 0;
+        }
+
+        int threadsPerCore = getThreadsPerCore();
+        int sharingCores = Math.max(1,
+                cache.getSharingThreads() / threadsPerCore);
+        return cache.getSize() / sharingCores;
+    }
+
+    /**
+     * Gets the number of elements of the given size that fit in the
+     * per-core share of the data cache at the given level, for example to
+     * size the blocks of a blocked sort or merge.
+     *
+     * @param level the cache level, starting at 1
+     * @param elementSize the size of an element in bytes
+     * @return the number of elements, or 0 if there is no data cache at that
+     * level
+     * @throws IllegalArgumentException the element size is not positive
+     */
+    public long getMaxElementsPerCore(final int level, final int elementSize) {
+        if (elementSize <= 0) {
+            throw new IllegalArgumentException(
+                    "element size must be positive: " + elementSize);
+        }
+
+        return getPerCoreDataCacheSize(level) / elementSize;
+    }
+
+    /**
+     * Returns the string representation of this cache hierarchy.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "CacheHierarchy" + caches;
+    }
+
+    private static boolean supportsAmdCacheLeaf(final Cpuid cpuid,
+                                                final int maxExtended,
+                                                final int[] registers) {
+        if (Integer.compareUnsigned(maxExtended, AMD_CACHE_LEAF) < 0) {
+            return false;
+        }
+
+        cpuid.execute(EXTENDED_FEATURES_LEAF, 0x0, registers, 0);
+        return CpuidRegisters.isBitSet(registers[CpuidRegisters.ECX],
+                TOPOLOGY_EXTENSIONS_BIT);
+    }
+
+    private static void readDeterministic(final Cpuid cpuid, final int leaf,
+                                          final int[] registers,
+                                          final List<CacheDescriptor> out) {
+        for (int subleaf = 0; subleaf < MAX_SUBLEAVES; subleaf++) {
+            cpuid.execute(leaf, subleaf, registers, 0);
+            CacheDescriptor cache = CacheDescriptor.decode(
+                    registers[CpuidRegisters.EAX],
+                    registers[CpuidRegisters.EBX],
+                    registers[CpuidRegisters.ECX],
+                    registers[CpuidRegisters.EDX]);
+
+            if (cache == null) {
+                return;
+            }
+
+            out.add(cache);
+        }
+    }
+
+    private static void readLegacyAmd(final Cpuid cpuid,
+                                      final int maxExtended,
+                                      final int[] registers,
+                                      final List<CacheDescriptor> out) {
+        if (Integer.compareUnsigned(maxExtended, AMD_L1_LEAF) < 0) {
+            return;
+        }
+
+        cpuid.execute(AMD_L1_LEAF, 0x0, registers, 0);
+        addL1(registers[CpuidRegisters.ECX], CacheType.DATA, out);
+        addL1(registers[CpuidRegisters.EDX], CacheType.INSTRUCTION, out);
+
+        if (Integer.compareUnsigned(maxExtended, AMD_L2_L3_LEAF) < 0) {
+            return;
+        }
+
+        // The L3 cache is shared by every core of the processor
+        int cores = 1;
+        if (Integer.compareUnsigned(maxExtended, AMD_SIZE_LEAF) >= 0) {
+            cpuid.execute(AMD_SIZE_LEAF, 0x0, registers, 0);
+            cores = CpuidRegisters.getByteValue(
+                    registers[CpuidRegisters.ECX], 0) + 1;
+        }
+
+        cpuid.execute(AMD_L2_L3_LEAF, 0x0, registers, 0);
+        int l2 = registers[CpuidRegisters.ECX];
+        int l3 = registers[CpuidRegisters.EDX];
+
+        addLegacy(out, L2, CacheType.UNIFIED,
+                CpuidRegisters.getShortValue(l2, L2_SIZE_OFFSET) * (long) KIB,
+                getAmdWays(l2), CpuidRegisters.getByteValue(l2, 0), 1);
+        addLegacy(out, L3, CacheType.UNIFIED,
+                CpuidRegisters.getBits(l3, L3_SIZE_OFFSET, L3_SIZE_WIDTH)
+                        * (long) L3_SIZE_UNIT,
+                getAmdWays(l3), CpuidRegisters.getByteValue(l3, 0), cores);
+    }
+
+    private static void addL1(final int value, final CacheType type,
+                              final List<CacheDescriptor> out) {
+        int ways = CpuidRegisters.getByteValue(value, L1_WAYS_OFFSET);
+        if (ways == L1_FULLY_ASSOCIATIVE) {
+            ways = FULLY_ASSOCIATIVE_WAYS;
+        }
+
+        addLegacy(out, L1, type,
+                CpuidRegisters.getByteValue(value, L1_SIZE_OFFSET)
+                        * (long) KIB,
+                ways, CpuidRegisters.getByteValue(value, 0), 1);
+    }
+
+    private static int getAmdWays(final int value) {
+        int code = CpuidRegisters.getNibbleValue(value, AMD_WAYS_OFFSET);
+        if (code == FULLY_ASSOCIATIVE_CODE) {
+            return FULLY_ASSOCIATIVE_WAYS;
+        }
+
+        return AMD_WAYS[code];
+    }
+
+    private static void addLegacy(final List<CacheDescriptor> out,
+                                  final int level, final CacheType type,
+                                  final long size, final int ways,
+                                  final int lineSize,
+                                  final int sharingThreads) {
+        if (size == 0 || ways == 0 || lineSize == 0) {
+            return;
+        }
+
+        // Encode the cache in the register layout of leaf 0x8000001D
+        int eax = type.getCode() | level << LEVEL_SHIFT
+                | (sharingThreads - 1) << SHARING_SHIFT;
+        long lines = size / lineSize;
+        if (ways == FULLY_ASSOCIATIVE_WAYS) {
+            // One set with a way per line, which can exceed the ways field
+            if (lines > Integer.MAX_VALUE) {
+                return;
+            }
+
+            out.add(CacheDescriptor.fullyAssociative(
+                    eax | FULLY_ASSOCIATIVE_FLAG, lineSize, (int) lines));
+            return;
+        }
+
+        long sets = lines / ways;
+        if (sets == 0) {
+            return;
+        }
+
+        int ebx = lineSize - 1 | (ways - 1) << WAYS_SHIFT;
+        out.add(CacheDescriptor.decode(eax, ebx, (int) (sets - 1), 0));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+/**
+ * The kinds of data held by a cache, as reported by CPUID leaves 0x4 and
+ * 0x8000001D.
+ */
+public enum CacheType {
+
+    /** A cache holding only data. */
+    DATA(1),
+
+    /** A cache holding only instructions. */
+    INSTRUCTION(2),
+
+    /** A cache holding both data and instructions. */
+    UNIFIED(3);
+
+    /** The value of the cache type field. */
+    private final int code;
+
+    CacheType(final int typeCode) {
+        this.code = typeCode;
+    }
+
+    /**
+     * Gets the value of the cache type field for this type.
+     *
+     * @return the cache type field value
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the cache type for the given cache type field value.
+     *
+     * @param typeCode the cache type field value
+     * @return the cache type, or null if the value is 0 (no more caches) or
+     * reserved
+     */
+    public static CacheType fromCode(final int typeCode) {
+        for (CacheType type : values()) {
+            if (type.code == typeCode) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+/**
+ * The kinds of core in a hybrid processor, as reported by bits 31 to 24 of
+ * EAX in CPUID leaf 0x1A.
+ */
+public enum CoreType {
+
+    /** A performance core, reported by Intel as an Intel Core. */
+    PERFORMANCE(0x40),
+
+    /** An efficiency core, reported by Intel as an Intel Atom. */
+    EFFICIENCY(0x20),
+
+    /**
+     * A core of a processor that is not hybrid, or of a type that is not
+     * known.
+     */
+    UNKNOWN(0);
+
+    /** The offset of the core type field in EAX of leaf 0x1A. */
+    private static final int CORE_TYPE_SHIFT = 24;
+
+    /** The mask of the native model ID field in EAX of leaf 0x1A. */
+    private static final int NATIVE_MODEL_ID_MASK = 0xFFFFFF;
+
+    /** The value of the core type field. */
+    private final int code;
+
+    CoreType(final int typeCode) {
+        this.code = typeCode;
+    }
+
+    /**
+     * Gets the value of the core type field for this type.
+     *
+     * @return the core type field value, or 0 for {@link #UNKNOWN}
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the core type for the given core type field value.
+     *
+     * @param typeCode the core type field value
+     * @return the core type, or {@link #UNKNOWN} if the value is reserved
+     */
+    public static CoreType fromCode(final int typeCode) {
+        if (typeCode == PERFORMANCE.code) {
+            return PERFORMANCE;
+        } else if (typeCode == EFFICIENCY.code) {
+            return EFFICIENCY;
+        }
+
+        return UNKNOWN;
+    }
+
+    /**
+     * Gets the core type reported by the given EAX value of leaf 0x1A.
+     *
+     * @param eax the EAX value of leaf 0x1A
+     * @return the core type
+     */
+    public static CoreType fromLeafValue(final int eax) {
+        return fromCode(eax >>> CORE_TYPE_SHIFT);
+    }
+
+    /**
+     * Gets the native model ID reported by the given EAX value of leaf
+     * 0x1A, which identifies the microarchitecture of the core within its
+     * core type.
+     *
+     * @param eax the EAX value of leaf 0x1A
+     * @return the native model ID
+     */
+    static int nativeModelId(final int eax) {
+        return eax & NATIVE_MODEL_ID_MASK;
+    }
+}
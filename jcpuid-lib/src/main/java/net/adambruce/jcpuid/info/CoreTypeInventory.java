@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.CpuidSweep;
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+
+import java.util.Arrays;
+
+/**
+ * Records the type of core of every logical CPU, so that a scheduler can
+ * pin latency critical threads to performance cores and background work to
+ * efficiency cores.
+ * <p>
+ * The inventory is built from a sweep of leaves 0x0, 0x7 and 0x1A, which
+ * executes them on each logical CPU in turn. On processors that are not
+ * hybrid, every CPU has the type {@link CoreType#UNKNOWN}.
+ */
+public final class CoreTypeInventory {
+
+    /** The leaves swept to build the inventory. */
+    private static final int[] SWEEP_LEAVES = {
+        0x0, CoreTypeSampler.STRUCTURED_LEAF, CoreTypeSampler.HYBRID_LEAF
+    };
+
+    /** The sub-leaves swept to build the inventory. */
+    private static final int[] SWEEP_SUBLEAVES = {0x0, 0x0, 0x0};
+
+    /** The logical CPU numbers, in ascending order. */
+    private final int[] cpus;
+
+    /** The EAX value of leaf 0x1A of each CPU, 0 if it is not hybrid. */
+    private final int[] leafValues;
+
+    private CoreTypeInventory(final int[] cpuNumbers,
+                              final int[] hybridLeafValues) {
+        this.cpus = cpuNumbers;
+        this.leafValues = hybridLeafValues;
+    }
+
+    /**
+     * Builds the inventory by sweeping every logical CPU that the calling
+     * thread is allowed to run on.
+     *
+     * @param sweep the sweep to execute CPUID on each CPU with
+     * @return the inventory
+     * @throws UnsupportedOperationException the bridge of the sweep does not
+     * support thread affinity
+     * @throws IllegalStateException a CPU could not be swept
+     */
+    public static CoreTypeInventory detect(final CpuidSweep sweep) {
+        return fromSweep(sweep.sweep(SWEEP_LEAVES, SWEEP_SUBLEAVES));
+    }
+
+    /**
+     * Builds the inventory from the result of a sweep, which must contain
+     * leaves 0x0, 0x7 and 0x1A, each with sub-leaf 0.
+     *
+     * @param result the result of the sweep
+     * @return the inventory
+     * @throws IllegalArgumentException the result does not contain the
+     * required leaves
+     */
+    public static CoreTypeInventory fromSweep(final CpuidSweepResult result) {
+        int maxRequest = result.indexOfRequest(SWEEP_LEAVES[0], 0);
+        int featuresRequest = result.indexOfRequest(SWEEP_LEAVES[1], 0);
+        int hybridRequest = result.indexOfRequest(SWEEP_LEAVES[2], 0);
+        if (maxRequest < 0 || featuresRequest < 0 || hybridRequest < 0) {
+            throw new IllegalArgumentException(
+                    "the sweep must contain leaves 0x0, 0x7 and 0x1A");
+        }
+
+        // Sort the CPUs so that they can be found with a binary search
+        int count = result.getCpuCount();
+        long[] entries = new long[count];
+        for (int i = 0; i < count; i++) {
+            int maxStandard = result.getRegister(i, maxRequest,
+                    CpuidRegisters.EAX);
+            boolean hybrid = maxStandard >= CoreTypeSampler.HYBRID_LEAF
+                    && (result.getRegister(i, featuresRequest,
+                    CpuidRegisters.EDX) >>> CoreTypeSampler.HYBRID_BIT
+                    & 1) != 0;
+
+            int value = 0;
+            if (hybrid) {
+                value = result.getRegister(i, hybridRequest,
+                        CpuidRegisters.EAX);
+            }
+
+            entries[i] = (long) result.getCpu(i) << Integer.SIZE
+                    | Integer.toUnsignedLong(value);
+        }
+        Arrays.sort(entries);
+
+        int[] cpuNumbers = new int[count];
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            cpuNumbers[i] = (int) (entries[i] >>> Integer.SIZE);
+            values[i] = (int) entries[i];
+        }
+
+        return new CoreTypeInventory(cpuNumbers, values);
+    }
+
+    /**
+     * Checks whether any CPU in the inventory belongs to a hybrid processor.
+     *
+     * @return true if the inventory has cores of a known type
+     */
+    public boolean isHybrid() {
+        for (int value : leafValues) {
+            if (CoreType.fromLeafValue(value) != CoreType.UNKNOWN) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the logical CPUs in the inventory.
+     *
+     * @return the logical CPU numbers in ascending order
+     */
+    public int[] getCpus() {
+        return cpus.clone();
+    }
+
+    /**
+     * Gets the logical CPUs with the given type of core.
+     *
+     * @param type the core type
+     * @return the logical CPU numbers in ascending order
+     */
+    public int[] getCpus(final CoreType type) {
+        int[] matching = new int[cpus.length];
+        int count = 0;
+        for (int i = 0; i < cpus.length; i++) {
+            if (CoreType.fromLeafValue(leafValues[i]) == type) {
+                matching[count++] = cpus[i];
+            }
+        }
+
+        return Arrays.copyOf(matching, count);
+    }
+
+    /**
+     * Gets the logical CPUs on performance cores.
+     *
+     * @return the logical CPU numbers in ascending order
+     */
+    public int[] getPerformanceCpus() {
+        return getCpus(CoreType.PERFORMANCE);
+    }
+
+    /**
+     * Gets the logical CPUs on efficiency cores.
+     *
+     * @return the logical CPU numbers in ascending order
+     */
+    public int[] getEfficiencyCpus() {
+        return getCpus(CoreType.EFFICIENCY);
+    }
+
+    /**
+     * Gets the type of core of the given logical CPU.
+     *
+     * @param cpu the logical CPU number
+     * @return the core type
+     * @throws IllegalArgumentException the CPU is not in the inventory
+     */
+    public CoreType getCoreType(final int cpu) {
+        return CoreType.fromLeafValue(leafValues[indexOf(cpu)]);
+    }
+
+    /**
+     * Gets the native model ID of the core of the given logical CPU.
+     *
+     * @param cpu the logical CPU number
+     * @return the native model ID, or 0 when the processor is not hybrid
+     * @throws IllegalArgumentException the CPU is not in the inventory
+     */
+    public int getNativeModelId(final int cpu) {
+        return CoreType.nativeModelId(leafValues[indexOf(cpu)]);
+    }
+
+    /**
+     * Returns the string representation of this inventory.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "CoreTypeInventory{"
+                + "performance=" + Arrays.toString(getPerformanceCpus())
+                + ", efficiency=" + Arrays.toString(getEfficiencyCpus())
+                + ", unknown=" + Arrays.toString(getCpus(CoreType.UNKNOWN))
+                + "}";
+    }
+
+    private int indexOf(final int cpu) {
+        int index = Arrays.binarySearch(cpus, cpu);
+        if (index < 0) {
+            throw new IllegalArgumentException(
+                    "CPU " + cpu + " is not in the inventory");
+        }
+
+        return index;
+    }
+}
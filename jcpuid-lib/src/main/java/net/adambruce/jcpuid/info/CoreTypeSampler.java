@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+/**
+ * Reports the type of the core that the calling thread is running on, for
+ * hybrid processors such as Alder Lake and Raptor Lake that combine
+ * performance and efficiency cores.
+ * <p>
+ * Whether the processor is hybrid is checked once, from bit 15 of EDX in
+ * leaf 0x7. Each sample then executes leaf 0x1A on the calling thread
+ * without allocating, so threads can sample their core periodically and
+ * ask to be moved when they land on an efficiency core. Samples on a
+ * processor that is not hybrid return {@link CoreType#UNKNOWN} without
+ * executing CPUID.
+ * <p>
+ * The operating system may move the thread to another core as soon as a
+ * sample is taken. The CPUID implementation must not cache leaf 0x1A,
+ * which {@link net.adambruce.jcpuid.CachingCpuid} does not by default.
+ */
+public final class CoreTypeSampler {
+
+    /** The leaf that reports the core type. */
+    static final int HYBRID_LEAF = 0x1A;
+
+    /** The leaf that reports the hybrid flag. */
+    static final int STRUCTURED_LEAF = 0x7;
+
+    /** The bit of EDX in leaf 0x7 set on hybrid processors. */
+    static final int HYBRID_BIT = 15;
+
+    /** The registers of the last sample taken by each thread. */
+    private static final ThreadLocal<int[]> REGISTERS = ThreadLocal
+            .withInitial(() -> new int[CpuidResult.REGISTER_COUNT]);
+
+    /** The CPUID implementation to sample with. */
+    private final Cpuid cpuid;
+
+    /** Whether the processor is hybrid. */
+    private final boolean hybrid;
+
+    private CoreTypeSampler(final Cpuid sampleCpuid,
+                            final boolean hybridProcessor) {
+        this.cpuid = sampleCpuid;
+        this.hybrid = hybridProcessor;
+    }
+
+    /**
+     * Creates a sampler, checking whether the processor is hybrid.
+     *
+     * @param cpuid the CPUID implementation to use
+     * @return the sampler
+     */
+    public static CoreTypeSampler create(final Cpuid cpuid) {
+        int maxStandard = cpuid.execute(0x0).getEaxValue();
+        boolean hybrid = maxStandard >= HYBRID_LEAF
+                && CpuidRegisters.isBitSet(cpuid.execute(STRUCTURED_LEAF, 0)
+                .getEdxValue(), HYBRID_BIT);
+
+        return new CoreTypeSampler(cpuid, hybrid);
+    }
+
+    /**
+     * Checks whether the processor is hybrid.
+     *
+     * @return true if the processor has more than one type of core
+     */
+    public boolean isHybrid() {
+        return hybrid;
+    }
+
+    /**
+     * Gets the type of the core the calling thread is running on.
+     *
+     * @return the core type, or {@link CoreType#UNKNOWN} when the processor
+     * is not hybrid
+     */
+    public CoreType sample() {
+        if (!hybrid) {
+            return CoreType.UNKNOWN;
+        }
+
+        return CoreType.fromLeafValue(sampleLeaf());
+    }
+
+    /**
+     * Gets the native model ID of the core the calling thread is running
+     * on, which identifies the microarchitecture of the core within its
+     * core type.
+     *
+     * @return the native model ID, or 0 when the processor is not hybrid
+     */
+    public int sampleNativeModelId() {
+        if (!hybrid) {
+            return 0;
+        }
+
+        return CoreType.nativeModelId(sampleLeaf());
+    }
+
+    /**
+     * Returns the string representation of this sampler.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "CoreTypeSampler{hybrid=" + hybrid + "}";
+    }
+
+    private int sampleLeaf() {
+        int[] registers = REGISTERS.get();
+        cpuid.execute(HYBRID_LEAF, 0, registers, 0);
+        return registers[CpuidRegisters.EAX];
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.type.CpuidRegisters;
+
+/**
+ * Processor features reported by the CPUID instruction. Each feature is a
+ * single bit in one of the registers of leaf 0x1, sub-leaves 0 and 1 of
+ * leaf 0x7, or the extended leaves 0x80000001 and 0x80000007.
+ * <p>
+ * A feature bit only states that the processor implements the feature.
+ * Features that use extended register state, such as AVX and AVX-512, also
+ * need the operating system to enable that state, which is indicated in
+ * part by {@link #OSXSAVE}.
+ */
+public enum CpuFeature {
+
+    /** x87 floating point unit. */
+    FPU(0x1, 0, CpuidRegisters.EDX, 0),
+
+    /** Time stamp counter and the RDTSC instruction. */
+    TSC(0x1, 0, CpuidRegisters.EDX, 4),
+
+    /** Model specific registers. */
+    MSR(0x1, 0, CpuidRegisters.EDX, 5),
+
+    /** The CMPXCHG8B instruction. */
+    CX8(0x1, 0, CpuidRegisters.EDX, 8),
+
+    /** On-chip APIC. */
+    APIC(0x1, 0, CpuidRegisters.EDX, 9),
+
+    /** Conditional move instructions. */
+    CMOV(0x1, 0, CpuidRegisters.EDX, 15),
+
+    /** The CLFLUSH instruction. */
+    CLFSH(0x1, 0, CpuidRegisters.EDX, 19),
+
+    /** MMX instructions. */
+    MMX(0x1, 0, CpuidRegisters.EDX, 23),
+
+    /** The FXSAVE and FXRSTOR instructions. */
+    FXSR(0x1, 0, CpuidRegisters.EDX, 24),
+
+    /** SSE instructions. */
+    SSE(0x1, 0, CpuidRegisters.EDX, 25),
+
+    /** SSE2 instructions. */
+    SSE2(0x1, 0, CpuidRegisters.EDX, 26),
+
+    /** Multiple logical processors per package. */
+    HTT(0x1, 0, CpuidRegisters.EDX, 28),
+
+    /** SSE3 instructions. */
+    SSE3(0x1, 0, CpuidRegisters.ECX, 0),
+
+    /** Carry-less multiplication. */
+    PCLMULQDQ(0x1, 0, CpuidRegisters.ECX, 1),
+
+    /** The MONITOR and MWAIT instructions. */
+    MONITOR(0x1, 0, CpuidRegisters.ECX, 3),
+
+    /** Virtual machine extensions. */
+    VMX(0x1, 0, CpuidRegisters.ECX, 5),
+
+    /** Safer mode extensions. */
+    SMX(0x1, 0, CpuidRegisters.ECX, 6),
+
+    /** Supplemental SSE3 instructions. */
+    SSSE3(0x1, 0, CpuidRegisters.ECX, 9),
+
+    /** FMA3 fused multiply-add instructions. */
+    FMA(0x1, 0, CpuidRegisters.ECX, 12),
+
+    /** The CMPXCHG16B instruction. */
+    CX16(0x1, 0, CpuidRegisters.ECX, 13),
+
+    /** SSE4.1 instructions. */
+    SSE4_1(0x1, 0, CpuidRegisters.ECX, 19),
+
+    /** SSE4.2 instructions, including CRC32. */
+    SSE4_2(0x1, 0, CpuidRegisters.ECX, 20),
+
+    /** x2APIC. */
+    X2APIC(0x1, 0, CpuidRegisters.ECX, 21),
+
+    /** The MOVBE instruction. */
+    MOVBE(0x1, 0, CpuidRegisters.ECX, 22),
+
+    /** The POPCNT instruction. */
+    POPCNT(0x1, 0, CpuidRegisters.ECX, 23),
+
+    /** AES-NI instructions. */
+    AES(0x1, 0, CpuidRegisters.ECX, 25),
+
+    /** The XSAVE family of instructions. */
+    XSAVE(0x1, 0, CpuidRegisters.ECX, 26),
+
+    /** The operating system has enabled XSAVE. */
+    OSXSAVE(0x1, 0, CpuidRegisters.ECX, 27),
+
+    /** AVX instructions. */
+    AVX(0x1, 0, CpuidRegisters.ECX, 28),
+
+    /** Half precision conversion instructions. */
+    F16C(0x1, 0, CpuidRegisters.ECX, 29),
+
+    /** The RDRAND instruction. */
+    RDRAND(0x1, 0, CpuidRegisters.ECX, 30),
+
+    /** Running under a hypervisor. */
+    HYPERVISOR(0x1, 0, CpuidRegisters.ECX, 31),
+
+    /** FS and GS base access instructions. */
+    FSGSBASE(0x7, 0, CpuidRegisters.EBX, 0),
+
+    /** Bit manipulation instruction set 1. */
+    BMI1(0x7, 0, CpuidRegisters.EBX, 3),
+
+    /** Hardware lock elision. */
+    HLE(0x7, 0, CpuidRegisters.EBX, 4),
+
+    /** AVX2 instructions. */
+    AVX2(0x7, 0, CpuidRegisters.EBX, 5),
+
+    /** Supervisor mode execution prevention. */
+    SMEP(0x7, 0, CpuidRegisters.EBX, 7),
+
+    /** Bit manipulation instruction set 2. */
+    BMI2(0x7, 0, CpuidRegisters.EBX, 8),
+
+    /** Enhanced REP MOVSB and STOSB. */
+    ERMS(0x7, 0, CpuidRegisters.EBX, 9),
+
+    /** The INVPCID instruction. */
+    INVPCID(0x7, 0, CpuidRegisters.EBX, 10),
+
+    /** Restricted transactional memory. */
+    RTM(0x7, 0, CpuidRegisters.EBX, 11),
+
+    /** AVX-512 foundation instructions. */
+    AVX512F(0x7, 0, CpuidRegisters.EBX, 16),
+
+    /** AVX-512 doubleword and quadword. */
+    AVX512DQ(0x7, 0, CpuidRegisters.EBX, 17),
+
+    /** The RDSEED instruction. */
+    RDSEED(0x7, 0, CpuidRegisters.EBX, 18),
+
+    /** The ADCX and ADOX instructions. */
+    ADX(0x7, 0, CpuidRegisters.EBX, 19),
+
+    /** Supervisor mode access prevention. */
+    SMAP(0x7, 0, CpuidRegisters.EBX, 20),
+
+    /** AVX-512 integer fused multiply-add. */
+    AVX512_IFMA(0x7, 0, CpuidRegisters.EBX, 21),
+
+    /** The CLFLUSHOPT instruction. */
+    CLFLUSHOPT(0x7, 0, CpuidRegisters.EBX, 23),
+
+    /** The CLWB instruction. */
+    CLWB(0x7, 0, CpuidRegisters.EBX, 24),
+
+    /** AVX-512 prefetch instructions. */
+    AVX512PF(0x7, 0, CpuidRegisters.EBX, 26),
+
+    /** AVX-512 exponential and reciprocal. */
+    AVX512ER(0x7, 0, CpuidRegisters.EBX, 27),
+
+    /** AVX-512 conflict detection. */
+    AVX512CD(0x7, 0, CpuidRegisters.EBX, 28),
+
+    /** SHA extensions. */
+    SHA(0x7, 0, CpuidRegisters.EBX, 29),
+
+    /** AVX-512 byte and word instructions. */
+    AVX512BW(0x7, 0, CpuidRegisters.EBX, 30),
+
+    /** AVX-512 vector length extensions. */
+    AVX512VL(0x7, 0, CpuidRegisters.EBX, 31),
+
+    /** The PREFETCHWT1 instruction. */
+    PREFETCHWT1(0x7, 0, CpuidRegisters.ECX, 0),
+
+    /** AVX-512 vector byte manipulation. */
+    AVX512_VBMI(0x7, 0, CpuidRegisters.ECX, 1),
+
+    /** User mode instruction prevention. */
+    UMIP(0x7, 0, CpuidRegisters.ECX, 2),
+
+    /** Memory protection keys for user pages. */
+    PKU(0x7, 0, CpuidRegisters.ECX, 3),
+
+    /** The UMONITOR, UMWAIT and TPAUSE instructions. */
+    WAITPKG(0x7, 0, CpuidRegisters.ECX, 5),
+
+    /** AVX-512 vector byte manipulation 2. */
+    AVX512_VBMI2(0x7, 0, CpuidRegisters.ECX, 6),
+
+    /** Control-flow enforcement shadow stacks. */
+    CET_SS(0x7, 0, CpuidRegisters.ECX, 7),
+
+    /** Galois field instructions. */
+    GFNI(0x7, 0, CpuidRegisters.ECX, 8),
+
+    /** Vector AES instructions. */
+    VAES(0x7, 0, CpuidRegisters.ECX, 9),
+
+    /** Vector carry-less multiplication. */
+    VPCLMULQDQ(0x7, 0, CpuidRegisters.ECX, 10),
+
+    /** AVX-512 vector neural network. */
+    AVX512_VNNI(0x7, 0, CpuidRegisters.ECX, 11),
+
+    /** AVX-512 bit algorithms. */
+    AVX512_BITALG(0x7, 0, CpuidRegisters.ECX, 12),
+
+    /** AVX-512 population count. */
+    AVX512_VPOPCNTDQ(0x7, 0, CpuidRegisters.ECX, 14),
+
+    /** Five-level paging. */
+    LA57(0x7, 0, CpuidRegisters.ECX, 16),
+
+    /** The RDPID instruction. */
+    RDPID(0x7, 0, CpuidRegisters.ECX, 22),
+
+    /** The MOVDIRI instruction. */
+    MOVDIRI(0x7, 0, CpuidRegisters.ECX, 27),
+
+    /** The MOVDIR64B instruction. */
+    MOVDIR64B(0x7, 0, CpuidRegisters.ECX, 28),
+
+    /** AVX-512 4-register neural network. */
+    AVX512_4VNNIW(0x7, 0, CpuidRegisters.EDX, 2),
+
+    /** AVX-512 4-register multiply-add. */
+    AVX512_4FMAPS(0x7, 0, CpuidRegisters.EDX, 3),
+
+    /** Fast short REP MOV. */
+    FSRM(0x7, 0, CpuidRegisters.EDX, 4),
+
+    /** AVX-512 intersect instructions. */
+    AVX512_VP2INTERSECT(0x7, 0, CpuidRegisters.EDX, 8),
+
+    /** The SERIALIZE instruction. */
+    SERIALIZE(0x7, 0, CpuidRegisters.EDX, 14),
+
+    /** Hybrid processor with several core types. */
+    HYBRID(0x7, 0, CpuidRegisters.EDX, 15),
+
+    /** AMX bfloat16 tile instructions. */
+    AMX_BF16(0x7, 0, CpuidRegisters.EDX, 22),
+
+    /** AVX-512 half precision instructions. */
+    AVX512_FP16(0x7, 0, CpuidRegisters.EDX, 23),
+
+    /** AMX tile architecture. */
+    AMX_TILE(0x7, 0, CpuidRegisters.EDX, 24),
+
+    /** AMX 8-bit integer tile instructions. */
+    AMX_INT8(0x7, 0, CpuidRegisters.EDX, 25),
+
+    /** VEX encoded vector neural network. */
+    AVX_VNNI(0x7, 1, CpuidRegisters.EAX, 4),
+
+    /** AVX-512 bfloat16 instructions. */
+    AVX512_BF16(0x7, 1, CpuidRegisters.EAX, 5),
+
+    /** LAHF and SAHF in 64-bit mode. */
+    LAHF_LM(0x80000001, 0, CpuidRegisters.ECX, 0),
+
+    /** Advanced bit manipulation, LZCNT. */
+    ABM(0x80000001, 0, CpuidRegisters.ECX, 5),
+
+    /** SSE4a instructions. */
+    SSE4A(0x80000001, 0, CpuidRegisters.ECX, 6),
+
+    /** The PREFETCHW instruction. */
+    PREFETCHW(0x80000001, 0, CpuidRegisters.ECX, 8),
+
+    /** Extended operation instructions. */
+    XOP(0x80000001, 0, CpuidRegisters.ECX, 11),
+
+    /** FMA4 fused multiply-add instructions. */
+    FMA4(0x80000001, 0, CpuidRegisters.ECX, 16),
+
+    /** Trailing bit manipulation. */
+    TBM(0x80000001, 0, CpuidRegisters.ECX, 21),
+
+    /** The SYSCALL and SYSRET instructions. */
+    SYSCALL(0x80000001, 0, CpuidRegisters.EDX, 11),
+
+    /** No-execute page protection. */
+    NX(0x80000001, 0, CpuidRegisters.EDX, 20),
+
+    /** 1 GiB pages. */
+    PDPE1GB(0x80000001, 0, CpuidRegisters.EDX, 26),
+
+    /** The RDTSCP instruction. */
+    RDTSCP(0x80000001, 0, CpuidRegisters.EDX, 27),
+
+    /** Long mode, 64-bit support. */
+    LM(0x80000001, 0, CpuidRegisters.EDX, 29),
+
+    /** Invariant time stamp counter. */
+    INVARIANT_TSC(0x80000007, 0, CpuidRegisters.EDX, 8);
+
+    /** The number of features stored in a single word of a bitset. */
+    static final int BITS_PER_WORD = Long.SIZE;
+
+    /** The leaf that reports the feature. */
+    private final int leaf;
+
+    /** The sub-leaf that reports the feature. */
+    private final int subleaf;
+
+    /** The register that reports the feature. */
+    private final int register;
+
+    /** The bit of the register that reports the feature. */
+    private final int bit;
+
+    CpuFeature(final int featureLeaf, final int featureSubleaf,
+               final int featureRegister, final int featureBit) {
+        this.leaf = featureLeaf;
+        this.subleaf = featureSubleaf;
+        this.register = featureRegister;
+        this.bit = featureBit;
+    }
+
+    /**
+     * Gets the leaf that reports the feature.
+     *
+     * @return the leaf
+     */
+    public int getLeaf() {
+        return leaf;
+    }
+
+    /**
+     * Gets the sub-leaf that reports the feature.
+     *
+     * @return the sub-leaf
+     */
+    public int getSubleaf() {
+        return subleaf;
+    }
+
+    /**
+     * Gets the register that reports the feature.
+     *
+     * @return the register, one of the indices defined by
+     * {@link CpuidRegisters}
+     */
+    public int getRegister() {
+        return register;
+    }
+
+    /**
+     * Gets the bit of the register that reports the feature.
+     *
+     * @return the bit, from 0 to 31
+     */
+    public int getBit() {
+        return bit;
+    }
+
+    /**
+     * Gets the index of the bitset word that holds the feature.
+     *
+     * @return the word index
+     */
+    int word() {
+        return ordinal() / BITS_PER_WORD;
+    }
+
+    /**
+     * Gets the mask of the feature within its bitset word.
+     *
+     * @return the mask
+     */
+    long mask() {
+        return 1L << ordinal();
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * An immutable set of {@link CpuFeature} values, stored as a bitset in two
+ * {@code long} words indexed by the ordinal of the feature. Membership tests
+ * are a single mask test and set operations are a few bitwise operations,
+ * so the feature sets of different hosts can be compared cheaply.
+ */
+public final class CpuFeatures {
+
+    /** The leaves executed to detect the features. */
+    private static final int[] PROBE_LEAVES = {
+        0x0, 0x1, 0x7, 0x7, 0x80000000, 0x80000001, 0x80000007
+    };
+
+    /** The sub-leaves executed to detect the features. */
+    private static final int[] PROBE_SUBLEAVES = {
+        0x0, 0x0, 0x0, 0x1, 0x0, 0x0, 0x0
+    };
+
+    /** The index of the request for the highest standard leaf. */
+    private static final int MAX_STANDARD_REQUEST = 0;
+
+    /** The index of the request for leaf 0x7 sub-leaf 0. */
+    private static final int LEAF_7_REQUEST = 2;
+
+    /** The index of the request for the highest extended leaf. */
+    private static final int MAX_EXTENDED_REQUEST = 4;
+
+    /** The leaf with structured sub-leaves counted by its sub-leaf 0. */
+    private static final int STRUCTURED_LEAF = 0x7;
+
+    /** The first extended leaf. */
+    private static final int EXTENDED_BASE = 0x80000000;
+
+    /** The features of the enum, cached to avoid cloning on each call. */
+    private static final CpuFeature[] FEATURES = CpuFeature.values();
+
+    /** The index of the probe request that reports each feature. */
+    private static final int[] FEATURE_REQUESTS = new int[FEATURES.length];
+
+    /** The set containing no features. */
+    private static final CpuFeatures NONE = new CpuFeatures(0L, 0L);
+
+    static {
+        for (CpuFeature feature : FEATURES) {
+            FEATURE_REQUESTS[feature.ordinal()] = findRequest(feature);
+        }
+    }
+
+    /** The features with ordinals 0 to 63. */
+    private final long low;
+
+    /** The features with ordinals 64 to 127. */
+    private final long high;
+
+    private CpuFeatures(final long lowWord, final long highWord) {
+        this.low = lowWord;
+        this.high = highWord;
+    }
+
+    /**
+     * Detects the features of the processor with a single batch of CPUID
+     * executions. Leaves above the highest leaf reported by the processor
+     * are ignored.
+     *
+     * @param cpuid the CPUID implementation to use
+     * @return the features reported by the processor
+     */
+    public static CpuFeatures detect(final Cpuid cpuid) {
+        int[] out = new int[PROBE_LEAVES.length * CpuidResult.REGISTER_COUNT];
+        cpuid.executeBatch(PROBE_LEAVES, PROBE_SUBLEAVES, out);
+
+        boolean[] valid = new boolean[PROBE_LEAVES.length];
+        for (int i = 0; i < PROBE_LEAVES.length; i++) {
+            valid[i] = isValid(i, out);
+        }
+
+        long lowWord = 0L;
+        long highWord = 0L;
+        for (CpuFeature feature : FEATURES) {
+            int request = FEATURE_REQUESTS[feature.ordinal()];
+            int value = out[request * CpuidResult.REGISTER_COUNT
+                    + feature.getRegister()];
+
+            if (!valid[request] || (value >>> feature.getBit() & 1) == 0) {
+                continue;
+            }
+
+            if (feature.word() == 0) {
+                lowWord |= feature.mask();
+            } else {
+                highWord |= feature.mask();
+            }
+        }
+
+        return new CpuFeatures(lowWord, highWord);
+    }
+
+    /**
+     * Gets the set containing no features.
+     *
+     * @return the empty set
+     */
+    public static CpuFeatures none() {
+        return NONE;
+    }
+
+    /**
+     * Creates a set containing the given features.
+     *
+     * @param features the features
+     * @return the set of features
+     */
+    public static CpuFeatures of(final CpuFeature... features) {
+        long lowWord = 0L;
+        long highWord = 0L;
+        for (CpuFeature feature : features) {
+            if (feature.word() == 0) {
+                lowWord |= feature.mask();
+            } else {
+                highWord |= feature.mask();
+            }
+        }
+
+        return new CpuFeatures(lowWord, highWord);
+    }
+
+    /**
+     * Checks whether the set contains the given feature.
+     *
+     * @param feature the feature
+     * @return true if the feature is present, otherwise false
+     */
+    public boolean has(final CpuFeature feature) {
+        if (feature.word() == 0) {
+            return (low & feature.mask()) != 0;
+        }
+
+        return (high & feature.mask()) != 0;
+    }
+
+    /**
+     * Checks whether the set contains every feature of the other set, for
+     * example whether this host can run code built for another host.
+     *
+     * @param other the other set
+     * @return true if every feature of the other set is present, otherwise
+     * false
+     */
+    public boolean containsAll(final CpuFeatures other) {
+        return (other.low & ~low) == 0 && (other.high & ~high) == 0;
+    }
+
+    /**
+     * Gets the features present in both this set and the other set, for
+     * example the common baseline of two hosts.
+     *
+     * @param other the other set
+     * @return the intersection of the sets
+     */
+    public CpuFeatures intersection(final CpuFeatures other) {
+        return new CpuFeatures(low & other.low, high & other.high);
+    }
+
+    /**
+     * Gets the features present in either this set or the other set.
+     *
+     * @param other the other set
+     * @return the union of the sets
+     */
+    public CpuFeatures union(final CpuFeatures other) {
+        return new CpuFeatures(low | other.low, high | other.high);
+    }
+
+    /**
+     * Gets the features present in this set but not in the other set, for
+     * example the features another host is missing.
+     *
+     * @param other the other set
+     * @return the difference of the sets
+     */
+    public CpuFeatures difference(final CpuFeatures other) {
+        return new CpuFeatures(low & ~other.low, high & ~other.high);
+    }
+
+    /**
+     * Checks whether the set contains no features.
+     *
+     * @return true if the set is empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return low == 0 && high == 0;
+    }
+
+    /**
+     * Gets the number of features in the set.
+     *
+     * @return the number of features
+     */
+    public int size() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    /**
+     * Gets the features in the set as an enum set.
+     *
+     * @return a new set holding the features
+     */
+    public Set<CpuFeature> toSet() {
+        Set<CpuFeature> set = EnumSet.noneOf(CpuFeature.class);
+        for (CpuFeature feature : FEATURES) {
+            if (has(feature)) {
+                set.add(feature);
+            }
+        }
+
+        return set;
+    }
+
+    /**
+     * Compares this set with another object for equality.
+     *
+     * @param o the other object
+     * @return true if the other object is a feature set with the same
+     * features, otherwise false
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof CpuFeatures)) {
+            return false;
+        }
+
+        CpuFeatures that = (CpuFeatures) o;
+        return low == that.low && high == that.high;
+    }
+
+    /**
+     * Generates a hash code for this set.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) ^ Integer.rotateLeft(Long.hashCode(high), 1);
+    }
+
+    /**
+     * Returns the string representation of this set, listing the features
+     * in declaration order.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "CpuFeatures[", "]");
+        for (CpuFeature feature : FEATURES) {
+            if (has(feature)) {
+                joiner.add(feature.name());
+            }
+        }
+
+        return joiner.toString();
+    }
+
+    private static boolean isValid(final int request, final int[] out) {
+        int leaf = PROBE_LEAVES[request];
+        int max;
+        if (Integer.compareUnsigned(leaf, EXTENDED_BASE) < 0) {
+            max = out[MAX_STANDARD_REQUEST * CpuidResult.REGISTER_COUNT];
+        } else {
+            max = out[MAX_EXTENDED_REQUEST * CpuidResult.REGISTER_COUNT];
+        }
+
+        if (Integer.compareUnsigned(leaf, max) > 0) {
+            return false;
+        }
+
+        if (leaf == STRUCTURED_LEAF) {
+            int maxSubleaf = out[LEAF_7_REQUEST * CpuidResult.REGISTER_COUNT];
+            return Integer.compareUnsigned(PROBE_SUBLEAVES[request],
+                    maxSubleaf) <= 0;
+        }
+
+        return true;
+    }
+
+    private static int findRequest(final CpuFeature feature) {
+        for (int i = 0; i < PROBE_LEAVES.length; i++) {
+            if (PROBE_LEAVES[i] == feature.getLeaf()
+                    && PROBE_SUBLEAVES[i] == feature.getSubleaf()) {
+                return i;
+            }
+        }
+
+        throw new IllegalStateException("no probe request for " + feature);
+    }
+}
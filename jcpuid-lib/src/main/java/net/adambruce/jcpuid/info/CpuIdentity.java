@@ -0,0 +1,322 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Identifies the processor by its vendor, brand string and family, model
+ * and stepping. The identity is read with a single batch of CPUID
+ * executions, and the vendor ID and brand string are decoded from the raw
+ * register values into a single byte array without intermediate strings.
+ * <p>
+ * Identities compare the raw register values they were decoded from, and
+ * cache their hash code, so they are cheap to use as map keys.
+ */
+public final class CpuIdentity {
+
+    /** The leaves executed to read the identity. */
+    private static final int[] PROBE_LEAVES = {
+        0x0, 0x1, 0x80000000, 0x80000002, 0x80000003, 0x80000004
+    };
+
+    /** The sub-leaves executed to read the identity. */
+    private static final int[] PROBE_SUBLEAVES = new int[PROBE_LEAVES.length];
+
+    /** The index of the leaf 0x0 request. */
+    private static final int VENDOR_REQUEST = 0;
+
+    /** The index of the leaf 0x1 request. */
+    private static final int SIGNATURE_REQUEST = 1;
+
+    /** The index of the leaf 0x80000000 request. */
+    private static final int MAX_EXTENDED_REQUEST = 2;
+
+    /** The index of the first brand string request. */
+    private static final int BRAND_REQUEST = 3;
+
+    /** The highest leaf holding part of the brand string. */
+    private static final int LAST_BRAND_LEAF = 0x80000004;
+
+    /** The number of registers holding the brand string. */
+    private static final int BRAND_REGISTERS = 12;
+
+    /** The index of the signature within the raw values. */
+    private static final int SIGNATURE_INDEX = 0;
+
+    /** The index of the first vendor ID register within the raw values. */
+    private static final int VENDOR_INDEX = 1;
+
+    /** The index of the first brand register within the raw values. */
+    private static final int BRAND_INDEX = 4;
+
+    /** The number of raw values. */
+    private static final int RAW_LENGTH = BRAND_INDEX + BRAND_REGISTERS;
+
+    /** The number of characters in the brand string. */
+    private static final int BRAND_LENGTH =
+            BRAND_REGISTERS * Integer.BYTES;
+
+    /** The base family that uses the extended family and model fields. */
+    private static final int EXTENDED_FAMILY = 0xF;
+
+    /** The base family of Intel processors that use the extended model. */
+    private static final int INTEL_FAMILY = 0x6;
+
+    /** Offset of the stepping field in the signature. */
+    private static final int STEPPING_OFFSET = 0;
+
+    /** Offset of the model field in the signature. */
+    private static final int MODEL_OFFSET = 4;
+
+    /** Offset of the family field in the signature. */
+    private static final int FAMILY_OFFSET = 8;
+
+    /** Offset of the extended model field in the signature. */
+    private static final int EXTENDED_MODEL_OFFSET = 16;
+
+    /** Offset of the extended family field in the signature. */
+    private static final int EXTENDED_FAMILY_OFFSET = 20;
+
+    /** The space character that pads brand strings. */
+    private static final byte SPACE = ' ';
+
+    /**
+     * The signature, the vendor ID registers in EBX, EDX, ECX order and the
+     * brand string registers.
+     */
+    private final int[] raw;
+
+    /** The cached hash code of the raw values. */
+    private final int hash;
+
+    /** The vendor. */
+    private final CpuVendor vendor;
+
+    /** The vendor ID. */
+    private final String vendorId;
+
+    /** The brand string, without padding. */
+    private final String brand;
+
+    private CpuIdentity(final int[] rawValues) {
+        this.raw = rawValues;
+        this.hash = Arrays.hashCode(rawValues);
+        this.vendor = CpuVendor.fromRegisters(raw[VENDOR_INDEX],
+                raw[VENDOR_INDEX + 1], raw[VENDOR_INDEX + 2]);
+
+        // Vendor ID characters followed by brand string characters
+        byte[] chars = new byte[(RAW_LENGTH - VENDOR_INDEX) * Integer.BYTES];
+        for (int i = VENDOR_INDEX; i < RAW_LENGTH; i++) {
+            int value = raw[i];
+            int base = (i - VENDOR_INDEX) * Integer.BYTES;
+            for (int j = 0; j < Integer.BYTES; j++) {
+                chars[base + j] = (byte) (value >>> (j * Byte.SIZE));
+            }
+        }
+
+        this.vendorId = decode(chars, 0, CpuVendor.VENDOR_ID_LENGTH, false);
+        this.brand = decode(chars, CpuVendor.VENDOR_ID_LENGTH, BRAND_LENGTH,
+                true);
+    }
+
+    /**
+     * Reads the identity of the processor.
+     *
+     * @param cpuid the CPUID implementation to use
+     * @return the identity of the processor
+     */
+    public static CpuIdentity detect(final Cpuid cpuid) {
+        int[] out = new int[PROBE_LEAVES.length * CpuidResult.REGISTER_COUNT];
+        cpuid.executeBatch(PROBE_LEAVES, PROBE_SUBLEAVES, out);
+
+        int[] rawValues = new int[RAW_LENGTH];
+        rawValues[SIGNATURE_INDEX] = out[SIGNATURE_REQUEST
+                * CpuidResult.REGISTER_COUNT + CpuidRegisters.EAX];
+
+        int vendorBase = VENDOR_REQUEST * CpuidResult.REGISTER_COUNT;
+        rawValues[VENDOR_INDEX] = out[vendorBase + CpuidRegisters.EBX];
+        rawValues[VENDOR_INDEX + 1] = out[vendorBase + CpuidRegisters.EDX];
+        rawValues[VENDOR_INDEX + 2] = out[vendorBase + CpuidRegisters.ECX];
+
+        int maxExtended = out[MAX_EXTENDED_REQUEST
+                * CpuidResult.REGISTER_COUNT + CpuidRegisters.EAX];
+        if (Integer.compareUnsigned(maxExtended, LAST_BRAND_LEAF) >= 0) {
+            System.arraycopy(out, BRAND_REQUEST * CpuidResult.REGISTER_COUNT,
+                    rawValues, BRAND_INDEX, BRAND_REGISTERS);
+        }
+
+        return new CpuIdentity(rawValues);
+    }
+
+    /**
+     * Gets the vendor of the processor.
+     *
+     * @return the vendor
+     */
+    public CpuVendor getVendor() {
+        return vendor;
+    }
+
+    /**
+     * Gets the vendor ID reported by the processor, such as
+     * {@code GenuineIntel}.
+     *
+     * @return the vendor ID
+     */
+    public String getVendorId() {
+        return vendorId;
+    }
+
+    /**
+     * Gets the brand string of the processor, without leading and trailing
+     * padding.
+     *
+     * @return the brand string, or an empty string if the processor does not
+     * report one
+     */
+    public String getBrand() {
+        return brand;
+    }
+
+    /**
+     * Gets the processor signature, the raw EAX value of leaf 0x1.
+     *
+     * @return the signature
+     */
+    public int getSignature() {
+        return raw[SIGNATURE_INDEX];
+    }
+
+    /**
+     * Gets the family of the processor. The extended family is added to the
+     * base family when the base family is 0xF.
+     *
+     * @return the family
+     */
+    public int getFamily() {
+        int family = CpuidRegisters.getNibbleValue(getSignature(),
+                FAMILY_OFFSET);
+        if (family == EXTENDED_FAMILY) {
+            family += CpuidRegisters.getByteValue(getSignature(),
+                    EXTENDED_FAMILY_OFFSET);
+        }
+
+        return family;
+    }
+
+    /**
+     * Gets the model of the processor. The extended model is prepended to
+     * the base model when the base family is 0x6 or 0xF.
+     *
+     * @return the model
+     */
+    public int getModel() {
+        int family = CpuidRegisters.getNibbleValue(getSignature(),
+                FAMILY_OFFSET);
+        int model = CpuidRegisters.getNibbleValue(getSignature(),
+                MODEL_OFFSET);
+
+        if (family == INTEL_FAMILY || family == EXTENDED_FAMILY) {
+            model |= CpuidRegisters.getNibbleValue(getSignature(),
+                    EXTENDED_MODEL_OFFSET) << MODEL_OFFSET;
+        }
+
+        return model;
+    }
+
+    /**
+     * Gets the stepping of the processor.
+     *
+     * @return the stepping
+     */
+    public int getStepping() {
+        return CpuidRegisters.getNibbleValue(getSignature(),
+                STEPPING_OFFSET);
+    }
+
+    /**
+     * Compares this identity with another object for equality.
+     *
+     * @param o the other object
+     * @return true if the other object is an identity decoded from the same
+     * register values, otherwise false
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof CpuIdentity)) {
+            return false;
+        }
+
+        CpuIdentity that = (CpuIdentity) o;
+        return hash == that.hash && Arrays.equals(raw, that.raw);
+    }
+
+    /**
+     * Gets the hash code of this identity, which is computed once.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Returns the string representation of this identity.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "CpuIdentity{vendor=" + vendor + ", brand='" + brand
+                + "', family=0x" + Integer.toHexString(getFamily())
+                + ", model=0x" + Integer.toHexString(getModel())
+                + ", stepping=" + getStepping() + "}";
+    }
+
+    private static String decode(final byte[] chars, final int offset,
+                                 final int length, final boolean trim) {
+        int start = offset;
+        int end = offset;
+        while (end < offset + length && chars[end] != 0) {
+            end++;
+        }
+
+        if (trim) {
+            while (start < end && chars[start] == SPACE) {
+                start++;
+            }
+
+            while (end > start && chars[end - 1] == SPACE) {
+                end--;
+            }
+        }
+
+        return new String(chars, start, end - start,
+                StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.CpuidSweep;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes how the logical CPUs are arranged into packages, dies, L3
+ * domains and cores, so that thread pools can avoid sharing a core between
+ * SMT siblings and keep cooperating threads within an L3 domain.
+ * <p>
+ * The topology is built from a sweep that executes the topology and cache
+ * leaves on each logical CPU in turn, so that every CPU reports its own APIC
+ * ID. The levels are decoded from leaf 0x1F or 0xB on Intel processors and
+ * from leaves 0x80000026, 0x8000001E and 0x8000001D on AMD processors, where
+ * a die is a node or CCD and an L3 domain is a CCX. Levels that the
+ * processor does not report, such as the dies of a single die package,
+ * contain the whole of the level above them.
+ * <p>
+ * Looking up the position of a CPU by APIC ID or by logical CPU number
+ * takes constant time, and the package, die, L3 domain and core of the CPU
+ * are its ancestors in the tree.
+ */
+public final class CpuTopology {
+
+    /** The leaves swept to build the topology. */
+    static final int[] SWEEP_LEAVES;
+
+    /** The sub-leaves swept to build the topology. */
+    static final int[] SWEEP_SUBLEAVES;
+
+    /** The multiplier used to hash APIC IDs and CPU numbers. */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    static {
+        int[] leaves = {
+            TopologyDecoder.STANDARD_BASE, TopologyDecoder.FEATURES_LEAF,
+            TopologyDecoder.EXTENDED_BASE,
+            TopologyDecoder.EXTENDED_FEATURES_LEAF,
+            TopologyDecoder.AMD_SIZE_LEAF, TopologyDecoder.AMD_TOPOLOGY_LEAF
+        };
+        int[] subleafLeaves = {
+            TopologyDecoder.INTEL_CACHE_LEAF, TopologyDecoder.X2APIC_LEAF,
+            TopologyDecoder.EXTENDED_TOPOLOGY_LEAF,
+            TopologyDecoder.AMD_CACHE_LEAF,
+            TopologyDecoder.AMD_EXTENDED_TOPOLOGY_LEAF
+        };
+
+        int count = leaves.length
+                + subleafLeaves.length * TopologyDecoder.MAX_SUBLEAVES;
+        SWEEP_LEAVES = Arrays.copyOf(leaves, count);
+        SWEEP_SUBLEAVES = new int[count];
+        int request = leaves.length;
+        for (int leaf : subleafLeaves) {
+            for (int subleaf = 0; subleaf < TopologyDecoder.MAX_SUBLEAVES;
+                 subleaf++) {
+                SWEEP_LEAVES[request] = leaf;
+                SWEEP_SUBLEAVES[request] = subleaf;
+                request++;
+            }
+        }
+    }
+
+    /** The nodes of each level in order of APIC ID, by level ordinal. */
+    private final List<List<TopologyNode>> levels;
+
+    /** The logical CPUs by APIC ID. */
+    private final NodeTable byApicId;
+
+    /** The logical CPUs by logical CPU number. */
+    private final NodeTable byCpu;
+
+    private CpuTopology(final List<List<TopologyNode>> levelNodes,
+                        final NodeTable apicIdTable,
+                        final NodeTable cpuTable) {
+        this.levels = levelNodes;
+        this.byApicId = apicIdTable;
+        this.byCpu = cpuTable;
+    }
+
+    /**
+     * Builds the topology by sweeping every logical CPU that the calling
+     * thread is allowed to run on.
+     *
+     * @param sweep the sweep to execute CPUID on each CPU with
+     * @return the topology
+     * @throws UnsupportedOperationException the bridge of the sweep does not
+     * support thread affinity
+     * @throws IllegalStateException a CPU could not be swept
+     * @throws IllegalArgumentException two CPUs reported the same APIC ID
+     */
+    public static CpuTopology detect(final CpuidSweep sweep) {
+        return fromSweep(sweep.sweep(SWEEP_LEAVES, SWEEP_SUBLEAVES));
+    }
+
+    /**
+     * Builds the topology from the result of a sweep, which must contain
+     * leaves 0x0 and 0x1. Topology and cache leaves missing from the sweep
+     * are treated as unsupported.
+     *
+     * @param result the result of the sweep
+     * @return the topology
+     * @throws IllegalArgumentException the result does not contain the
+     * required leaves, or two CPUs reported the same APIC ID
+     */
+    public static CpuTopology fromSweep(final CpuidSweepResult result) {
+        if (result.indexOfRequest(TopologyDecoder.STANDARD_BASE, 0) < 0
+                || result.indexOfRequest(TopologyDecoder.FEATURES_LEAF,
+                0) < 0) {
+            throw new IllegalArgumentException(
+                    "the sweep must contain leaves 0x0 and 0x1");
+        }
+
+        // Order the CPUs by APIC ID so that the CPUs of each node are
+        // adjacent
+        int count = result.getCpuCount();
+        TopologyDecoder[] decoders = new TopologyDecoder[count];
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            decoders[i] = TopologyDecoder.decode(new SweepRowCpuid(result, i));
+            order[i] = Integer.toUnsignedLong(decoders[i].getApicId())
+                    << Integer.SIZE | i;
+        }
+        Arrays.sort(order);
+
+        TopologyLevel[] levelValues = TopologyLevel.values();
+        List<List<TopologyNode>> levelNodes = new ArrayList<>();
+        for (int i = 0; i < levelValues.length; i++) {
+            levelNodes.add(new ArrayList<>());
+        }
+
+        NodeTable apicIdTable = new NodeTable(count);
+        NodeTable cpuTable = new NodeTable(count);
+        TopologyNode[] current = new TopologyNode[levelValues.length];
+        for (long entry : order) {
+            int cpuIndex = (int) entry;
+            TopologyDecoder decoder = decoders[cpuIndex];
+            int cpu = result.getCpu(cpuIndex);
+
+            // A new node starts whenever its ID or its parent changes
+            TopologyNode parent = null;
+            boolean created = false;
+            for (TopologyLevel level : levelValues) {
+                int id = decoder.getId(level);
+                TopologyNode node = current[level.ordinal()];
+                if (created || node == null || node.getId() != id
+                        || level == TopologyLevel.THREAD) {
+                    List<TopologyNode> nodes = levelNodes.get(level.ordinal());
+                    int[] threadCpus = null;
+                    if (level == TopologyLevel.THREAD) {
+                        threadCpus = new int[]{cpu};
+                    }
+
+                    node = new TopologyNode(level, id, nodes.size(), parent,
+                            threadCpus);
+                    nodes.add(node);
+                    current[level.ordinal()] = node;
+                    created = true;
+                }
+                parent = node;
+            }
+
+            if (!apicIdTable.put(decoder.getApicId(), parent)) {
+                throw new IllegalArgumentException("CPUs " + cpu + " and "
+                        + apicIdTable.get(decoder.getApicId()).getCpus()[0]
+                        + " reported the same APIC ID "
+                        + Integer.toUnsignedString(decoder.getApicId()));
+            }
+            cpuTable.put(cpu, parent);
+        }
+
+        for (TopologyNode node : levelNodes.get(0)) {
+            node.seal();
+        }
+        for (int i = 0; i < levelNodes.size(); i++) {
+            levelNodes.set(i, Collections.unmodifiableList(levelNodes.get(i)));
+        }
+
+        return new CpuTopology(Collections.unmodifiableList(levelNodes),
+                apicIdTable, cpuTable);
+    }
+
+    /**
+     * Gets the packages, each the root of a tree of dies, L3 domains, cores
+     * and logical CPUs.
+     *
+     * @return the unmodifiable list of packages, in order of APIC ID
+     */
+    public List<TopologyNode> getPackages() {
+        return getNodes(TopologyLevel.PACKAGE);
+    }
+
+    /**
+     * Gets all nodes of the given level, in order of APIC ID, so that the
+     * node at position {@code i} has the index {@code i}.
+     *
+     * @param level the level
+     * @return the unmodifiable list of nodes
+     */
+    public List<TopologyNode> getNodes(final TopologyLevel level) {
+        return levels.get(level.ordinal());
+    }
+
+    /**
+     * Gets the number of nodes of the given level.
+     *
+     * @param level the level
+     * @return the number of nodes
+     */
+    public int getCount(final TopologyLevel level) {
+        return getNodes(level).size();
+    }
+
+    /**
+     * Finds the logical CPU with the given APIC ID, in constant time.
+     *
+     * @param apicId the x2APIC ID, or the extended or initial APIC ID on
+     * processors without one
+     * @return the logical CPU, or null if no swept CPU has the APIC ID
+     */
+    public TopologyNode findByApicId(final int apicId) {
+        return byApicId.get(apicId);
+    }
+
+    /**
+     * Finds the logical CPU with the given number, in constant time.
+     *
+     * @param cpu the logical CPU number, as used for thread affinity
+     * @return the logical CPU, or null if the CPU was not swept
+     */
+    public TopologyNode findByCpu(final int cpu) {
+        return byCpu.get(cpu);
+    }
+
+    /**
+     * Returns the string representation of this topology.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "CpuTopology{"
+                + "packages=" + getCount(TopologyLevel.PACKAGE)
+                + ", dies=" + getCount(TopologyLevel.DIE)
+                + ", l3Domains=" + getCount(TopologyLevel.L3_DOMAIN)
+                + ", cores=" + getCount(TopologyLevel.CORE)
+                + ", threads=" + getCount(TopologyLevel.THREAD)
+                + "}";
+    }
+
+    /**
+     * Open-addressing table of logical CPUs by integer key, sized to at
+     * most half full when it is built.
+     */
+    private static final class NodeTable {
+
+        /** The keys of the used slots. */
+        private final int[] keys;
+
+        /** The logical CPUs, or null for unused slots. */
+        private final TopologyNode[] nodes;
+
+        /** Mask for reducing a hash to a slot index. */
+        private final int mask;
+
+        NodeTable(final int count) {
+            int capacity = Integer.highestOneBit(Math.max(1, count) * 2 - 1)
+                    << 1;
+            keys = new int[capacity];
+            nodes = new TopologyNode[capacity];
+            mask = capacity - 1;
+        }
+
+        /**
+         * Finds the slot holding the given key, or the empty slot that
+         * terminates its probe sequence.
+         *
+         * @param key the key
+         * @return the index of the slot
+         */
+        int find(final int key) {
+            int slot = (int) ((key * HASH_MULTIPLIER) >>> Integer.SIZE)
+                    & mask;
+            while (nodes[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            return slot;
+        }
+
+        TopologyNode get(final int key) {
+            return nodes[find(key)];
+        }
+
+        /**
+         * Stores the given node unless the key is already present.
+         *
+         * @param key the key
+         * @param node the node
+         * @return true if the node was stored, false if the key was present
+         */
+        boolean put(final int key, final TopologyNode node) {
+            int slot = find(key);
+            if (nodes[slot] != null) {
+                return false;
+            }
+
+            keys[slot] = key;
+            nodes[slot] = node;
+            return true;
+        }
+    }
+}
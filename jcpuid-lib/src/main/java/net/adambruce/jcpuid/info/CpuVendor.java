@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+/**
+ * Processor vendors, identified by the 12 character vendor ID reported in
+ * EBX, EDX and ECX of leaf 0x0.
+ */
+public enum CpuVendor {
+
+    /** Intel Corporation. */
+    INTEL("GenuineIntel"),
+
+    /** Advanced Micro Devices. */
+    AMD("AuthenticAMD"),
+
+    /** Hygon, the Chinese licensee of the AMD Zen architecture. */
+    HYGON("HygonGenuine"),
+
+    /** Centaur Technology. */
+    CENTAUR("CentaurHauls"),
+
+    /** Zhaoxin, the successor of the VIA and Centaur x86 designs. */
+    ZHAOXIN("  Shanghai  "),
+
+    /** VIA Technologies. */
+    VIA("VIA VIA VIA "),
+
+    /** A vendor not known to this library. */
+    UNKNOWN("");
+
+    /** The number of characters in a vendor ID. */
+    static final int VENDOR_ID_LENGTH = 12;
+
+    /** The number of characters held by a register. */
+    private static final int CHARS_PER_REGISTER = 4;
+
+    /** The vendor ID. */
+    private final String vendorId;
+
+    /** The vendor ID characters held by EBX. */
+    private final int ebx;
+
+    /** The vendor ID characters held by EDX. */
+    private final int edx;
+
+    /** The vendor ID characters held by ECX. */
+    private final int ecx;
+
+    CpuVendor(final String id) {
+        this.vendorId = id;
+        this.ebx = pack(id, 0);
+        this.edx = pack(id, CHARS_PER_REGISTER);
+        this.ecx = pack(id, 2 * CHARS_PER_REGISTER);
+    }
+
+    /**
+     * Gets the vendor ID reported by processors of this vendor.
+     *
+     * @return the vendor ID, or an empty string for unknown vendors
+     */
+    public String getVendorId() {
+        return vendorId;
+    }
+
+    /**
+     * Finds the vendor for the vendor ID held in the registers of leaf 0x0,
+     * by comparing the raw register values without decoding them.
+     *
+     * @param ebxValue the EBX value of leaf 0x0
+     * @param edxValue the EDX value of leaf 0x0
+     * @param ecxValue the ECX value of leaf 0x0
+     * @return the vendor, or {@link #UNKNOWN} if the vendor ID is not known
+     */
+    public static CpuVendor fromRegisters(final int ebxValue,
+                                          final int edxValue,
+                                          final int ecxValue) {
+        for (CpuVendor vendor : values()) {
+            if (vendor.ebx == ebxValue && vendor.edx == edxValue
+                    && vendor.ecx == ecxValue && vendor != UNKNOWN) {
+                return vendor;
+            }
+        }
+
+        return UNKNOWN;
+    }
+
+    private static int pack(final String id, final int offset) {
+        int value = 0;
+        for (int i = 0; i < CHARS_PER_REGISTER && offset + i < id.length();
+             i++) {
+            value |= Byte.toUnsignedInt((byte) id.charAt(offset + i))
+                    << (i * Byte.SIZE);
+        }
+
+        return value;
+    }
+}
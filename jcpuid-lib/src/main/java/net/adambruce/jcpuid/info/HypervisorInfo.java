@@ -0,0 +1,250 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+/**
+ * Describes the hypervisor the processor runs under, decoded from the
+ * hypervisor bit, bit 31 of ECX in leaf 0x1, and the hypervisor leaves
+ * from 0x40000000.
+ * <p>
+ * Every CPUID execution inside a hardware virtual machine exits to the
+ * hypervisor, which makes it far slower than on bare metal; see
+ * {@link net.adambruce.jcpuid.CpuidCost} for measuring the cost. A
+ * hypervisor may place its leaves at any multiple of 0x100 above
+ * 0x40000000, and KVM and Xen move theirs up when they emulate Hyper-V for
+ * Windows guests. The bases are scanned until a known hypervisor other
+ * than Hyper-V is found, so the emulating hypervisor is reported rather
+ * than the interface it emulates.
+ * <p>
+ * The time stamp counter frequency is read from the timing leaf
+ * 0x40000010, defined by VMware and also provided by KVM, VirtualBox and
+ * others, and from ECX of sub-leaf 0 of the Xen time leaf, 0x40000003.
+ * Hyper-V only reports the frequency in a model specific register.
+ */
+public final class HypervisorInfo {
+
+    /** The leaf reporting the hypervisor bit. */
+    static final int FEATURES_LEAF = 0x1;
+
+    /** The bit of ECX in leaf 0x1 set under a hypervisor. */
+    static final int HYPERVISOR_BIT = 31;
+
+    /** The first hypervisor base leaf. */
+    static final int FIRST_BASE = 0x40000000;
+
+    /** The hypervisor base leaf after the last one that is scanned. */
+    static final int END_BASE = 0x40010000;
+
+    /** The distance between hypervisor base leaves. */
+    static final int BASE_STEP = 0x100;
+
+    /** The offset of the timing leaf from the base leaf. */
+    static final int TIMING_OFFSET = 0x10;
+
+    /** The offset of the Xen time leaf from the base leaf. */
+    static final int XEN_TIME_OFFSET = 3;
+
+    /** The number of hertz in a kilohertz. */
+    private static final long HERTZ_PER_KILOHERTZ = 1_000L;
+
+    /** The information reported without a hypervisor. */
+    private static final HypervisorInfo NONE = new HypervisorInfo(false,
+            HypervisorVendor.UNKNOWN, 0, 0, new CpuidResult(0, 0, 0, 0), 0L);
+
+    /** Whether the hypervisor bit is set. */
+    private final boolean present;
+
+    /** The hypervisor vendor. */
+    private final HypervisorVendor vendor;
+
+    /** The base leaf of the hypervisor. */
+    private final int baseLeaf;
+
+    /** The highest hypervisor leaf. */
+    private final int maxLeaf;
+
+    /** The registers of the feature leaf. */
+    private final CpuidResult features;
+
+    /** The time stamp counter frequency, in hertz. */
+    private final long tscFrequency;
+
+    private HypervisorInfo(final boolean hypervisorPresent,
+                           final HypervisorVendor hypervisorVendor,
+                           final int base, final int max,
+                           final CpuidResult featureRegisters,
+                           final long frequency) {
+        this.present = hypervisorPresent;
+        this.vendor = hypervisorVendor;
+        this.baseLeaf = base;
+        this.maxLeaf = max;
+        this.features = featureRegisters;
+        this.tscFrequency = frequency;
+    }
+
+    /**
+     * Detects the hypervisor with the given CPUID implementation. The
+     * hypervisor leaves are only read when the hypervisor bit is set.
+     *
+     * @param cpuid the CPUID implementation
+     * @return the hypervisor information
+     */
+    public static HypervisorInfo detect(final Cpuid cpuid) {
+        if (!CpuidRegisters.isBitSet(cpuid.execute(FEATURES_LEAF)
+                .getEcxValue(), HYPERVISOR_BIT)) {
+            return NONE;
+        }
+
+        int base = FIRST_BASE;
+        CpuidResult signature = cpuid.execute(base);
+        HypervisorVendor vendor = fromSignature(signature);
+        for (int next = FIRST_BASE + BASE_STEP; next != END_BASE
+                && (vendor == HypervisorVendor.UNKNOWN
+                        || vendor == HypervisorVendor.HYPER_V);
+             next += BASE_STEP) {
+            CpuidResult candidate = cpuid.execute(next);
+            HypervisorVendor found = fromSignature(candidate);
+            if (found != HypervisorVendor.UNKNOWN
+                    && found != HypervisorVendor.HYPER_V) {
+                base = next;
+                signature = candidate;
+                vendor = found;
+            }
+        }
+
+        int max = signature.getEaxValue();
+        if (vendor == HypervisorVendor.KVM && max == 0) {
+            // Early KVM versions report 0 for a single feature leaf
+            max = base + 1;
+        }
+
+        CpuidResult features = new CpuidResult(0, 0, 0, 0);
+        int featureLeaf = base + vendor.getFeatureLeafOffset();
+        if (featureLeaf != base && !isAbove(featureLeaf, max)) {
+            features = cpuid.execute(featureLeaf);
+        }
+
+        return new HypervisorInfo(true, vendor, base, max, features,
+                readTscFrequency(cpuid, vendor, base, max));
+    }
+
+    /**
+     * Checks whether the processor runs under a hypervisor, as reported by
+     * the hypervisor bit.
+     *
+     * @return true under a hypervisor, otherwise false
+     */
+    public boolean isPresent() {
+        return present;
+    }
+
+    /**
+     * Gets the hypervisor vendor. Hyper-V is only reported when no other
+     * known hypervisor emulates it.
+     *
+     * @return the vendor, or {@link HypervisorVendor#UNKNOWN} when the
+     * signature is not known or there is no hypervisor
+     */
+    public HypervisorVendor getVendor() {
+        return vendor;
+    }
+
+    /**
+     * Gets the base leaf of the hypervisor, which reports its signature.
+     *
+     * @return the base leaf, or 0 when there is no hypervisor
+     */
+    public int getBaseLeaf() {
+        return baseLeaf;
+    }
+
+    /**
+     * Gets the highest hypervisor leaf, reported in EAX of the base leaf.
+     *
+     * @return the highest leaf, or 0 when there is no hypervisor
+     */
+    public int getMaxLeaf() {
+        return maxLeaf;
+    }
+
+    /**
+     * Gets the registers of the feature leaf of the hypervisor, at the
+     * offset given by {@link HypervisorVendor#getFeatureLeafOffset()}. For
+     * example EAX holds the paravirtual features of KVM and the partition
+     * privileges of Hyper-V.
+     *
+     * @return the registers, all zero when the hypervisor has no feature
+     * leaf
+     */
+    public CpuidResult getFeatures() {
+        return features;
+    }
+
+    /**
+     * Gets the time stamp counter frequency reported by the hypervisor.
+     *
+     * @return the frequency in hertz, or 0 when it is not reported
+     */
+    public long getTscFrequency() {
+        return tscFrequency;
+    }
+
+    /**
+     * Returns the string representation of this hypervisor information.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "HypervisorInfo{present=" + present + ", vendor=" + vendor
+                + ", baseLeaf=0x" + Integer.toHexString(baseLeaf)
+                + ", maxLeaf=0x" + Integer.toHexString(maxLeaf)
+                + ", tscFrequency=" + tscFrequency + "}";
+    }
+
+    private static HypervisorVendor fromSignature(final CpuidResult result) {
+        return HypervisorVendor.fromRegisters(result.getEbxValue(),
+                result.getEcxValue(), result.getEdxValue());
+    }
+
+    private static boolean isAbove(final int leaf, final int max) {
+        return Integer.compareUnsigned(leaf, max) > 0;
+    }
+
+    private static long readTscFrequency(final Cpuid cpuid,
+                                         final HypervisorVendor vendor,
+                                         final int base, final int max) {
+        long kilohertz = 0L;
+        if (vendor == HypervisorVendor.XEN) {
+            if (!isAbove(base + XEN_TIME_OFFSET, max)) {
+                kilohertz = Integer.toUnsignedLong(cpuid.execute(
+                        base + XEN_TIME_OFFSET, 0).getEcxValue());
+            }
+        } else if (vendor != HypervisorVendor.HYPER_V
+                && vendor != HypervisorVendor.UNKNOWN
+                && !isAbove(base + TIMING_OFFSET, max)) {
+            kilohertz = Integer.toUnsignedLong(cpuid.execute(
+                    base + TIMING_OFFSET).getEaxValue());
+        }
+
+        return kilohertz * HERTZ_PER_KILOHERTZ;
+    }
+}
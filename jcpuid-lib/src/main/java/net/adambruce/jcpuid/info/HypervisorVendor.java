@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+/**
+ * Hypervisor vendors, identified by the 12 character signature reported in
+ * EBX, ECX and EDX of the hypervisor base leaf, 0x40000000 or a multiple of
+ * 0x100 above it.
+ */
+public enum HypervisorVendor {
+
+    /** The Linux kernel-based virtual machine. */
+    KVM("KVMKVMKVM\0\0\0", 1),
+
+    /**
+     * Microsoft Hyper-V, also emulated by KVM and Xen for Windows guests.
+     */
+    HYPER_V("Microsoft Hv", 3),
+
+    /** VMware ESXi, Workstation and Fusion. */
+    VMWARE("VMwareVMware", 0),
+
+    /** The Xen hypervisor. */
+    XEN("XenVMMXenVMM", 4),
+
+    /** Oracle VirtualBox. */
+    VIRTUALBOX("VBoxVBoxVBox", 0),
+
+    /** The FreeBSD bhyve hypervisor. */
+    BHYVE("bhyve bhyve ", 0),
+
+    /** QEMU without hardware acceleration, using its tiny code generator. */
+    QEMU_TCG("TCGTCGTCGTCG", 0),
+
+    /** The ACRN embedded hypervisor. */
+    ACRN("ACRNACRNACRN", 1),
+
+    /** A hypervisor not known to this library, or none. */
+    UNKNOWN("", 0);
+
+    /** The number of characters held by a register. */
+    private static final int CHARS_PER_REGISTER = 4;
+
+    /** The signature. */
+    private final String signature;
+
+    /** The offset of the feature leaf from the base leaf, or 0. */
+    private final int featureOffset;
+
+    /** The signature characters held by EBX. */
+    private final int ebx;
+
+    /** The signature characters held by ECX. */
+    private final int ecx;
+
+    /** The signature characters held by EDX. */
+    private final int edx;
+
+    HypervisorVendor(final String id, final int featureLeafOffset) {
+        this.signature = id;
+        this.featureOffset = featureLeafOffset;
+        this.ebx = pack(id, 0);
+        this.ecx = pack(id, CHARS_PER_REGISTER);
+        this.edx = pack(id, 2 * CHARS_PER_REGISTER);
+    }
+
+    /**
+     * Gets the signature reported by this hypervisor.
+     *
+     * @return the signature, which may contain NUL characters, or an empty
+     * string for unknown hypervisors
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * Gets the offset from the base leaf of the leaf that reports the
+     * features of this hypervisor: 0x40000001 for KVM and ACRN, 0x40000003
+     * for Hyper-V and 0x40000004 for Xen.
+     *
+     * @return the offset, or 0 when the hypervisor has no feature leaf
+     */
+    public int getFeatureLeafOffset() {
+        return featureOffset;
+    }
+
+    /**
+     * Finds the hypervisor for the signature held in the registers of a
+     * hypervisor base leaf, by comparing the raw register values without
+     * decoding them.
+     *
+     * @param ebxValue the EBX value of the base leaf
+     * @param ecxValue the ECX value of the base leaf
+     * @param edxValue the EDX value of the base leaf
+     * @return the hypervisor, or {@link #UNKNOWN} if the signature is not
+     * known
+     */
+    public static HypervisorVendor fromRegisters(final int ebxValue,
+                                                 final int ecxValue,
+                                                 final int edxValue) {
+        for (HypervisorVendor vendor : values()) {
+            if (vendor.ebx == ebxValue && vendor.ecx == ecxValue
+                    && vendor.edx == edxValue && vendor != UNKNOWN) {
+                return vendor;
+            }
+        }
+
+        return UNKNOWN;
+    }
+
+    private static int pack(final String id, final int offset) {
+        int value = 0;
+        for (int i = 0; i < CHARS_PER_REGISTER && offset + i < id.length();
+             i++) {
+            value |= Byte.toUnsignedInt((byte) id.charAt(offset + i))
+                    << (i * Byte.SIZE);
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+
+import java.util.Arrays;
+
+/**
+ * Answers CPUID requests from the results of one CPU of a sweep, so that
+ * decoders written against {@link Cpuid} can describe each CPU. Requests
+ * that were not swept return zeros, as unsupported leaves do.
+ */
+final class SweepRowCpuid implements Cpuid {
+
+    /** The result of the sweep. */
+    private final CpuidSweepResult result;
+
+    /** The index of the CPU within the sweep. */
+    private final int cpuIndex;
+
+    /**
+     * Creates a new CPUID implementation for a CPU of a sweep.
+     *
+     * @param sweepResult the result of the sweep
+     * @param sweptCpuIndex the index of the CPU within the sweep
+     */
+    SweepRowCpuid(final CpuidSweepResult sweepResult,
+                  final int sweptCpuIndex) {
+        this.result = sweepResult;
+        this.cpuIndex = sweptCpuIndex;
+    }
+
+    @Override
+    public CpuidResult execute(final int leaf) {
+        return execute(leaf, 0);
+    }
+
+    @Override
+    public CpuidResult execute(final int leaf, final int subleaf) {
+        int[] registers = new int[CpuidResult.REGISTER_COUNT];
+        execute(leaf, subleaf, registers, 0);
+        return new CpuidResult(registers[CpuidRegisters.EAX],
+                registers[CpuidRegisters.EBX],
+                registers[CpuidRegisters.ECX],
+                registers[CpuidRegisters.EDX]);
+    }
+
+    @Override
+    public void execute(final int leaf, final int subleaf, final int[] dest,
+                        final int offset) {
+        int request = result.indexOfRequest(leaf, subleaf);
+        if (request < 0) {
+            Arrays.fill(dest, offset, offset + CpuidResult.REGISTER_COUNT, 0);
+            return;
+        }
+
+        for (int i = 0; i < CpuidResult.REGISTER_COUNT; i++) {
+            dest[offset + i] = result.getRegister(cpuIndex, request, i);
+        }
+    }
+}
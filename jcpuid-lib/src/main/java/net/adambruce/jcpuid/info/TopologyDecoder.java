@@ -0,0 +1,450 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.util.Arrays;
+
+/**
+ * Decodes the APIC ID of a logical CPU and the number of bits that address
+ * the CPUs within each level of the topology, from the CPUID results of
+ * that CPU.
+ * <p>
+ * The levels are read from leaf 0x1F on Intel processors, from leaf
+ * 0x80000026 on AMD processors, and from leaf 0xB on processors with
+ * neither. Older processors are described from the logical processor
+ * count of leaf 0x1 together with leaf 0x4 on Intel processors, and leaves
+ * 0x80000008 and 0x8000001E on AMD processors. The L3 domain is read from
+ * the sharing of the L3 cache in leaf 0x4 or 0x8000001D unless the leaves
+ * describe it directly.
+ */
+final class TopologyDecoder {
+
+    /** The leaf reporting the highest standard leaf and the vendor. */
+    static final int STANDARD_BASE = 0x0;
+
+    /** The leaf reporting the initial APIC ID and logical CPU count. */
+    static final int FEATURES_LEAF = 0x1;
+
+    /** The leaf reporting Intel deterministic cache parameters. */
+    static final int INTEL_CACHE_LEAF = 0x4;
+
+    /** The leaf reporting the x2APIC topology. */
+    static final int X2APIC_LEAF = 0xB;
+
+    /** The leaf reporting the V2 extended topology. */
+    static final int EXTENDED_TOPOLOGY_LEAF = 0x1F;
+
+    /** The leaf reporting the highest extended leaf. */
+    static final int EXTENDED_BASE = 0x80000000;
+
+    /** The leaf reporting the AMD extended feature flags. */
+    static final int EXTENDED_FEATURES_LEAF = 0x80000001;
+
+    /** The leaf reporting the AMD core count. */
+    static final int AMD_SIZE_LEAF = 0x80000008;
+
+    /** The leaf reporting AMD deterministic cache parameters. */
+    static final int AMD_CACHE_LEAF = 0x8000001D;
+
+    /** The leaf reporting the AMD extended APIC ID, core and node IDs. */
+    static final int AMD_TOPOLOGY_LEAF = 0x8000001E;
+
+    /** The leaf reporting the AMD extended CPU topology. */
+    static final int AMD_EXTENDED_TOPOLOGY_LEAF = 0x80000026;
+
+    /** The number of sub-leaves read from the topology and cache leaves. */
+    static final int MAX_SUBLEAVES = 8;
+
+    /** The bit of 0x1 EDX set when the logical CPU count is valid. */
+    private static final int HTT_BIT = 28;
+
+    /** The bit of 0x80000001 ECX set for the AMD topology extensions. */
+    private static final int TOPOLOGY_EXTENSIONS_BIT = 22;
+
+    /** Offset of the initial APIC ID in leaf 0x1 EBX. */
+    private static final int INITIAL_APIC_ID_OFFSET = 24;
+
+    /** Offset of the logical CPU count in leaf 0x1 EBX. */
+    private static final int LOGICAL_COUNT_OFFSET = 16;
+
+    /** Mask of a byte wide field. */
+    private static final int BYTE_MASK = 0xFF;
+
+    /** Offset of the level type in ECX of the topology leaves. */
+    private static final int LEVEL_TYPE_OFFSET = 8;
+
+    /** Mask of the shift in EAX of the topology leaves. */
+    private static final int LEVEL_SHIFT_MASK = 0x1F;
+
+    /** Mask of the logical CPU count in EBX of the topology leaves. */
+    private static final int LEVEL_COUNT_MASK = 0xFFFF;
+
+    /** The Intel level type of cores. */
+    private static final int INTEL_CORE = 2;
+
+    /** The Intel level type of dies. */
+    private static final int INTEL_DIE = 5;
+
+    /** The AMD level type of cores. */
+    private static final int AMD_CORE = 1;
+
+    /** The AMD level type of core complexes. */
+    private static final int AMD_COMPLEX = 2;
+
+    /** The AMD level type of dies. */
+    private static final int AMD_DIE = 3;
+
+    /** The AMD level type of sockets. */
+    private static final int AMD_SOCKET = 4;
+
+    /** Offset of the core count field in leaf 0x4 EAX. */
+    private static final int CORE_COUNT_OFFSET = 26;
+
+    /** Mask of the core count field in leaf 0x4 EAX. */
+    private static final int CORE_COUNT_MASK = 0x3F;
+
+    /** Mask of the cache type field in EAX of the cache leaves. */
+    private static final int CACHE_TYPE_MASK = 0x1F;
+
+    /** Offset of the cache level field in EAX of the cache leaves. */
+    private static final int CACHE_LEVEL_OFFSET = 5;
+
+    /** Mask of the cache level field in EAX of the cache leaves. */
+    private static final int CACHE_LEVEL_MASK = 0x7;
+
+    /** The level of the L3 cache. */
+    private static final int L3 = 3;
+
+    /** Offset of the sharing field in EAX of the cache leaves. */
+    private static final int SHARING_OFFSET = 14;
+
+    /** Mask of the sharing field in EAX of the cache leaves. */
+    private static final int SHARING_MASK = 0xFFF;
+
+    /** Offset of the core ID size field in leaf 0x80000008 ECX. */
+    private static final int CORE_ID_SIZE_OFFSET = 12;
+
+    /** Mask of the core ID size field in leaf 0x80000008 ECX. */
+    private static final int CORE_ID_SIZE_MASK = 0xF;
+
+    /** Offset of the threads per core field in leaf 0x8000001E EBX. */
+    private static final int THREADS_PER_CORE_OFFSET = 8;
+
+    /** Offset of the nodes per processor field in leaf 0x8000001E ECX. */
+    private static final int NODES_OFFSET = 8;
+
+    /** Mask of the nodes per processor field in leaf 0x8000001E ECX. */
+    private static final int NODES_MASK = 0x7;
+
+    /** The shift of a level that has not been decoded. */
+    private static final int UNKNOWN = -1;
+
+    /** The registers of the leaf being read. */
+    private final int[] registers = new int[CpuidResult.REGISTER_COUNT];
+
+    /** The shift of each level, indexed by the ordinal of the level. */
+    private final int[] shifts = new int[TopologyLevel.values().length];
+
+    /** The CPUID implementation of the decoded CPU. */
+    private final Cpuid cpuid;
+
+    /** The APIC ID of the CPU. */
+    private int apicId;
+
+    private TopologyDecoder(final Cpuid decodedCpuid) {
+        this.cpuid = decodedCpuid;
+        Arrays.fill(shifts, UNKNOWN);
+        shifts[TopologyLevel.THREAD.ordinal()] = 0;
+    }
+
+    /**
+     * Decodes the topology of the CPU that the given CPUID implementation
+     * executes on.
+     *
+     * @param cpuid the CPUID implementation of the CPU
+     * @return the decoder holding the APIC ID and level shifts
+     */
+    static TopologyDecoder decode(final Cpuid cpuid) {
+        TopologyDecoder decoder = new TopologyDecoder(cpuid);
+        decoder.decode();
+        return decoder;
+    }
+
+    /**
+     * Gets the APIC ID of the CPU, which is the x2APIC ID or the AMD
+     * extended APIC ID when the processor reports one.
+     *
+     * @return the APIC ID
+     */
+    int getApicId() {
+        return apicId;
+    }
+
+    /**
+     * Gets the number of bits that address the CPUs within a node of the
+     * given level, which is the shift that turns the APIC ID into the ID of
+     * the node.
+     *
+     * @param level the level
+     * @return the shift, from 0 to 31
+     */
+    int getShift(final TopologyLevel level) {
+        return shifts[level.ordinal()];
+    }
+
+    /**
+     * Gets the ID of the node of the given level that contains the CPU.
+     *
+     * @param level the level
+     * @return the ID of the node
+     */
+    int getId(final TopologyLevel level) {
+        return apicId >>> getShift(level);
+    }
+
+    private void decode() {
+        read(STANDARD_BASE, 0);
+        int maxStandard = registers[CpuidRegisters.EAX];
+        CpuVendor vendor = CpuVendor.fromRegisters(
+                registers[CpuidRegisters.EBX],
+                registers[CpuidRegisters.EDX],
+                registers[CpuidRegisters.ECX]);
+        boolean amd = vendor == CpuVendor.AMD || vendor == CpuVendor.HYGON;
+
+        read(EXTENDED_BASE, 0);
+        int maxExtended = registers[CpuidRegisters.EAX];
+        boolean extensions = false;
+        if (amd && supports(maxExtended, EXTENDED_FEATURES_LEAF)) {
+            read(EXTENDED_FEATURES_LEAF, 0);
+            extensions = (registers[CpuidRegisters.ECX]
+                    >>> TOPOLOGY_EXTENSIONS_BIT & 1) != 0;
+        }
+        extensions = extensions && supports(maxExtended, AMD_TOPOLOGY_LEAF);
+
+        boolean levels = supports(maxStandard, EXTENDED_TOPOLOGY_LEAF)
+                && readIntelLevels(EXTENDED_TOPOLOGY_LEAF);
+        if (!levels && amd) {
+            levels = supports(maxExtended, AMD_EXTENDED_TOPOLOGY_LEAF)
+                    && readAmdLevels();
+        }
+        if (!levels) {
+            levels = supports(maxStandard, X2APIC_LEAF)
+                    && readIntelLevels(X2APIC_LEAF);
+        }
+        if (!levels && amd) {
+            readLegacyAmd(maxExtended, extensions);
+        } else if (!levels) {
+            readLegacyIntel(maxStandard);
+        }
+
+        if (extensions && shifts[TopologyLevel.DIE.ordinal()] == UNKNOWN) {
+            // The node count of AMD processors gives the dies per package
+            read(AMD_TOPOLOGY_LEAF, 0);
+            int nodes = (registers[CpuidRegisters.ECX] >>> NODES_OFFSET
+                    & NODES_MASK) + 1;
+            shifts[TopologyLevel.DIE.ordinal()] = Math.max(0,
+                    getShift(TopologyLevel.PACKAGE) - bitsFor(nodes));
+        }
+
+        if (getShift(TopologyLevel.L3_DOMAIN) == UNKNOWN) {
+            if (amd && extensions) {
+                readL3Sharing(AMD_CACHE_LEAF);
+            } else if (!amd && supports(maxStandard, INTEL_CACHE_LEAF)) {
+                readL3Sharing(INTEL_CACHE_LEAF);
+            }
+        }
+
+        nest();
+    }
+
+    private boolean readIntelLevels(final int leaf) {
+        read(leaf, 0);
+        if ((registers[CpuidRegisters.EBX] & LEVEL_COUNT_MASK) == 0) {
+            return false;
+        }
+        apicId = registers[CpuidRegisters.EDX];
+
+        // Each level reports the shift that gives the ID of the next level
+        int previous = 0;
+        for (int subleaf = 0; subleaf < MAX_SUBLEAVES; subleaf++) {
+            read(leaf, subleaf);
+            int type = registers[CpuidRegisters.ECX] >>> LEVEL_TYPE_OFFSET
+                    & BYTE_MASK;
+            if (type == 0) {
+                break;
+            }
+
+            if (type == INTEL_CORE) {
+                shifts[TopologyLevel.CORE.ordinal()] = previous;
+            } else if (type == INTEL_DIE) {
+                shifts[TopologyLevel.DIE.ordinal()] = previous;
+            }
+            previous = registers[CpuidRegisters.EAX] & LEVEL_SHIFT_MASK;
+        }
+        shifts[TopologyLevel.PACKAGE.ordinal()] = previous;
+
+        return true;
+    }
+
+    private boolean readAmdLevels() {
+        read(AMD_EXTENDED_TOPOLOGY_LEAF, 0);
+        if ((registers[CpuidRegisters.EBX] & LEVEL_COUNT_MASK) == 0) {
+            return false;
+        }
+        apicId = registers[CpuidRegisters.EDX];
+
+        // Each level reports the shift that gives its own ID
+        int highest = 0;
+        for (int subleaf = 0; subleaf < MAX_SUBLEAVES; subleaf++) {
+            read(AMD_EXTENDED_TOPOLOGY_LEAF, subleaf);
+            int type = registers[CpuidRegisters.ECX] >>> LEVEL_TYPE_OFFSET
+                    & BYTE_MASK;
+            if (type == 0) {
+                break;
+            }
+
+            int shift = registers[CpuidRegisters.EAX] & LEVEL_SHIFT_MASK;
+            highest = Math.max(highest, shift);
+            if (type == AMD_CORE) {
+                shifts[TopologyLevel.CORE.ordinal()] = shift;
+            } else if (type == AMD_COMPLEX) {
+                shifts[TopologyLevel.L3_DOMAIN.ordinal()] = shift;
+            } else if (type == AMD_DIE) {
+                shifts[TopologyLevel.DIE.ordinal()] = shift;
+            } else if (type == AMD_SOCKET) {
+                shifts[TopologyLevel.PACKAGE.ordinal()] = shift;
+            }
+        }
+
+        if (getShift(TopologyLevel.PACKAGE) == UNKNOWN) {
+            shifts[TopologyLevel.PACKAGE.ordinal()] = highest;
+        }
+
+        return true;
+    }
+
+    private void readLegacyIntel(final int maxStandard) {
+        int packageShift = readInitialApicId();
+
+        int cores = 1;
+        if (supports(maxStandard, INTEL_CACHE_LEAF)) {
+            read(INTEL_CACHE_LEAF, 0);
+            cores = (registers[CpuidRegisters.EAX] >>> CORE_COUNT_OFFSET
+                    & CORE_COUNT_MASK) + 1;
+        }
+
+        shifts[TopologyLevel.PACKAGE.ordinal()] = packageShift;
+        shifts[TopologyLevel.CORE.ordinal()] = Math.max(0,
+                packageShift - bitsFor(cores));
+    }
+
+    private void readLegacyAmd(final int maxExtended,
+                               final boolean extensions) {
+        int packageShift = readInitialApicId();
+
+        if (supports(maxExtended, AMD_SIZE_LEAF)) {
+            read(AMD_SIZE_LEAF, 0);
+            int ecx = registers[CpuidRegisters.ECX];
+            packageShift = ecx >>> CORE_ID_SIZE_OFFSET & CORE_ID_SIZE_MASK;
+            if (packageShift == 0) {
+                packageShift = bitsFor((ecx & BYTE_MASK) + 1);
+            }
+        }
+        shifts[TopologyLevel.PACKAGE.ordinal()] = packageShift;
+
+        if (extensions) {
+            read(AMD_TOPOLOGY_LEAF, 0);
+            apicId = registers[CpuidRegisters.EAX];
+            int threads = (registers[CpuidRegisters.EBX]
+                    >>> THREADS_PER_CORE_OFFSET & BYTE_MASK) + 1;
+            shifts[TopologyLevel.CORE.ordinal()] = bitsFor(threads);
+        }
+    }
+
+    private int readInitialApicId() {
+        // Returns the shift of the package from the logical CPU count
+        read(FEATURES_LEAF, 0);
+        int ebx = registers[CpuidRegisters.EBX];
+        apicId = ebx >>> INITIAL_APIC_ID_OFFSET;
+
+        if ((registers[CpuidRegisters.EDX] >>> HTT_BIT & 1) == 0) {
+            return 0;
+        }
+        return bitsFor(ebx >>> LOGICAL_COUNT_OFFSET & BYTE_MASK);
+    }
+
+    private void readL3Sharing(final int leaf) {
+        for (int subleaf = 0; subleaf < MAX_SUBLEAVES; subleaf++) {
+            read(leaf, subleaf);
+            int eax = registers[CpuidRegisters.EAX];
+            if ((eax & CACHE_TYPE_MASK) == 0) {
+                return;
+            }
+
+            if ((eax >>> CACHE_LEVEL_OFFSET & CACHE_LEVEL_MASK) == L3) {
+                shifts[TopologyLevel.L3_DOMAIN.ordinal()] =
+                        bitsFor((eax >>> SHARING_OFFSET & SHARING_MASK) + 1);
+                return;
+            }
+        }
+    }
+
+    private void nest() {
+        // Fills in the missing levels and keeps each level within the
+        // level before it, so that the IDs form a tree
+        int packageShift = getShift(TopologyLevel.PACKAGE);
+        int dieShift = clamp(getShift(TopologyLevel.DIE), packageShift,
+                packageShift);
+        int coreShift = clamp(getShift(TopologyLevel.CORE), 0, dieShift);
+        int l3Shift = clamp(getShift(TopologyLevel.L3_DOMAIN), dieShift,
+                dieShift);
+
+        shifts[TopologyLevel.DIE.ordinal()] = dieShift;
+        shifts[TopologyLevel.L3_DOMAIN.ordinal()] = Math.max(l3Shift,
+                coreShift);
+        shifts[TopologyLevel.CORE.ordinal()] = coreShift;
+    }
+
+    private static int clamp(final int shift, final int missing,
+                             final int max) {
+        if (shift == UNKNOWN) {
+            return missing;
+        }
+
+        return Math.min(shift, max);
+    }
+
+    private void read(final int leaf, final int subleaf) {
+        cpuid.execute(leaf, subleaf, registers, 0);
+    }
+
+    private static boolean supports(final int maxLeaf, final int leaf) {
+        return Integer.compareUnsigned(maxLeaf, leaf) >= 0;
+    }
+
+    private static int bitsFor(final int count) {
+        if (count <= 1) {
+            return 0;
+        }
+
+        return Integer.SIZE - Integer.numberOfLeadingZeros(count - 1);
+    }
+}
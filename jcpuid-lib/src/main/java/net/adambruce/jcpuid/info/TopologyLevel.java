@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+/**
+ * The levels of the processor topology, from the outermost to the
+ * innermost. Each level is nested within the level before it.
+ */
+public enum TopologyLevel {
+
+    /** A physical package, which occupies a socket. */
+    PACKAGE,
+
+    /** A die within a package, which AMD also calls a node or CCD. */
+    DIE,
+
+    /** The logical CPUs that share an L3 cache, which AMD calls a CCX. */
+    L3_DOMAIN,
+
+    /** A core, whose logical CPUs are SMT siblings. */
+    CORE,
+
+    /** A logical CPU. */
+    THREAD
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A node of the processor topology, such as a package, an L3 domain or a
+ * single logical CPU.
+ * <p>
+ * The ID of a node is the APIC ID of its logical CPUs shifted right by the
+ * number of bits that address the CPUs within the node, so it is unique
+ * among the nodes of the same level. Logical CPUs are {@link
+ * TopologyLevel#THREAD} nodes whose ID is their APIC ID.
+ */
+public final class TopologyNode {
+
+    /** The level of the node. */
+    private final TopologyLevel level;
+
+    /** The ID of the node, derived from the APIC IDs of its CPUs. */
+    private final int id;
+
+    /** The index of the node among all nodes of the same level. */
+    private final int index;
+
+    /** The node that contains this node, null for packages. */
+    private final TopologyNode parent;
+
+    /** The nodes contained by this node. */
+    private List<TopologyNode> children = new ArrayList<>();
+
+    /** The logical CPU numbers within the node, in ascending order. */
+    private int[] cpus;
+
+    /**
+     * Creates a new node and adds it to the children of its parent.
+     *
+     * @param nodeLevel the level of the node
+     * @param nodeId the ID of the node
+     * @param nodeIndex the index of the node among all nodes of its level
+     * @param parentNode the node that contains the node, or null
+     * @param threadCpus the logical CPU number of a thread, or null for the
+     * nodes of other levels, whose CPUs are collected by {@link #seal()}
+     */
+    TopologyNode(final TopologyLevel nodeLevel, final int nodeId,
+                 final int nodeIndex, final TopologyNode parentNode,
+                 final int[] threadCpus) {
+        this.level = nodeLevel;
+        this.id = nodeId;
+        this.index = nodeIndex;
+        this.parent = parentNode;
+        this.cpus = threadCpus;
+        if (parentNode != null) {
+            parentNode.children.add(this);
+        }
+    }
+
+    /**
+     * Collects the CPUs of this node and its descendants and makes their
+     * children unmodifiable. Called once the whole tree has been built.
+     *
+     * @return the logical CPU numbers within the node
+     */
+    int[] seal() {
+        if (cpus == null) {
+            int[][] childCpus = new int[children.size()][];
+            int count = 0;
+            for (int i = 0; i < childCpus.length; i++) {
+                childCpus[i] = children.get(i).seal();
+                count += childCpus[i].length;
+            }
+
+            int[] collected = new int[count];
+            int offset = 0;
+            for (int[] part : childCpus) {
+                System.arraycopy(part, 0, collected, offset, part.length);
+                offset += part.length;
+            }
+            Arrays.sort(collected);
+            cpus = collected;
+        }
+        children = Collections.unmodifiableList(children);
+
+        return cpus;
+    }
+
+    /**
+     * Gets the level of the node.
+     *
+     * @return the level
+     */
+    public TopologyLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the ID of the node, which is the APIC ID for logical CPUs.
+     *
+     * @return the ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the index of the node among all nodes of the same level, in
+     * order of APIC ID. Indices are dense and start at 0, so they can index
+     * arrays of per-core or per-domain state.
+     *
+     * @return the index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the node that contains this node.
+     *
+     * @return the parent, or null for packages
+     */
+    public TopologyNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the node of the given level that contains this node.
+     *
+     * @param ancestorLevel the level of the ancestor
+     * @return the ancestor, or this node if it is of the given level
+     * @throws IllegalArgumentException the level is below the level of this
+     * node
+     */
+    public TopologyNode getAncestor(final TopologyLevel ancestorLevel) {
+        if (ancestorLevel.compareTo(level) > 0) {
+            throw new IllegalArgumentException("a " + level
+                    + " node has no " + ancestorLevel + " ancestor");
+        }
+
+        TopologyNode node = this;
+        while (node.level != ancestorLevel) {
+            node = node.parent;
+        }
+
+        return node;
+    }
+
+    /**
+     * Gets the nodes contained by this node, in order of APIC ID.
+     *
+     * @return the unmodifiable list of children, empty for logical CPUs
+     */
+    public List<TopologyNode> getChildren() {
+        return children;
+    }
+
+    /**
+     * Gets the logical CPUs within the node.
+     *
+     * @return the logical CPU numbers in ascending order
+     */
+    public int[] getCpus() {
+        return cpus.clone();
+    }
+
+    /**
+     * Gets the number of logical CPUs within the node.
+     *
+     * @return the number of logical CPUs
+     */
+    public int getCpuCount() {
+        return cpus.length;
+    }
+
+    /**
+     * Returns the string representation of this node.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "TopologyNode{"
+                + "level=" + level
+                + ", id=" + id
+                + ", cpus=" + Arrays.toString(cpus)
+                + "}";
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.internal;
+
+/**
+ * Validates the CPU numbers given to a bridge when setting thread affinity,
+ * or to a sweep. Not part of the public API.
+ */
+public final class AffinityArguments {
+
+    private AffinityArguments() {
+
+    }
+
+    /**
+     * Checks that at least one CPU was given and that no CPU number is
+     * negative.
+     *
+     * @param cpus the logical CPU numbers
+     * @throws IllegalArgumentException no CPUs were given, or a CPU number
+     * is negative
+     */
+    public static void check(final int[] cpus) {
+        if (cpus.length == 0) {
+            throw new IllegalArgumentException("expected at least one CPU");
+        }
+
+        for (int cpu : cpus) {
+            if (cpu < 0) {
+                throw new IllegalArgumentException(
+                        "invalid CPU number: " + cpu);
+            }
+        }
+    }
+}
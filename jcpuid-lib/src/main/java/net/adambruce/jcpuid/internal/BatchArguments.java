@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.internal;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+
+/**
+ * Validates the arguments of batched CPUID executions, shared by the
+ * {@link net.adambruce.jcpuid.Cpuid} and
+ * {@link net.adambruce.jcpuid.bridge.CpuidBridge} implementations. Not part
+ * of the public API.
+ */
+public final class BatchArguments {
+
+    private BatchArguments() {
+
+    }
+
+    /**
+     * Checks that there is one sub-leaf per leaf.
+     *
+     * @param leaves the leaves
+     * @param subleaves the sub-leaves
+     * @throws IllegalArgumentException the sub-leaves do not match the
+     * leaves
+     */
+    public static void check(final int[] leaves, final int[] subleaves) {
+        if (leaves.length != subleaves.length) {
+            throw new IllegalArgumentException("expected one sub-leaf per "
+                    + "leaf, got " + leaves.length + " leaves and "
+                    + subleaves.length + " sub-leaves");
+        }
+    }
+
+    /**
+     * Checks that there is one sub-leaf per leaf and that the output array
+     * can hold the registers of every request.
+     *
+     * @param leaves the leaves
+     * @param subleaves the sub-leaves
+     * @param out the output array
+     * @throws IllegalArgumentException the sub-leaves do not match the
+     * leaves, or the output array is too small
+     */
+    public static void check(final int[] leaves, final int[] subleaves,
+                             final int[] out) {
+        check(leaves, subleaves);
+
+        long required = (long) leaves.length * CpuidResult.REGISTER_COUNT;
+        if (out.length < required) {
+            throw new IllegalArgumentException("output array too small, "
+                    + "need " + required + " elements but got "
+                    + out.length);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.internal;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.util.Objects;
+
+/**
+ * Validates the array and offset that the registers of a single CPUID
+ * execution are written to, before they are handed to native code. Not
+ * part of the public API.
+ */
+public final class RegisterArguments {
+
+    private RegisterArguments() {
+
+    }
+
+    /**
+     * Checks that the array is not null and can hold the four registers
+     * starting at the offset.
+     *
+     * @param dest the array to write the register values to
+     * @param offset the index of the first element to write
+     * @throws NullPointerException the array is null
+     * @throws IndexOutOfBoundsException the registers do not fit in the
+     * array at the offset
+     */
+    public static void check(final int[] dest, final int offset) {
+        Objects.requireNonNull(dest, "dest");
+        if (offset < 0 || offset > dest.length - CpuidResult.REGISTER_COUNT) {
+            throw new IndexOutOfBoundsException("offset " + offset
+                    + " out of range for length " + dest.length);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.jfr;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.info.CpuFeature;
+import net.adambruce.jcpuid.info.CpuFeatures;
+import net.adambruce.jcpuid.info.CpuIdentity;
+import net.adambruce.jcpuid.info.CpuTopology;
+import net.adambruce.jcpuid.info.HypervisorInfo;
+import net.adambruce.jcpuid.info.TopologyLevel;
+
+/**
+ * The values carried by the inventory event, collected once so that
+ * emitting the event does not execute CPUID.
+ */
+final class CpuInventory {
+
+    /** The value of the hypervisor field without a hypervisor. */
+    static final String NO_HYPERVISOR = "NONE";
+
+    /** The processor identity. */
+    private final CpuIdentity identity;
+
+    /** The feature names, separated by spaces. */
+    private final String features;
+
+    /** The topology, or null when it is not known. */
+    private final CpuTopology topology;
+
+    /** The hypervisor information. */
+    private final HypervisorInfo hypervisor;
+
+    private CpuInventory(final CpuIdentity cpuIdentity,
+                         final String featureNames,
+                         final CpuTopology cpuTopology,
+                         final HypervisorInfo hypervisorInfo) {
+        this.identity = cpuIdentity;
+        this.features = featureNames;
+        this.topology = cpuTopology;
+        this.hypervisor = hypervisorInfo;
+    }
+
+    /**
+     * Collects the inventory with the given CPUID implementation.
+     *
+     * @param cpuid the CPUID implementation
+     * @param topology the topology, or null when it is not known
+     * @return the inventory
+     */
+    static CpuInventory collect(final Cpuid cpuid,
+                                final CpuTopology topology) {
+        StringBuilder names = new StringBuilder();
+        for (CpuFeature feature : CpuFeatures.detect(cpuid).toSet()) {
+            if (names.length() > 0) {
+                names.append(' ');
+            }
+            names.append(feature.name());
+        }
+
+        return new CpuInventory(CpuIdentity.detect(cpuid), names.toString(),
+                topology, HypervisorInfo.detect(cpuid));
+    }
+
+    /**
+     * Gets the processor identity.
+     *
+     * @return the identity
+     */
+    CpuIdentity getIdentity() {
+        return identity;
+    }
+
+    /**
+     * Gets the names of the processor features, in the order of
+     * {@link CpuFeature}.
+     *
+     * @return the feature names, separated by spaces
+     */
+    String getFeatures() {
+        return features;
+    }
+
+    /**
+     * Gets the number of topology nodes at the given level.
+     *
+     * @param level the level
+     * @return the number of nodes, or 0 when the topology is not known
+     */
+    int getCount(final TopologyLevel level) {
+        if (topology == null) {
+            return 0;
+        }
+
+        return topology.getCount(level);
+    }
+
+    /**
+     * Gets the name of the hypervisor vendor.
+     *
+     * @return the vendor name, or {@link #NO_HYPERVISOR} without a
+     * hypervisor
+     */
+    String getHypervisor() {
+        if (!hypervisor.isPresent()) {
+            return NO_HYPERVISOR;
+        }
+
+        return hypervisor.getVendor().name();
+    }
+
+    /**
+     * Gets the time stamp counter frequency reported by the hypervisor.
+     *
+     * @return the frequency in hertz, or 0 when it is not reported
+     */
+    long getHypervisorTscFrequency() {
+        return hypervisor.getTscFrequency();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.jfr;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.CpuidFactory;
+import net.adambruce.jcpuid.CpuidSweep;
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.bridge.CpuidBridgeFactory;
+import net.adambruce.jcpuid.exception.CpuidException;
+import net.adambruce.jcpuid.info.CpuTopology;
+
+/**
+ * Emits JDK Flight Recorder events describing the processor and the
+ * latency of CPUID executions, so that recordings show the processor a
+ * process ran on and the cost of CPUID inside virtual machines.
+ * <p>
+ * The inventory event, {@value #INVENTORY_EVENT}, is periodic and is
+ * emitted at the start and end of every recording chunk once registered.
+ * It carries the vendor, brand, family, model and stepping, the feature
+ * names, the number of packages, dies, L3 domains, cores and threads, and
+ * the hypervisor and its time stamp counter frequency. The values are
+ * collected when the event is registered, so emitting it does not execute
+ * CPUID.
+ * <p>
+ * The call event, {@value #CALL_EVENT}, is a duration event emitted by
+ * bridges wrapped with {@link #record(CpuidBridge)} for each execution
+ * that takes longer than the threshold of the event, 10 microseconds by
+ * default. The threshold and whether the event is enabled can be changed
+ * in the recording settings, for example
+ * {@code net.adambruce.jcpuid.CpuidCall#threshold=1 us}.
+ * <p>
+ * The events are only available on Java 11 and above, in runtimes that
+ * include the {@code jdk.jfr} module. Elsewhere registering the inventory
+ * does nothing and bridges are not wrapped.
+ */
+public final class CpuidEvents {
+
+    /** The name of the inventory event. */
+    public static final String INVENTORY_EVENT =
+            "net.adambruce.jcpuid.CpuInventory";
+
+    /** The name of the call event. */
+    public static final String CALL_EVENT = "net.adambruce.jcpuid.CpuidCall";
+
+    private CpuidEvents() {
+
+    }
+
+    /**
+     * Checks whether the runtime supports the events.
+     *
+     * @return true on Java 11 and above with the {@code jdk.jfr} module,
+     * otherwise false
+     */
+    public static boolean isAvailable() {
+        return JfrSupport.isAvailable();
+    }
+
+    /**
+     * Registers the inventory event for the current platform, loading the
+     * native library if it has not already been loaded into the current
+     * JVM. The topology is only included when the platform bridge supports
+     * thread affinity, which is needed to sweep it.
+     *
+     * @return true if the event was registered, false when the runtime
+     * does not support the events
+     * @throws CpuidException the platform bridge failed to initialise
+     */
+    public static boolean registerInventory() throws CpuidException {
+        CpuidBridge bridge = CpuidBridgeFactory.getPlatformBridge();
+        CpuTopology topology = null;
+        if (bridge.getThreadAffinity().length > 0) {
+            topology = CpuTopology.detect(new CpuidSweep(bridge));
+        }
+        return registerInventory(CpuidFactory.getPlatformCpuid(bridge),
+                topology);
+    }
+
+    /**
+     * Registers the inventory event with values collected from the given
+     * CPUID implementation. Registering again replaces the values of the
+     * event.
+     *
+     * @param cpuid the CPUID implementation
+     * @param topology the topology, or null to report zero counts
+     * @return true if the event was registered, false when the runtime
+     * does not support the events
+     */
+    public static boolean registerInventory(final Cpuid cpuid,
+                                            final CpuTopology topology) {
+        if (!isAvailable()) {
+            return false;
+        }
+
+        return JfrSupport.registerInventory(
+                CpuInventory.collect(cpuid, topology));
+    }
+
+    /**
+     * Wraps the given bridge to emit a call event around each CPUID
+     * execution. Batches and enumerations are recorded as a single event.
+     * The other methods of the bridge are passed through.
+     *
+     * @param bridge the bridge to record the executions of
+     * @return the recording bridge, or the given bridge when the runtime
+     * does not support the events
+     */
+    public static CpuidBridge record(final CpuidBridge bridge) {
+        return JfrSupport.record(bridge);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.jfr;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+
+/**
+ * Registers and emits the Flight Recorder events. This is the baseline
+ * version of the class, used by runtimes older than Java 11, and it never
+ * emits events. The multi-release JAR replaces it with a version that does
+ * on Java 11 and above.
+ */
+final class JfrSupport {
+
+    private JfrSupport() {
+
+    }
+
+    /**
+     * Checks whether the runtime supports Flight Recorder events.
+     *
+     * @return false
+     */
+    static boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * Registers the inventory event with the given values.
+     *
+     * @param inventory the values of the event
+     * @return false, as the event cannot be registered
+     */
+    static boolean registerInventory(final CpuInventory inventory) {
+        return false;
+    }
+
+    /**
+     * Wraps the given bridge to emit a call event for each execution.
+     *
+     * @param bridge the bridge
+     * @return the given bridge
+     */
+    static CpuidBridge record(final CpuidBridge bridge) {
+        return bridge;
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Contains JDK Flight Recorder events describing the processor and the
+ * latency of CPUID executions. The events are built into the versioned
+ * section of the multi-release JAR for Java 11 and above, and are not
+ * available on Java 8.
+ */
+package net.adambruce.jcpuid.jfr;
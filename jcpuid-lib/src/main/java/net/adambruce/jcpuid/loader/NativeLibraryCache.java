@@ -0,0 +1,414 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A persistent cache of extracted native libraries. Each library is stored
+ * in a sub-directory named after the SHA-256 hash of its contents, under
+ * its own file name which includes the library version, so a library is
+ * extracted once and then reused by every JVM that needs it.
+ * <p>
+ * An existing file is only reused when its contents match the library.
+ * Extraction holds an exclusive file lock, and writes to a temporary file
+ * that is moved into place, so processes racing to extract the same library
+ * never load a partially written file.
+ */
+public final class NativeLibraryCache {
+
+    /**
+     * The system property that overrides the directory libraries are
+     * extracted to.
+     */
+    public static final String CACHE_DIRECTORY_PROPERTY =
+            "net.adambruce.jcpuid.cache.dir";
+
+    /** The name of the cache directory within the user cache directory. */
+    private static final String CACHE_NAME = "jcpuid";
+
+    /** The algorithm used to hash libraries. */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /** The suffix of the lock file for a library. */
+    private static final String LOCK_SUFFIX = ".lock";
+
+    /** The size of the buffer used when reading libraries. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The number of bits in a hexadecimal digit. */
+    private static final int HEX_DIGIT_BITS = 4;
+
+    /** The mask of a hexadecimal digit. */
+    private static final int HEX_DIGIT_MASK = 0xF;
+
+    /** The permissions of a directory only its owner can access. */
+    private static final String OWNER_ONLY = "rwx------";
+
+    /** The hexadecimal digits. */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Serialises extraction within the JVM, as file locks are held on behalf
+     * of the whole JVM and cannot be acquired twice by it.
+     */
+    private static final Object EXTRACT_LOCK = new Object();
+
+    /** The root directory of the cache. */
+    private final Path directory;
+
+    /**
+     * Creates a cache rooted at the given directory. The directory is
+     * created when the first library is extracted.
+     *
+     * @param cacheDirectory the root directory of the cache
+     */
+    public NativeLibraryCache(final Path cacheDirectory) {
+        this.directory = cacheDirectory;
+    }
+
+    /**
+     * Gets the default root directory of the cache for the given operating
+     * system. The {@value #CACHE_DIRECTORY_PROPERTY} system property takes
+     * precedence, followed by the user cache directory of the operating
+     * system.
+     *
+     * @param operatingSystem the operating system
+     * @return the default root directory of the cache
+     */
+    public static Path getDefaultDirectory(
+            final OperatingSystem operatingSystem) {
+
+        return getDefaultDirectory(operatingSystem, System.getenv());
+    }
+
+    /**
+     * Gets the default root directory of the cache for the given operating
+     * system and environment.
+     *
+     * @param operatingSystem the operating system
+     * @param environment the environment variables
+     * @return the default root directory of the cache
+     */
+    static Path getDefaultDirectory(final OperatingSystem operatingSystem,
+                                    final Map<String, String> environment) {
+
+        String override = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+        if (override != null && !override.isEmpty()) {
+            return Paths.get(override);
+        }
+
+        String home = System.getProperty("user.home");
+        if (operatingSystem == OperatingSystem.WINDOWS) {
+            String localAppData = environment.get("LOCALAPPDATA");
+            if (localAppData != null && !localAppData.isEmpty()) {
+                return Paths.get(localAppData, CACHE_NAME);
+            }
+
+            return Paths.get(home, "AppData", "Local", CACHE_NAME);
+        }
+
+        if (operatingSystem == OperatingSystem.MACOS) {
+            return Paths.get(home, "Library", "Caches", CACHE_NAME);
+        }
+
+        String xdgCache = environment.get("XDG_CACHE_HOME");
+        if (xdgCache != null && !xdgCache.isEmpty()) {
+            return Paths.get(xdgCache, CACHE_NAME);
+        }
+
+        return Paths.get(home, ".cache", CACHE_NAME);
+    }
+
+    /**
+     * Gets the fallback root directory of the cache, used when the default
+     * directory cannot be written. The directory is specific to the user,
+     * within the temporary directory. As its path can be predicted by other
+     * users, it is only used through {@link #openFallback()}.
+     *
+     * @return the fallback root directory of the cache
+     */
+    public static Path getFallbackDirectory() {
+        return Paths.get(System.getProperty("java.io.tmpdir"),
+                CACHE_NAME + "-" + System.getProperty("user.name"));
+    }
+
+    /**
+     * Opens the fallback cache, used when the default directory cannot be
+     * written.
+     * <p>
+     * The {@link #getFallbackDirectory() fallback directory} is created so
+     * that only the current user can access it, and an existing directory is
+     * only reused when it is owned by the current user and cannot be written
+     * by anyone else. Otherwise, or when the file system does not support
+     * POSIX permissions, a new private temporary directory is used, so the
+     * library is extracted again by every JVM.
+     *
+     * @return the fallback cache
+     * @throws IOException the directory could not be created
+     */
+    public static NativeLibraryCache openFallback() throws IOException {
+        return new NativeLibraryCache(createPrivateDirectory(
+                getFallbackDirectory(), getCurrentUser()));
+    }
+
+    /**
+     * Gets the user the JVM runs as.
+     *
+     * @return the current user, or null when the user cannot be looked up
+     */
+    static UserPrincipal getCurrentUser() {
+        try {
+            return FileSystems.getDefault().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+        } catch (IOException | UnsupportedOperationException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a directory that only the given user can access, or reuses it
+     * when it already exists and is private to the user. Otherwise a new
+     * private temporary directory is created.
+     *
+     * @param candidate the directory to create or reuse
+     * @param user the user that must own the directory, or null when the
+     * owner cannot be checked
+     * @return the candidate directory, or a new temporary directory
+     * @throws IOException the directory could not be created
+     */
+    static Path createPrivateDirectory(final Path candidate,
+                                       final UserPrincipal user)
+            throws IOException {
+
+        if (user != null && candidate.getFileSystem()
+                .supportedFileAttributeViews().contains("posix")) {
+            try {
+                Files.createDirectory(candidate, PosixFilePermissions
+                        .asFileAttribute(PosixFilePermissions
+                                .fromString(OWNER_ONLY)));
+            } catch (FileAlreadyExistsException ex) {
+                // It may have been created by another user, checked below
+            }
+
+            if (isPrivate(candidate, user)) {
+                return candidate;
+            }
+        }
+
+        return Files.createTempDirectory(CACHE_NAME + "-");
+    }
+
+    /**
+     * Checks whether a directory is owned by the given user and cannot be
+     * written by anyone else. Symbolic links are never private, as their
+     * target can be changed.
+     *
+     * @param directory the directory
+     * @param user the user
+     * @return true if the directory is private to the user, otherwise false
+     * @throws IOException the attributes of the directory could not be read
+     */
+    static boolean isPrivate(final Path directory, final UserPrincipal user)
+            throws IOException {
+
+        PosixFileAttributes attributes = Files.readAttributes(directory,
+                PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        if (!attributes.isDirectory() || !attributes.owner().equals(user)) {
+            return false;
+        }
+
+        Set<PosixFilePermission> permissions = attributes.permissions();
+        return !permissions.contains(PosixFilePermission.GROUP_WRITE)
+                && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+    }
+
+    /**
+     * Gets the root directory of this cache.
+     *
+     * @return the root directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Extracts a library into the cache, unless a file with the same
+     * contents is already present.
+     *
+     * @param fileName the file name of the library, including its version
+     * @param library the contents of the library, which is not closed
+     * @return the path of the extracted library
+     * @throws IOException the library could not be read or extracted
+     */
+    public Path extract(final String fileName, final InputStream library)
+            throws IOException {
+
+        if (fileName.isEmpty() || fileName.indexOf('/') >= 0
+                || fileName.indexOf('\\') >= 0) {
+            throw new IllegalArgumentException(
+                    "invalid library file name: " + fileName);
+        }
+
+        byte[] contents = readFully(library);
+        Path libraryDirectory = directory.resolve(toHex(hash(contents)));
+        Path target = libraryDirectory.resolve(fileName);
+
+        if (isCached(target, contents)) {
+            return target;
+        }
+
+        synchronized (EXTRACT_LOCK) {
+            extractLocked(libraryDirectory, target, contents);
+        }
+
+        return target;
+    }
+
+    /**
+     * Checks whether a file holds the given contents.
+     *
+     * @param file the file
+     * @param contents the expected contents
+     * @return true if the file exists and holds the contents, otherwise false
+     * @throws IOException the file could not be read
+     */
+    static boolean isCached(final Path file, final byte[] contents)
+            throws IOException {
+
+        if (!Files.isRegularFile(file) || Files.size(file) != contents.length) {
+            return false;
+        }
+
+        return Arrays.equals(Files.readAllBytes(file), contents);
+    }
+
+    /**
+     * Hashes the given contents.
+     *
+     * @param contents the contents
+     * @return the SHA-256 hash of the contents
+     */
+    static byte[] hash(final byte[] contents) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(contents);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Converts bytes to a lower case hexadecimal string.
+     *
+     * @param bytes the bytes
+     * @return the hexadecimal string
+     */
+    static String toHex(final byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> HEX_DIGIT_BITS)
+                    & HEX_DIGIT_MASK];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & HEX_DIGIT_MASK];
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * Extracts a library while holding the lock file of the library
+     * directory, unless another thread or process has already extracted it.
+     *
+     * @param libraryDirectory the directory to extract the library into
+     * @param target the path of the extracted library
+     * @param contents the contents of the library
+     * @throws IOException the library could not be extracted
+     */
+    static void extractLocked(final Path libraryDirectory, final Path target,
+                              final byte[] contents) throws IOException {
+
+        Files.createDirectories(libraryDirectory);
+        Path fileName = target.getFileName();
+        Path lockFile = libraryDirectory.resolve(fileName + LOCK_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(lockFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                // Another thread or process may have extracted it while we
+                // waited
+                if (isCached(target, contents)) {
+                    return;
+                }
+
+                Path temp = Files.createTempFile(libraryDirectory,
+                        fileName.toString(), ".tmp");
+                try {
+                    Files.write(temp, contents);
+                    move(temp, target);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static void move(final Path source, final Path target)
+            throws IOException {
+
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -18,18 +18,31 @@ package net.adambruce.jcpuid.loader;
 
 import net.adambruce.jcpuid.exception.CpuidException;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.Path;
 import java.util.Properties;
 
 /**
  * Utility for loading the native library for different platforms.
+ * <p>
+ * The library is extracted from the classpath into a persistent
+ * {@link NativeLibraryCache} and loaded from there, so it is only extracted
+ * by the first JVM that needs it. If the
+ * {@value #LIBRARY_NAME_PROPERTY} system property is set, the library with
+ * that name is instead loaded from {@code java.library.path} and nothing is
+ * extracted.
  */
 public class NativeLibraryLoader {
 
+    /**
+     * The system property holding the name of a library to load from
+     * {@code java.library.path} instead of extracting the bundled library,
+     * for example {@code jcpuid} for {@code libjcpuid.so}.
+     */
+    public static final String LIBRARY_NAME_PROPERTY =
+            "net.adambruce.jcpuid.library";
+
     /** Path to the native library mappings. */
     private static final String MAPPING_PATH =
             "net/adambruce/jcpuid/lib-mappings.properties";
@@ -46,6 +59,17 @@ public class NativeLibraryLoader {
             final Architecture architecture)
             throws CpuidException {
 
+        String libraryName = System.getProperty(LIBRARY_NAME_PROPERTY);
+        if (libraryName != null && !libraryName.isEmpty()) {
+            try {
+                System.loadLibrary(libraryName);
+            } catch (UnsatisfiedLinkError ex) {
+                throw new CpuidException("unable to load native library "
+                        + libraryName + " from java.library.path: " + ex);
+            }
+            return;
+        }
+
         loadNativeLibrary(operatingSystem, architecture);
     }
 
@@ -76,27 +100,42 @@ public class NativeLibraryLoader {
             throws CpuidException {
 
         String path = getLibraryPath(operatingSystem, architecture);
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
 
-        String[] parts = path.split("\\.");
+        Path extracted;
+        try {
+            extracted = extract(path, fileName, new NativeLibraryCache(
+                    NativeLibraryCache.getDefaultDirectory(operatingSystem)));
+        } catch (IOException ex) {
+            // The user cache may not be writable, for example in containers
+            try {
+                extracted = extract(path, fileName,
+                        NativeLibraryCache.openFallback());
+            } catch (IOException fallbackEx) {
+                throw new CpuidException("unable to extract native "
+                        + "library: " + fallbackEx);
+            }
+        }
 
         try {
-            String fileSuffix = "." + parts[parts.length - 1];
-            File out = File.createTempFile("jcpuid-native-", fileSuffix);
+            System.load(extracted.toAbsolutePath().toString());
+        } catch (UnsatisfiedLinkError ex) {
+            throw new CpuidException("unable to initialise native "
+                    + "library: " + ex);
+        }
+    }
 
-            InputStream libStream = getClass().getResourceAsStream(path);
+    private Path extract(final String path, final String fileName,
+                         final NativeLibraryCache cache)
+            throws CpuidException, IOException {
 
+        try (InputStream libStream = getClass().getResourceAsStream(path)) {
             if (libStream == null) {
                 throw new CpuidException("unable to locate the "
                         + "native library on the classpath");
             }
 
-            Files.copy(libStream, out.getAbsoluteFile().toPath(),
-                    StandardCopyOption.REPLACE_EXISTING);
-
-            System.load(out.getAbsolutePath());
-        } catch (IOException ex) {
-            throw new CpuidException("unable to extract native "
-                    + "library: " + ex);
+            return cache.extract(fileName, libStream);
         }
     }
 
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts CPUID executions per leaf, records the latency of bridge calls
+ * in a {@link LatencyHistogram}, and counts the hits and misses of
+ * {@link net.adambruce.jcpuid.CachingCpuid} and the time taken to create
+ * the first platform bridge.
+ * <p>
+ * The library only records into the {@link #global()} metrics when the
+ * {@value #PROPERTY} system property is set to true at startup. The
+ * property is read once into {@link #ENABLED}, a static final field the
+ * JIT compiler treats as a constant, so the instrumentation costs nothing
+ * when it is disabled: the platform bridge is not wrapped, and the checks
+ * in the cache are compiled away.
+ * <p>
+ * Executions are counted in a fixed array of {@link LongAdder}s, which
+ * spread contended updates over cells. The slot of a leaf is given by its
+ * range, the top two bits that separate the standard, hypervisor, extended
+ * and Centaur leaves, and its offset within the range. The first
+ * {@value #EXACT_LEAVES} leaves of each range have a slot of their own,
+ * and the leaves above them share an overflow slot per range.
+ */
+public final class CpuidMetrics {
+
+    /** The system property that enables the metrics. */
+    public static final String PROPERTY = "net.adambruce.jcpuid.metrics";
+
+    /** Whether the library records metrics, read once at startup. */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /** The number of leaves of each range that have a slot of their own. */
+    public static final int EXACT_LEAVES = 63;
+
+    /** The number of leaf ranges. */
+    static final int RANGES = 4;
+
+    /** The number of slots of each range, including the overflow slot. */
+    static final int SLOTS_PER_RANGE = EXACT_LEAVES + 1;
+
+    /** The offset of the range within a leaf. */
+    private static final int RANGE_SHIFT = 30;
+
+    /** The mask of the offset within a range. */
+    private static final int OFFSET_MASK = (1 << RANGE_SHIFT) - 1;
+
+    /** The bootstrap time before the first bridge was created. */
+    private static final long NOT_BOOTSTRAPPED = -1L;
+
+    /** The executions counted in each slot. */
+    private final LongAdder[] leafCounts =
+            new LongAdder[RANGES * SLOTS_PER_RANGE];
+
+    /** The latency of bridge calls. */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /** The number of cache hits. */
+    private final LongAdder cacheHits = new LongAdder();
+
+    /** The number of cache misses. */
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /** The time taken to create the first platform bridge. */
+    private final AtomicLong bootstrapNanos =
+            new AtomicLong(NOT_BOOTSTRAPPED);
+
+    /**
+     * Creates empty metrics. The library only records into the
+     * {@link #global()} metrics.
+     */
+    public CpuidMetrics() {
+        for (int i = 0; i < leafCounts.length; i++) {
+            leafCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Gets the metrics the library records into when {@link #ENABLED} is
+     * true. The metrics are created on first use.
+     *
+     * @return the global metrics
+     */
+    public static CpuidMetrics global() {
+        return Holder.GLOBAL;
+    }
+
+    /**
+     * Gets the slot of the given leaf.
+     *
+     * @param leaf the leaf
+     * @return the slot index
+     */
+    static int slotOf(final int leaf) {
+        int offset = Math.min(leaf & OFFSET_MASK, EXACT_LEAVES);
+        return (leaf >>> RANGE_SHIFT) * SLOTS_PER_RANGE + offset;
+    }
+
+    /**
+     * Gets the first leaf counted in the given slot.
+     *
+     * @param slot the slot index
+     * @return the leaf
+     */
+    static int leafOf(final int slot) {
+        return (slot / SLOTS_PER_RANGE) << RANGE_SHIFT
+                | slot % SLOTS_PER_RANGE;
+    }
+
+    /**
+     * Counts an execution of the given leaf.
+     *
+     * @param leaf the leaf
+     */
+    public void recordCall(final int leaf) {
+        leafCounts[slotOf(leaf)].increment();
+    }
+
+    /**
+     * Records the latency of a bridge call.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordLatency(final long nanos) {
+        latency.record(nanos);
+    }
+
+    /**
+     * Counts a result served from a cache.
+     */
+    public void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    /**
+     * Counts a result a cache had to execute.
+     */
+    public void recordCacheMiss() {
+        cacheMisses.increment();
+    }
+
+    /**
+     * Records the time taken to create the first platform bridge. Only
+     * the first recorded time is kept.
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void recordBootstrap(final long nanos) {
+        bootstrapNanos.compareAndSet(NOT_BOOTSTRAPPED, nanos);
+    }
+
+    /**
+     * Discards everything recorded, including the bootstrap time.
+     */
+    public void reset() {
+        for (LongAdder count : leafCounts) {
+            count.reset();
+        }
+        latency.reset();
+        cacheHits.reset();
+        cacheMisses.reset();
+        bootstrapNanos.set(NOT_BOOTSTRAPPED);
+    }
+
+    /**
+     * Reads the metrics. The snapshot is not atomic with respect to
+     * concurrent updates.
+     *
+     * @return the snapshot
+     */
+    public MetricsSnapshot snapshot() {
+        long[] counts = new long[leafCounts.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = leafCounts[i].sum();
+        }
+
+        return new MetricsSnapshot(counts, latency.snapshot(),
+                cacheHits.sum(), cacheMisses.sum(), bootstrapNanos.get());
+    }
+
+    /**
+     * Creates the global metrics on first use.
+     */
+    private static final class Holder {
+
+        /** The global metrics. */
+        private static final CpuidMetrics GLOBAL = new CpuidMetrics();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.metrics;
+
+import java.util.Arrays;
+
+/**
+ * The counts of a {@link LatencyHistogram} at a point in time.
+ */
+public final class HistogramSnapshot {
+
+    /** The largest percentile. */
+    private static final double MAX_PERCENTILE = 100.0;
+
+    /** The number of values in each bucket. */
+    private final long[] counts;
+
+    /** The number of values. */
+    private final long count;
+
+    /** The sum of the values. */
+    private final long sum;
+
+    /** The largest value. */
+    private final long max;
+
+    /**
+     * Creates a snapshot of the given bucket counts.
+     *
+     * @param bucketCounts the number of values in each bucket
+     * @param valueSum the sum of the values
+     * @param maxValue the largest value
+     */
+    HistogramSnapshot(final long[] bucketCounts, final long valueSum,
+                      final long maxValue) {
+        long total = 0L;
+        for (long bucketCount : bucketCounts) {
+            total += bucketCount;
+        }
+
+        this.counts = bucketCounts;
+        this.count = total;
+        this.sum = valueSum;
+        this.max = maxValue;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of values in the given bucket.
+     *
+     * @param bucket the bucket index, see
+     * {@link LatencyHistogram#bucketOf(long)}
+     * @return the number of values
+     */
+    public long getCount(final int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * Gets the mean of the values.
+     *
+     * @return the mean in nanoseconds, or 0 without values
+     */
+    public double getMean() {
+        if (count == 0L) {
+            return 0.0;
+        }
+
+        return (double) sum / count;
+    }
+
+    /**
+     * Gets the largest value.
+     *
+     * @return the largest value in nanoseconds, or 0 without values
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets an upper bound of the value at the given percentile, which is
+     * the upper bound of the bucket holding it, or the largest value if
+     * that is smaller.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the value in nanoseconds, or 0 without values
+     * @throws IllegalArgumentException the percentile is out of range
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (!(percentile >= 0.0 && percentile <= MAX_PERCENTILE)) {
+            throw new IllegalArgumentException(
+                    "percentile must be from 0 to 100: " + percentile);
+        }
+
+        long rank = (long) Math.ceil(percentile / MAX_PERCENTILE * count);
+        long seen = 0L;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen > 0L && seen >= rank) {
+                return Math.min(LatencyHistogram.getUpperBound(bucket), max);
+            }
+        }
+
+        return 0L;
+    }
+
+    /**
+     * Returns the string representation of this snapshot.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{count=" + count + ", mean=" + getMean()
+                + ", max=" + max + ", buckets=" + Arrays.toString(counts)
+                + "}";
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds with one bucket per
+ * power of two. Bucket 0 counts zero, and bucket {@code i} counts the
+ * values from {@code 2^(i-1)} to {@code 2^i - 1}, so a value is recorded
+ * with a leading zero count and a single atomic increment.
+ * <p>
+ * Reading a snapshot is not atomic with respect to concurrent updates, so
+ * the totals of a snapshot may differ slightly from the sum of its
+ * buckets.
+ */
+public final class LatencyHistogram {
+
+    /** The number of buckets. */
+    public static final int BUCKETS = Long.SIZE;
+
+    /** The number of values in each bucket. */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /** The sum of the values. */
+    private final LongAdder sum = new LongAdder();
+
+    /** The largest value. */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Gets the bucket that counts the given value.
+     *
+     * @param nanos the value, negative values are counted as zero
+     * @return the bucket index
+     */
+    public static int bucketOf(final long nanos) {
+        if (nanos <= 0L) {
+            return 0;
+        }
+
+        return Long.SIZE - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * Gets the largest value counted by the given bucket.
+     *
+     * @param bucket the bucket index
+     * @return the upper bound of the bucket, inclusive
+     * @throws IllegalArgumentException the bucket is out of range
+     */
+    public static long getUpperBound(final int bucket) {
+        if (bucket < 0 || bucket >= BUCKETS) {
+            throw new IllegalArgumentException(
+                    "bucket must be from 0 to " + (BUCKETS - 1) + ": "
+                            + bucket);
+        }
+
+        if (bucket == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+
+        return (1L << bucket) - 1L;
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param nanos the value, negative values are recorded as zero
+     */
+    public void record(final long nanos) {
+        long value = Math.max(nanos, 0L);
+        buckets.incrementAndGet(bucketOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Discards every recorded value.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0L);
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Reads the counts of the buckets.
+     *
+     * @return the snapshot
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+
+        return new HistogramSnapshot(counts, sum.sum(), max.get());
+    }
+}
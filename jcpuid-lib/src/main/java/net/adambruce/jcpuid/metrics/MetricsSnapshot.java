@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.metrics;
+
+import java.util.Arrays;
+
+/**
+ * The metrics of a {@link CpuidMetrics} at a point in time.
+ */
+public final class MetricsSnapshot {
+
+    /** The executions counted in each slot. */
+    private final long[] leafCounts;
+
+    /** The latency of bridge calls. */
+    private final HistogramSnapshot latency;
+
+    /** The number of cache hits. */
+    private final long cacheHits;
+
+    /** The number of cache misses. */
+    private final long cacheMisses;
+
+    /** The time taken to create the first platform bridge. */
+    private final long bootstrapNanos;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param counts the executions counted in each slot
+     * @param callLatency the latency of bridge calls
+     * @param hits the number of cache hits
+     * @param misses the number of cache misses
+     * @param bootstrap the bootstrap time, or -1
+     */
+    MetricsSnapshot(final long[] counts, final HistogramSnapshot callLatency,
+                    final long hits, final long misses,
+                    final long bootstrap) {
+        this.leafCounts = counts;
+        this.latency = callLatency;
+        this.cacheHits = hits;
+        this.cacheMisses = misses;
+        this.bootstrapNanos = bootstrap;
+    }
+
+    /**
+     * Gets the number of executions of the given leaf. Leaves above the
+     * first {@value CpuidMetrics#EXACT_LEAVES} of their range share a
+     * count, see {@link #getOverflowCount(int)}.
+     *
+     * @param leaf the leaf
+     * @return the number of executions
+     */
+    public long getCount(final int leaf) {
+        return leafCounts[CpuidMetrics.slotOf(leaf)];
+    }
+
+    /**
+     * Gets the number of executions of the leaves of the same range as the
+     * given leaf that do not have a count of their own.
+     *
+     * @param leaf a leaf of the range, such as 0x80000000
+     * @return the number of executions
+     */
+    public long getOverflowCount(final int leaf) {
+        int overflowLeaf = leaf | CpuidMetrics.EXACT_LEAVES;
+        return leafCounts[CpuidMetrics.slotOf(overflowLeaf)];
+    }
+
+    /**
+     * Gets the leaves that were executed, in the order of their slots. For
+     * an overflow slot the first leaf it counts is given.
+     *
+     * @return the leaves with a non-zero count
+     */
+    public int[] getLeaves() {
+        int[] leaves = new int[leafCounts.length];
+        int found = 0;
+        for (int slot = 0; slot < leafCounts.length; slot++) {
+            if (leafCounts[slot] != 0L) {
+                leaves[found++] = CpuidMetrics.leafOf(slot);
+            }
+        }
+
+        return Arrays.copyOf(leaves, found);
+    }
+
+    /**
+     * Gets the total number of executions.
+     *
+     * @return the number of executions of every leaf
+     */
+    public long getTotalCount() {
+        long total = 0L;
+        for (long count : leafCounts) {
+            total += count;
+        }
+
+        return total;
+    }
+
+    /**
+     * Gets the latency of bridge calls. A batch or an enumeration is
+     * recorded as a single call.
+     *
+     * @return the latency histogram
+     */
+    public HistogramSnapshot getLatency() {
+        return latency;
+    }
+
+    /**
+     * Gets the number of results served from a cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Gets the number of results a cache had to execute.
+     *
+     * @return the number of cache misses
+     */
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * Gets the fraction of cache lookups that were hits.
+     *
+     * @return the hit ratio from 0 to 1, or 0 without lookups
+     */
+    public double getCacheHitRatio() {
+        long lookups = cacheHits + cacheMisses;
+        if (lookups == 0L) {
+            return 0.0;
+        }
+
+        return (double) cacheHits / lookups;
+    }
+
+    /**
+     * Gets the time taken to create the first platform bridge, including
+     * loading the native library.
+     *
+     * @return the time in nanoseconds, or -1 when no platform bridge was
+     * created
+     */
+    public long getBootstrapNanos() {
+        return bootstrapNanos;
+    }
+
+    /**
+     * Returns the string representation of this snapshot.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{calls=" + getTotalCount() + ", latency="
+                + latency + ", cacheHits=" + cacheHits + ", cacheMisses="
+                + cacheMisses + ", bootstrapNanos=" + bootstrapNanos + "}";
+    }
+}
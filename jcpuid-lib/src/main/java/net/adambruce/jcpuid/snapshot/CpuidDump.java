@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The CPUID records of every logical CPU in a raw dump produced by another
+ * tool, such as {@code cpuid -r} on Linux or InstLatX64 and AIDA64. Dumps
+ * are parsed one line at a time, so only the records are held in memory,
+ * indexed by CPU, leaf and sub-leaf.
+ * <p>
+ * Each CPU can be replayed through a {@link SnapshotBridge}, so decoders can
+ * run against the dumped processor, or written to a snapshot file with
+ * {@link SnapshotWriter#encode(CpuidSnapshot, long)}.
+ */
+public final class CpuidDump {
+
+    /** The CPU numbers, in ascending order. */
+    private final int[] cpus;
+
+    /** The records of each CPU, in the same order as the CPU numbers. */
+    private final CpuidSnapshot[] snapshots;
+
+    /**
+     * Creates a dump from the records of each CPU.
+     *
+     * @param cpuNumbers the CPU numbers, in ascending order
+     * @param cpuSnapshots the records of each CPU
+     */
+    CpuidDump(final int[] cpuNumbers, final CpuidSnapshot[] cpuSnapshots) {
+        this.cpus = cpuNumbers;
+        this.snapshots = cpuSnapshots;
+    }
+
+    /**
+     * Parses a dump file. The format is detected from the contents, see
+     * {@link #parse(Reader)}.
+     *
+     * @param file the dump file
+     * @return the parsed dump
+     * @throws IOException the file could not be read, holds a malformed
+     * record, or holds no records
+     */
+    public static CpuidDump parse(final Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file,
+                StandardCharsets.ISO_8859_1)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Parses a dump. Records in the {@code cpuid -r} format, such as
+     * {@code 0x00000004 0x01: eax=0x... ebx=0x... ecx=0x... edx=0x...}, and
+     * in the InstLatX64 format, such as
+     * {@code CPUID 00000004: 1C004122-01C0003F-0000003F-00000000 [SL 01]},
+     * are recognised. Records belong to the CPU named by the last
+     * {@code CPU n:} or {@code ------[ Logical CPU #n ]------} header, or to
+     * CPU 0 if there is none. Other lines are ignored.
+     *
+     * @param reader the reader to read the dump from, which is not closed
+     * @return the parsed dump
+     * @throws IOException the dump could not be read, holds a malformed
+     * record, or holds no records
+     */
+    public static CpuidDump parse(final Reader reader) throws IOException {
+        return CpuidDumpParser.parse(reader);
+    }
+
+    /**
+     * Gets the number of CPUs in the dump.
+     *
+     * @return the number of CPUs
+     */
+    public int getCpuCount() {
+        return cpus.length;
+    }
+
+    /**
+     * Gets the numbers of the CPUs in the dump.
+     *
+     * @return the CPU numbers, in ascending order
+     */
+    public int[] getCpus() {
+        return cpus.clone();
+    }
+
+    /**
+     * Checks whether the dump holds records for the given CPU.
+     *
+     * @param cpu the CPU number
+     * @return true if the dump holds records for the CPU, otherwise false
+     */
+    public boolean hasCpu(final int cpu) {
+        return Arrays.binarySearch(cpus, cpu) >= 0;
+    }
+
+    /**
+     * Gets the records of the given CPU.
+     *
+     * @param cpu the CPU number
+     * @return the records, ordered by leaf and sub-leaf
+     * @throws IllegalArgumentException the dump has no records for the CPU
+     */
+    public CpuidSnapshot getSnapshot(final int cpu) {
+        int index = Arrays.binarySearch(cpus, cpu);
+        if (index < 0) {
+            throw new IllegalArgumentException("no records for CPU " + cpu);
+        }
+
+        return snapshots[index];
+    }
+
+    /**
+     * Gets the registers of a leaf and sub-leaf of the given CPU.
+     *
+     * @param cpu the CPU number
+     * @param leaf the leaf
+     * @param subleaf the sub-leaf
+     * @return the registers, or null if the dump does not hold them
+     */
+    public CpuidResult getResult(final int cpu, final int leaf,
+                                 final int subleaf) {
+        int index = Arrays.binarySearch(cpus, cpu);
+        if (index < 0) {
+            return null;
+        }
+
+        int record = snapshots[index].indexOf(leaf, subleaf);
+        if (record < 0) {
+            return null;
+        }
+
+        return snapshots[index].getResult(record);
+    }
+
+    /**
+     * Creates a bridge replaying the records of the given CPU.
+     *
+     * @param cpu the CPU number
+     * @return the bridge
+     * @throws IllegalArgumentException the dump has no records for the CPU
+     */
+    public SnapshotBridge getBridge(final int cpu) {
+        return new SnapshotBridge(getSnapshot(cpu));
+    }
+
+    /**
+     * Creates a bridge replaying the records of the lowest numbered CPU,
+     * which is sufficient for decoding leaves that are the same on every
+     * CPU.
+     *
+     * @return the bridge
+     */
+    public SnapshotBridge getBridge() {
+        return new SnapshotBridge(snapshots[0]);
+    }
+
+    /**
+     * Returns the string representation of this dump.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        int records = 0;
+        for (CpuidSnapshot snapshot : snapshots) {
+            records += snapshot.size();
+        }
+
+        return "CpuidDump{cpus=" + cpus.length + ", records=" + records + "}";
+    }
+}
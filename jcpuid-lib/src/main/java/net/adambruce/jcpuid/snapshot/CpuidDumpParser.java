@@ -0,0 +1,355 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Parses raw CPUID dumps one line at a time. Two formats are recognised,
+ * and may be mixed within a file:
+ * <ul>
+ *     <li>the raw output of the Linux {@code cpuid -r} tool, with records
+ *     such as {@code 0x00000004 0x01: eax=0x... ebx=0x... ecx=0x...
+ *     edx=0x...} following {@code CPU n:} headers</li>
+ *     <li>the InstLatX64 and AIDA64 format, with records such as
+ *     {@code CPUID 00000004: 1C004122-01C0003F-0000003F-00000000 [SL 01]}
+ *     following {@code ------[ Logical CPU #n ]------} headers, where any
+ *     other bracketed annotation after the registers, such as the decoded
+ *     vendor or brand string, is ignored</li>
+ * </ul>
+ * Records before the first CPU header belong to CPU 0, and all other lines
+ * are ignored. When a leaf and sub-leaf appear more than once for a CPU,
+ * the last record wins.
+ */
+final class CpuidDumpParser {
+
+    /** The prefix of a record in the {@code cpuid -r} format. */
+    private static final String TOOL_RECORD_PREFIX = "0x";
+
+    /** The prefix of a CPU header in the {@code cpuid -r} format. */
+    private static final String TOOL_CPU_PREFIX = "CPU";
+
+    /** The prefix of a record in the InstLatX64 format. */
+    private static final String INSTLAT_RECORD_PREFIX = "CPUID ";
+
+    /** The prefix of a section header in the InstLatX64 format. */
+    private static final String INSTLAT_SECTION_PREFIX = "---";
+
+    /** The marker of the CPU number in an InstLatX64 section header. */
+    private static final String INSTLAT_CPU_MARKER = "CPU #";
+
+    /** The prefix of the sub-leaf in an InstLatX64 record. */
+    private static final String INSTLAT_SUBLEAF_PREFIX = "[SL ";
+
+    /** The names of the registers in the {@code cpuid -r} format. */
+    private static final String[] TOOL_REGISTERS = {
+        "eax=0x", "ebx=0x", "ecx=0x", "edx=0x"
+    };
+
+    /** The number of hexadecimal digits in a leaf. */
+    private static final int LEAF_DIGITS = 8;
+
+    /** The number of bits in a hexadecimal digit. */
+    private static final int HEX_DIGIT_BITS = 4;
+
+    /** The radix of hexadecimal numbers. */
+    private static final int HEX = 16;
+
+    /** The mask for converting an integer to an unsigned long. */
+    private static final long UNSIGNED_MASK = 0xFFFFFFFFL;
+
+    /** The records of each CPU, keyed by leaf and sub-leaf. */
+    private final Map<Integer, Map<Long, int[]>> cpus = new TreeMap<>();
+
+    /** The CPU that records are currently added to. */
+    private int cpu;
+
+    /** The number of the line being parsed. */
+    private int lineNumber;
+
+    private CpuidDumpParser() {
+
+    }
+
+    /**
+     * Parses a dump.
+     *
+     * @param reader the reader to read the dump from, which is not closed
+     * @return the parsed records
+     * @throws IOException the dump could not be read, holds a malformed
+     * record, or holds no records
+     */
+    static CpuidDump parse(final Reader reader) throws IOException {
+        CpuidDumpParser parser = new CpuidDumpParser();
+        BufferedReader lines = new BufferedReader(reader);
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            parser.lineNumber++;
+            try {
+                parser.parseLine(line.trim());
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("malformed CPUID dump at line "
+                        + parser.lineNumber + ": " + ex.getMessage(), ex);
+            }
+        }
+
+        return parser.build();
+    }
+
+    private void parseLine(final String line) {
+        if (line.startsWith(INSTLAT_RECORD_PREFIX)) {
+            parseInstLatRecord(line);
+        } else if (line.startsWith(TOOL_RECORD_PREFIX)) {
+            parseToolRecord(line);
+        } else if (line.startsWith(TOOL_CPU_PREFIX) && line.endsWith(":")) {
+            parseToolCpu(line);
+        } else if (line.startsWith(INSTLAT_SECTION_PREFIX)) {
+            parseInstLatSection(line);
+        }
+    }
+
+    private void parseToolCpu(final String line) {
+        String number = line.substring(TOOL_CPU_PREFIX.length(),
+                line.length() - 1).trim();
+        if (number.isEmpty()) {
+            cpu = 0;
+        } else if (isDecimal(number)) {
+            cpu = Integer.parseInt(number);
+        }
+    }
+
+    private void parseInstLatSection(final String line) {
+        int marker = line.indexOf(INSTLAT_CPU_MARKER);
+        if (marker < 0) {
+            return;
+        }
+
+        int start = marker + INSTLAT_CPU_MARKER.length();
+        int end = start;
+        while (end < line.length() && Character.isDigit(line.charAt(end))) {
+            end++;
+        }
+
+        if (end > start) {
+            cpu = Integer.parseInt(line.substring(start, end));
+        }
+    }
+
+    private void parseToolRecord(final String line) {
+        int start = TOOL_RECORD_PREFIX.length();
+        int end = hexEnd(line, start);
+        if (end == start || end < line.length() && line.charAt(end) != ':'
+                && !Character.isWhitespace(line.charAt(end))) {
+            return;
+        }
+
+        int leaf = parseHex(line, start, end);
+        int pos = skipWhitespace(line, skipColon(line,
+                skipWhitespace(line, end)));
+
+        int subleaf = 0;
+        if (line.startsWith(TOOL_RECORD_PREFIX, pos)) {
+            start = pos + TOOL_RECORD_PREFIX.length();
+            end = hexEnd(line, start);
+            subleaf = parseHex(line, start, end);
+            pos = skipWhitespace(line, skipColon(line,
+                    skipWhitespace(line, end)));
+        }
+
+        int[] registers = new int[TOOL_REGISTERS.length];
+        for (int i = 0; i < TOOL_REGISTERS.length; i++) {
+            if (!line.startsWith(TOOL_REGISTERS[i], pos)) {
+                throw malformed("expected " + TOOL_REGISTERS[i]);
+            }
+
+            start = pos + TOOL_REGISTERS[i].length();
+            end = hexEnd(line, start);
+            registers[i] = parseHex(line, start, end);
+            pos = skipWhitespace(line, end);
+        }
+
+        if (pos != line.length()) {
+            throw malformed("unexpected text after the registers");
+        }
+
+        add(leaf, subleaf, registers);
+    }
+
+    private void parseInstLatRecord(final String line) {
+        int start = INSTLAT_RECORD_PREFIX.length();
+        int end = hexEnd(line, start);
+        if (end - start != LEAF_DIGITS || end == line.length()
+                || line.charAt(end) != ':') {
+            return;
+        }
+
+        int leaf = parseHex(line, start, end);
+        int pos = skipWhitespace(line, end + 1);
+
+        int[] registers = new int[TOOL_REGISTERS.length];
+        for (int i = 0; i < registers.length; i++) {
+            if (i > 0) {
+                if (pos == line.length() || line.charAt(pos) != '-') {
+                    throw malformed("expected four registers");
+                }
+                pos++;
+            }
+
+            end = hexEnd(line, pos);
+            registers[i] = parseHex(line, pos, end);
+            pos = end;
+        }
+
+        pos = skipWhitespace(line, pos);
+        int subleaf = 0;
+        if (line.startsWith(INSTLAT_SUBLEAF_PREFIX, pos)) {
+            start = skipWhitespace(line,
+                    pos + INSTLAT_SUBLEAF_PREFIX.length());
+            end = hexEnd(line, start);
+            subleaf = parseHex(line, start, end);
+
+            pos = skipWhitespace(line, end);
+            if (pos == line.length() || line.charAt(pos) != ']') {
+                throw malformed("unterminated sub-leaf");
+            }
+            pos = skipWhitespace(line, pos + 1);
+        }
+
+        // AIDA64 decodes some records, such as the vendor and brand string
+        // leaves, into a bracketed annotation of arbitrary text, so
+        // everything up to the last bracket is skipped
+        if (pos < line.length() && line.charAt(pos) == '[') {
+            int close = line.lastIndexOf(']');
+            if (close < pos) {
+                throw malformed("unterminated annotation");
+            }
+            pos = skipWhitespace(line, close + 1);
+        }
+
+        if (pos != line.length()) {
+            throw malformed("unexpected text after the registers");
+        }
+
+        add(leaf, subleaf, registers);
+    }
+
+    private void add(final int leaf, final int subleaf,
+                     final int[] registers) {
+        long key = (leaf & UNSIGNED_MASK) << Integer.SIZE
+                | (subleaf & UNSIGNED_MASK);
+        cpus.computeIfAbsent(cpu, k -> new TreeMap<>(Long::compareUnsigned))
+                .put(key, registers);
+    }
+
+    private CpuidDump build() throws IOException {
+        if (cpus.isEmpty()) {
+            throw new IOException("no CPUID records found");
+        }
+
+        int[] cpuNumbers = new int[cpus.size()];
+        CpuidSnapshot[] snapshots = new CpuidSnapshot[cpus.size()];
+
+        int index = 0;
+        for (Map.Entry<Integer, Map<Long, int[]>> entry : cpus.entrySet()) {
+            Map<Long, int[]> records = entry.getValue();
+            ByteBuffer buffer = ByteBuffer.allocate(records.size()
+                    * CpuidSnapshot.RECORD_SIZE).order(ByteOrder.nativeOrder());
+
+            for (Map.Entry<Long, int[]> record : records.entrySet()) {
+                long key = record.getKey();
+                buffer.putInt((int) (key >>> Integer.SIZE));
+                buffer.putInt((int) key);
+                for (int value : record.getValue()) {
+                    buffer.putInt(value);
+                }
+            }
+
+            cpuNumbers[index] = entry.getKey();
+            snapshots[index] = CpuidSnapshot.wrap(buffer, records.size());
+            index++;
+        }
+
+        return new CpuidDump(cpuNumbers, snapshots);
+    }
+
+    private static int parseHex(final String line, final int start,
+                                final int end) {
+        if (end == start || end - start > LEAF_DIGITS) {
+            throw malformed("invalid hexadecimal value '"
+                    + line.substring(start, end) + "'");
+        }
+
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value << HEX_DIGIT_BITS
+                    | Character.digit(line.charAt(i), HEX);
+        }
+
+        return value;
+    }
+
+    private static int hexEnd(final String line, final int start) {
+        int end = start;
+        while (end < line.length()
+                && Character.digit(line.charAt(end), HEX) >= 0) {
+            end++;
+        }
+
+        return end;
+    }
+
+    private static int skipColon(final String line, final int pos) {
+        if (pos < line.length() && line.charAt(pos) == ':') {
+            return pos + 1;
+        }
+
+        return pos;
+    }
+
+    private static int skipWhitespace(final String line, final int pos) {
+        int end = pos;
+        while (end < line.length() && Character.isWhitespace(
+                line.charAt(end))) {
+            end++;
+        }
+
+        return end;
+    }
+
+    private static IllegalArgumentException malformed(final String reason) {
+        return new IllegalArgumentException(reason);
+    }
+
+    private static boolean isDecimal(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+
+/**
+ * A bridge that replays captured CPUID state instead of executing the
+ * instruction, so that decoders can run against another host without the
+ * native library. Lookups are a binary search of the records and do not
+ * allocate: the results returned by {@link #executeCPUID(int, int)} are
+ * created once, when the bridge is created, and shared by every lookup.
+ * <p>
+ * Leaves and sub-leaves that were not captured return zero in every
+ * register.
+ */
+public final class SnapshotBridge implements CpuidBridge {
+
+    /** The result of a leaf or sub-leaf that was not captured. */
+    private static final CpuidResult ZERO = new CpuidResult(0, 0, 0, 0);
+
+    /** The records being replayed. */
+    private final CpuidSnapshot snapshot;
+
+    /** The result of each record, in the order of the records. */
+    private final CpuidResult[] results;
+
+    /**
+     * Creates a bridge replaying the given records.
+     *
+     * @param records the records, strictly ordered by leaf and sub-leaf
+     */
+    public SnapshotBridge(final CpuidSnapshot records) {
+        this.snapshot = records;
+        this.results = new CpuidResult[records.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = records.getResult(i);
+        }
+    }
+
+    /**
+     * Creates a bridge replaying a snapshot file, which is memory mapped and
+     * validated.
+     *
+     * @param path the path of the snapshot file
+     * @return the bridge
+     * @throws IOException the file could not be read, or is not a valid
+     * snapshot file
+     */
+    public static SnapshotBridge open(final Path path) throws IOException {
+        return SnapshotFile.open(path).toBridge();
+    }
+
+    /**
+     * Gets the records being replayed.
+     *
+     * @return the records
+     */
+    public CpuidSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the captured registers of the given leaf and sub-leaf 0.
+     *
+     * @param leaf the leaf
+     * @return the captured registers
+     */
+    @Override
+    public CpuidResult executeCPUID(final int leaf) {
+        return executeCPUID(leaf, 0);
+    }
+
+    /**
+     * Returns the captured registers of the given leaf and sub-leaf.
+     *
+     * @param leaf the leaf
+     * @param subleaf the sub-leaf
+     * @return the captured registers
+     */
+    @Override
+    public CpuidResult executeCPUID(final int leaf, final int subleaf) {
+        int index = snapshot.indexOf(leaf, subleaf);
+        if (index < 0) {
+            return ZERO;
+        }
+
+        return results[index];
+    }
+
+    /**
+     * Writes the captured registers of the given leaf and sub-leaf to the
+     * given array, without allocating.
+     *
+     * @param leaf the leaf
+     * @param subleaf the sub-leaf
+     * @param dest the array to write the register values to
+     * @param offset the index of the first element to write
+     */
+    @Override
+    public void executeCPUID(final int leaf, final int subleaf,
+                             final int[] dest, final int offset) {
+        if (offset < 0 || offset > dest.length - CpuidResult.REGISTER_COUNT) {
+            throw new ArrayIndexOutOfBoundsException("offset " + offset
+                    + " out of range for length " + dest.length);
+        }
+
+        int index = snapshot.indexOf(leaf, subleaf);
+        if (index < 0) {
+            dest[offset + CpuidRegisters.EAX] = 0;
+            dest[offset + CpuidRegisters.EBX] = 0;
+            dest[offset + CpuidRegisters.ECX] = 0;
+            dest[offset + CpuidRegisters.EDX] = 0;
+            return;
+        }
+
+        dest[offset + CpuidRegisters.EAX] = snapshot.getEax(index);
+        dest[offset + CpuidRegisters.EBX] = snapshot.getEbx(index);
+        dest[offset + CpuidRegisters.ECX] = snapshot.getEcx(index);
+        dest[offset + CpuidRegisters.EDX] = snapshot.getEdx(index);
+    }
+
+    /**
+     * Copies the captured records to the given buffer in native byte order.
+     *
+     * @param buffer the buffer to write the records to
+     * @return the number of captured records
+     */
+    @Override
+    public int dumpCPUID(final ByteBuffer buffer) {
+        ByteBuffer out = buffer.duplicate().order(ByteOrder.nativeOrder());
+        out.clear();
+
+        int fit = Math.min(snapshot.size(),
+                out.capacity() / CpuidSnapshot.RECORD_SIZE);
+        for (int i = 0; i < fit; i++) {
+            out.putInt(snapshot.getLeaf(i));
+            out.putInt(snapshot.getSubleaf(i));
+            out.putInt(snapshot.getEax(i));
+            out.putInt(snapshot.getEbx(i));
+            out.putInt(snapshot.getEcx(i));
+            out.putInt(snapshot.getEdx(i));
+        }
+
+        return snapshot.size();
+    }
+
+    /**
+     * Returns the string representation of this bridge.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "SnapshotBridge{records=" + snapshot.size() + "}";
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A snapshot file that has been read and validated. The record table is
+ * read in place from the buffer holding the file, which is a memory mapping
+ * of the file when it is opened with {@link #open(Path)}.
+ */
+public final class SnapshotFile {
+
+    /** The buffer holding the file. */
+    private final ByteBuffer file;
+
+    /** The records of the file. */
+    private final CpuidSnapshot snapshot;
+
+    private SnapshotFile(final ByteBuffer contents,
+                         final CpuidSnapshot records) {
+        this.file = contents;
+        this.snapshot = records;
+    }
+
+    /**
+     * Memory maps and validates a snapshot file.
+     *
+     * @param path the path of the file
+     * @return the snapshot file
+     * @throws IOException the file could not be read, or is not a valid
+     * snapshot file
+     */
+    public static SnapshotFile open(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size()));
+        }
+    }
+
+    /**
+     * Validates a snapshot file held in a buffer. The buffer is not copied.
+     *
+     * @param buffer the buffer holding the file, from position zero to the
+     * limit
+     * @return the snapshot file
+     * @throws IOException the buffer does not hold a valid snapshot file
+     */
+    public static SnapshotFile read(final ByteBuffer buffer)
+            throws IOException {
+
+        ByteBuffer contents = buffer.duplicate().order(SnapshotFormat.ORDER);
+        contents.position(0);
+
+        if (contents.limit() < SnapshotFormat.HEADER_SIZE) {
+            throw new IOException("not a snapshot file: too short");
+        }
+
+        for (int i = 0; i < SnapshotFormat.MAGIC.length; i++) {
+            if (contents.get(i) != SnapshotFormat.MAGIC[i]) {
+                throw new IOException("not a snapshot file: bad magic");
+            }
+        }
+
+        int version = Short.toUnsignedInt(
+                contents.getShort(SnapshotFormat.VERSION_OFFSET));
+        if (version != SnapshotFormat.VERSION) {
+            throw new IOException("unsupported snapshot version: "
+                    + version);
+        }
+
+        int headerSize = Short.toUnsignedInt(
+                contents.getShort(SnapshotFormat.HEADER_SIZE_OFFSET));
+        int count = contents.getInt(SnapshotFormat.COUNT_OFFSET);
+        int recordSize = contents.getInt(SnapshotFormat.RECORD_SIZE_OFFSET);
+        if (headerSize < SnapshotFormat.HEADER_SIZE
+                || recordSize != CpuidSnapshot.RECORD_SIZE || count < 0
+                || headerSize + (long) count * recordSize
+                != contents.limit()) {
+            throw new IOException("corrupt snapshot file: header does not "
+                    + "match the file size");
+        }
+
+        if (contents.getInt(SnapshotFormat.CHECKSUM_OFFSET)
+                != SnapshotFormat.checksum(contents)) {
+            throw new IOException("corrupt snapshot file: bad checksum");
+        }
+
+        contents.position(headerSize);
+        CpuidSnapshot records = CpuidSnapshot.wrap(contents.slice(), count,
+                SnapshotFormat.ORDER);
+        if (SnapshotFormat.findUnordered(records) >= 0) {
+            throw new IOException("corrupt snapshot file: records are not "
+                    + "ordered");
+        }
+
+        contents.position(0);
+        return new SnapshotFile(contents, records);
+    }
+
+    /**
+     * Gets the format version of the file.
+     *
+     * @return the format version
+     */
+    public int getVersion() {
+        return Short.toUnsignedInt(
+                file.getShort(SnapshotFormat.VERSION_OFFSET));
+    }
+
+    /**
+     * Gets the time the snapshot was captured.
+     *
+     * @return the capture time, in milliseconds since the epoch
+     */
+    public long getCreatedMillis() {
+        return file.getLong(SnapshotFormat.CREATED_OFFSET);
+    }
+
+    /**
+     * Gets the signature of the captured processor, the EAX value of leaf
+     * 0x1.
+     *
+     * @return the processor signature
+     */
+    public int getSignature() {
+        return file.getInt(SnapshotFormat.SIGNATURE_OFFSET);
+    }
+
+    /**
+     * Gets the vendor ID of the captured processor.
+     *
+     * @return the vendor ID
+     */
+    public String getVendorId() {
+        return getString(SnapshotFormat.VENDOR_OFFSET,
+                SnapshotFormat.VENDOR_LENGTH);
+    }
+
+    /**
+     * Gets the brand string of the captured processor.
+     *
+     * @return the brand string, or an empty string if the processor did not
+     * report one
+     */
+    public String getBrand() {
+        return getString(SnapshotFormat.BRAND_OFFSET,
+                SnapshotFormat.BRAND_LENGTH);
+    }
+
+    /**
+     * Gets the records of the file.
+     *
+     * @return the records
+     */
+    public CpuidSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Creates a bridge replaying the records of the file.
+     *
+     * @return the bridge
+     */
+    public SnapshotBridge toBridge() {
+        return new SnapshotBridge(snapshot);
+    }
+
+    /**
+     * Returns the string representation of this file.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "SnapshotFile{version=" + getVersion() + ", vendor='"
+                + getVendorId() + "', brand='" + getBrand()
+                + "', signature=0x" + Integer.toHexString(getSignature())
+                + ", records=" + snapshot.size() + "}";
+    }
+
+    private String getString(final int offset, final int length) {
+        byte[] bytes = new byte[length];
+        int end = 0;
+        while (end < length && file.get(offset + end) != 0) {
+            bytes[end] = file.get(offset + end);
+            end++;
+        }
+
+        return new String(bytes, 0, end, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Describes the layout of a snapshot file. All values are little endian.
+ * <pre>
+ * Offset  Size  Field
+ *      0     8  magic, the ASCII characters JCPUIDSN
+ *      8     2  format version
+ *     10     2  header size, the offset of the record table
+ *     12     4  record count
+ *     16     4  record size, always 24
+ *     20     4  CRC-32 of the file, computed with this field skipped
+ *     24     8  capture time, in milliseconds since the epoch
+ *     32     4  processor signature, EAX of leaf 0x1
+ *     36    12  vendor ID, ASCII
+ *     48    48  brand string, ASCII padded with NULs
+ *     96        record table
+ * </pre>
+ * The record table holds one {@link CpuidSnapshot#RECORD_SIZE} byte record
+ * per leaf and sub-leaf, sorted by leaf and then by sub-leaf as unsigned
+ * integers, in the layout described by {@link CpuidSnapshot}.
+ */
+final class SnapshotFormat {
+
+    /** The byte order of every value in the file. */
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /** The magic number identifying a snapshot file. */
+    static final byte[] MAGIC = "JCPUIDSN".getBytes(StandardCharsets.US_ASCII);
+
+    /** The current format version. */
+    static final int VERSION = 1;
+
+    /** Offset of the format version. */
+    static final int VERSION_OFFSET = 8;
+
+    /** Offset of the header size. */
+    static final int HEADER_SIZE_OFFSET = 10;
+
+    /** Offset of the record count. */
+    static final int COUNT_OFFSET = 12;
+
+    /** Offset of the record size. */
+    static final int RECORD_SIZE_OFFSET = 16;
+
+    /** Offset of the checksum. */
+    static final int CHECKSUM_OFFSET = 20;
+
+    /** Offset of the capture time. */
+    static final int CREATED_OFFSET = 24;
+
+    /** Offset of the processor signature. */
+    static final int SIGNATURE_OFFSET = 32;
+
+    /** Offset of the vendor ID. */
+    static final int VENDOR_OFFSET = 36;
+
+    /** Length of the vendor ID. */
+    static final int VENDOR_LENGTH = 12;
+
+    /** Offset of the brand string. */
+    static final int BRAND_OFFSET = 48;
+
+    /** Length of the brand string. */
+    static final int BRAND_LENGTH = 48;
+
+    /** The size of the version 1 header. */
+    static final int HEADER_SIZE = 96;
+
+    private SnapshotFormat() {
+
+    }
+
+    /**
+     * Computes the checksum of a file, skipping the checksum field.
+     *
+     * @param file the contents of the file, from position zero to the limit
+     * @return the checksum
+     */
+    static int checksum(final ByteBuffer file) {
+        CRC32 crc = new CRC32();
+
+        ByteBuffer before = file.duplicate();
+        before.position(0).limit(CHECKSUM_OFFSET);
+        crc.update(before);
+
+        ByteBuffer after = file.duplicate();
+        after.position(CHECKSUM_OFFSET + Integer.BYTES);
+        crc.update(after);
+
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Compares the keys of two records.
+     *
+     * @param leaf the leaf of the first record
+     * @param subleaf the sub-leaf of the first record
+     * @param otherLeaf the leaf of the second record
+     * @param otherSubleaf the sub-leaf of the second record
+     * @return a negative number, zero or a positive number if the first
+     * record is ordered before, with or after the second record
+     */
+    static int compare(final int leaf, final int subleaf, final int otherLeaf,
+                       final int otherSubleaf) {
+        int cmp = Integer.compareUnsigned(leaf, otherLeaf);
+        if (cmp == 0) {
+            cmp = Integer.compareUnsigned(subleaf, otherSubleaf);
+        }
+
+        return cmp;
+    }
+
+    /**
+     * Checks that the records of a snapshot are strictly ordered.
+     *
+     * @param snapshot the snapshot
+     * @return the index of the first record that is not ordered after the
+     * record before it, or -1 if every record is ordered
+     */
+    static int findUnordered(final CpuidSnapshot snapshot) {
+        for (int i = 1; i < snapshot.size(); i++) {
+            if (compare(snapshot.getLeaf(i - 1), snapshot.getSubleaf(i - 1),
+                    snapshot.getLeaf(i), snapshot.getSubleaf(i)) >= 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
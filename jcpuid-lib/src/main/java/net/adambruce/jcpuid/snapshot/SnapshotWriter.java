@@ -0,0 +1,169 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.CpuidImpl;
+import net.adambruce.jcpuid.info.CpuIdentity;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes snapshot files, capturing the CPUID state of a host so that it can
+ * be replayed with a {@link SnapshotBridge}.
+ */
+public final class SnapshotWriter {
+
+    /** The number of records the first capture attempt has room for. */
+    private static final int INITIAL_CAPACITY = 512;
+
+    /** The largest number of records a capture can hold. */
+    private static final int MAX_CAPACITY = 0x100000;
+
+    private SnapshotWriter() {
+
+    }
+
+    /**
+     * Enumerates every leaf and sub-leaf of the given CPUID implementation
+     * into a snapshot.
+     *
+     * @param cpuid the CPUID implementation
+     * @return the snapshot
+     */
+    public static CpuidSnapshot capture(final Cpuid cpuid) {
+        int capacity = INITIAL_CAPACITY;
+        while (true) {
+            try {
+                return cpuid.snapshot(CpuidSnapshot.allocate(capacity));
+            } catch (IllegalArgumentException ex) {
+                // The buffer was too small, retry with a larger one
+                if (capacity >= MAX_CAPACITY) {
+                    throw ex;
+                }
+                capacity *= 2;
+            }
+        }
+    }
+
+    /**
+     * Captures the CPUID state of the given implementation and encodes it as
+     * a snapshot file.
+     *
+     * @param cpuid the CPUID implementation
+     * @return a buffer holding the file, from position zero to the limit
+     */
+    public static ByteBuffer encode(final Cpuid cpuid) {
+        return encode(capture(cpuid), System.currentTimeMillis());
+    }
+
+    /**
+     * Encodes a snapshot as a snapshot file. The identity in the header is
+     * read from the records of the snapshot.
+     *
+     * @param snapshot the snapshot
+     * @param createdMillis the capture time, in milliseconds since the epoch
+     * @return a buffer holding the file, from position zero to the limit
+     * @throws IllegalArgumentException the records of the snapshot are not
+     * strictly ordered by leaf and sub-leaf
+     */
+    public static ByteBuffer encode(final CpuidSnapshot snapshot,
+                                    final long createdMillis) {
+        int unordered = SnapshotFormat.findUnordered(snapshot);
+        if (unordered >= 0) {
+            throw new IllegalArgumentException("record " + unordered
+                    + " is not ordered after the record before it");
+        }
+
+        CpuIdentity identity = CpuIdentity.detect(
+                new CpuidImpl(new SnapshotBridge(snapshot)));
+
+        ByteBuffer file = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE
+                + snapshot.size() * CpuidSnapshot.RECORD_SIZE)
+                .order(SnapshotFormat.ORDER);
+
+        file.put(SnapshotFormat.MAGIC);
+        file.putShort(SnapshotFormat.VERSION_OFFSET,
+                (short) SnapshotFormat.VERSION);
+        file.putShort(SnapshotFormat.HEADER_SIZE_OFFSET,
+                (short) SnapshotFormat.HEADER_SIZE);
+        file.putInt(SnapshotFormat.COUNT_OFFSET, snapshot.size());
+        file.putInt(SnapshotFormat.RECORD_SIZE_OFFSET,
+                CpuidSnapshot.RECORD_SIZE);
+        file.putLong(SnapshotFormat.CREATED_OFFSET, createdMillis);
+        file.putInt(SnapshotFormat.SIGNATURE_OFFSET, identity.getSignature());
+        putString(file, SnapshotFormat.VENDOR_OFFSET,
+                SnapshotFormat.VENDOR_LENGTH, identity.getVendorId());
+        putString(file, SnapshotFormat.BRAND_OFFSET,
+                SnapshotFormat.BRAND_LENGTH, identity.getBrand());
+
+        file.position(SnapshotFormat.HEADER_SIZE);
+        for (int i = 0; i < snapshot.size(); i++) {
+            file.putInt(snapshot.getLeaf(i));
+            file.putInt(snapshot.getSubleaf(i));
+            file.putInt(snapshot.getEax(i));
+            file.putInt(snapshot.getEbx(i));
+            file.putInt(snapshot.getEcx(i));
+            file.putInt(snapshot.getEdx(i));
+        }
+
+        file.flip();
+        file.putInt(SnapshotFormat.CHECKSUM_OFFSET,
+                SnapshotFormat.checksum(file));
+        return file;
+    }
+
+    /**
+     * Captures the CPUID state of the given implementation and writes it to
+     * a snapshot file, replacing the file if it exists.
+     *
+     * @param cpuid the CPUID implementation
+     * @param file the file to write
+     * @throws IOException the file could not be written
+     */
+    public static void write(final Cpuid cpuid, final Path file)
+            throws IOException {
+
+        write(encode(cpuid), file);
+    }
+
+    private static void write(final ByteBuffer contents, final Path file)
+            throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+        }
+    }
+
+    private static void putString(final ByteBuffer file, final int offset,
+                                  final int length, final String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.ISO_8859_1);
+        for (int i = 0; i < bytes.length && i < length; i++) {
+            file.put(offset + i, bytes[i]);
+        }
+    }
+}
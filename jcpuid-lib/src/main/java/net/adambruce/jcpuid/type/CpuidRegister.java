@@ -16,8 +16,6 @@
 
 package net.adambruce.jcpuid.type;
 
-import java.util.Objects;
-
 /**
  * Holds a register value and provides utility methods for accessing that data.
  */
@@ -26,21 +24,17 @@ public class CpuidRegister {
     /** Width of a byte in bits. */
     private static final int BYTE_WIDTH = 8;
 
-    /** Bit mask for a bit. */
-    private static final int BIT_MASK = 1;
-
-    /** Bit mask for shorts. */
-    private static final int SHORT_MASK = 0xFFFF;
-
     /** Bit mask for bytes. */
     private static final int BYTE_MASK = 0xFF;
 
-    /** Bit mask for nibbles. */
-    private static final int NIBBLE_MASK = 0xF;
-
     /** The number of bytes (or characters) per register. */
     private static final int BYTES_PER_REGISTER = 4;
 
+    /** The number of shared registers, holding the values from zero. */
+    private static final int CACHE_SIZE = 256;
+
+    /** The shared registers returned by {@link #valueOf(int)}. */
+    private static final CpuidRegister[] CACHE = createCache();
 
     /** The integer value of the register. */
     private final int intValue;
@@ -54,6 +48,30 @@ public class CpuidRegister {
         this.intValue = value;
     }
 
+    /**
+     * Gets a register with the given value. Registers holding values from 0
+     * to 255, which include most counts, sizes and empty registers, are
+     * shared rather than created.
+     *
+     * @param value the integer value of the register
+     * @return the register
+     */
+    public static CpuidRegister valueOf(final int value) {
+        if (value >= 0 && value < CACHE_SIZE) {
+            return CACHE[value];
+        }
+
+        return new CpuidRegister(value);
+    }
+
+    private static CpuidRegister[] createCache() {
+        CpuidRegister[] cache = new CpuidRegister[CACHE_SIZE];
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            cache[i] = new CpuidRegister(i);
+        }
+        return cache;
+    }
+
     /**
      * Gets the integer value of the register.
      *
@@ -71,7 +89,7 @@ public class CpuidRegister {
      * @return the short value
      */
     public int getShortValue(final int offset) {
-        return (intValue >> offset) & SHORT_MASK;
+        return CpuidRegisters.getShortValue(intValue, offset);
     }
 
     /**
@@ -82,7 +100,7 @@ public class CpuidRegister {
      * @return the byte value
      */
     public int getByteValue(final int offset) {
-        return (intValue >> offset) & BYTE_MASK;
+        return CpuidRegisters.getByteValue(intValue, offset);
     }
 
     /**
@@ -93,7 +111,7 @@ public class CpuidRegister {
      * @return the nibble value
      */
     public int getNibbleValue(final int offset) {
-        return (intValue >> offset) & NIBBLE_MASK;
+        return CpuidRegisters.getNibbleValue(intValue, offset);
     }
 
     /**
@@ -103,7 +121,7 @@ public class CpuidRegister {
      * @return the bit value
      */
     public int getBitValue(final int offset) {
-        return (intValue >> offset) & BIT_MASK;
+        return CpuidRegisters.getBitValue(intValue, offset);
     }
 
     /**
@@ -113,7 +131,7 @@ public class CpuidRegister {
      * @return whether the bit is set
      */
     public boolean isBitSet(final int bit) {
-        return (intValue & (BIT_MASK << bit)) != 0;
+        return CpuidRegisters.isBitSet(intValue, bit);
     }
 
     /**
@@ -158,7 +176,7 @@ public class CpuidRegister {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(intValue);
+        return Integer.hashCode(intValue);
     }
 
     /**
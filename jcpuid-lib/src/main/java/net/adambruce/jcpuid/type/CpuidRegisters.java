@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.type;
+
+/**
+ * Provides the register layout used by the array based APIs, and utility
+ * methods for extracting bit-fields from raw register values without
+ * creating a {@link CpuidRegister}.
+ */
+public final class CpuidRegisters {
+
+    /** Index of the EAX register within a group of registers. */
+    public static final int EAX = 0;
+
+    /** Index of the EBX register within a group of registers. */
+    public static final int EBX = 1;
+
+    /** Index of the ECX register within a group of registers. */
+    public static final int ECX = 2;
+
+    /** Index of the EDX register within a group of registers. */
+    public static final int EDX = 3;
+
+    /** Width of a register in bits. */
+    private static final int REGISTER_WIDTH = 32;
+
+    /** Bit mask for a bit. */
+    private static final int BIT_MASK = 1;
+
+    /** Bit mask for shorts. */
+    private static final int SHORT_MASK = 0xFFFF;
+
+    /** Bit mask for bytes. */
+    private static final int BYTE_MASK = 0xFF;
+
+    /** Bit mask for nibbles. */
+    private static final int NIBBLE_MASK = 0xF;
+
+    private CpuidRegisters() {
+
+    }
+
+    /**
+     * Gets the short value of the register at the given offset. Offsets are
+     * the number of bits to shift.
+     *
+     * @param value the register value
+     * @param offset the offset (number of bits)
+     * @return the short value
+     */
+    public static int getShortValue(final int value, final int offset) {
+        return (value >> offset) & SHORT_MASK;
+    }
+
+    /**
+     * Gets the byte value of the register at the given offset. Offsets are
+     * the number of bits to shift.
+     *
+     * @param value the register value
+     * @param offset the offset (number of bits)
+     * @return the byte value
+     */
+    public static int getByteValue(final int value, final int offset) {
+        return (value >> offset) & BYTE_MASK;
+    }
+
+    /**
+     * Gets the nibble value of the register at the given offset. Offsets are
+     * the number of bits to shift.
+     *
+     * @param value the register value
+     * @param offset the offset (number of bits)
+     * @return the nibble value
+     */
+    public static int getNibbleValue(final int value, final int offset) {
+        return (value >> offset) & NIBBLE_MASK;
+    }
+
+    /**
+     * Gets the state of a bit in the register.
+     *
+     * @param value the register value
+     * @param offset the offset (number of bits)
+     * @return the bit value
+     */
+    public static int getBitValue(final int value, final int offset) {
+        return (value >> offset) & BIT_MASK;
+    }
+
+    /**
+     * Gets the state of a bit in the register.
+     *
+     * @param value the register value
+     * @param bit the index of the bit to check
+     * @return whether the bit is set
+     */
+    public static boolean isBitSet(final int value, final int bit) {
+        return (value & (BIT_MASK << bit)) != 0;
+    }
+
+    /**
+     * Gets an arbitrary bit-field of the register. The field is returned
+     * unsigned, so a 32-bit field at offset 0 returns the register value.
+     *
+     * @param value the register value
+     * @param offset the offset of the lowest bit of the field
+     * @param width the number of bits in the field
+     * @return the value of the field
+     */
+    public static int getBits(final int value, final int offset,
+                              final int width) {
+        if (width >= REGISTER_WIDTH) {
+            return value >>> offset;
+        }
+
+        return (value >>> offset) & ((BIT_MASK << width) - 1);
+    }
+}
@@ -16,24 +16,36 @@
 
 package net.adambruce.jcpuid.type;
 
-import java.util.Objects;
-
 /**
  * Holds the result of a CPUID instruction execution the EAX, EBX, ECX and EDX
  * registers.
+ * <p>
+ * The register values are stored as four {@code int} fields, so a result is
+ * a single object. The {@link CpuidRegister} views returned by
+ * {@link #getEax()} and the other register getters are created on demand,
+ * and shared for small values, see {@link CpuidRegister#valueOf(int)}. Code
+ * that only needs the raw value should use {@link #getEaxValue()} and the
+ * other value getters, which never allocate.
  */
 public class CpuidResult {
+
+    /** The number of registers held by a result. */
+    public static final int REGISTER_COUNT = 4;
+
+    /** Multiplier used to combine the register values into a hash code. */
+    private static final int HASH_MULTIPLIER = 31;
+
     /** The value returned in the EAX register. */
-    private final CpuidRegister eaxRegister;
+    private final int eaxValue;
 
     /** The value returned in the EBX register. */
-    private final CpuidRegister ebxRegister;
+    private final int ebxValue;
 
     /** The value returned in the ECX register. */
-    private final CpuidRegister ecxRegister;
+    private final int ecxValue;
 
     /** The value returned in the EDX register. */
-    private final CpuidRegister edxRegister;
+    private final int edxValue;
 
     /**
      * Create a new Result to store CPUID data.
@@ -45,10 +57,10 @@ public class CpuidResult {
      */
     public CpuidResult(final int eax, final int ebx, final int ecx,
                        final int edx) {
-        this.eaxRegister = new CpuidRegister(eax);
-        this.ebxRegister = new CpuidRegister(ebx);
-        this.ecxRegister = new CpuidRegister(ecx);
-        this.edxRegister = new CpuidRegister(edx);
+        this.eaxValue = eax;
+        this.ebxValue = ebx;
+        this.ecxValue = ecx;
+        this.edxValue = edx;
     }
 
     /**
@@ -57,7 +69,7 @@ public class CpuidResult {
      * @return the value returned in the EAX register
      */
     public CpuidRegister getEax() {
-        return eaxRegister;
+        return CpuidRegister.valueOf(eaxValue);
     }
 
     /**
@@ -66,7 +78,7 @@ public class CpuidResult {
      * @return the value returned in the EBX register
      */
     public CpuidRegister getEbx() {
-        return ebxRegister;
+        return CpuidRegister.valueOf(ebxValue);
     }
 
     /**
@@ -75,7 +87,7 @@ public class CpuidResult {
      * @return the value returned in the ECX register
      */
     public CpuidRegister getEcx() {
-        return ecxRegister;
+        return CpuidRegister.valueOf(ecxValue);
     }
 
     /**
@@ -84,7 +96,57 @@ public class CpuidResult {
      * @return the value returned in the EDX register
      */
     public CpuidRegister getEdx() {
-        return edxRegister;
+        return CpuidRegister.valueOf(edxValue);
+    }
+
+    /**
+     * Get the integer value returned in the EAX register.
+     *
+     * @return the value returned in the EAX register
+     */
+    public int getEaxValue() {
+        return eaxValue;
+    }
+
+    /**
+     * Get the integer value returned in the EBX register.
+     *
+     * @return the value returned in the EBX register
+     */
+    public int getEbxValue() {
+        return ebxValue;
+    }
+
+    /**
+     * Get the integer value returned in the ECX register.
+     *
+     * @return the value returned in the ECX register
+     */
+    public int getEcxValue() {
+        return ecxValue;
+    }
+
+    /**
+     * Get the integer value returned in the EDX register.
+     *
+     * @return the value returned in the EDX register
+     */
+    public int getEdxValue() {
+        return edxValue;
+    }
+
+    /**
+     * Copies the register values to the given array in EAX, EBX, ECX, EDX
+     * order.
+     *
+     * @param dest the array to copy the register values to
+     * @param offset the index of the first element to write
+     */
+    public void copyTo(final int[] dest, final int offset) {
+        dest[offset + CpuidRegisters.EAX] = eaxValue;
+        dest[offset + CpuidRegisters.EBX] = ebxValue;
+        dest[offset + CpuidRegisters.ECX] = ecxValue;
+        dest[offset + CpuidRegisters.EDX] = edxValue;
     }
 
     /**
@@ -95,10 +157,10 @@ public class CpuidResult {
     @Override
     public String toString() {
         return "CpuidResult{"
-                + "eax=" + eaxRegister + ","
-                + "ebx=" + ebxRegister + ","
-                + "ecx=" + ecxRegister + ","
-                + "edx=" + edxRegister
+                + "eax=" + getEax() + ","
+                + "ebx=" + getEbx() + ","
+                + "ecx=" + getEcx() + ","
+                + "edx=" + getEdx()
                 + "}";
     }
 
@@ -121,10 +183,10 @@ public class CpuidResult {
 
         CpuidResult other = (CpuidResult) obj;
 
-        return Objects.equals(this.eaxRegister, other.eaxRegister)
-                && Objects.equals(this.ebxRegister, other.ebxRegister)
-                && Objects.equals(this.ecxRegister, other.ecxRegister)
-                && Objects.equals(this.edxRegister, other.edxRegister);
+        return this.eaxValue == other.eaxValue
+                && this.ebxValue == other.ebxValue
+                && this.ecxValue == other.ecxValue
+                && this.edxValue == other.edxValue;
     }
 
     /**
@@ -134,6 +196,9 @@ public class CpuidResult {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(eaxRegister, ebxRegister, ecxRegister, edxRegister);
+        int hash = eaxValue;
+        hash = hash * HASH_MULTIPLIER + ebxValue;
+        hash = hash * HASH_MULTIPLIER + ecxValue;
+        return hash * HASH_MULTIPLIER + edxValue;
     }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.type;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Provides indexed read access to a stream of CPUID records held in a byte
+ * buffer. Each record is {@link #RECORD_SIZE} bytes long and holds the leaf,
+ * sub-leaf, EAX, EBX, ECX and EDX values as integers, in native byte order
+ * unless another order is given when wrapping the buffer.
+ * Records are ordered by leaf and then by sub-leaf, both compared as
+ * unsigned integers, and start at the beginning of the buffer.
+ */
+public final class CpuidSnapshot {
+
+    /** The size of a single record in bytes. */
+    public static final int RECORD_SIZE = 24;
+
+    /** Offset of the leaf within a record. */
+    private static final int LEAF_OFFSET = 0;
+
+    /** Offset of the sub-leaf within a record. */
+    private static final int SUBLEAF_OFFSET = 4;
+
+    /** Offset of the EAX register within a record. */
+    private static final int EAX_OFFSET = 8;
+
+    /** Offset of the EBX register within a record. */
+    private static final int EBX_OFFSET = 12;
+
+    /** Offset of the ECX register within a record. */
+    private static final int ECX_OFFSET = 16;
+
+    /** Offset of the EDX register within a record. */
+    private static final int EDX_OFFSET = 20;
+
+    /** The buffer holding the records. */
+    private final ByteBuffer records;
+
+    /** The number of records in the buffer. */
+    private final int count;
+
+    private CpuidSnapshot(final ByteBuffer buffer, final int recordCount,
+                          final ByteOrder order) {
+        this.records = buffer.duplicate().order(order);
+        this.count = recordCount;
+    }
+
+    /**
+     * Allocates a direct buffer in native byte order large enough to hold the
+     * given number of records.
+     *
+     * @param recordCount the number of records the buffer must hold
+     * @return the allocated buffer
+     */
+    public static ByteBuffer allocate(final int recordCount) {
+        return ByteBuffer.allocateDirect(recordCount * RECORD_SIZE)
+                .order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Creates a snapshot over the first records of the given buffer. The
+     * buffer is not copied, so later changes to it are visible through the
+     * snapshot.
+     *
+     * @param buffer the buffer holding the records
+     * @param recordCount the number of records in the buffer
+     * @return the snapshot
+     * @throws IllegalArgumentException the buffer cannot hold the given
+     * number of records
+     */
+    public static CpuidSnapshot wrap(final ByteBuffer buffer,
+                                     final int recordCount) {
+        return wrap(buffer, recordCount, ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Creates a snapshot over the first records of the given buffer, which
+     * hold their values in the given byte order rather than the native byte
+     * order, for example records read from a file. The buffer is not copied,
+     * so later changes to it are visible through the snapshot.
+     *
+     * @param buffer the buffer holding the records
+     * @param recordCount the number of records in the buffer
+     * @param order the byte order of the values in the records
+     * @return the snapshot
+     * @throws IllegalArgumentException the buffer cannot hold the given
+     * number of records
+     */
+    public static CpuidSnapshot wrap(final ByteBuffer buffer,
+                                     final int recordCount,
+                                     final ByteOrder order) {
+        long required = (long) recordCount * RECORD_SIZE;
+        if (recordCount < 0 || required > buffer.capacity()) {
+            throw new IllegalArgumentException("buffer too small: "
+                    + recordCount + " records need " + required
+                    + " bytes but the buffer holds " + buffer.capacity());
+        }
+
+        return new CpuidSnapshot(buffer, recordCount, order);
+    }
+
+    /**
+     * Gets the number of records in the snapshot.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the leaf of the record at the given index.
+     *
+     * @param index the index of the record
+     * @return the leaf
+     */
+    public int getLeaf(final int index) {
+        return getField(index, LEAF_OFFSET);
+    }
+
+    /**
+     * Gets the sub-leaf of the record at the given index.
+     *
+     * @param index the index of the record
+     * @return the sub-leaf
+     */
+    public int getSubleaf(final int index) {
+        return getField(index, SUBLEAF_OFFSET);
+    }
+
+    /**
+     * Gets the value of the EAX register of the record at the given index.
+     *
+     * @param index the index of the record
+     * @return the value of the EAX register
+     */
+    public int getEax(final int index) {
+        return getField(index, EAX_OFFSET);
+    }
+
+    /**
+     * Gets the value of the EBX register of the record at the given index.
+     *
+     * @param index the index of the record
+     * @return the value of the EBX register
+     */
+    public int getEbx(final int index) {
+        return getField(index, EBX_OFFSET);
+    }
+
+    /**
+     * Gets the value of the ECX register of the record at the given index.
+     *
+     * @param index the index of the record
+     * @return the value of the ECX register
+     */
+    public int getEcx(final int index) {
+        return getField(index, ECX_OFFSET);
+    }
+
+    /**
+     * Gets the value of the EDX register of the record at the given index.
+     *
+     * @param index the index of the record
+     * @return the value of the EDX register
+     */
+    public int getEdx(final int index) {
+        return getField(index, EDX_OFFSET);
+    }
+
+    /**
+     * Gets the registers of the record at the given index as a result.
+     *
+     * @param index the index of the record
+     * @return the result holding the registers of the record
+     */
+    public CpuidResult getResult(final int index) {
+        return new CpuidResult(getEax(index), getEbx(index), getEcx(index),
+                getEdx(index));
+    }
+
+    /**
+     * Finds the record for the given leaf and sub-leaf.
+     *
+     * @param leaf the leaf
+     * @param subleaf the sub-leaf
+     * @return the index of the record, or -1 if the snapshot does not contain
+     * the leaf and sub-leaf
+     */
+    public int indexOf(final int leaf, final int subleaf) {
+        int low = 0;
+        int high = count - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Integer.compareUnsigned(getLeaf(mid), leaf);
+            if (cmp == 0) {
+                cmp = Integer.compareUnsigned(getSubleaf(mid), subleaf);
+            }
+
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -1;
+    }
+
+    private int getField(final int index, final int offset) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("record index " + index
+                    + " out of range for " + count + " records");
+        }
+
+        return records.getInt(index * RECORD_SIZE + offset);
+    }
+
+    /**
+     * Returns the string representation of this snapshot.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "CpuidSnapshot{records=" + count + "}";
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.type;
+
+/**
+ * Holds the results of executing the same leaf and sub-leaf requests on
+ * several logical CPUs. Results are addressed by the index of the CPU and
+ * the index of the request, both in the order they were given to the sweep.
+ */
+public final class CpuidSweepResult {
+
+    /** The logical CPU numbers. */
+    private final int[] cpus;
+
+    /** The leaf of each request. */
+    private final int[] leaves;
+
+    /** The sub-leaf of each request. */
+    private final int[] subleaves;
+
+    /**
+     * The registers of each request on each CPU, grouped by CPU and then by
+     * request, in EAX, EBX, ECX, EDX order.
+     */
+    private final int[] registers;
+
+    /**
+     * Creates a new result table. The arrays are copied.
+     *
+     * @param cpuNumbers the logical CPU numbers
+     * @param requestLeaves the leaf of each request
+     * @param requestSubleaves the sub-leaf of each request
+     * @param registerValues the registers of each request on each CPU,
+     * grouped by CPU and then by request, in EAX, EBX, ECX, EDX order
+     * @throws IllegalArgumentException the sub-leaves do not match the
+     * leaves, or the number of register values does not match the number of
+     * CPUs and requests
+     */
+    public CpuidSweepResult(final int[] cpuNumbers, final int[] requestLeaves,
+                            final int[] requestSubleaves,
+                            final int[] registerValues) {
+
+        if (requestLeaves.length != requestSubleaves.length) {
+            throw new IllegalArgumentException("expected one sub-leaf per "
+                    + "leaf, got " + requestLeaves.length + " leaves and "
+                    + requestSubleaves.length + " sub-leaves");
+        }
+
+        long expected = (long) cpuNumbers.length * requestLeaves.length
+                * CpuidResult.REGISTER_COUNT;
+        if (registerValues.length != expected) {
+            throw new IllegalArgumentException("expected " + expected
+                    + " register values but got " + registerValues.length);
+        }
+
+        this.cpus = cpuNumbers.clone();
+        this.leaves = requestLeaves.clone();
+        this.subleaves = requestSubleaves.clone();
+        this.registers = registerValues.clone();
+    }
+
+    /**
+     * Gets the number of CPUs in the table.
+     *
+     * @return the number of CPUs
+     */
+    public int getCpuCount() {
+        return cpus.length;
+    }
+
+    /**
+     * Gets the logical CPU number at the given index.
+     *
+     * @param cpuIndex the index of the CPU
+     * @return the logical CPU number
+     */
+    public int getCpu(final int cpuIndex) {
+        return cpus[cpuIndex];
+    }
+
+    /**
+     * Gets the logical CPU numbers in the table.
+     *
+     * @return a copy of the logical CPU numbers
+     */
+    public int[] getCpus() {
+        return cpus.clone();
+    }
+
+    /**
+     * Finds the index of the given logical CPU.
+     *
+     * @param cpu the logical CPU number
+     * @return the index of the CPU, or -1 if the table does not contain it
+     */
+    public int indexOfCpu(final int cpu) {
+        for (int i = 0; i < cpus.length; i++) {
+            if (cpus[i] == cpu) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the number of requests executed on each CPU.
+     *
+     * @return the number of requests
+     */
+    public int getRequestCount() {
+        return leaves.length;
+    }
+
+    /**
+     * Gets the leaf of the request at the given index.
+     *
+     * @param requestIndex the index of the request
+     * @return the leaf
+     */
+    public int getLeaf(final int requestIndex) {
+        return leaves[requestIndex];
+    }
+
+    /**
+     * Gets the sub-leaf of the request at the given index.
+     *
+     * @param requestIndex the index of the request
+     * @return the sub-leaf
+     */
+    public int getSubleaf(final int requestIndex) {
+        return subleaves[requestIndex];
+    }
+
+    /**
+     * Finds the index of the request for the given leaf and sub-leaf.
+     *
+     * @param leaf the leaf
+     * @param subleaf the sub-leaf
+     * @return the index of the first matching request, or -1 if there is
+     * none
+     */
+    public int indexOfRequest(final int leaf, final int subleaf) {
+        for (int i = 0; i < leaves.length; i++) {
+            if (leaves[i] == leaf && subleaves[i] == subleaf) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the value of a register of a request executed on a CPU.
+     *
+     * @param cpuIndex the index of the CPU
+     * @param requestIndex the index of the request
+     * @param register the register, one of the indices defined by
+     * {@link CpuidRegisters}
+     * @return the value of the register
+     */
+    public int getRegister(final int cpuIndex, final int requestIndex,
+                           final int register) {
+        if (register < 0 || register >= CpuidResult.REGISTER_COUNT) {
+            throw new IndexOutOfBoundsException("register index " + register
+                    + " out of range for " + CpuidResult.REGISTER_COUNT
+                    + " registers");
+        }
+
+        return registers[offsetOf(cpuIndex, requestIndex) + register];
+    }
+
+    /**
+     * Gets the registers of a request executed on a CPU as a result.
+     *
+     * @param cpuIndex the index of the CPU
+     * @param requestIndex the index of the request
+     * @return the result holding the registers
+     */
+    public CpuidResult getResult(final int cpuIndex, final int requestIndex) {
+        int offset = offsetOf(cpuIndex, requestIndex);
+        return new CpuidResult(registers[offset + CpuidRegisters.EAX],
+                registers[offset + CpuidRegisters.EBX],
+                registers[offset + CpuidRegisters.ECX],
+                registers[offset + CpuidRegisters.EDX]);
+    }
+
+    private int offsetOf(final int cpuIndex, final int requestIndex) {
+        if (cpuIndex < 0 || cpuIndex >= cpus.length) {
+            throw new IndexOutOfBoundsException("CPU index " + cpuIndex
+                    + " out of range for " + cpus.length + " CPUs");
+        }
+
+        if (requestIndex < 0 || requestIndex >= leaves.length) {
+            throw new IndexOutOfBoundsException("request index "
+                    + requestIndex + " out of range for " + leaves.length
+                    + " requests");
+        }
+
+        return (cpuIndex * leaves.length + requestIndex)
+                * CpuidResult.REGISTER_COUNT;
+    }
+
+    /**
+     * Returns the string representation of this result table.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "CpuidSweepResult{cpus=" + cpus.length + ", requests="
+                + leaves.length + "}";
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import net.adambruce.jcpuid.info.CpuIdentity;
+import net.adambruce.jcpuid.info.TopologyLevel;
+
+import java.util.function.Supplier;
+
+/**
+ * The periodic event describing the processor the process runs on.
+ */
+@Name(CpuidEvents.INVENTORY_EVENT)
+@Label("CPU Inventory")
+@Category("JCPUID")
+@Description("The processor identity, features, topology and hypervisor"
+        + " reported by CPUID")
+@Period("everyChunk")
+@StackTrace(false)
+final class CpuInventoryEvent extends Event {
+
+    /** The vendor ID. */
+    @Label("Vendor")
+    private String vendor;
+
+    /** The brand string. */
+    @Label("Brand")
+    private String brand;
+
+    /** The family. */
+    @Label("Family")
+    private int family;
+
+    /** The model. */
+    @Label("Model")
+    private int model;
+
+    /** The stepping. */
+    @Label("Stepping")
+    private int stepping;
+
+    /** The feature names, separated by spaces. */
+    @Label("Features")
+    private String features;
+
+    /** The number of packages. */
+    @Label("Packages")
+    private int packages;
+
+    /** The number of dies. */
+    @Label("Dies")
+    private int dies;
+
+    /** The number of L3 domains. */
+    @Label("L3 Domains")
+    private int l3Domains;
+
+    /** The number of cores. */
+    @Label("Cores")
+    private int cores;
+
+    /** The number of logical CPUs. */
+    @Label("Threads")
+    private int threads;
+
+    /** The hypervisor vendor. */
+    @Label("Hypervisor")
+    private String hypervisor;
+
+    /** The time stamp counter frequency reported by the hypervisor. */
+    @Label("Hypervisor TSC Frequency")
+    @Frequency
+    private long hypervisorTscFrequency;
+
+    /**
+     * Adds the periodic hook that emits the event with the values given by
+     * the supplier.
+     *
+     * @param inventory the supplier of the values
+     */
+    static void register(final Supplier<CpuInventory> inventory) {
+        FlightRecorder.addPeriodicEvent(CpuInventoryEvent.class, () -> {
+            CpuInventoryEvent event = new CpuInventoryEvent();
+            event.set(inventory.get());
+            event.commit();
+        });
+    }
+
+    /**
+     * Copies the values of the inventory into the fields of the event.
+     *
+     * @param inventory the values of the event
+     */
+    private void set(final CpuInventory inventory) {
+        CpuIdentity identity = inventory.getIdentity();
+        vendor = identity.getVendorId();
+        brand = identity.getBrand();
+        family = identity.getFamily();
+        model = identity.getModel();
+        stepping = identity.getStepping();
+        features = inventory.getFeatures();
+        packages = inventory.getCount(TopologyLevel.PACKAGE);
+        dies = inventory.getCount(TopologyLevel.DIE);
+        l3Domains = inventory.getCount(TopologyLevel.L3_DOMAIN);
+        cores = inventory.getCount(TopologyLevel.CORE);
+        threads = inventory.getCount(TopologyLevel.THREAD);
+        hypervisor = inventory.getHypervisor();
+        hypervisorTscFrequency = inventory.getHypervisorTscFrequency();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The duration event of a CPUID execution through a recording bridge.
+ */
+@Name(CpuidEvents.CALL_EVENT)
+@Label("CPUID Call")
+@Category("JCPUID")
+@Description("A CPUID execution through a bridge, or a batch of them")
+@Threshold("10 us")
+final class CpuidCallEvent extends Event {
+
+    /** The leaf, or the first leaf of a batch. */
+    @Label("Leaf")
+    private int leaf;
+
+    /** The sub-leaf, or the first sub-leaf of a batch. */
+    @Label("Sub-leaf")
+    private int subleaf;
+
+    /** The number of executions. */
+    @Label("Count")
+    private int count;
+
+    /**
+     * Ends the event and commits it if it passes the threshold.
+     *
+     * @param eventLeaf the leaf
+     * @param eventSubleaf the sub-leaf
+     * @param eventCount the number of executions
+     */
+    void finish(final int eventLeaf, final int eventSubleaf,
+                final int eventCount) {
+        end();
+        if (shouldCommit()) {
+            leaf = eventLeaf;
+            subleaf = eventSubleaf;
+            count = eventCount;
+            commit();
+        }
+    }
+}
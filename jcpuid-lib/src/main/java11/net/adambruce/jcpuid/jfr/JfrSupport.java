@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.jfr;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registers and emits the Flight Recorder events. This version of the
+ * class is packaged under {@code META-INF/versions/11} and is used instead
+ * of the baseline version on Java 11 and above. The event classes are only
+ * loaded when the {@code jdk.jfr} module is present.
+ */
+final class JfrSupport {
+
+    /** Whether the runtime includes the {@code jdk.jfr} module. */
+    private static final boolean AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    /** The values of the inventory event, or null until registered. */
+    private static final AtomicReference<CpuInventory> INVENTORY =
+            new AtomicReference<>();
+
+    private JfrSupport() {
+
+    }
+
+    /**
+     * Checks whether the runtime supports Flight Recorder events.
+     *
+     * @return true when the {@code jdk.jfr} module is present
+     */
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Registers the inventory event with the given values. The periodic
+     * hook is added on the first registration, and later registrations
+     * only replace the values it emits.
+     *
+     * @param inventory the values of the event
+     * @return true if the event is registered
+     */
+    static boolean registerInventory(final CpuInventory inventory) {
+        if (!AVAILABLE) {
+            return false;
+        }
+
+        if (INVENTORY.getAndSet(inventory) == null) {
+            CpuInventoryEvent.register(INVENTORY::get);
+        }
+        return true;
+    }
+
+    /**
+     * Wraps the given bridge to emit a call event for each execution.
+     *
+     * @param bridge the bridge
+     * @return the recording bridge, or the given bridge when the
+     * {@code jdk.jfr} module is not present
+     */
+    static CpuidBridge record(final CpuidBridge bridge) {
+        if (!AVAILABLE) {
+            return bridge;
+        }
+
+        return new RecordingBridge(bridge);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.jfr;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A bridge that emits a {@link CpuidCallEvent} around each CPUID execution
+ * of another bridge. Enumerations are recorded with a leaf of -1 and the
+ * number of records.
+ */
+final class RecordingBridge implements CpuidBridge {
+
+    /** The leaf recorded for an enumeration. */
+    private static final int ENUMERATION_LEAF = -1;
+
+    /** The bridge executing the instructions. */
+    private final CpuidBridge delegate;
+
+    /**
+     * Creates a bridge recording the executions of the given bridge.
+     *
+     * @param bridge the bridge to record
+     */
+    RecordingBridge(final CpuidBridge bridge) {
+        this.delegate = bridge;
+    }
+
+    @Override
+    public CpuidResult executeCPUID(final int leaf) {
+        CpuidCallEvent event = new CpuidCallEvent();
+        event.begin();
+        CpuidResult result = delegate.executeCPUID(leaf);
+        event.finish(leaf, 0, 1);
+        return result;
+    }
+
+    @Override
+    public CpuidResult executeCPUID(final int leaf, final int subleaf) {
+        CpuidCallEvent event = new CpuidCallEvent();
+        event.begin();
+        CpuidResult result = delegate.executeCPUID(leaf, subleaf);
+        event.finish(leaf, subleaf, 1);
+        return result;
+    }
+
+    @Override
+    public void executeCPUID(final int leaf, final int subleaf,
+                             final int[] dest, final int offset) {
+        CpuidCallEvent event = new CpuidCallEvent();
+        event.begin();
+        delegate.executeCPUID(leaf, subleaf, dest, offset);
+        event.finish(leaf, subleaf, 1);
+    }
+
+    @Override
+    public void executeCPUIDBatch(final int[] leaves, final int[] subleaves,
+                                  final int[] out) {
+        CpuidCallEvent event = new CpuidCallEvent();
+        event.begin();
+        delegate.executeCPUIDBatch(leaves, subleaves, out);
+        if (leaves.length > 0) {
+            event.finish(leaves[0], subleaves[0], leaves.length);
+        }
+    }
+
+    @Override
+    public int dumpCPUID(final ByteBuffer buffer) {
+        CpuidCallEvent event = new CpuidCallEvent();
+        event.begin();
+        int records = delegate.dumpCPUID(buffer);
+        event.finish(ENUMERATION_LEAF, 0, records);
+        return records;
+    }
+
+    @Override
+    public int[] getThreadAffinity() {
+        return delegate.getThreadAffinity();
+    }
+
+    @Override
+    public boolean setThreadAffinity(final int... cpus) {
+        return delegate.setThreadAffinity(cpus);
+    }
+
+    @Override
+    public int getCurrentCpu() {
+        return delegate.getCurrentCpu();
+    }
+
+    @Override
+    public boolean isTSCSupported() {
+        return delegate.isTSCSupported();
+    }
+
+    @Override
+    public long readTSC() {
+        return delegate.readTSC();
+    }
+
+    @Override
+    public long readTSCP() {
+        return delegate.readTSCP();
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.util.Locale;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+/**
+ * Maps small x86_64 functions that execute the CPUID, RDTSC, RDTSCP and
+ * RDPID instructions into executable memory and links downcall handles to
+ * them.
+ * <p>
+ * The CPUID function takes the leaf, the sub-leaf and a pointer to four
+ * 32-bit integers, and stores EAX, EBX, ECX and EDX to the pointer in that
+ * order. RBX is callee-saved in both the System V and Windows calling
+ * conventions, so the function saves and restores it around the
+ * instruction. The other functions take no arguments and return their
+ * result in RAX, and only use registers that are volatile in both
+ * conventions, so the same code is used on every operating system.
+ */
+final class CpuidStub {
+
+    /** The System V AMD64 function, used on Linux and macOS. */
+    private static final byte[] SYSTEM_V_CODE = {
+        (byte) 0x53,                               // push rbx
+        (byte) 0x49, (byte) 0x89, (byte) 0xD0,     // mov r8, rdx
+        (byte) 0x89, (byte) 0xF8,                  // mov eax, edi
+        (byte) 0x89, (byte) 0xF1,                  // mov ecx, esi
+        (byte) 0x0F, (byte) 0xA2,                  // cpuid
+        (byte) 0x41, (byte) 0x89, (byte) 0x00,     // mov [r8], eax
+        (byte) 0x41, (byte) 0x89, (byte) 0x58, 4,  // mov [r8 + 4], ebx
+        (byte) 0x41, (byte) 0x89, (byte) 0x48, 8,  // mov [r8 + 8], ecx
+        (byte) 0x41, (byte) 0x89, (byte) 0x50, 12, // mov [r8 + 12], edx
+        (byte) 0x5B,                               // pop rbx
+        (byte) 0xC3                                // ret
+    };
+
+    /** The Microsoft x64 function, used on Windows. */
+    private static final byte[] WINDOWS_CODE = {
+        (byte) 0x53,                               // push rbx
+        (byte) 0x89, (byte) 0xC8,                  // mov eax, ecx
+        (byte) 0x89, (byte) 0xD1,                  // mov ecx, edx
+        (byte) 0x0F, (byte) 0xA2,                  // cpuid
+        (byte) 0x41, (byte) 0x89, (byte) 0x00,     // mov [r8], eax
+        (byte) 0x41, (byte) 0x89, (byte) 0x58, 4,  // mov [r8 + 4], ebx
+        (byte) 0x41, (byte) 0x89, (byte) 0x48, 8,  // mov [r8 + 8], ecx
+        (byte) 0x41, (byte) 0x89, (byte) 0x50, 12, // mov [r8 + 12], edx
+        (byte) 0x5B,                               // pop rbx
+        (byte) 0xC3                                // ret
+    };
+
+    /** The function that reads the time stamp counter with RDTSC. */
+    private static final byte[] RDTSC_CODE = {
+        (byte) 0x0F, (byte) 0x31,                  // rdtsc
+        (byte) 0x48, (byte) 0xC1, (byte) 0xE2, 32, // shl rdx, 32
+        (byte) 0x48, (byte) 0x09, (byte) 0xD0,     // or rax, rdx
+        (byte) 0xC3                                // ret
+    };
+
+    /** The function that reads the time stamp counter with RDTSCP. */
+    private static final byte[] RDTSCP_CODE = {
+        (byte) 0x0F, (byte) 0x01, (byte) 0xF9,     // rdtscp
+        (byte) 0x48, (byte) 0xC1, (byte) 0xE2, 32, // shl rdx, 32
+        (byte) 0x48, (byte) 0x09, (byte) 0xD0,     // or rax, rdx
+        (byte) 0xC3                                // ret
+    };
+
+    /** The function that reads the Linux CPU number with RDPID. */
+    private static final byte[] RDPID_CPU_CODE = {
+        (byte) 0xF3, (byte) 0x0F, (byte) 0xC7, (byte) 0xF8, // rdpid rax
+        (byte) 0x25, (byte) 0xFF, (byte) 0x0F, 0, 0,        // and eax, 0xFFF
+        (byte) 0xC3                                         // ret
+    };
+
+    /** The function that reads the Linux CPU number with RDTSCP. */
+    private static final byte[] RDTSCP_CPU_CODE = {
+        (byte) 0x0F, (byte) 0x01, (byte) 0xF9,              // rdtscp
+        (byte) 0x89, (byte) 0xC8,                           // mov eax, ecx
+        (byte) 0x25, (byte) 0xFF, (byte) 0x0F, 0, 0,        // and eax, 0xFFF
+        (byte) 0xC3                                         // ret
+    };
+
+    /** The offset of the RDTSC function within the mapping. */
+    private static final long RDTSC_OFFSET = 64L;
+
+    /** The offset of the RDTSCP function within the mapping. */
+    private static final long RDTSCP_OFFSET = 128L;
+
+    /** The offset of the RDPID CPU number function within the mapping. */
+    private static final long RDPID_CPU_OFFSET = 192L;
+
+    /** The offset of the RDTSCP CPU number function within the mapping. */
+    private static final long RDTSCP_CPU_OFFSET = 256L;
+
+    /** The size of the executable mapping, one page. */
+    private static final long MAPPING_SIZE = 4096L;
+
+    /** Pages may be read. */
+    private static final int PROT_READ = 0x1;
+
+    /** Pages may be written. */
+    private static final int PROT_WRITE = 0x2;
+
+    /** Pages may be executed. */
+    private static final int PROT_EXEC = 0x4;
+
+    /** Changes to the mapping are private to the process. */
+    private static final int MAP_PRIVATE = 0x2;
+
+    /** The mapping is not backed by a file on Linux. */
+    private static final int LINUX_MAP_ANONYMOUS = 0x20;
+
+    /** The mapping is not backed by a file on macOS. */
+    private static final int MACOS_MAP_ANONYMOUS = 0x1000;
+
+    /** The value returned by mmap when the mapping fails. */
+    private static final long MAP_FAILED = -1L;
+
+    /** Commit and reserve the pages in a single VirtualAlloc call. */
+    private static final int MEM_COMMIT_RESERVE = 0x3000;
+
+    /** Windows pages may be read and written. */
+    private static final int PAGE_READWRITE = 0x04;
+
+    /** Windows pages may be read and executed. */
+    private static final int PAGE_EXECUTE_READ = 0x20;
+
+    /** The signature of the mapped function. */
+    private static final FunctionDescriptor CPUID_DESCRIPTOR =
+            FunctionDescriptor.ofVoid(JAVA_INT, JAVA_INT, ADDRESS);
+
+    /** The signature of the time stamp counter functions. */
+    private static final FunctionDescriptor TSC_DESCRIPTOR =
+            FunctionDescriptor.of(JAVA_LONG);
+
+    /** The signature of the current CPU functions. */
+    private static final FunctionDescriptor CPU_DESCRIPTOR =
+            FunctionDescriptor.of(JAVA_INT);
+
+    /** The mapped functions, or null if they could not be mapped. */
+    private static final MemorySegment CODE = map();
+
+    private CpuidStub() {
+
+    }
+
+    /**
+     * Links a downcall handle to the CPUID function. The handle has the
+     * type {@code (int, int, MemorySegment)void}, and is linked as a
+     * critical function so that segments backed by Java arrays may be
+     * passed to it. The mapping is never released.
+     *
+     * @return the downcall handle, or null when the function could not be
+     * mapped or linked
+     */
+    static MethodHandle link() {
+        return link(0L, CPUID_DESCRIPTOR, Linker.Option.critical(true));
+    }
+
+    /**
+     * Links a downcall handle to the RDTSC function. The handle has the
+     * type {@code ()long}, and is linked as a critical function so that the
+     * call does not leave the Java thread state.
+     *
+     * @return the downcall handle, or null when the function could not be
+     * mapped or linked
+     */
+    static MethodHandle linkReadTsc() {
+        return link(RDTSC_OFFSET, TSC_DESCRIPTOR,
+                Linker.Option.critical(false));
+    }
+
+    /**
+     * Links a downcall handle to the RDTSCP function. The handle has the
+     * type {@code ()long}. The caller must check that the processor
+     * supports RDTSCP before invoking it.
+     *
+     * @return the downcall handle, or null when the function could not be
+     * mapped or linked
+     */
+    static MethodHandle linkReadTscp() {
+        return link(RDTSCP_OFFSET, TSC_DESCRIPTOR,
+                Linker.Option.critical(false));
+    }
+
+    /**
+     * Links a downcall handle that identifies the current CPU, with the
+     * type {@code ()int}. On Linux the handle reads the CPU number from
+     * TSC_AUX with the given instruction, and on Windows it calls
+     * {@code GetCurrentProcessorNumber}.
+     *
+     * @param source the instruction supported by the processor, one of the
+     * sources defined by {@link CurrentCpu}
+     * @return the downcall handle, or null when the CPU is identified by its
+     * APIC ID instead
+     */
+    static MethodHandle linkCurrentCpu(final int source) {
+        String osName = System.getProperty("os.name")
+                .toLowerCase(Locale.ROOT);
+
+        if (osName.contains("windows")) {
+            try {
+                Linker linker = Linker.nativeLinker();
+                SymbolLookup kernel32 = SymbolLookup.libraryLookup(
+                        "kernel32", Arena.global());
+                return linker.downcallHandle(
+                        kernel32.find("GetCurrentProcessorNumber")
+                                .orElseThrow(),
+                        CPU_DESCRIPTOR, Linker.Option.critical(false));
+            } catch (Throwable ex) {
+                return null;
+            }
+        }
+
+        if (!osName.contains("linux")) {
+            return null;
+        }
+
+        if (source == CurrentCpu.RDPID) {
+            return link(RDPID_CPU_OFFSET, CPU_DESCRIPTOR,
+                    Linker.Option.critical(false));
+        } else if (source == CurrentCpu.RDTSCP) {
+            return link(RDTSCP_CPU_OFFSET, CPU_DESCRIPTOR,
+                    Linker.Option.critical(false));
+        }
+
+        return null;
+    }
+
+    private static MethodHandle link(final long offset,
+                                     final FunctionDescriptor descriptor,
+                                     final Linker.Option option) {
+        if (CODE == null) {
+            return null;
+        }
+
+        try {
+            return Linker.nativeLinker().downcallHandle(CODE.asSlice(offset),
+                    descriptor, option);
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+
+    private static MemorySegment map() {
+        try {
+            String osName = System.getProperty("os.name")
+                    .toLowerCase(Locale.ROOT);
+
+            if (osName.contains("linux")) {
+                return mapPosix(SYSTEM_V_CODE, LINUX_MAP_ANONYMOUS);
+            } else if (osName.contains("mac os x")) {
+                return mapPosix(SYSTEM_V_CODE, MACOS_MAP_ANONYMOUS);
+            } else if (osName.contains("windows")) {
+                return mapWindows(WINDOWS_CODE);
+            }
+
+            return null;
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+
+    private static MemorySegment mapPosix(final byte[] cpuidFunction,
+                                          final int mapAnonymous)
+            throws Throwable {
+
+        Linker linker = Linker.nativeLinker();
+        SymbolLookup libc = linker.defaultLookup();
+
+        MethodHandle mmap = linker.downcallHandle(
+                libc.find("mmap").orElseThrow(),
+                FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_LONG, JAVA_INT,
+                        JAVA_INT, JAVA_INT, JAVA_LONG));
+        MethodHandle mprotect = linker.downcallHandle(
+                libc.find("mprotect").orElseThrow(),
+                FunctionDescriptor.of(JAVA_INT, ADDRESS, JAVA_LONG,
+                        JAVA_INT));
+
+        MemorySegment mapping = (MemorySegment) mmap.invokeExact(
+                MemorySegment.NULL, MAPPING_SIZE, PROT_READ | PROT_WRITE,
+                MAP_PRIVATE | mapAnonymous, -1, 0L);
+        if (mapping.address() == MAP_FAILED) {
+            return null;
+        }
+
+        mapping = mapping.reinterpret(MAPPING_SIZE);
+        copy(cpuidFunction, mapping);
+
+        int result = (int) mprotect.invokeExact(mapping, MAPPING_SIZE,
+                PROT_READ | PROT_EXEC);
+        if (result != 0) {
+            return null;
+        }
+
+        return mapping;
+    }
+
+    private static MemorySegment mapWindows(final byte[] cpuidFunction)
+            throws Throwable {
+
+        Linker linker = Linker.nativeLinker();
+        SymbolLookup kernel32 = SymbolLookup.libraryLookup("kernel32",
+                Arena.global());
+
+        MethodHandle virtualAlloc = linker.downcallHandle(
+                kernel32.find("VirtualAlloc").orElseThrow(),
+                FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_LONG, JAVA_INT,
+                        JAVA_INT));
+        MethodHandle virtualProtect = linker.downcallHandle(
+                kernel32.find("VirtualProtect").orElseThrow(),
+                FunctionDescriptor.of(JAVA_INT, ADDRESS, JAVA_LONG, JAVA_INT,
+                        ADDRESS));
+
+        MemorySegment mapping = (MemorySegment) virtualAlloc.invokeExact(
+                MemorySegment.NULL, MAPPING_SIZE, MEM_COMMIT_RESERVE,
+                PAGE_READWRITE);
+        if (mapping.address() == 0L) {
+            return null;
+        }
+
+        mapping = mapping.reinterpret(MAPPING_SIZE);
+        copy(cpuidFunction, mapping);
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment oldProtect = arena.allocate(JAVA_INT);
+            int result = (int) virtualProtect.invokeExact(mapping,
+                    MAPPING_SIZE, PAGE_EXECUTE_READ, oldProtect);
+            if (result == 0) {
+                return null;
+            }
+        }
+
+        return mapping;
+    }
+
+    private static void copy(final byte[] cpuidFunction,
+                             final MemorySegment mapping) {
+        copy(cpuidFunction, mapping, 0L);
+        copy(RDTSC_CODE, mapping, RDTSC_OFFSET);
+        copy(RDTSCP_CODE, mapping, RDTSCP_OFFSET);
+        copy(RDPID_CPU_CODE, mapping, RDPID_CPU_OFFSET);
+        copy(RDTSCP_CPU_CODE, mapping, RDTSCP_CPU_OFFSET);
+    }
+
+    private static void copy(final byte[] function,
+                             final MemorySegment mapping, final long offset) {
+        MemorySegment.copy(function, 0, mapping, ValueLayout.JAVA_BYTE,
+                offset, function.length);
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+/**
+ * Gets and sets the CPU affinity of the calling thread through downcalls to
+ * {@code sched_getaffinity} and {@code sched_setaffinity} on Linux, and to
+ * {@code GetProcessAffinityMask} and {@code SetThreadAffinityMask} on
+ * Windows, matching the native library. On Windows only the first 64
+ * logical CPUs, the current processor group, are supported. Thread affinity
+ * is not supported elsewhere.
+ */
+final class ForeignAffinity {
+
+    /** The number of CPUs the first affinity mask is sized for. */
+    private static final int INITIAL_AFFINITY_CPUS = 1024;
+
+    /** The number of CPUs the mask may grow to before giving up. */
+    private static final int MAX_AFFINITY_CPUS = 65536;
+
+    /** The name of the operating system, in lower case. */
+    private static final String OS_NAME =
+            System.getProperty("os.name").toLowerCase(Locale.ROOT);
+
+    /** Whether the operating system is Linux. */
+    private static final boolean LINUX = OS_NAME.contains("linux");
+
+    /** Whether the operating system is Windows. */
+    private static final boolean WINDOWS = OS_NAME.contains("windows");
+
+    /** The downcall handle for sched_getaffinity, or null. */
+    private static final MethodHandle GET_AFFINITY =
+            linkLinux("sched_getaffinity");
+
+    /** The downcall handle for sched_setaffinity, or null. */
+    private static final MethodHandle SET_AFFINITY =
+            linkLinux("sched_setaffinity");
+
+    /** The downcall handle for GetCurrentProcess, or null. */
+    private static final MethodHandle GET_CURRENT_PROCESS =
+            linkWindows("GetCurrentProcess", FunctionDescriptor.of(ADDRESS));
+
+    /** The downcall handle for GetCurrentThread, or null. */
+    private static final MethodHandle GET_CURRENT_THREAD =
+            linkWindows("GetCurrentThread", FunctionDescriptor.of(ADDRESS));
+
+    /** The downcall handle for GetProcessAffinityMask, or null. */
+    private static final MethodHandle GET_PROCESS_AFFINITY_MASK =
+            linkWindows("GetProcessAffinityMask", FunctionDescriptor.of(
+                    JAVA_INT, ADDRESS, ADDRESS, ADDRESS));
+
+    /** The downcall handle for SetThreadAffinityMask, or null. */
+    private static final MethodHandle SET_THREAD_AFFINITY_MASK =
+            linkWindows("SetThreadAffinityMask", FunctionDescriptor.of(
+                    JAVA_LONG, ADDRESS, JAVA_LONG));
+
+    private ForeignAffinity() {
+
+    }
+
+    /**
+     * Checks whether thread affinity is supported wherever the native
+     * library supports it. This is false when the downcalls could not be
+     * linked on Linux or Windows, in which case the native library should
+     * be used instead, so that threads can still be pinned.
+     *
+     * @return true if the downcalls were linked, or the operating system is
+     * neither Linux nor Windows
+     */
+    static boolean isAvailable() {
+        if (LINUX) {
+            return GET_AFFINITY != null && SET_AFFINITY != null;
+        }
+
+        if (WINDOWS) {
+            return GET_CURRENT_PROCESS != null && GET_CURRENT_THREAD != null
+                    && GET_PROCESS_AFFINITY_MASK != null
+                    && SET_THREAD_AFFINITY_MASK != null;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the logical CPUs that the calling thread is allowed to run on.
+     *
+     * @return the logical CPU numbers in ascending order, or an empty array
+     * when thread affinity is not supported
+     */
+    static int[] getThreadAffinity() {
+        if (WINDOWS) {
+            return getWindowsAffinity();
+        }
+
+        if (GET_AFFINITY == null) {
+            return new int[0];
+        }
+
+        for (int cpus = INITIAL_AFFINITY_CPUS; cpus <= MAX_AFFINITY_CPUS;
+             cpus *= 2) {
+
+            try (Arena arena = Arena.ofConfined()) {
+                long size = cpus / Byte.SIZE;
+                MemorySegment mask = arena.allocate(size, Long.BYTES);
+
+                // A pid of zero gets the affinity of the calling thread, and
+                // EINVAL is returned when the mask is too small
+                int result = (int) GET_AFFINITY.invokeExact(0, size, mask);
+                if (result == 0) {
+                    return toCpus(mask);
+                }
+            } catch (Throwable ex) {
+                return new int[0];
+            }
+        }
+
+        return new int[0];
+    }
+
+    /**
+     * Restricts the calling thread to run only on the given logical CPUs.
+     *
+     * @param cpus the logical CPU numbers
+     * @return true if the affinity was set, otherwise false
+     */
+    static boolean setThreadAffinity(final int[] cpus) {
+        if (WINDOWS) {
+            return setWindowsAffinity(cpus);
+        }
+
+        if (SET_AFFINITY == null) {
+            return false;
+        }
+
+        int max = Arrays.stream(cpus).max().orElse(0);
+        long words = max / Long.SIZE + 1;
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment mask = arena.allocate(JAVA_LONG, words);
+            for (int cpu : cpus) {
+                long word = mask.getAtIndex(JAVA_LONG, cpu / Long.SIZE);
+                mask.setAtIndex(JAVA_LONG, cpu / Long.SIZE,
+                        word | 1L << (cpu % Long.SIZE));
+            }
+
+            int result = (int) SET_AFFINITY.invokeExact(0,
+                    words * Long.BYTES, mask);
+            return result == 0;
+        } catch (Throwable ex) {
+            return false;
+        }
+    }
+
+    private static int[] getWindowsAffinity() {
+        if (GET_PROCESS_AFFINITY_MASK == null) {
+            return new int[0];
+        }
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment processMask = arena.allocate(JAVA_LONG);
+            MemorySegment systemMask = arena.allocate(JAVA_LONG);
+            MemorySegment process =
+                    (MemorySegment) GET_CURRENT_PROCESS.invokeExact();
+            int result = (int) GET_PROCESS_AFFINITY_MASK.invokeExact(process,
+                    processMask, systemMask);
+            if (result == 0) {
+                return new int[0];
+            }
+
+            return toCpus(processMask);
+        } catch (Throwable ex) {
+            return new int[0];
+        }
+    }
+
+    private static boolean setWindowsAffinity(final int[] cpus) {
+        if (SET_THREAD_AFFINITY_MASK == null) {
+            return false;
+        }
+
+        // CPUs outside the current processor group cannot be set in the mask
+        long mask = 0;
+        for (int cpu : cpus) {
+            if (cpu >= Long.SIZE) {
+                return false;
+            }
+            mask |= 1L << cpu;
+        }
+
+        try {
+            MemorySegment thread =
+                    (MemorySegment) GET_CURRENT_THREAD.invokeExact();
+            long previous = (long) SET_THREAD_AFFINITY_MASK.invokeExact(thread,
+                    mask);
+            return previous != 0;
+        } catch (Throwable ex) {
+            return false;
+        }
+    }
+
+    private static int[] toCpus(final MemorySegment mask) {
+        long words = mask.byteSize() / Long.BYTES;
+        int count = 0;
+        for (long i = 0; i < words; i++) {
+            count += Long.bitCount(mask.getAtIndex(JAVA_LONG, i));
+        }
+
+        int[] cpus = new int[count];
+        int index = 0;
+        for (long i = 0; i < words; i++) {
+            long word = mask.getAtIndex(JAVA_LONG, i);
+            while (word != 0) {
+                cpus[index++] = (int) (i * Long.SIZE)
+                        + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+
+        return cpus;
+    }
+
+    private static MethodHandle linkLinux(final String name) {
+        if (!LINUX) {
+            return null;
+        }
+
+        try {
+            Linker linker = Linker.nativeLinker();
+            SymbolLookup libc = linker.defaultLookup();
+            return linker.downcallHandle(libc.find(name).orElseThrow(),
+                    FunctionDescriptor.of(JAVA_INT, JAVA_INT, JAVA_LONG,
+                            ADDRESS));
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+
+    private static MethodHandle linkWindows(
+            final String name, final FunctionDescriptor descriptor) {
+        if (!WINDOWS) {
+            return null;
+        }
+
+        try {
+            SymbolLookup kernel32 = SymbolLookup.libraryLookup("kernel32",
+                    Arena.global());
+            return Linker.nativeLinker().downcallHandle(
+                    kernel32.find(name).orElseThrow(), descriptor);
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+}
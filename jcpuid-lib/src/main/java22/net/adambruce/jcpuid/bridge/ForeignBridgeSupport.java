@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+/**
+ * Creates the bridge built on the Foreign Function and Memory API. This
+ * version of the class is packaged under {@code META-INF/versions/22} and
+ * is used instead of the baseline version on Java 22 and above.
+ */
+final class ForeignBridgeSupport {
+
+    private ForeignBridgeSupport() {
+
+    }
+
+    /**
+     * Creates the foreign bridge, if the current runtime and platform
+     * support it. The bridge is only available on x86_64, and is not
+     * available when the runtime denies access to restricted methods or
+     * the operating system refuses to map executable memory. It is also not
+     * used when it cannot pin threads on a system where the native library
+     * can, so that sweeps and pinned threads keep working.
+     *
+     * @return the foreign bridge, or null when it is not supported
+     */
+    static CpuidBridge createBridge() {
+        String osArch = System.getProperty("os.arch");
+        if (!osArch.equals("amd64") && !osArch.equals("x86_64")) {
+            return null;
+        }
+
+        if (!ForeignCpuidBridge.isAvailable()
+                || !ForeignAffinity.isAvailable()) {
+            return null;
+        }
+
+        return new ForeignCpuidBridge();
+    }
+}
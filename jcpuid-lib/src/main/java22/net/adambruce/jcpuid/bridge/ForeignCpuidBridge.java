@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.internal.AffinityArguments;
+import net.adambruce.jcpuid.internal.BatchArguments;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.util.Objects;
+
+/**
+ * A bridge that executes the CPUID instruction through the Foreign Function
+ * and Memory API, without loading a native library. The instruction is
+ * executed by a small function mapped into executable memory by
+ * {@link CpuidStub}, which writes the registers directly into the Java
+ * array it is given.
+ */
+final class ForeignCpuidBridge implements CpuidBridge {
+
+    /** The number of bytes written by a single execution. */
+    private static final long RESULT_SIZE =
+            (long) CpuidResult.REGISTER_COUNT * Integer.BYTES;
+
+    /** The downcall handle, or null if the function could not be linked. */
+    private static final MethodHandle CPUID = CpuidStub.link();
+
+    /** The RDTSC downcall handle, or null if it could not be linked. */
+    private static final MethodHandle RDTSC = CpuidStub.linkReadTsc();
+
+    /** The RDTSCP downcall handle, or null if it could not be linked. */
+    private static final MethodHandle RDTSCP = CpuidStub.linkReadTscp();
+
+    /** The current CPU downcall handle, or null to use the APIC ID. */
+    private static final MethodHandle CURRENT_CPU = linkCurrentCpu();
+
+    /** Whether the processor supports RDTSCP, or null until checked. */
+    private volatile Boolean rdtscpSupported;
+
+    /**
+     * Checks whether the CPUID function was mapped and linked.
+     *
+     * @return true if the bridge can be used, otherwise false
+     */
+    static boolean isAvailable() {
+        return CPUID != null;
+    }
+
+    @Override
+    public CpuidResult executeCPUID(final int leaf) {
+        return executeCPUID(leaf, 0);
+    }
+
+    @Override
+    public CpuidResult executeCPUID(final int leaf, final int subleaf) {
+        int[] registers = new int[CpuidResult.REGISTER_COUNT];
+        execute(leaf, subleaf, MemorySegment.ofArray(registers));
+        return new CpuidResult(registers[0], registers[1], registers[2],
+                registers[3]);
+    }
+
+    @Override
+    public void executeCPUID(final int leaf, final int subleaf,
+                             final int[] dest, final int offset) {
+        Objects.checkFromIndexSize(offset, CpuidResult.REGISTER_COUNT,
+                dest.length);
+        execute(leaf, subleaf, MemorySegment.ofArray(dest)
+                .asSlice((long) offset * Integer.BYTES, RESULT_SIZE));
+    }
+
+    @Override
+    public void executeCPUIDBatch(final int[] leaves, final int[] subleaves,
+                                  final int[] out) {
+        BatchArguments.check(leaves, subleaves, out);
+
+        MemorySegment segment = MemorySegment.ofArray(out);
+        for (int i = 0; i < leaves.length; i++) {
+            execute(leaves[i], subleaves[i],
+                    segment.asSlice(i * RESULT_SIZE, RESULT_SIZE));
+        }
+    }
+
+    @Override
+    public int[] getThreadAffinity() {
+        return ForeignAffinity.getThreadAffinity();
+    }
+
+    @Override
+    public boolean setThreadAffinity(final int... cpus) {
+        AffinityArguments.check(cpus);
+        return ForeignAffinity.setThreadAffinity(cpus);
+    }
+
+    @Override
+    public int getCurrentCpu() {
+        if (CURRENT_CPU == null) {
+            return CpuidBridge.super.getCurrentCpu();
+        }
+
+        try {
+            return (int) CURRENT_CPU.invokeExact();
+        } catch (Throwable ex) {
+            throw new IllegalStateException("current CPU downcall failed",
+                    ex);
+        }
+    }
+
+    @Override
+    public boolean isTSCSupported() {
+        return RDTSC != null;
+    }
+
+    @Override
+    public long readTSC() {
+        if (RDTSC == null) {
+            return CpuidBridge.super.readTSC();
+        }
+
+        try {
+            return (long) RDTSC.invokeExact();
+        } catch (Throwable ex) {
+            throw new IllegalStateException("RDTSC downcall failed", ex);
+        }
+    }
+
+    @Override
+    public long readTSCP() {
+        if (RDTSCP == null) {
+            return CpuidBridge.super.readTSCP();
+        }
+
+        Boolean supported = rdtscpSupported;
+        if (supported == null) {
+            supported = TscSupport.isRdtscpSupported(this);
+            rdtscpSupported = supported;
+        }
+
+        if (!supported) {
+            throw TscSupport.rdtscpUnsupported();
+        }
+
+        try {
+            return (long) RDTSCP.invokeExact();
+        } catch (Throwable ex) {
+            throw new IllegalStateException("RDTSCP downcall failed", ex);
+        }
+    }
+
+    private static MethodHandle linkCurrentCpu() {
+        if (CPUID == null) {
+            return null;
+        }
+
+        try {
+            int source = CurrentCpu.selectSource(new ForeignCpuidBridge());
+            return CpuidStub.linkCurrentCpu(source);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static void execute(final int leaf, final int subleaf,
+                                final MemorySegment registers) {
+        try {
+            CPUID.invokeExact(leaf, subleaf, registers);
+        } catch (Throwable ex) {
+            throw new IllegalStateException("CPUID downcall failed", ex);
+        }
+    }
+}
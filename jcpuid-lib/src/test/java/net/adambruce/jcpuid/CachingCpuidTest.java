@@ -0,0 +1,262 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingCpuidTest {
+
+    @Mock
+    private Cpuid delegate;
+
+    @Test
+    void testExecuteCachesResult() {
+        when(delegate.execute(0x0, 0x0))
+                .thenReturn(new CpuidResult(1, 2, 3, 4));
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+
+        assertEquals(new CpuidResult(1, 2, 3, 4), cpuid.execute(0x0));
+        assertEquals(new CpuidResult(1, 2, 3, 4), cpuid.execute(0x0, 0x0));
+
+        verify(delegate, times(1)).execute(0x0, 0x0);
+        assertEquals(1, cpuid.size());
+    }
+
+    @Test
+    void testExecuteWithSubleafCachesEachSubleaf() {
+        when(delegate.execute(0x4, 0x0))
+                .thenReturn(new CpuidResult(1, 0, 0, 0));
+        when(delegate.execute(0x4, 0x1))
+                .thenReturn(new CpuidResult(2, 0, 0, 0));
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(new CpuidResult(1, 0, 0, 0), cpuid.execute(0x4, 0x0));
+            assertEquals(new CpuidResult(2, 0, 0, 0), cpuid.execute(0x4, 0x1));
+        }
+
+        verify(delegate, times(1)).execute(0x4, 0x0);
+        verify(delegate, times(1)).execute(0x4, 0x1);
+    }
+
+    @Test
+    void testVolatileLeavesArePassedThrough() {
+        when(delegate.execute(0xB)).thenReturn(new CpuidResult(1, 0, 0, 0));
+        when(delegate.execute(0x6, 0x0))
+                .thenReturn(new CpuidResult(6, 0, 0, 0));
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+
+        cpuid.execute(0xB);
+        cpuid.execute(0xB);
+        cpuid.execute(0x6, 0x0);
+        cpuid.execute(0x6, 0x0);
+
+        verify(delegate, times(2)).execute(0xB);
+        verify(delegate, times(2)).execute(0x6, 0x0);
+        assertEquals(0, cpuid.size());
+    }
+
+    @Test
+    void testFeaturesLeafIsCachedWithoutApicId() {
+        when(delegate.execute(0x1, 0x0))
+                .thenReturn(new CpuidResult(0x906EA, 0x05100800, 3, 4));
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+
+        CpuidResult expected = new CpuidResult(0x906EA, 0x00100800, 3, 4);
+        assertEquals(expected, cpuid.execute(0x1));
+        assertEquals(expected, cpuid.execute(0x1, 0x0));
+
+        verify(delegate, times(1)).execute(0x1, 0x0);
+        assertFalse(cpuid.isVolatile(0x1));
+    }
+
+    @Test
+    void testExecuteIntoArrayCachesFeaturesLeafWithoutApicId() {
+        doAnswer(invocation -> {
+            int[] dest = invocation.getArgument(2);
+            int offset = invocation.getArgument(3);
+            new CpuidResult(0x906EA, 0x05100800, 3, 4).copyTo(dest, offset);
+            return null;
+        }).when(delegate).execute(eq(0x1), eq(0x0), any(), anyInt());
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+        int[] first = new int[4];
+        int[] second = new int[4];
+
+        cpuid.execute(0x1, 0x0, first, 0);
+        cpuid.execute(0x1, 0x0, second, 0);
+
+        int[] expected = {0x906EA, 0x00100800, 3, 4};
+        assertArrayEquals(expected, first);
+        assertArrayEquals(expected, second);
+        verify(delegate, times(1)).execute(eq(0x1), eq(0x0), any(), anyInt());
+    }
+
+    @Test
+    void testCustomVolatileFeaturesLeafIsPassedThrough() {
+        when(delegate.execute(0x1, 0x0))
+                .thenReturn(new CpuidResult(0x906EA, 0x05100800, 3, 4));
+        CachingCpuid cpuid = new CachingCpuid(delegate, 0x1);
+
+        assertEquals(new CpuidResult(0x906EA, 0x05100800, 3, 4),
+                cpuid.execute(0x1, 0x0));
+        assertEquals(0, cpuid.size());
+    }
+
+    @Test
+    void testCustomVolatileLeaves() {
+        CachingCpuid cpuid = new CachingCpuid(delegate, 0x7, 0x2);
+
+        assertTrue(cpuid.isVolatile(0x2));
+        assertTrue(cpuid.isVolatile(0x7));
+        assertFalse(cpuid.isVolatile(0x1));
+    }
+
+    @Test
+    void testDefaultVolatileLeaves() {
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+
+        for (int leaf : CachingCpuid.getDefaultVolatileLeaves()) {
+            assertTrue(cpuid.isVolatile(leaf));
+        }
+        assertFalse(cpuid.isVolatile(0x0));
+    }
+
+    @Test
+    void testEmptyKeyIsNeverCached() {
+        when(delegate.execute(-1, -1)).thenReturn(new CpuidResult(0, 0, 0, 0));
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+
+        cpuid.execute(-1, -1);
+        cpuid.execute(-1, -1);
+
+        verify(delegate, times(2)).execute(-1, -1);
+        assertEquals(0, cpuid.size());
+    }
+
+    @Test
+    void testTableGrows() {
+        when(delegate.execute(anyInt(), anyInt())).thenAnswer(invocation ->
+                new CpuidResult(invocation.getArgument(0),
+                        invocation.getArgument(1), 0, 0));
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+
+        for (int subleaf = 0; subleaf < 1000; subleaf++) {
+            cpuid.execute(0x80000000, subleaf);
+        }
+
+        assertEquals(1000, cpuid.size());
+        for (int subleaf = 0; subleaf < 1000; subleaf++) {
+            assertEquals(new CpuidResult(0x80000000, subleaf, 0, 0),
+                    cpuid.execute(0x80000000, subleaf));
+        }
+        verify(delegate, times(1000)).execute(anyInt(), anyInt());
+    }
+
+    @Test
+    void testExecuteIntoArrayCachesResult() {
+        doAnswer(invocation -> {
+            int[] dest = invocation.getArgument(2);
+            int offset = invocation.getArgument(3);
+            new CpuidResult(1, 2, 3, 4).copyTo(dest, offset);
+            return null;
+        }).when(delegate).execute(eq(0x7), eq(0x0), any(), anyInt());
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+
+        int[] first = new int[5];
+        int[] second = new int[4];
+        cpuid.execute(0x7, 0x0, first, 1);
+        cpuid.execute(0x7, 0x0, second, 0);
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, first);
+        assertArrayEquals(new int[]{1, 2, 3, 4}, second);
+        verify(delegate, times(1)).execute(eq(0x7), eq(0x0), any(), anyInt());
+        assertEquals(new CpuidResult(1, 2, 3, 4), cpuid.execute(0x7, 0x0));
+    }
+
+    @Test
+    void testExecuteIntoArrayPassesThroughVolatileLeaves() {
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+        int[] dest = new int[4];
+
+        cpuid.execute(0xB, 0x0, dest, 0);
+        cpuid.execute(0xB, 0x0, dest, 0);
+        cpuid.execute(-1, -1, dest, 0);
+
+        verify(delegate, times(2)).execute(0xB, 0x0, dest, 0);
+        verify(delegate, times(1)).execute(-1, -1, dest, 0);
+        assertEquals(0, cpuid.size());
+    }
+
+    @Test
+    void testInvalidate() {
+        when(delegate.execute(0x0, 0x0))
+                .thenReturn(new CpuidResult(1, 2, 3, 4));
+        CachingCpuid cpuid = new CachingCpuid(delegate);
+
+        cpuid.execute(0x0, 0x0);
+        cpuid.invalidate();
+        cpuid.execute(0x0, 0x0);
+
+        verify(delegate, times(2)).execute(0x0, 0x0);
+    }
+
+    @Test
+    void testWrapsBridge() {
+        AtomicInteger calls = new AtomicInteger();
+        CpuidBridge bridge = new CpuidBridge() {
+            @Override
+            public CpuidResult executeCPUID(final int leaf) {
+                return executeCPUID(leaf, 0);
+            }
+
+            @Override
+            public CpuidResult executeCPUID(final int leaf,
+                                            final int subleaf) {
+                calls.incrementAndGet();
+                return new CpuidResult(1, 2, 3, 4);
+            }
+        };
+        CachingCpuid cpuid = new CachingCpuid(bridge);
+
+        int[] out = new int[8];
+        cpuid.executeBatch(new int[]{0x0, 0x0}, new int[]{0x0, 0x0}, out);
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 1, 2, 3, 4}, out);
+        assertEquals(1, calls.get());
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CpuidCostTest {
+
+    /** A bridge that counts the executions of leaf 0x0. */
+    private static final class CountingBridge implements CpuidBridge {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public CpuidResult executeCPUID(final int leaf) {
+            return executeCPUID(leaf, 0);
+        }
+
+        @Override
+        public CpuidResult executeCPUID(final int leaf, final int subleaf) {
+            assertEquals(0x0, leaf);
+            calls.incrementAndGet();
+            return new CpuidResult(0xD, 0, 0, 0);
+        }
+    }
+
+    /**
+     * A time source where each round takes as many microseconds as the
+     * values given, in the order given.
+     */
+    private static final class RoundClock {
+
+        private final long[] rounds;
+
+        private long now;
+
+        private int reads;
+
+        RoundClock(final long... roundMicros) {
+            this.rounds = roundMicros;
+        }
+
+        long nanoTime() {
+            if (reads % 2 == 1) {
+                now += rounds[reads / 2] * 1_000L;
+            }
+            reads++;
+            return now;
+        }
+    }
+
+    @Test
+    void testCalibrateTakesMedianAndMinimum() {
+        CountingBridge bridge = new CountingBridge();
+        RoundClock clock = new RoundClock(40, 10, 20, 400, 30);
+
+        CpuidCost cost = CpuidCost.calibrate(bridge, clock::nanoTime, 5, 10);
+
+        assertEquals(3000.0, cost.getNanosPerCall());
+        assertEquals(1000.0, cost.getMinNanosPerCall());
+        assertEquals(5, cost.getRounds());
+        assertEquals(10, cost.getCallsPerRound());
+        // One untimed round and five timed rounds
+        assertEquals(60, bridge.calls.get());
+    }
+
+    @Test
+    void testIsExpensive() {
+        CpuidCost cost = CpuidCost.calibrate(new CountingBridge(),
+                new RoundClock(5)::nanoTime, 1, 10);
+
+        assertEquals(500.0, cost.getNanosPerCall());
+        assertTrue(cost.isExpensive());
+        assertTrue(cost.isExpensive(500L));
+        assertFalse(cost.isExpensive(501L));
+    }
+
+    @Test
+    void testThresholdProperty() {
+        CpuidCost cost = CpuidCost.calibrate(new CountingBridge(),
+                new RoundClock(5)::nanoTime, 1, 10);
+
+        System.setProperty(CpuidCost.THRESHOLD_PROPERTY, "1000");
+        try {
+            assertFalse(cost.isExpensive());
+        } finally {
+            System.clearProperty(CpuidCost.THRESHOLD_PROPERTY);
+        }
+    }
+
+    @Test
+    void testCalibrateWithSystemTime() {
+        CountingBridge bridge = new CountingBridge();
+
+        CpuidCost cost = CpuidCost.calibrate(bridge);
+
+        assertEquals(CpuidCost.DEFAULT_ROUNDS, cost.getRounds());
+        assertEquals(CpuidCost.DEFAULT_CALLS_PER_ROUND,
+                cost.getCallsPerRound());
+        assertTrue(cost.getMinNanosPerCall() <= cost.getNanosPerCall());
+        assertEquals((CpuidCost.DEFAULT_ROUNDS + 1)
+                * CpuidCost.DEFAULT_CALLS_PER_ROUND, bridge.calls.get());
+    }
+
+    @Test
+    void testRefuseNonPositiveArguments() {
+        CountingBridge bridge = new CountingBridge();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CpuidCost.calibrate(bridge, 0, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> CpuidCost.calibrate(bridge, 10, 0));
+    }
+
+    @Test
+    void testAdaptiveCpuid() {
+        CountingBridge bridge = new CountingBridge();
+        CpuidCost cheap = CpuidCost.calibrate(bridge,
+                new RoundClock(1)::nanoTime, 1, 10);
+        CpuidCost expensive = CpuidCost.calibrate(bridge,
+                new RoundClock(20)::nanoTime, 1, 10);
+
+        assertInstanceOf(CpuidImpl.class,
+                CpuidFactory.getAdaptiveCpuid(bridge, cheap));
+        assertInstanceOf(CachingCpuid.class,
+                CpuidFactory.getAdaptiveCpuid(bridge, expensive));
+    }
+
+    @Test
+    void testToString() {
+        CpuidCost cost = CpuidCost.calibrate(new CountingBridge(),
+                new RoundClock(5)::nanoTime, 1, 10);
+
+        assertEquals("CpuidCost{nanosPerCall=500.0, minNanosPerCall=500.0,"
+                + " rounds=1, callsPerRound=10}", cost.toString());
+    }
+}
@@ -19,13 +19,17 @@ package net.adambruce.jcpuid;
 import net.adambruce.jcpuid.bridge.CpuidBridge;
 import net.adambruce.jcpuid.type.CpuidRegister;
 import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.ByteBuffer;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -74,4 +78,34 @@ public class CpuidImplTest {
         assertEquals(new CpuidRegister(0xDDDDDDDD), actual.getEdx());
     }
 
+    @Test
+    void testExecuteIntoArray() {
+        int[] dest = new int[4];
+
+        cpuid.execute(0x1, 0x2, dest, 0);
+
+        verify(bridge).executeCPUID(0x1, 0x2, dest, 0);
+    }
+
+    @Test
+    void testExecuteBatch() {
+        int[] leaves = {0x0, 0x4};
+        int[] subleaves = {0x0, 0x1};
+        int[] out = new int[8];
+
+        cpuid.executeBatch(leaves, subleaves, out);
+
+        verify(bridge).executeCPUIDBatch(leaves, subleaves, out);
+    }
+
+    @Test
+    void testSnapshot() {
+        ByteBuffer buffer = CpuidSnapshot.allocate(2);
+        when(bridge.dumpCPUID(buffer)).thenReturn(2);
+
+        CpuidSnapshot snapshot = cpuid.snapshot(buffer);
+
+        assertEquals(2, snapshot.size());
+    }
+
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CpuidSweepTest {
+
+    @Test
+    void testSweepAllCpus() {
+        PinningBridge bridge = new PinningBridge(0, 1, 2, 3);
+        CpuidSweep sweep = new CpuidSweep(bridge);
+
+        CpuidSweepResult result = sweep.sweep(new int[]{0x1, 0xB},
+                new int[]{0x0, 0x1});
+
+        assertArrayEquals(new int[]{0, 1, 2, 3}, result.getCpus());
+        assertEquals(2, result.getRequestCount());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(new CpuidResult(i, 0x1, 0x0, 0),
+                    result.getResult(i, 0));
+            assertEquals(new CpuidResult(i, 0xB, 0x1, 0),
+                    result.getResult(i, 1));
+        }
+        assertEquals(4, bridge.threads.size());
+    }
+
+    @Test
+    void testSweepChosenCpus() {
+        CpuidSweep sweep = new CpuidSweep(new PinningBridge(0, 1, 2, 3));
+
+        CpuidSweepResult result = sweep.sweep(new int[]{3, 1},
+                new int[]{0x1A}, new int[]{0x0});
+
+        assertArrayEquals(new int[]{3, 1}, result.getCpus());
+        assertEquals(new CpuidResult(3, 0x1A, 0x0, 0),
+                result.getResult(0, 0));
+        assertEquals(new CpuidResult(1, 0x1A, 0x0, 0),
+                result.getResult(1, 0));
+    }
+
+    @Test
+    void testGetCpus() {
+        CpuidSweep sweep = new CpuidSweep(new PinningBridge(2, 5));
+
+        assertArrayEquals(new int[]{2, 5}, sweep.getCpus());
+    }
+
+    @Test
+    void testSweepUnsupportedAffinity() {
+        CpuidSweep sweep = new CpuidSweep(new PinningBridge());
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> sweep.sweep(new int[]{0x1}, new int[]{0x0}));
+    }
+
+    @Test
+    void testSweepPinFailure() {
+        CpuidSweep sweep = new CpuidSweep(new PinningBridge(0, 1));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> sweep.sweep(new int[]{0, 7}, new int[]{0x1},
+                        new int[]{0x0}));
+        assertTrue(ex.getMessage().contains("7"));
+    }
+
+    @Test
+    void testSweepExecutionFailure() {
+        PinningBridge bridge = new PinningBridge(0, 1);
+        bridge.failingLeaf = 0x4;
+        CpuidSweep sweep = new CpuidSweep(bridge);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> sweep.sweep(new int[]{0x4}, new int[]{0x0}));
+        assertTrue(ex.getCause() instanceof ArithmeticException);
+    }
+
+    @Test
+    void testSweepNoCpus() {
+        CpuidSweep sweep = new CpuidSweep(new PinningBridge(0));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> sweep.sweep(new int[0], new int[]{0x1},
+                        new int[]{0x0}));
+    }
+
+    @Test
+    void testSweepNegativeCpu() {
+        CpuidSweep sweep = new CpuidSweep(new PinningBridge(0));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> sweep.sweep(new int[]{-1}, new int[]{0x1},
+                        new int[]{0x0}));
+    }
+
+    @Test
+    void testSweepMismatchedSubleaves() {
+        CpuidSweep sweep = new CpuidSweep(new PinningBridge(0));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> sweep.sweep(new int[]{0x1, 0x4}, new int[]{0x0}));
+    }
+
+    @Test
+    void testSweepPreservesInterrupt() {
+        CpuidSweep sweep = new CpuidSweep(new PinningBridge(0, 1));
+
+        Thread.currentThread().interrupt();
+        try {
+            CpuidSweepResult result = sweep.sweep(new int[]{0x1},
+                    new int[]{0x0});
+
+            assertEquals(2, result.getCpuCount());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * A bridge that reports the CPU the calling thread is pinned to in EAX,
+     * and the leaf and sub-leaf in EBX and ECX.
+     */
+    private static final class PinningBridge implements CpuidBridge {
+
+        private final int[] cpus;
+
+        private final ThreadLocal<Integer> pinned = new ThreadLocal<>();
+
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        private volatile int failingLeaf = -1;
+
+        PinningBridge(final int... availableCpus) {
+            this.cpus = availableCpus;
+        }
+
+        @Override
+        public CpuidResult executeCPUID(final int leaf) {
+            return executeCPUID(leaf, 0);
+        }
+
+        @Override
+        public CpuidResult executeCPUID(final int leaf, final int subleaf) {
+            if (leaf == failingLeaf) {
+                throw new ArithmeticException();
+            }
+
+            threads.add(Thread.currentThread());
+            return new CpuidResult(pinned.get(), leaf, subleaf, 0);
+        }
+
+        @Override
+        public int[] getThreadAffinity() {
+            return cpus.clone();
+        }
+
+        @Override
+        public boolean setThreadAffinity(final int... targetCpus) {
+            for (int cpu : cpus) {
+                if (cpu == targetCpus[0]) {
+                    pinned.set(cpu);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class CpuidTest {
+
+    private final Cpuid cpuid = mock(Cpuid.class, CALLS_REAL_METHODS);
+
+    @Test
+    void testExecuteIntoArray() {
+        doReturn(new CpuidResult(1, 2, 3, 4)).when(cpuid).execute(7, 0);
+
+        int[] dest = new int[5];
+        cpuid.execute(7, 0, dest, 1);
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, dest);
+    }
+
+    @Test
+    void testExecuteBatch() {
+        doReturn(new CpuidResult(1, 2, 3, 4)).when(cpuid).execute(0, 0);
+        doReturn(new CpuidResult(5, 6, 7, 8)).when(cpuid).execute(7, 0);
+
+        int[] out = new int[8];
+        cpuid.executeBatch(new int[]{0, 7}, new int[]{0, 0}, out);
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7, 8}, out);
+    }
+
+    @Test
+    void testSnapshot() {
+        doReturn(new CpuidResult(0, 0, 0, 0))
+                .when(cpuid).execute(anyInt(), anyInt());
+        doReturn(new CpuidResult(0x1, 0, 0, 0)).when(cpuid).execute(0x0, 0);
+
+        CpuidSnapshot snapshot = cpuid.snapshot(CpuidSnapshot.allocate(3));
+
+        assertEquals(3, snapshot.size());
+        assertEquals(0x1, snapshot.getLeaf(1));
+        assertEquals(0x80000000, snapshot.getLeaf(2));
+    }
+
+    @Test
+    void testExecuteBatchMismatchedSubleaves() {
+        assertThrows(IllegalArgumentException.class,
+                () -> cpuid.executeBatch(new int[]{0}, new int[]{0, 1},
+                        new int[8]));
+    }
+
+    @Test
+    void testExecuteBatchOutputTooSmall() {
+        assertThrows(IllegalArgumentException.class,
+                () -> cpuid.executeBatch(new int[]{0}, new int[]{0},
+                        new int[3]));
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A CPUID implementation that answers from a map of leaf and sub-leaf
+ * pairs, returning zeros for anything that was not added. Shared by the
+ * tests of every package.
+ */
+public class FakeCpuid implements Cpuid {
+
+    private final Map<Long, CpuidResult> results = new HashMap<>();
+
+    public FakeCpuid with(final int leaf, final int subleaf, final int eax,
+                          final int ebx, final int ecx, final int edx) {
+        results.put(key(leaf, subleaf), new CpuidResult(eax, ebx, ecx, edx));
+        return this;
+    }
+
+    @Override
+    public CpuidResult execute(final int leaf) {
+        return execute(leaf, 0);
+    }
+
+    @Override
+    public CpuidResult execute(final int leaf, final int subleaf) {
+        return results.getOrDefault(key(leaf, subleaf),
+                new CpuidResult(0, 0, 0, 0));
+    }
+
+    private static long key(final int leaf, final int subleaf) {
+        return (long) leaf << 32 | subleaf & 0xFFFFFFFFL;
+    }
+}
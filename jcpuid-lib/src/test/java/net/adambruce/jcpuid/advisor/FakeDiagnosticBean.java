@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.advisor;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.VMOption;
+
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A diagnostic bean that reports the options that were added, and throws
+ * like the JVM does for any other option.
+ */
+class FakeDiagnosticBean implements HotSpotDiagnosticMXBean {
+
+    private final Map<String, VMOption> options = new LinkedHashMap<>();
+
+    FakeDiagnosticBean with(final String name, final String value) {
+        return with(name, value, VMOption.Origin.DEFAULT);
+    }
+
+    FakeDiagnosticBean with(final String name, final String value,
+                            final VMOption.Origin origin) {
+        options.put(name, new VMOption(name, value, true, origin));
+        return this;
+    }
+
+    @Override
+    public void dumpHeap(final String outputFile, final boolean live) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<VMOption> getDiagnosticOptions() {
+        return new ArrayList<>(options.values());
+    }
+
+    @Override
+    public VMOption getVMOption(final String name) {
+        VMOption option = options.get(name);
+        if (option == null) {
+            throw new IllegalArgumentException(
+                    "VM option \"" + name + "\" does not exist");
+        }
+        return option;
+    }
+
+    @Override
+    public void setVMOption(final String name, final String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ObjectName getObjectName() {
+        return null;
+    }
+}
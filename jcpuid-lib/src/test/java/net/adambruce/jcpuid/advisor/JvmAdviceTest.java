@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.advisor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JvmAdviceTest {
+
+    private static final AdvisorFinding INFO = new AdvisorFinding(
+            "UseAVX", Severity.INFO, "2", "ERGONOMIC", "3", "unused");
+
+    private static final AdvisorFinding ERROR = new AdvisorFinding(
+            "UseSHA", Severity.ERROR, "true", "VM_CREATION", "false",
+            "missing \"SHA\"\\\n\u0001");
+
+    @Test
+    void testFindingAccessors() {
+        assertEquals("UseSHA", ERROR.getOption());
+        assertEquals(Severity.ERROR, ERROR.getSeverity());
+        assertEquals("true", ERROR.getValue());
+        assertEquals("VM_CREATION", ERROR.getOrigin());
+        assertEquals("false", ERROR.getRecommendedValue());
+        assertEquals("INFO UseAVX=2 (ERGONOMIC), recommended 3: unused",
+                INFO.toString());
+    }
+
+    @Test
+    void testFindingsBySeverity() {
+        JvmAdvice advice = new JvmAdvice(Arrays.asList(INFO, ERROR),
+                Arrays.asList("UseAVX", "UseSHA"));
+
+        assertEquals(Arrays.asList(INFO, ERROR), advice.getFindings());
+        assertEquals(Collections.singletonList(ERROR),
+                advice.getFindings(Severity.WARNING));
+        assertTrue(advice.hasFindings(Severity.ERROR));
+        assertEquals(Arrays.asList("UseAVX", "UseSHA"), advice.getChecked());
+        assertThrows(UnsupportedOperationException.class,
+                () -> advice.getFindings().clear());
+    }
+
+    @Test
+    void testWithoutFindings() {
+        JvmAdvice advice = new JvmAdvice(Collections.emptyList(),
+                Collections.singletonList("UseAVX"));
+
+        assertFalse(advice.hasFindings(Severity.INFO));
+        assertEquals("{\"findings\":[],\"checked\":[\"UseAVX\"]}",
+                advice.toJson());
+        assertEquals("JvmAdvice{findings=[], checked=[UseAVX]}",
+                advice.toString());
+    }
+
+    @Test
+    void testToJson() {
+        AdvisorFinding noRecommendation = new AdvisorFinding("UseAES",
+                Severity.WARNING, "false", "DEFAULT", null, "m");
+        JvmAdvice advice = new JvmAdvice(
+                Arrays.asList(ERROR, noRecommendation),
+                Arrays.asList("UseSHA", "UseAES"));
+
+        assertEquals("{\"findings\":["
+                + "{\"option\":\"UseSHA\",\"severity\":\"ERROR\","
+                + "\"value\":\"true\",\"origin\":\"VM_CREATION\","
+                + "\"recommended\":\"false\","
+                + "\"message\":\"missing \\\"SHA\\\"\\\\\\u000a\\u0001\"},"
+                + "{\"option\":\"UseAES\",\"severity\":\"WARNING\","
+                + "\"value\":\"false\",\"origin\":\"DEFAULT\","
+                + "\"recommended\":null,\"message\":\"m\"}],"
+                + "\"checked\":[\"UseSHA\",\"UseAES\"]}",
+                advice.toJson());
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.advisor;
+
+import com.sun.management.VMOption;
+import net.adambruce.jcpuid.FakeCpuid;
+import net.adambruce.jcpuid.info.CpuFeature;
+import net.adambruce.jcpuid.info.CpuFeatures;
+import net.adambruce.jcpuid.info.CpuTopology;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JvmAdvisorTest {
+
+    private static final int LEAF1_ECX = 1 << 1 | 1 << 20 | 1 << 25
+            | 1 << 27 | 1 << 28;
+
+    private static final int LEAF7_EBX = 1 << 5 | 1 << 16 | 1 << 29;
+
+    /** An Intel processor with every feature the advisor checks. */
+    private static FakeCpuid full() {
+        return new FakeCpuid()
+                .with(0x0, 0, 0x18, 0x756E6547, 0x6C65746E, 0x49656E69)
+                .with(0x1, 0, 0, 0, LEAF1_ECX, 0)
+                .with(0x7, 0, 0, LEAF7_EBX, 0, 0)
+                .with(0x18, 0, 0, 32 << 16 | 0x2, 1, 0x1)
+                .with(0x80000000, 0, 0x80000001, 0, 0, 0)
+                .with(0x80000001, 0, 0, 0, 0, 1 << 26);
+    }
+
+    /** An Intel processor without any feature the advisor checks. */
+    private static FakeCpuid bare() {
+        return new FakeCpuid()
+                .with(0x0, 0, 0x18, 0x756E6547, 0x6C65746E, 0x49656E69)
+                .with(0x18, 0, 0, 0x1, 1, 0x1);
+    }
+
+    /** One package of four cores with two threads each. */
+    private static CpuTopology topology() {
+        int[] cpus = new int[8];
+        int[] registers = new int[8 * 16];
+        for (int cpu = 0; cpu < 8; cpu++) {
+            cpus[cpu] = cpu;
+            int[] row = {
+                0xB, 0x756E6547, 0x6C65746E, 0x49656E69,
+                0, 0, 0, 0,
+                1, 2, 0x100, cpu,
+                3, 8, 0x201, cpu
+            };
+            System.arraycopy(row, 0, registers, cpu * 16, 16);
+        }
+        return CpuTopology.fromSweep(new CpuidSweepResult(cpus,
+                new int[] {0x0, 0x1, 0xB, 0xB},
+                new int[] {0x0, 0x0, 0x0, 0x1}, registers));
+    }
+
+    private static AdvisorFinding only(final JvmAdvice advice) {
+        List<AdvisorFinding> findings = advice.getFindings();
+        assertEquals(1, findings.size(), findings.toString());
+        return findings.get(0);
+    }
+
+    @Test
+    void testSupportedAvxLevel() {
+        assertEquals(0, JvmAdvisor.getSupportedAvxLevel(
+                CpuFeatures.of(CpuFeature.AVX, CpuFeature.AVX2)));
+        assertEquals(0, JvmAdvisor.getSupportedAvxLevel(
+                CpuFeatures.of(CpuFeature.OSXSAVE)));
+        assertEquals(1, JvmAdvisor.getSupportedAvxLevel(
+                CpuFeatures.of(CpuFeature.OSXSAVE, CpuFeature.AVX)));
+        assertEquals(2, JvmAdvisor.getSupportedAvxLevel(
+                CpuFeatures.of(CpuFeature.OSXSAVE, CpuFeature.AVX,
+                        CpuFeature.AVX2)));
+        assertEquals(3, JvmAdvisor.getSupportedAvxLevel(
+                CpuFeatures.of(CpuFeature.OSXSAVE, CpuFeature.AVX,
+                        CpuFeature.AVX2, CpuFeature.AVX512F)));
+    }
+
+    @Test
+    void testMatchingOptionsHaveNoFindings() {
+        FakeDiagnosticBean bean = new FakeDiagnosticBean()
+                .with("UseAVX", "3")
+                .with("UseAES", "true")
+                .with("UseSHA", "true")
+                .with("UseLargePages", "true")
+                .with("LargePageSizeInBytes", "1073741824")
+                .with("ActiveProcessorCount", "4",
+                        VMOption.Origin.VM_CREATION);
+
+        JvmAdvice advice = JvmAdvisor.advise(full(), bean, topology());
+
+        assertEquals(Collections.emptyList(), advice.getFindings());
+        assertEquals(Arrays.asList("UseAVX", "UseAES", "UseSHA",
+                "UseLargePages", "LargePageSizeInBytes",
+                "ActiveProcessorCount"), advice.getChecked());
+    }
+
+    @Test
+    void testAvxAboveSupportedLevel() {
+        FakeDiagnosticBean bean = new FakeDiagnosticBean()
+                .with("UseAVX", "3", VMOption.Origin.VM_CREATION);
+
+        AdvisorFinding finding = only(JvmAdvisor.advise(bare(), bean, null));
+
+        assertEquals(Severity.ERROR, finding.getSeverity());
+        assertEquals("0", finding.getRecommendedValue());
+        assertEquals("UseAVX=3 requests AVX-512 but the processor only"
+                + " supports no AVX", finding.getMessage());
+    }
+
+    @Test
+    void testAvxOutOfRangeLevel() {
+        FakeDiagnosticBean bean = new FakeDiagnosticBean()
+                .with("UseAVX", "4");
+
+        AdvisorFinding finding = only(JvmAdvisor.advise(full(), bean, null));
+
+        assertEquals("UseAVX=4 requests level 4 but the processor only"
+                + " supports AVX-512", finding.getMessage());
+    }
+
+    @Test
+    void testAvxBelowSupportedLevel() {
+        FakeDiagnosticBean ergonomic = new FakeDiagnosticBean()
+                .with("UseAVX", "2", VMOption.Origin.ERGONOMIC);
+        FakeDiagnosticBean explicit = new FakeDiagnosticBean()
+                .with("UseAVX", "2", VMOption.Origin.VM_CREATION);
+
+        AdvisorFinding info = only(
+                JvmAdvisor.advise(full(), ergonomic, null));
+        AdvisorFinding warning = only(
+                JvmAdvisor.advise(full(), explicit, null));
+
+        assertEquals(Severity.INFO, info.getSeverity());
+        assertEquals("ERGONOMIC", info.getOrigin());
+        assertEquals(Severity.WARNING, warning.getSeverity());
+        assertEquals("3", warning.getRecommendedValue());
+        assertEquals("the processor supports AVX-512 but the compilers only"
+                + " use AVX2", warning.getMessage());
+    }
+
+    @Test
+    void testIntrinsicsWithoutFeatures() {
+        FakeDiagnosticBean bean = new FakeDiagnosticBean()
+                .with("UseAESIntrinsics", "true")
+                .with("UseCRC32CIntrinsics", "true")
+                .with("UseAdler32Intrinsics", "false");
+
+        JvmAdvice advice = JvmAdvisor.advise(bare(), bean, null);
+
+        assertEquals(2, advice.getFindings(Severity.ERROR).size());
+        AdvisorFinding finding = advice.getFindings().get(1);
+        assertEquals("UseCRC32CIntrinsics", finding.getOption());
+        assertEquals("false", finding.getRecommendedValue());
+        assertEquals("UseCRC32CIntrinsics is enabled but the processor"
+                + " lacks CpuFeatures[SSE4_2]", finding.getMessage());
+    }
+
+    @Test
+    void testIntrinsicsLeftUnused() {
+        FakeDiagnosticBean bean = new FakeDiagnosticBean()
+                .with("UseSHA", "false", VMOption.Origin.VM_CREATION)
+                .with("UseCRC32Intrinsics", "false")
+                .with("UseAdler32Intrinsics", "true");
+
+        JvmAdvice advice = JvmAdvisor.advise(full(), bean, null);
+
+        assertEquals(2, advice.getFindings().size());
+        AdvisorFinding sha = advice.getFindings().get(0);
+        assertEquals(Severity.WARNING, sha.getSeverity());
+        assertEquals("UseSHA is disabled but the processor has"
+                + " CpuFeatures[SHA]", sha.getMessage());
+        assertEquals(Severity.INFO,
+                advice.getFindings().get(1).getSeverity());
+    }
+
+    @Test
+    void testLargePagesDisabled() {
+        FakeDiagnosticBean bean = new FakeDiagnosticBean()
+                .with("UseLargePages", "false");
+
+        AdvisorFinding finding = only(JvmAdvisor.advise(full(), bean, null));
+
+        assertEquals(Severity.INFO, finding.getSeverity());
+        assertEquals("true", finding.getRecommendedValue());
+        assertEquals("the processor has 32 data TLB entries for 2 MiB pages"
+                + " that the heap does not use", finding.getMessage());
+        assertTrue(JvmAdvisor.advise(bare(), bean, null)
+                .getFindings().isEmpty());
+    }
+
+    @Test
+    void testLargePagesWithoutSupport() {
+        FakeDiagnosticBean bean = new FakeDiagnosticBean()
+                .with("UseLargePages", "true", VMOption.Origin.VM_CREATION)
+                .with("LargePageSizeInBytes", "1073741824",
+                        VMOption.Origin.VM_CREATION);
+
+        JvmAdvice advice = JvmAdvisor.advise(bare(), bean, null);
+
+        assertEquals(2, advice.getFindings().size());
+        assertEquals(Severity.WARNING,
+                advice.getFindings().get(0).getSeverity());
+        AdvisorFinding size = advice.getFindings().get(1);
+        assertEquals("LargePageSizeInBytes", size.getOption());
+        assertEquals(Severity.ERROR, size.getSeverity());
+        assertEquals("2097152", size.getRecommendedValue());
+    }
+
+    @Test
+    void testLargePagesWithDefaultSize() {
+        FakeDiagnosticBean bean = new FakeDiagnosticBean()
+                .with("UseLargePages", "true")
+                .with("LargePageSizeInBytes", "0");
+
+        assertTrue(JvmAdvisor.advise(full(), bean, null)
+                .getFindings().isEmpty());
+        assertEquals(Arrays.asList("UseLargePages"),
+                JvmAdvisor.advise(full(), new FakeDiagnosticBean()
+                        .with("UseLargePages", "true"), null).getChecked());
+    }
+
+    @Test
+    void testProcessorCountAboveLogicalCpus() {
+        FakeDiagnosticBean bean = new FakeDiagnosticBean()
+                .with("ActiveProcessorCount", "16",
+                        VMOption.Origin.VM_CREATION);
+
+        AdvisorFinding finding = only(
+                JvmAdvisor.advise(bare(), bean, topology()));
+
+        assertEquals(Severity.ERROR, finding.getSeverity());
+        assertEquals("8", finding.getRecommendedValue());
+        assertEquals("ActiveProcessorCount=16 exceeds the 8 logical CPUs",
+                finding.getMessage());
+    }
+
+    @Test
+    void testProcessorCountAbovePhysicalCores() {
+        FakeDiagnosticBean bean = new FakeDiagnosticBean()
+                .with("ActiveProcessorCount", "-1");
+
+        AdvisorFinding finding = only(
+                JvmAdvisor.advise(bare(), bean, topology()));
+
+        assertEquals(Severity.INFO, finding.getSeverity());
+        assertEquals("4", finding.getRecommendedValue());
+        assertEquals("the JVM sizes its thread pools for 8 processors but"
+                + " there are 4 physical cores", finding.getMessage());
+        assertTrue(JvmAdvisor.advise(bare(), bean, null)
+                .getChecked().isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.advisor;
+
+import net.adambruce.jcpuid.FakeCpuid;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LargePageTlbTest {
+
+    private static FakeCpuid intel(final int maxLeaf) {
+        return new FakeCpuid()
+                .with(0x0, 0, maxLeaf, 0x756E6547, 0x6C65746E, 0x49656E69);
+    }
+
+    private static FakeCpuid amd(final int maxExtendedLeaf) {
+        return new FakeCpuid()
+                .with(0x0, 0, 0x10, 0x68747541, 0x444D4163, 0x69746E65)
+                .with(0x80000000, 0, maxExtendedLeaf, 0, 0, 0);
+    }
+
+    @Test
+    void testIntelTakesLargestDataTlb() {
+        FakeCpuid cpuid = intel(0x18)
+                // sub-leaf 0: 3 more sub-leaves, an instruction TLB
+                .with(0x18, 0, 3, 8 << 16 | 0x3, 1, 0x2)
+                // a data TLB of 4 KiB pages only
+                .with(0x18, 1, 0, 4 << 16 | 0x1, 16, 0x1)
+                // a unified TLB of 2 MiB pages, 8 ways and 128 sets
+                .with(0x18, 2, 0, 8 << 16 | 0x2, 128, 0x3)
+                // a load-only TLB of 2 MiB pages, 32 entries
+                .with(0x18, 3, 0, 32 << 16 | 0x6, 1, 0x4);
+
+        assertEquals(1024, LargePageTlb.dataEntries(cpuid));
+    }
+
+    @Test
+    void testIntelWithoutDataTlbForLargePages() {
+        FakeCpuid cpuid = intel(0x18)
+                .with(0x18, 0, 1, 8 << 16 | 0x2, 1, 0x2);
+
+        assertEquals(0, LargePageTlb.dataEntries(cpuid));
+    }
+
+    @Test
+    void testIntelWithoutTlbLeafIsUnknown() {
+        assertEquals(LargePageTlb.UNKNOWN,
+                LargePageTlb.dataEntries(intel(0x16)));
+    }
+
+    @Test
+    void testUnknownVendorIsUnknown() {
+        assertEquals(LargePageTlb.UNKNOWN,
+                LargePageTlb.dataEntries(new FakeCpuid()));
+    }
+
+    @Test
+    void testAmdTakesLargestOfL1AndL2() {
+        FakeCpuid cpuid = amd(0x80000008)
+                .with(0x80000005, 0, 0xFF40FF40, 0, 0, 0)
+                .with(0x80000006, 0, 2 << 28 | 2048 << 16 | 0x2000, 0, 0, 0);
+
+        assertEquals(2048, LargePageTlb.dataEntries(cpuid));
+    }
+
+    @Test
+    void testAmdWithOnlyL1() {
+        FakeCpuid cpuid = amd(0x80000005)
+                .with(0x80000005, 0, 0xFF40FF40, 0, 0, 0);
+
+        assertEquals(0x40, LargePageTlb.dataEntries(cpuid));
+    }
+
+    @Test
+    void testAmdWithoutTlbLeavesIsUnknown() {
+        assertEquals(LargePageTlb.UNKNOWN,
+                LargePageTlb.dataEntries(amd(0x80000004)));
+    }
+}
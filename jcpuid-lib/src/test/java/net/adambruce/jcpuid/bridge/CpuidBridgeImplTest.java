@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the argument checks, which run before the native methods are
+ * called and so do not need the native library.
+ */
+public class CpuidBridgeImplTest {
+
+    private final CpuidBridgeImpl bridge = new CpuidBridgeImpl();
+
+    @Test
+    void testExecuteCPUIDNullArray() {
+        assertThrows(NullPointerException.class,
+                () -> bridge.executeCPUID(0x0, 0x0, null, 0));
+    }
+
+    @Test
+    void testExecuteCPUIDOffsetOutOfRange() {
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> bridge.executeCPUID(0x0, 0x0, new int[4], 1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> bridge.executeCPUID(0x0, 0x0, new int[4], -1));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class CpuidBridgeTest {
+
+    private final CpuidBridge bridge =
+            mock(CpuidBridge.class, CALLS_REAL_METHODS);
+
+    @Test
+    void testExecuteCPUIDIntoArray() {
+        doReturn(new CpuidResult(1, 2, 3, 4)).when(bridge).executeCPUID(7, 0);
+
+        int[] dest = new int[5];
+        bridge.executeCPUID(7, 0, dest, 1);
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, dest);
+    }
+
+    @Test
+    void testExecuteCPUIDBatch() {
+        doReturn(new CpuidResult(1, 2, 3, 4)).when(bridge).executeCPUID(0, 0);
+        doReturn(new CpuidResult(5, 6, 7, 8)).when(bridge).executeCPUID(4, 1);
+
+        int[] out = new int[8];
+        bridge.executeCPUIDBatch(new int[]{0, 4}, new int[]{0, 1}, out);
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7, 8}, out);
+    }
+
+    @Test
+    void testExecuteCPUIDBatchMismatchedSubleaves() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bridge.executeCPUIDBatch(new int[]{0, 1}, new int[]{0},
+                        new int[8]));
+    }
+
+    @Test
+    void testExecuteCPUIDBatchOutputTooSmall() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bridge.executeCPUIDBatch(new int[]{0, 1},
+                        new int[]{0, 0}, new int[7]));
+    }
+
+    @Test
+    void testGetThreadAffinityUnsupported() {
+        assertArrayEquals(new int[0], bridge.getThreadAffinity());
+    }
+
+    @Test
+    void testSetThreadAffinityUnsupported() {
+        assertFalse(bridge.setThreadAffinity(0, 1));
+    }
+
+    @Test
+    void testSetThreadAffinityNoCpus() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bridge.setThreadAffinity());
+    }
+
+    @Test
+    void testSetThreadAffinityNegativeCpu() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bridge.setThreadAffinity(0, -1));
+    }
+
+    @Test
+    void testTSCUnsupported() {
+        assertFalse(bridge.isTSCSupported());
+        assertThrows(UnsupportedOperationException.class,
+                () -> bridge.readTSC());
+        assertThrows(UnsupportedOperationException.class,
+                () -> bridge.readTSCP());
+    }
+
+}
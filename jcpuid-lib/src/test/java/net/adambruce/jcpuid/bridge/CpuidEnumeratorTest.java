@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CpuidEnumeratorTest {
+
+    private static final CpuidResult EMPTY = new CpuidResult(0, 0, 0, 0);
+
+    private final Map<Long, CpuidResult> results = new HashMap<>();
+
+    private final CpuidBridge bridge = new CpuidBridge() {
+        @Override
+        public CpuidResult executeCPUID(int leaf) {
+            return executeCPUID(leaf, 0);
+        }
+
+        @Override
+        public CpuidResult executeCPUID(int leaf, int subleaf) {
+            return results.getOrDefault(key(leaf, subleaf), EMPTY);
+        }
+    };
+
+    private static long key(int leaf, int subleaf) {
+        return ((long) leaf << 32) | (subleaf & 0xFFFFFFFFL);
+    }
+
+    private void put(int leaf, int subleaf, int eax, int ebx, int ecx,
+                     int edx) {
+        results.put(key(leaf, subleaf), new CpuidResult(eax, ebx, ecx, edx));
+    }
+
+    private void populate() {
+        put(0x0, 0, 0xD, 0x756E6547, 0x6C65746E, 0x49656E69);
+        put(0x1, 0, 0x906A3, 0, 0, 0);
+
+        // Two caches followed by the null cache
+        put(0x4, 0, 0x121, 0, 0, 0);
+        put(0x4, 1, 0x122, 0, 0, 0);
+
+        // Maximum sub-leaf of one
+        put(0x7, 0, 0x1, 0, 0, 0);
+        put(0x7, 1, 0x10, 0, 0, 0);
+
+        // SMT and core levels followed by an invalid level
+        put(0xB, 0, 0x1, 0x2, 0x100, 0);
+        put(0xB, 1, 0x4, 0x8, 0x201, 0);
+
+        // User state components 0, 1, 2 and supervisor component 40
+        put(0xD, 0, 0x7, 0, 0, 0);
+        put(0xD, 1, 0, 0, 0, 0x100);
+
+        put(0x80000000, 0, 0x80000001, 0, 0, 0);
+        put(0x80000001, 0, 0, 0, 0x1, 0);
+    }
+
+    @Test
+    void testDump() {
+        populate();
+
+        ByteBuffer buffer = CpuidSnapshot.allocate(64);
+        int count = CpuidEnumerator.dump(bridge, buffer);
+        CpuidSnapshot snapshot = CpuidSnapshot.wrap(buffer, count);
+
+        int[][] expected = {
+                {0x0, 0}, {0x1, 0}, {0x2, 0}, {0x3, 0},
+                {0x4, 0}, {0x4, 1}, {0x4, 2},
+                {0x5, 0}, {0x6, 0}, {0x7, 0}, {0x7, 1}, {0x8, 0}, {0x9, 0},
+                {0xA, 0}, {0xB, 0}, {0xB, 1}, {0xB, 2}, {0xC, 0},
+                {0xD, 0}, {0xD, 1}, {0xD, 2}, {0xD, 40},
+                {0x80000000, 0}, {0x80000001, 0}
+        };
+
+        assertEquals(expected.length, count);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i][0], snapshot.getLeaf(i));
+            assertEquals(expected[i][1], snapshot.getSubleaf(i));
+            assertEquals(bridge.executeCPUID(expected[i][0], expected[i][1]),
+                    snapshot.getResult(i));
+        }
+    }
+
+    @Test
+    void testDumpBufferTooSmall() {
+        populate();
+
+        ByteBuffer buffer = CpuidSnapshot.allocate(2);
+        assertEquals(24, CpuidEnumerator.dump(bridge, buffer));
+
+        CpuidSnapshot snapshot = CpuidSnapshot.wrap(buffer, 2);
+        assertEquals(0x1, snapshot.getLeaf(1));
+    }
+
+    @Test
+    void testDumpClampsRanges() {
+        put(0x0, 0, 0x7FFFFFFF, 0, 0, 0);
+        put(0x7, 0, 0xFFFFFFFF, 0, 0, 0);
+        put(0x80000000, 0, 0x7FFFFFFF, 0, 0, 0);
+
+        ByteBuffer buffer = CpuidSnapshot.allocate(0);
+
+        // 256 standard leaves, 63 extra sub-leaves of leaf 7, sub-leaf 1 of
+        // leaf 0xD, and only the first leaf of the invalid extended range
+        assertEquals(256 + 63 + 1 + 1, CpuidEnumerator.dump(bridge, buffer));
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class CurrentCpuTest {
+
+    private final CpuidBridge bridge =
+            mock(CpuidBridge.class, CALLS_REAL_METHODS);
+
+    private void extendedFeatures(final int edx) {
+        doReturn(new CpuidResult(0x80000008, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x80000000);
+        doReturn(new CpuidResult(0, 0, 0, edx)).when(bridge)
+                .executeCPUID(0x80000001);
+    }
+
+    @Test
+    void testSelectRdpid() {
+        doReturn(new CpuidResult(0x16, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x0);
+        doReturn(new CpuidResult(0, 0, 1 << 22, 0)).when(bridge)
+                .executeCPUID(0x7, 0);
+
+        assertEquals(CurrentCpu.RDPID, CurrentCpu.selectSource(bridge));
+    }
+
+    @Test
+    void testSelectRdtscp() {
+        doReturn(new CpuidResult(0x16, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x0);
+        doReturn(new CpuidResult(0, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x7, 0);
+        extendedFeatures(1 << 27);
+
+        assertEquals(CurrentCpu.RDTSCP, CurrentCpu.selectSource(bridge));
+    }
+
+    @Test
+    void testSelectApicId() {
+        // Leaf 0x7 is above the highest standard leaf, so it is not read
+        doReturn(new CpuidResult(0x6, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x0);
+        extendedFeatures(0);
+
+        assertEquals(CurrentCpu.APIC_ID, CurrentCpu.selectSource(bridge));
+    }
+
+    @Test
+    void testX2ApicId() {
+        doReturn(new CpuidResult(0x16, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x0);
+        doReturn(new CpuidResult(1, 2, 0x100, 0x1234)).when(bridge)
+                .executeCPUID(0xB, 0);
+
+        assertEquals(0x1234, CurrentCpu.apicId(bridge));
+        assertEquals(0x1234, bridge.getCurrentCpu());
+    }
+
+    @Test
+    void testInitialApicIdWithoutTopologyLeaf() {
+        doReturn(new CpuidResult(0x6, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x0);
+        doReturn(new CpuidResult(0, 0xFE080800, 0, 0)).when(bridge)
+                .executeCPUID(0x1);
+
+        assertEquals(0xFE, CurrentCpu.apicId(bridge));
+    }
+
+    @Test
+    void testInitialApicIdWithEmptyTopologyLeaf() {
+        doReturn(new CpuidResult(0xD, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x0);
+        doReturn(new CpuidResult(0, 0, 0, 7)).when(bridge)
+                .executeCPUID(0xB, 0);
+        doReturn(new CpuidResult(0, 0x03000800, 0, 0)).when(bridge)
+                .executeCPUID(0x1);
+
+        assertEquals(3, CurrentCpu.apicId(bridge));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.metrics.CpuidMetrics;
+import net.adambruce.jcpuid.metrics.MetricsSnapshot;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class MeteredBridgeTest {
+
+    private final CpuidBridge delegate = mock(CpuidBridge.class);
+
+    private final CpuidMetrics metrics = new CpuidMetrics();
+
+    private final MeteredBridge bridge = new MeteredBridge(delegate, metrics);
+
+    @Test
+    void testExecuteCPUID() {
+        CpuidResult result = new CpuidResult(1, 2, 3, 4);
+        doReturn(result).when(delegate).executeCPUID(0x7);
+        doReturn(result).when(delegate).executeCPUID(0x7, 1);
+
+        assertSame(result, bridge.executeCPUID(0x7));
+        assertSame(result, bridge.executeCPUID(0x7, 1));
+        bridge.executeCPUID(0x80000001, 0, new int[4], 0);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2L, snapshot.getCount(0x7));
+        assertEquals(1L, snapshot.getCount(0x80000001));
+        assertEquals(3L, snapshot.getLatency().getCount());
+        verify(delegate).executeCPUID(0x80000001, 0, new int[4], 0);
+    }
+
+    @Test
+    void testExecuteCPUIDBatch() {
+        int[] leaves = {0x0, 0x4, 0x4};
+        int[] subleaves = {0, 0, 1};
+        bridge.executeCPUIDBatch(leaves, subleaves, new int[12]);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(1L, snapshot.getCount(0x0));
+        assertEquals(2L, snapshot.getCount(0x4));
+        assertEquals(1L, snapshot.getLatency().getCount());
+        verify(delegate).executeCPUIDBatch(leaves, subleaves, new int[12]);
+    }
+
+    @Test
+    void testDumpCPUID() {
+        doReturn(42).when(delegate).dumpCPUID(any(ByteBuffer.class));
+
+        assertEquals(42, bridge.dumpCPUID(ByteBuffer.allocate(0)));
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(0L, snapshot.getTotalCount());
+        assertEquals(1L, snapshot.getLatency().getCount());
+    }
+
+    @Test
+    void testDelegatesOtherMethods() {
+        doReturn(new int[]{0, 1}).when(delegate).getThreadAffinity();
+        doReturn(true).when(delegate).setThreadAffinity(1);
+        doReturn(3).when(delegate).getCurrentCpu();
+        doReturn(true).when(delegate).isTSCSupported();
+        doReturn(10L).when(delegate).readTSC();
+        doReturn(11L).when(delegate).readTSCP();
+
+        assertArrayEquals(new int[]{0, 1}, bridge.getThreadAffinity());
+        assertTrue(bridge.setThreadAffinity(1));
+        assertEquals(3, bridge.getCurrentCpu());
+        assertTrue(bridge.isTSCSupported());
+        assertEquals(10L, bridge.readTSC());
+        assertEquals(11L, bridge.readTSCP());
+        assertEquals(0L, metrics.snapshot().getLatency().getCount());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class TscSupportTest {
+
+    private final CpuidBridge bridge =
+            mock(CpuidBridge.class, CALLS_REAL_METHODS);
+
+    @Test
+    void testRdtscpSupported() {
+        doReturn(new CpuidResult(0x80000008, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x80000000);
+        doReturn(new CpuidResult(0, 0, 0, 1 << 27)).when(bridge)
+                .executeCPUID(0x80000001);
+
+        assertTrue(TscSupport.isRdtscpSupported(bridge));
+    }
+
+    @Test
+    void testRdtscpNotReported() {
+        doReturn(new CpuidResult(0x80000008, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x80000000);
+        doReturn(new CpuidResult(0, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x80000001);
+
+        assertFalse(TscSupport.isRdtscpSupported(bridge));
+    }
+
+    @Test
+    void testRdtscpWithoutExtendedLeaf() {
+        doReturn(new CpuidResult(0x80000000, 0, 0, 0)).when(bridge)
+                .executeCPUID(0x80000000);
+
+        assertFalse(TscSupport.isRdtscpSupported(bridge));
+    }
+
+    @Test
+    void testRdtscpUnsupportedMessage() {
+        assertEquals("RDTSCP is not supported by this processor",
+                TscSupport.rdtscpUnsupported().getMessage());
+    }
+}
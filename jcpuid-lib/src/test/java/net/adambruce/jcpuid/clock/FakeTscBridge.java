@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.clock;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A bridge that answers CPUID from a map of leaves and reads a time stamp
+ * counter that runs at a fixed multiple of a fake nanosecond clock. The
+ * nanosecond clock advances by a fixed step each time it is read.
+ */
+class FakeTscBridge implements CpuidBridge {
+
+    private final Map<Integer, CpuidResult> results = new HashMap<>();
+
+    private long now;
+
+    private long ticksPerNano = 3;
+
+    private int tscReads;
+
+    private int tscpReads;
+
+    FakeTscBridge with(final int leaf, final int eax, final int ebx,
+                       final int ecx, final int edx) {
+        results.put(leaf, new CpuidResult(eax, ebx, ecx, edx));
+        return this;
+    }
+
+    /**
+     * Creates a bridge for a processor with an invariant counter, RDTSCP,
+     * and no frequency leaves.
+     */
+    static FakeTscBridge invariant() {
+        return new FakeTscBridge()
+                .with(0x0, 0xD, 0, 0, 0)
+                .with(0x1, 0, 0, 0, 1 << 4)
+                .with(0x80000000, 0x80000008, 0, 0, 0)
+                .with(0x80000001, 0, 0, 0, 1 << 27)
+                .with(0x80000007, 0, 0, 0, 1 << 8);
+    }
+
+    FakeTscBridge ticksPerNano(final long ratio) {
+        this.ticksPerNano = ratio;
+        return this;
+    }
+
+    long nanoTime() {
+        now += 100;
+        return now;
+    }
+
+    int getTscReads() {
+        return tscReads;
+    }
+
+    int getTscpReads() {
+        return tscpReads;
+    }
+
+    @Override
+    public CpuidResult executeCPUID(final int leaf) {
+        return executeCPUID(leaf, 0);
+    }
+
+    @Override
+    public CpuidResult executeCPUID(final int leaf, final int subleaf) {
+        return results.getOrDefault(leaf, new CpuidResult(0, 0, 0, 0));
+    }
+
+    @Override
+    public boolean isTSCSupported() {
+        return true;
+    }
+
+    @Override
+    public long readTSC() {
+        tscReads++;
+        return now * ticksPerNano;
+    }
+
+    @Override
+    public long readTSCP() {
+        tscpReads++;
+        return now * ticksPerNano;
+    }
+}
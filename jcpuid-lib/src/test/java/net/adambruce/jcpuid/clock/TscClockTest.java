@@ -0,0 +1,383 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.clock;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.exception.CpuidException;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TscClockTest {
+
+    private static TscClock create(final FakeTscBridge bridge)
+            throws CpuidException {
+        return TscClock.create(bridge, bridge::nanoTime, 1_000_000L);
+    }
+
+    @Test
+    void testCrystalFrequency() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x0, 0x16, 0, 0, 0)
+                .with(0x15, 2, 176, 24_000_000, 0);
+
+        TscClock clock = create(bridge);
+
+        assertEquals(2_112_000_000L, clock.getFrequency());
+        assertEquals(FrequencySource.CRYSTAL, clock.getFrequencySource());
+        assertEquals(0, bridge.getTscReads());
+    }
+
+    @Test
+    void testBaseFrequency() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x0, 0x16, 0, 0, 0)
+                .with(0x15, 2, 200, 0, 0)
+                .with(0x16, 0xFFFF0000 | 3000, 4000, 100, 0);
+
+        TscClock clock = create(bridge);
+
+        assertEquals(3_000_000_000L, clock.getFrequency());
+        assertEquals(FrequencySource.BASE_FREQUENCY,
+                clock.getFrequencySource());
+    }
+
+    @Test
+    void testHypervisorFrequency() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x0, 0x16, 0, 0, 0)
+                .with(0x1, 0, 0, 1 << 31, 1 << 4)
+                .with(0x15, 2, 200, 0, 0)
+                .with(0x16, 3000, 4000, 100, 0)
+                .with(0x40000000, 0x40000010, 0x4B4D564B, 0x564B4D56, 0x4D)
+                .with(0x40000010, 2_500_000, 1_000_000, 0, 0);
+
+        TscClock clock = create(bridge);
+
+        assertEquals(2_500_000_000L, clock.getFrequency());
+        assertEquals(FrequencySource.HYPERVISOR, clock.getFrequencySource());
+        assertEquals(0, bridge.getTscReads());
+    }
+
+    @Test
+    void testCrystalFrequencyUnderHypervisor() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x0, 0x16, 0, 0, 0)
+                .with(0x1, 0, 0, 1 << 31, 1 << 4)
+                .with(0x15, 2, 176, 24_000_000, 0)
+                .with(0x40000000, 0x40000010, 0x4B4D564B, 0x564B4D56, 0x4D)
+                .with(0x40000010, 2_500_000, 1_000_000, 0, 0);
+
+        assertEquals(FrequencySource.CRYSTAL,
+                create(bridge).getFrequencySource());
+    }
+
+    @Test
+    void testCalibratedUnderHypervisorWithoutTimingLeaf()
+            throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x1, 0, 0, 1 << 31, 1 << 4)
+                .with(0x40000000, 0x40000001, 0x4B4D564B, 0x564B4D56, 0x4D);
+
+        assertEquals(FrequencySource.CALIBRATED,
+                create(bridge).getFrequencySource());
+    }
+
+    @Test
+    void testCalibratedWithoutFrequencyLeaves() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x15, 2, 176, 24_000_000, 0);
+
+        TscClock clock = create(bridge);
+
+        assertEquals(3_000_000_000L, clock.getFrequency());
+        assertEquals(FrequencySource.CALIBRATED, clock.getFrequencySource());
+    }
+
+    @Test
+    void testCalibratedWithoutRatio() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x0, 0x16, 0, 0, 0)
+                .with(0x15, 0, 0, 24_000_000, 0)
+                .with(0x16, 3000, 4000, 100, 0)
+                .ticksPerNano(2);
+
+        TscClock clock = create(bridge);
+
+        assertEquals(2_000_000_000L, clock.getFrequency());
+        assertEquals(FrequencySource.CALIBRATED, clock.getFrequencySource());
+    }
+
+    @Test
+    void testCalibratedWithoutBaseFrequency() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x0, 0x15, 0, 0, 0)
+                .with(0x15, 2, 200, 0, 0)
+                .with(0x16, 3000, 4000, 100, 0);
+
+        TscClock clock = create(bridge);
+
+        assertEquals(FrequencySource.CALIBRATED, clock.getFrequencySource());
+    }
+
+    @Test
+    void testCalibratedWithoutNumerator() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x0, 0x15, 0, 0, 0)
+                .with(0x15, 2, 0, 24_000_000, 0);
+
+        assertEquals(FrequencySource.CALIBRATED,
+                create(bridge).getFrequencySource());
+    }
+
+    @Test
+    void testCalibrateWithSystemTime() throws CpuidException {
+        // The counter of the fake runs at three times the fake time, so
+        // reading it with the system time source gives a steady rate
+        CpuidBridge bridge = new FakeTscBridge() {
+            @Override
+            public long readTSC() {
+                return System.nanoTime() * 3;
+            }
+        };
+
+        long frequency = TscClock.calibrate(bridge, System::nanoTime,
+                1_000_000L);
+
+        assertEquals(3_000_000_000L, frequency, 30_000_000L);
+    }
+
+    @Test
+    void testCreateWithDefaultCalibration() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x0, 0x16, 0, 0, 0)
+                .with(0x15, 2, 176, 24_000_000, 0);
+
+        assertEquals(2_112_000_000L, TscClock.create(bridge).getFrequency());
+        assertEquals(2_112_000_000L,
+                TscClock.create(bridge, 1L).getFrequency());
+    }
+
+    @Test
+    void testRefuseBridgeWithoutTsc() {
+        CpuidBridge bridge = new CpuidBridge() {
+            @Override
+            public CpuidResult executeCPUID(final int leaf) {
+                return new CpuidResult(0, 0, 0, 0);
+            }
+
+            @Override
+            public CpuidResult executeCPUID(final int leaf,
+                                            final int subleaf) {
+                return new CpuidResult(0, 0, 0, 0);
+            }
+        };
+
+        CpuidException ex = assertThrows(CpuidException.class,
+                () -> TscClock.create(bridge));
+        assertEquals("the bridge cannot read the time stamp counter",
+                ex.getMessage());
+    }
+
+    @Test
+    void testRefuseProcessorWithoutTsc() {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x1, 0, 0, 0, 0);
+
+        CpuidException ex = assertThrows(CpuidException.class,
+                () -> create(bridge));
+        assertEquals("the processor has no time stamp counter",
+                ex.getMessage());
+    }
+
+    @Test
+    void testRefuseVariantTsc() {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x80000007, 0, 0, 0, 0);
+
+        CpuidException ex = assertThrows(CpuidException.class,
+                () -> create(bridge));
+        assertEquals("the time stamp counter is not invariant",
+                ex.getMessage());
+    }
+
+    @Test
+    void testRefuseWithoutPowerLeaf() {
+        // Leaf 0x80000007 is above the highest extended leaf, so its
+        // invariant bit is ignored
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x80000000, 0x80000006, 0, 0, 0);
+
+        assertThrows(CpuidException.class, () -> create(bridge));
+    }
+
+    @Test
+    void testRefuseWithoutExtendedLeaves() {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x80000000, 0xD, 0, 0, 0);
+
+        assertThrows(CpuidException.class, () -> create(bridge));
+    }
+
+    @Test
+    void testRefuseImplausibleFrequency() {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x0, 0x16, 0, 0, 0)
+                .with(0x15, 2, 4, 24_000_000, 0);
+
+        CpuidException ex = assertThrows(CpuidException.class,
+                () -> create(bridge));
+        assertEquals("implausible time stamp counter frequency: "
+                + "48000000 Hz", ex.getMessage());
+    }
+
+    @Test
+    void testRefuseExcessiveFrequency() {
+        assertThrows(CpuidException.class,
+                () -> create(FakeTscBridge.invariant().ticksPerNano(21)));
+    }
+
+    @Test
+    void testRefuseStoppedCounter() {
+        FakeTscBridge bridge = FakeTscBridge.invariant().ticksPerNano(0);
+
+        CpuidException ex = assertThrows(CpuidException.class,
+                () -> create(bridge));
+        assertEquals("the time stamp counter did not advance",
+                ex.getMessage());
+    }
+
+    @Test
+    void testRefuseNonPositiveCalibration() {
+        FakeTscBridge bridge = FakeTscBridge.invariant();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> TscClock.create(bridge, 0L));
+    }
+
+    @Test
+    void testTicks() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant();
+        TscClock clock = create(bridge);
+        bridge.nanoTime();
+
+        long ticks = clock.ticks();
+
+        assertEquals(ticks, clock.ticksOrdered());
+        assertTrue(clock.isOrdered());
+        assertEquals(1, bridge.getTscpReads());
+        assertEquals(ticks / 3, clock.nanoTime());
+    }
+
+    @Test
+    void testTicksOrderedWithoutRdtscp() throws CpuidException {
+        FakeTscBridge bridge = FakeTscBridge.invariant()
+                .with(0x80000001, 0, 0, 0, 0);
+        TscClock clock = create(bridge);
+        int reads = bridge.getTscReads();
+
+        clock.ticksOrdered();
+
+        assertFalse(clock.isOrdered());
+        assertEquals(reads + 1, bridge.getTscReads());
+        assertEquals(0, bridge.getTscpReads());
+    }
+
+    @Test
+    void testTicksToNanos() throws CpuidException {
+        TscClock clock = create(FakeTscBridge.invariant());
+
+        assertEquals(0L, clock.ticksToNanos(0L));
+        assertEquals(1L, clock.ticksToNanos(3L));
+        assertEquals(500_000_000L, clock.ticksToNanos(1_500_000_000L));
+        assertEquals(999_999_999L, clock.ticksToNanos(2_999_999_997L));
+        assertEquals(1_000_000_000L, clock.ticksToNanos(3_000_000_000L));
+        assertEquals(100_000_000_001L,
+                clock.ticksToNanos(300_000_000_003L));
+        assertEquals(-1L, clock.ticksToNanos(-3L));
+        assertEquals(-1_000_000_001L, clock.ticksToNanos(-3_000_000_003L));
+    }
+
+    @Test
+    void testTicksToNanosAccuracy() throws CpuidException {
+        TscClock clock = create(FakeTscBridge.invariant()
+                .with(0x0, 0x16, 0, 0, 0)
+                .with(0x15, 2, 176, 24_000_000, 0));
+
+        for (long ticks = 1L; ticks > 0L && ticks < Long.MAX_VALUE / 8;
+             ticks = ticks * 7 + 1) {
+            double expected = ticks * 1e9 / 2_112_000_000L;
+            assertEquals(expected, clock.ticksToNanos(ticks),
+                    Math.max(1.0, expected * 1e-12));
+        }
+    }
+
+    @Test
+    void testBatchTicksToNanos() throws CpuidException {
+        TscClock clock = create(FakeTscBridge.invariant());
+        long[] ticks = {-3_000_000_003L, -3L, 0L, 3L, 2_999_999_999L,
+            3_000_000_000L, 300_000_000_003L};
+        long[] expected = new long[ticks.length + 2];
+        for (int i = 0; i < ticks.length; i++) {
+            expected[i + 1] = clock.ticksToNanos(ticks[i]);
+        }
+
+        long[] nanos = new long[ticks.length + 2];
+        clock.ticksToNanos(ticks, 0, nanos, 1, ticks.length);
+
+        assertArrayEquals(expected, nanos);
+    }
+
+    @Test
+    void testBatchTicksToNanosInPlace() throws CpuidException {
+        TscClock clock = create(FakeTscBridge.invariant());
+        long[] values = {3L, 6L, 9L, 12L};
+
+        clock.ticksToNanos(values, 1, values, 1, 2);
+
+        assertArrayEquals(new long[]{3L, 2L, 3L, 12L}, values);
+    }
+
+    @Test
+    void testBatchTicksToNanosInvalidRange() throws CpuidException {
+        TscClock clock = create(FakeTscBridge.invariant());
+        long[] src = new long[4];
+        long[] dest = new long[4];
+
+        assertThrows(IllegalArgumentException.class,
+                () -> clock.ticksToNanos(src, 1, dest, 0, 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> clock.ticksToNanos(src, 0, dest, 1, 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> clock.ticksToNanos(src, -1, dest, 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> clock.ticksToNanos(src, 0, dest, 0, -1));
+    }
+
+    @Test
+    void testToString() throws CpuidException {
+        TscClock clock = create(FakeTscBridge.invariant());
+
+        assertEquals("TscClock{frequency=3000000000, source=CALIBRATED, "
+                + "ordered=true}", clock.toString());
+    }
+}
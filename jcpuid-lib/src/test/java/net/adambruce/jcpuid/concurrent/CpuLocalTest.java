@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CpuLocalTest {
+
+    @Test
+    void testGetCreatesOneValuePerCpu() {
+        FakeCpuBridge bridge = new FakeCpuBridge().affinity(0, 1, 2, 3);
+        AtomicInteger created = new AtomicInteger();
+        CpuLocal<Integer> local = CpuLocal.withInitial(bridge,
+                created::incrementAndGet);
+
+        Integer first = local.get();
+        assertSame(first, local.get());
+
+        bridge.cpu(3);
+        Integer second = local.get();
+
+        assertNotSame(first, second);
+        assertSame(first, local.getForCpu(0));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    void testCpusBeyondSlotsShareValues() {
+        CpuLocal<Object> local = new CpuLocal<>(new FakeCpuBridge(),
+                Object::new, 4);
+
+        assertSame(local.getForCpu(1), local.getForCpu(5));
+        assertSame(local.getForCpu(-1), local.getForCpu(3));
+        assertEquals(4, local.getSlotCount());
+    }
+
+    @Test
+    void testForEachVisitsCreatedValues() {
+        CpuLocal<AtomicInteger> local = new CpuLocal<>(new FakeCpuBridge(),
+                AtomicInteger::new, 8);
+        local.getForCpu(2).addAndGet(5);
+        local.getForCpu(6).addAndGet(7);
+
+        List<Integer> seen = new ArrayList<>();
+        local.forEach(value -> seen.add(value.get()));
+
+        assertEquals(Arrays.asList(5, 7), seen);
+    }
+
+    @Test
+    void testRacingCreationKeepsFirstValue() {
+        AtomicReference<CpuLocal<Object>> local = new AtomicReference<>();
+        List<Object> created = new ArrayList<>();
+
+        // The first creation lets another caller install its value first,
+        // as a racing thread would
+        local.set(new CpuLocal<>(new FakeCpuBridge(), () -> {
+            if (created.isEmpty() && local.get() != null) {
+                created.add(null);
+                local.get().getForCpu(0);
+            }
+            Object value = new Object();
+            created.add(value);
+            return value;
+        }, 1));
+
+        Object value = local.get().getForCpu(0);
+
+        assertEquals(3, created.size());
+        assertSame(created.get(1), value);
+        assertSame(value, local.get().getForCpu(0));
+    }
+
+    @Test
+    void testNullSupplier() {
+        assertThrows(NullPointerException.class,
+                () -> CpuLocal.withInitial(new FakeCpuBridge(), null));
+    }
+
+    @Test
+    void testSupplierReturnsNull() {
+        CpuLocal<Object> local = CpuLocal.withInitial(new FakeCpuBridge(),
+                () -> null);
+
+        assertThrows(NullPointerException.class, local::get);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CpuSlotsTest {
+
+    @Test
+    void testCountFromAvailableProcessors() {
+        FakeCpuBridge bridge = new FakeCpuBridge();
+
+        assertEquals(1, CpuSlots.count(bridge, 0));
+        assertEquals(1, CpuSlots.count(bridge, 1));
+        assertEquals(4, CpuSlots.count(bridge, 3));
+        assertEquals(4, CpuSlots.count(bridge, 4));
+        assertEquals(8, CpuSlots.count(bridge, 5));
+    }
+
+    @Test
+    void testCountFromAffinity() {
+        // A container limited to CPUs 32 to 35 still sees their numbers
+        FakeCpuBridge bridge = new FakeCpuBridge().affinity(32, 33, 34, 35);
+
+        assertEquals(64, CpuSlots.count(bridge, 4));
+    }
+
+    @Test
+    void testCountIsCapped() {
+        FakeCpuBridge bridge = new FakeCpuBridge().affinity(10_000);
+
+        assertEquals(CpuSlots.MAX_SLOTS, CpuSlots.count(bridge, 4));
+        assertEquals(CpuSlots.MAX_SLOTS,
+                CpuSlots.count(new FakeCpuBridge(), CpuSlots.MAX_SLOTS));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+
+/**
+ * A bridge that reports a settable current CPU and thread affinity, and
+ * records the CPUs each thread pins itself to.
+ */
+class FakeCpuBridge implements CpuidBridge {
+
+    private final ThreadLocal<int[]> pinned = new ThreadLocal<>();
+
+    private int[] affinity = new int[0];
+
+    private int cpu;
+
+    FakeCpuBridge affinity(final int... cpus) {
+        this.affinity = cpus;
+        return this;
+    }
+
+    FakeCpuBridge cpu(final int currentCpu) {
+        this.cpu = currentCpu;
+        return this;
+    }
+
+    @Override
+    public CpuidResult executeCPUID(final int leaf) {
+        return new CpuidResult(0, 0, 0, 0);
+    }
+
+    @Override
+    public CpuidResult executeCPUID(final int leaf, final int subleaf) {
+        return new CpuidResult(0, 0, 0, 0);
+    }
+
+    @Override
+    public int[] getThreadAffinity() {
+        return affinity.clone();
+    }
+
+    @Override
+    public boolean setThreadAffinity(final int... cpus) {
+        pinned.set(cpus.clone());
+        return true;
+    }
+
+    /** Gets the CPUs that the calling thread pinned itself to. */
+    int[] pinned() {
+        return pinned.get();
+    }
+
+    @Override
+    public int getCurrentCpu() {
+        return cpu;
+    }
+}
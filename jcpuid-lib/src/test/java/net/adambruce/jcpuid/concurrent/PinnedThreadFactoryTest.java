@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import net.adambruce.jcpuid.info.TopologyLevel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PinnedThreadFactoryTest {
+
+    @Test
+    void testCpuSets() {
+        PinnedThreadFactory factory = PinnedThreadFactory.create(
+                Topologies.packages(1), TopologyLevel.L3_DOMAIN,
+                new FakeCpuBridge());
+
+        assertEquals(2, factory.getNodeCount());
+        assertArrayEquals(new int[]{0, 1, 2, 3}, factory.getCpus(0));
+        assertArrayEquals(new int[]{4, 5, 6, 7}, factory.getCpus(1));
+    }
+
+    @Test
+    void testNewThread() throws InterruptedException {
+        FakeCpuBridge bridge = new FakeCpuBridge();
+        PinnedThreadFactory factory = PinnedThreadFactory.create(
+                Topologies.packages(1), TopologyLevel.CORE, bridge);
+        int[][] pinned = new int[5][];
+
+        for (int i = 0; i < pinned.length; i++) {
+            int index = i;
+            Thread thread = factory.newThread(
+                    () -> pinned[index] = bridge.pinned());
+            assertEquals("jcpuid-pinned-" + i, thread.getName());
+
+            thread.start();
+            thread.join();
+        }
+
+        assertArrayEquals(new int[][]{{0, 1}, {2, 3}, {4, 5}, {6, 7},
+            {0, 1}}, pinned);
+    }
+}
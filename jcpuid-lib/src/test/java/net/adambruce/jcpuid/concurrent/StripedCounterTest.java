@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StripedCounterTest {
+
+    @Test
+    void testCountsAcrossCpus() {
+        FakeCpuBridge bridge = new FakeCpuBridge().affinity(0, 1, 2, 3);
+        StripedCounter counter = StripedCounter.create(bridge);
+
+        counter.increment();
+        bridge.cpu(1);
+        counter.add(10L);
+        bridge.cpu(3);
+        counter.increment();
+        counter.decrement();
+        counter.increment();
+
+        assertEquals(12L, counter.sum());
+        assertEquals("12", counter.toString());
+    }
+
+    @Test
+    void testCpusBeyondCellsShareCells() {
+        FakeCpuBridge bridge = new FakeCpuBridge();
+        StripedCounter counter = new StripedCounter(bridge, 2);
+
+        bridge.cpu(-1);
+        counter.increment();
+        bridge.cpu(7);
+        counter.increment();
+
+        assertEquals(2, counter.getCellCount());
+        assertEquals(2L, counter.sum());
+    }
+
+    @Test
+    void testReset() {
+        FakeCpuBridge bridge = new FakeCpuBridge();
+        StripedCounter counter = new StripedCounter(bridge, 4);
+        counter.add(5L);
+        bridge.cpu(2);
+        counter.add(6L);
+
+        counter.reset();
+
+        assertEquals(0L, counter.sum());
+    }
+
+    @Test
+    void testSumThenReset() {
+        FakeCpuBridge bridge = new FakeCpuBridge();
+        StripedCounter counter = new StripedCounter(bridge, 4);
+        counter.add(5L);
+        bridge.cpu(2);
+        counter.add(6L);
+
+        assertEquals(11L, counter.sumThenReset());
+        assertEquals(0L, counter.sum());
+    }
+
+    @Test
+    void testConcurrentIncrements() throws InterruptedException {
+        // Every thread reports the same CPU, so all of them contend on one
+        // cell and no increment may be lost
+        StripedCounter counter = new StripedCounter(new FakeCpuBridge(), 4);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    counter.increment();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000L, counter.sum());
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import net.adambruce.jcpuid.info.CpuTopology;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+
+/**
+ * Builds the topologies of Intel processors with two threads per core,
+ * four cores per package and an L3 cache shared by two cores, where the
+ * APIC ID of each CPU is its CPU number.
+ */
+final class Topologies {
+
+    private static final int[] LEAVES = {0x0, 0x1, 0xB, 0xB, 0x4};
+
+    private static final int[] SUBLEAVES = {0x0, 0x0, 0x0, 0x1, 0x0};
+
+    private Topologies() {
+    }
+
+    /** Builds a topology of the given number of packages. */
+    static CpuTopology packages(final int count) {
+        int cpus = count * 8;
+        int[] cpuNumbers = new int[cpus];
+        int[] registers = new int[cpus * 20];
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            cpuNumbers[cpu] = cpu;
+            int[] row = {
+                0xB, 0x756E6547, 0x6C65746E, 0x49656E69,
+                0, 0, 0, 0,
+                1, 2, 0x100, cpu,
+                3, 8, 0x201, cpu,
+                3 | 3 << 5 | 3 << 14, 0, 0, 0
+            };
+            System.arraycopy(row, 0, registers, cpu * 20, 20);
+        }
+
+        return CpuTopology.fromSweep(new CpuidSweepResult(cpuNumbers,
+                LEAVES, SUBLEAVES, registers));
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.concurrent;
+
+import net.adambruce.jcpuid.info.TopologyLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TopologyExecutorTest {
+
+    private final FakeCpuBridge bridge = new FakeCpuBridge();
+
+    private TopologyExecutor executor;
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    void testWorkerPerCore() throws Exception {
+        executor = TopologyExecutor.create(Topologies.packages(1),
+                TopologyLevel.CORE, bridge);
+
+        assertEquals(4, executor.getWorkerCount());
+        assertEquals(2, executor.getDomainCount());
+        assertArrayEquals(new int[]{4, 5, 6, 7}, executor.getCpus(1));
+        assertEquals(-1, executor.getCurrentDomain());
+
+        // Every task runs on a worker pinned to a core of its domain
+        List<Future<int[]>> results = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            results.add(executor.submit(() -> {
+                int[] pinned = bridge.pinned();
+                return new int[]{executor.getCurrentDomain(),
+                    pinned[0], pinned[1]};
+            }));
+        }
+
+        for (Future<int[]> result : results) {
+            int[] value = result.get(10, TimeUnit.SECONDS);
+            assertEquals(value[1] + 1, value[2]);
+            assertEquals(value[0], value[1] / 4);
+        }
+
+        executor.shutdown();
+        assertTrue(executor.isShutdown());
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testWorkerPerPackage() {
+        executor = TopologyExecutor.create(Topologies.packages(2),
+                TopologyLevel.PACKAGE, bridge);
+
+        assertEquals(2, executor.getWorkerCount());
+        assertEquals(2, executor.getDomainCount());
+        assertArrayEquals(new int[]{8, 9, 10, 11, 12, 13, 14, 15},
+                executor.getCpus(1));
+    }
+
+    @Test
+    void testStealOrder() {
+        executor = TopologyExecutor.create(Topologies.packages(2),
+                TopologyLevel.L3_DOMAIN, bridge);
+
+        assertEquals(4, executor.getDomainCount());
+        assertArrayEquals(new int[]{1, 2, 3}, executor.getStealOrder(0));
+        assertArrayEquals(new int[]{3, 0, 1}, executor.getStealOrder(2));
+    }
+
+    @Test
+    void testStealing() throws Exception {
+        executor = TopologyExecutor.create(Topologies.packages(1),
+                TopologyLevel.L3_DOMAIN, bridge);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger blocked = new AtomicInteger();
+
+        executor.execute(0, () -> {
+            blocked.set(executor.getCurrentDomain());
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // The worker that is not blocked steals from the other queue
+        FutureTask<Integer> task = new FutureTask<>(
+                executor::getCurrentDomain);
+        executor.execute(0, task);
+
+        assertEquals(1 - blocked.get(), task.get(10, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    void testSubmitFromWorker() throws Exception {
+        executor = TopologyExecutor.create(Topologies.packages(1),
+                TopologyLevel.L3_DOMAIN, bridge);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute(() -> executor.execute(done::countDown));
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testShutdownRunsQueuedTasks() throws Exception {
+        executor = TopologyExecutor.create(Topologies.packages(1),
+                TopologyLevel.PACKAGE, bridge);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+
+        executor.execute(() -> await(release));
+        for (int i = 0; i < 10; i++) {
+            executor.execute(completed::incrementAndGet);
+        }
+        executor.shutdown();
+
+        assertThrows(RejectedExecutionException.class,
+                () -> executor.execute(completed::incrementAndGet));
+        assertFalse(executor.isTerminated());
+
+        release.countDown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(10, completed.get());
+    }
+
+    @Test
+    void testShutdownNow() throws Exception {
+        executor = TopologyExecutor.create(Topologies.packages(1),
+                TopologyLevel.L3_DOMAIN, bridge);
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicInteger interrupted = new AtomicInteger();
+        Runnable blocker = () -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        };
+
+        executor.execute(0, blocker);
+        executor.execute(1, blocker);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        Runnable first = () -> { };
+        Runnable second = () -> { };
+        executor.execute(0, first);
+        executor.execute(1, second);
+
+        List<Runnable> pending = executor.shutdownNow();
+
+        assertEquals(2, pending.size());
+        assertTrue(pending.contains(first));
+        assertTrue(pending.contains(second));
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(2, interrupted.get());
+    }
+
+    @Test
+    void testTaskFailure() throws Exception {
+        executor = TopologyExecutor.create(Topologies.packages(1),
+                TopologyLevel.PACKAGE, bridge);
+        AtomicReference<Throwable> reported = new AtomicReference<>();
+        RuntimeException failure = new IllegalStateException("failed");
+
+        executor.execute(() -> {
+            Thread.currentThread().setUncaughtExceptionHandler(
+                    (thread, e) -> reported.set(e));
+            Thread.currentThread().interrupt();
+            throw failure;
+        });
+
+        // The only worker survives the failure and the interrupt
+        Future<Boolean> next = executor.submit(
+                () -> Thread.currentThread().isInterrupted());
+
+        assertFalse(next.get(10, TimeUnit.SECONDS));
+        assertEquals(failure, reported.get());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        executor = TopologyExecutor.create(Topologies.packages(1),
+                TopologyLevel.L3_DOMAIN, bridge);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> executor.execute(-1, () -> { }));
+        assertThrows(IllegalArgumentException.class,
+                () -> executor.execute(2, () -> { }));
+        assertThrows(NullPointerException.class,
+                () -> executor.execute(0, null));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
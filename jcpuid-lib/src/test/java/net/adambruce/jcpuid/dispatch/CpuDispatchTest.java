@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.dispatch;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.info.CpuFeature;
+import net.adambruce.jcpuid.info.CpuFeatures;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CpuDispatchTest {
+
+    private static final String PROPERTY =
+            CpuDispatch.PROPERTY_PREFIX + "square";
+
+    private static final IntUnaryOperator AVX512 = x -> x * x + 512;
+
+    private static final IntUnaryOperator AVX2 = x -> x * x + 2;
+
+    private static final IntUnaryOperator SCALAR = x -> x * x;
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(PROPERTY);
+    }
+
+    private static CpuDispatch<IntUnaryOperator> resolve(
+            final CpuFeatures features) {
+        return CpuDispatch.resolve(features, "square",
+                IntUnaryOperator.class,
+                DispatchVariant.of("avx512", AVX512, CpuFeature.AVX512F),
+                DispatchVariant.of("avx2", AVX2, CpuFeature.AVX2),
+                DispatchVariant.of("scalar", SCALAR));
+    }
+
+    @Test
+    void testBestVariant() {
+        CpuDispatch<IntUnaryOperator> dispatch = resolve(
+                CpuFeatures.of(CpuFeature.AVX2, CpuFeature.SSE2));
+
+        assertSame(AVX2, dispatch.get());
+        assertEquals("avx2", dispatch.getVariant().getName());
+        assertEquals(3, dispatch.getVariants().size());
+        assertEquals("square", dispatch.getName());
+        assertFalse(dispatch.isForced());
+        assertEquals("CpuDispatch{name=square, variant=avx2, forced=false}",
+                dispatch.toString());
+    }
+
+    @Test
+    void testFallback() {
+        assertSame(SCALAR, resolve(CpuFeatures.none()).get());
+    }
+
+    @Test
+    void testForcedVariant() {
+        System.setProperty(PROPERTY, "avx512");
+
+        CpuDispatch<IntUnaryOperator> dispatch = resolve(CpuFeatures.none());
+
+        assertSame(AVX512, dispatch.get());
+        assertTrue(dispatch.isForced());
+    }
+
+    @Test
+    void testUnknownForcedVariant() {
+        System.setProperty(PROPERTY, "sse2");
+
+        IllegalArgumentException e = assertThrows(
+                IllegalArgumentException.class,
+                () -> resolve(CpuFeatures.none()));
+        assertEquals("unknown variant sse2 of square set by "
+                + PROPERTY + ", expected one of [avx512, avx2, scalar]",
+                e.getMessage());
+    }
+
+    @Test
+    void testNoSupportedVariant() {
+        assertThrows(IllegalStateException.class,
+                () -> CpuDispatch.resolve(CpuFeatures.none(), "square",
+                        IntUnaryOperator.class,
+                        DispatchVariant.of("avx2", AVX2, CpuFeature.AVX2)));
+    }
+
+    @Test
+    void testInvalidVariants() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CpuDispatch.resolve(CpuFeatures.none(), "square",
+                        IntUnaryOperator.class));
+        assertThrows(IllegalArgumentException.class,
+                () -> CpuDispatch.resolve(CpuFeatures.none(), "square",
+                        IntUnaryOperator.class,
+                        DispatchVariant.of("scalar", AVX2),
+                        DispatchVariant.of("scalar", SCALAR)));
+    }
+
+    @Test
+    void testResolveWithCpuid() {
+        // Leaf 0x7 reports AVX2 in EBX bit 5
+        Cpuid cpuid = new Cpuid() {
+            @Override
+            public CpuidResult execute(final int leaf) {
+                return execute(leaf, 0);
+            }
+
+            @Override
+            public CpuidResult execute(final int leaf, final int subleaf) {
+                if (leaf == 0x0) {
+                    return new CpuidResult(0x7, 0, 0, 0);
+                } else if (leaf == 0x7 && subleaf == 0) {
+                    return new CpuidResult(0, 1 << 5, 0, 0);
+                }
+                return new CpuidResult(0, 0, 0, 0);
+            }
+        };
+
+        CpuDispatch<IntUnaryOperator> dispatch = CpuDispatch.resolve(cpuid,
+                "square", IntUnaryOperator.class,
+                DispatchVariant.of("avx2", AVX2, CpuFeature.AVX2),
+                DispatchVariant.of("scalar", SCALAR));
+
+        assertSame(AVX2, dispatch.get());
+    }
+
+    @Test
+    void testCallSite() throws Throwable {
+        MethodHandle target = resolve(CpuFeatures.of(CpuFeature.AVX512F))
+                .getCallSite().dynamicInvoker();
+
+        assertSame(AVX512, (IntUnaryOperator) target.invokeExact());
+    }
+
+    @Test
+    void testBind() throws Throwable {
+        MethodHandle square = resolve(CpuFeatures.of(CpuFeature.AVX2))
+                .bind(MethodHandles.publicLookup(), "applyAsInt",
+                        MethodType.methodType(int.class, int.class));
+
+        assertEquals(11, (int) square.invokeExact(3));
+    }
+
+    @Test
+    void testBindMissingMethod() {
+        CpuDispatch<IntUnaryOperator> dispatch = resolve(CpuFeatures.none());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> dispatch.bind(MethodHandles.publicLookup(), "apply",
+                        MethodType.methodType(int.class, int.class)));
+    }
+}
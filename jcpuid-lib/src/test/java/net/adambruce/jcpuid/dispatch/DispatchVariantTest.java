@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.dispatch;
+
+import net.adambruce.jcpuid.info.CpuFeature;
+import net.adambruce.jcpuid.info.CpuFeatures;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DispatchVariantTest {
+
+    @Test
+    void testVariant() {
+        DispatchVariant<String> variant = DispatchVariant.of("avx2", "fast",
+                CpuFeature.AVX2, CpuFeature.OSXSAVE);
+
+        assertEquals("avx2", variant.getName());
+        assertEquals("fast", variant.getImplementation());
+        assertEquals(CpuFeatures.of(CpuFeature.OSXSAVE, CpuFeature.AVX2),
+                variant.getRequiredFeatures());
+        assertTrue(variant.isSupported(CpuFeatures.of(CpuFeature.AVX2,
+                CpuFeature.OSXSAVE, CpuFeature.SSE2)));
+        assertFalse(variant.isSupported(CpuFeatures.of(CpuFeature.AVX2)));
+        assertEquals("DispatchVariant{name=avx2, "
+                + "requires=CpuFeatures[OSXSAVE, AVX2]}", variant.toString());
+    }
+
+    @Test
+    void testFallback() {
+        DispatchVariant<String> variant = DispatchVariant.of("scalar", "slow");
+
+        assertTrue(variant.getRequiredFeatures().isEmpty());
+        assertTrue(variant.isSupported(CpuFeatures.none()));
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DispatchVariant.of("", "slow"));
+        assertThrows(NullPointerException.class,
+                () -> DispatchVariant.of("scalar", null));
+    }
+}
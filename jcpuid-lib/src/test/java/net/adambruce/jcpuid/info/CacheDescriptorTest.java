@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheDescriptorTest {
+
+    // Leaf 0x4 sub-leaf 0 of a processor with a 48 KiB 12-way L1 data cache
+    // shared by two threads
+    private final CacheDescriptor l1d =
+            CacheDescriptor.decode(0x4121, 0x02C0003F, 0x3F, 0x0);
+
+    // Leaf 0x4 sub-leaf 3 of a processor with a 105 MiB 15-way inclusive
+    // L3 cache shared by 64 threads
+    private final CacheDescriptor l3 =
+            CacheDescriptor.decode(0xFC163, 0x0380003F, 0x1BFFF, 0x6);
+
+    @Test
+    void testDecodeNoCache() {
+        assertNull(CacheDescriptor.decode(0x0, 0x0, 0x0, 0x0));
+    }
+
+    @Test
+    void testCreateFullyAssociative() {
+        // A 512 KiB fully associative unified L2 with 64 byte lines
+        CacheDescriptor l2 = CacheDescriptor.fullyAssociative(0x243, 64, 8192);
+
+        assertEquals(2, l2.getLevel());
+        assertEquals(CacheType.UNIFIED, l2.getType());
+        assertTrue(l2.isFullyAssociative());
+        assertEquals(8192, l2.getWays());
+        assertEquals(1, l2.getPartitions());
+        assertEquals(1, l2.getSets());
+        assertEquals(512 * 1024L, l2.getSize());
+        assertEquals(l2, CacheDescriptor.fullyAssociative(0x243, 64, 8192));
+        assertEquals(l2.hashCode(),
+                CacheDescriptor.fullyAssociative(0x243, 64, 8192).hashCode());
+        assertNotEquals(l2, CacheDescriptor.decode(0x243, 0x3F, 0x0, 0x0));
+    }
+
+    @Test
+    void testCreateFullyAssociativeNoCache() {
+        assertNull(CacheDescriptor.fullyAssociative(0x0, 64, 8192));
+    }
+
+    @Test
+    void testL1Data() {
+        assertEquals(1, l1d.getLevel());
+        assertEquals(CacheType.DATA, l1d.getType());
+        assertEquals(12, l1d.getWays());
+        assertEquals(1, l1d.getPartitions());
+        assertEquals(64, l1d.getLineSize());
+        assertEquals(64, l1d.getSets());
+        assertEquals(48 * 1024, l1d.getSize());
+        assertEquals(2, l1d.getSharingThreads());
+        assertFalse(l1d.isInclusive());
+        assertFalse(l1d.isFullyAssociative());
+    }
+
+    @Test
+    void testL3Unified() {
+        assertEquals(3, l3.getLevel());
+        assertEquals(CacheType.UNIFIED, l3.getType());
+        assertEquals(15, l3.getWays());
+        assertEquals(0x1C000, l3.getSets());
+        assertEquals(105L * 1024 * 1024, l3.getSize());
+        assertEquals(64, l3.getSharingThreads());
+        assertTrue(l3.isInclusive());
+    }
+
+    @Test
+    void testFullyAssociative() {
+        assertTrue(CacheDescriptor.decode(0x221, 0x0, 0x0, 0x0)
+                .isFullyAssociative());
+    }
+
+    @Test
+    void testLargeSets() {
+        CacheDescriptor cache = CacheDescriptor.decode(0x63, 0x0, -1, 0x0);
+
+        assertEquals(1L << 32, cache.getSets());
+        assertEquals(1L << 32, cache.getSize());
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        CacheDescriptor copy =
+                CacheDescriptor.decode(0x4121, 0x02C0003F, 0x3F, 0x0);
+
+        assertEquals(l1d, l1d);
+        assertEquals(l1d, copy);
+        assertEquals(l1d.hashCode(), copy.hashCode());
+        assertNotEquals(l1d, l3);
+        assertNotEquals(l1d, CacheDescriptor.decode(0x4121, 0x0, 0x3F, 0x0));
+        assertNotEquals(l1d,
+                CacheDescriptor.decode(0x4121, 0x02C0003F, 0x0, 0x0));
+        assertNotEquals(l1d,
+                CacheDescriptor.decode(0x4121, 0x02C0003F, 0x3F, 0x2));
+        assertNotEquals(l1d, "CacheDescriptor");
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("CacheDescriptor{L1 DATA, 48 KiB, 12-way, 64 B lines, "
+                + "2 threads}", l1d.toString());
+        assertEquals("CacheDescriptor{L3 UNIFIED, 107520 KiB, 15-way, "
+                + "64 B lines, 64 threads, inclusive}", l3.toString());
+    }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.FakeCpuid;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheHierarchyTest {
+
+    private static final int KIB = 1024;
+
+    // A processor with two threads per core, 48 KiB L1 data, 32 KiB L1
+    // instruction and 2 MiB L2 per core, and a 105 MiB L3 shared by 32
+    // cores
+    private static final FakeCpuid INTEL = new FakeCpuid()
+            .with(0x0, 0x0, 0x1F, 0x0, 0x0, 0x0)
+            .with(0x4, 0x0, 0x4121, 0x02C0003F, 0x3F, 0x0)
+            .with(0x4, 0x1, 0x4122, 0x01C0003F, 0x3F, 0x0)
+            .with(0x4, 0x2, 0x4143, 0x03C0003F, 0x7FF, 0x0)
+            .with(0x4, 0x3, 0xFC163, 0x0380003F, 0x1BFFF, 0x4);
+
+    @Test
+    void testDetectIntel() {
+        CacheHierarchy hierarchy = CacheHierarchy.detect(INTEL);
+
+        assertEquals(4, hierarchy.getCaches().size());
+        assertEquals(3, hierarchy.getLevels());
+        assertEquals(48 * KIB, hierarchy.getDataCache(1).getSize());
+        assertEquals(32 * KIB, hierarchy.getInstructionCache(1).getSize());
+        assertEquals(2048 * KIB, hierarchy.getDataCache(2).getSize());
+        assertSame(hierarchy.getDataCache(2),
+                hierarchy.getInstructionCache(2));
+        assertEquals(105L * KIB * KIB, hierarchy.getDataCache(3).getSize());
+    }
+
+    @Test
+    void testPerCoreAndPerThreadSizes() {
+        CacheHierarchy hierarchy = CacheHierarchy.detect(INTEL);
+
+        assertEquals(64, hierarchy.getLineSize());
+        assertEquals(2, hierarchy.getThreadsPerCore());
+        assertEquals(2048 * KIB, hierarchy.getPerCoreDataCacheSize(2));
+        assertEquals(1024 * KIB, hierarchy.getPerThreadDataCacheSize(2));
+        assertEquals(105L * KIB * KIB / 32,
+                hierarchy.getPerCoreDataCacheSize(3));
+        assertEquals(105L * KIB * KIB / 64,
+                hierarchy.getPerThreadDataCacheSize(3));
+        assertEquals(2048 * KIB / 8,
+                hierarchy.getMaxElementsPerCore(2, 8));
+    }
+
+    @Test
+    void testMissingLevel() {
+        CacheHierarchy hierarchy = CacheHierarchy.detect(INTEL);
+
+        assertNull(hierarchy.getDataCache(4));
+        assertNull(hierarchy.getInstructionCache(4));
+        assertEquals(0, hierarchy.getPerCoreDataCacheSize(4));
+        assertEquals(0, hierarchy.getPerThreadDataCacheSize(4));
+        assertEquals(0, hierarchy.getMaxElementsPerCore(4, 8));
+    }
+
+    @Test
+    void testMaxElementsInvalidSize() {
+        CacheHierarchy hierarchy = CacheHierarchy.detect(INTEL);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> hierarchy.getMaxElementsPerCore(2, 0));
+    }
+
+    @Test
+    void testDetectAmdTopologyExtensions() {
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x0, 0x0, 0x10, 0x0, 0x0, 0x0)
+                .with(0x80000000, 0x0, 0x80000021, 0x0, 0x0, 0x0)
+                .with(0x80000001, 0x0, 0x0, 0x0, 1 << 22, 0x0)
+                .with(0x8000001D, 0x0, 0x4121, 0x01C0003F, 0x3F, 0x0)
+                .with(0x8000001D, 0x1, 0x4143, 0x01C0003F, 0x7FF, 0x2)
+                .with(0x8000001D, 0x2, 0x3C163, 0x03C0003F, 0x7FFF, 0x1);
+
+        CacheHierarchy hierarchy = CacheHierarchy.detect(cpuid);
+
+        assertEquals(3, hierarchy.getCaches().size());
+        assertEquals(32 * KIB, hierarchy.getDataCache(1).getSize());
+        assertEquals(1024 * KIB, hierarchy.getDataCache(2).getSize());
+        assertTrue(hierarchy.getDataCache(2).isInclusive());
+        assertEquals(32 * KIB * KIB, hierarchy.getDataCache(3).getSize());
+        assertEquals(16, hierarchy.getDataCache(3).getSharingThreads());
+        assertEquals(4 * KIB * KIB, hierarchy.getPerCoreDataCacheSize(3));
+    }
+
+    @Test
+    void testDetectAmdWithoutTopologyExtensions() {
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x0, 0x0, 0x10, 0x0, 0x0, 0x0)
+                .with(0x80000000, 0x0, 0x8000001D, 0x0, 0x0, 0x0)
+                .with(0x8000001D, 0x0, 0x4121, 0x01C0003F, 0x3F, 0x0)
+                .with(0x80000005, 0x0, 0x0, 0x0, 0x40020140, 0x40020140)
+                .with(0x80000006, 0x0, 0x0, 0x0, 0x02006140, 0x00306140);
+
+        CacheHierarchy hierarchy = CacheHierarchy.detect(cpuid);
+
+        assertEquals(64 * KIB, hierarchy.getDataCache(1).getSize());
+        assertEquals(4, hierarchy.getCaches().size());
+    }
+
+    @Test
+    void testDetectAmdLegacy() {
+        // 64 KiB 2-way L1 caches, a 512 KiB 16-way L2 and a 6 MiB
+        // 48-way L3 shared by six cores
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x0, 0x0, 0x5, 0x0, 0x0, 0x0)
+                .with(0x80000000, 0x0, 0x8000001B, 0x0, 0x0, 0x0)
+                .with(0x80000005, 0x0, 0x0, 0x0, 0x40020140, 0x40020140)
+                .with(0x80000006, 0x0, 0x0, 0x0, 0x02008140, 0x0030B140)
+                .with(0x80000008, 0x0, 0x3030, 0x0, 0x5, 0x0);
+
+        CacheHierarchy hierarchy = CacheHierarchy.detect(cpuid);
+
+        assertEquals(4, hierarchy.getCaches().size());
+        CacheDescriptor l1d = hierarchy.getDataCache(1);
+        assertEquals(CacheType.DATA, l1d.getType());
+        assertEquals(64 * KIB, l1d.getSize());
+        assertEquals(2, l1d.getWays());
+        assertEquals(64, l1d.getLineSize());
+        assertEquals(CacheType.INSTRUCTION,
+                hierarchy.getInstructionCache(1).getType());
+
+        CacheDescriptor l2 = hierarchy.getDataCache(2);
+        assertEquals(CacheType.UNIFIED, l2.getType());
+        assertEquals(512 * KIB, l2.getSize());
+        assertEquals(16, l2.getWays());
+        assertEquals(1, l2.getSharingThreads());
+
+        CacheDescriptor l3 = hierarchy.getDataCache(3);
+        assertEquals(6 * KIB * KIB, l3.getSize());
+        assertEquals(48, l3.getWays());
+        assertEquals(6, l3.getSharingThreads());
+        assertFalse(l3.isInclusive());
+    }
+
+    @Test
+    void testDetectAmdLegacyFullyAssociative() {
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x80000000, 0x0, 0x80000006, 0x0, 0x0, 0x0)
+                .with(0x80000005, 0x0, 0x0, 0x0, 0x04FF0140, 0x0)
+                .with(0x80000006, 0x0, 0x0, 0x0, 0x0040F140, 0x0);
+
+        CacheHierarchy hierarchy = CacheHierarchy.detect(cpuid);
+
+        assertEquals(2, hierarchy.getCaches().size());
+        CacheDescriptor l1d = hierarchy.getDataCache(1);
+        assertTrue(l1d.isFullyAssociative());
+        assertEquals(4 * KIB, l1d.getSize());
+        assertEquals(64, l1d.getWays());
+        assertEquals(1, l1d.getSets());
+        assertTrue(hierarchy.getDataCache(2).isFullyAssociative());
+        assertEquals(64 * KIB, hierarchy.getDataCache(2).getSize());
+        assertEquals(1, hierarchy.getDataCache(2).getSharingThreads());
+    }
+
+    @Test
+    void testDetectAmdLegacyLargeFullyAssociative() {
+        // A 512 KiB L2 has 8192 lines, more than the ways field can hold,
+        // and an 8 GiB L3 of 1 byte lines has more lines than an int
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x80000000, 0x0, 0x80000006, 0x0, 0x0, 0x0)
+                .with(0x80000006, 0x0, 0x0, 0x0, 0x0200F040, 0xFFFCF001);
+
+        CacheHierarchy hierarchy = CacheHierarchy.detect(cpuid);
+
+        assertEquals(1, hierarchy.getCaches().size());
+        CacheDescriptor l2 = hierarchy.getDataCache(2);
+        assertTrue(l2.isFullyAssociative());
+        assertEquals(8192, l2.getWays());
+        assertEquals(1, l2.getPartitions());
+        assertEquals(1, l2.getSets());
+        assertEquals(64, l2.getLineSize());
+        assertEquals(512 * KIB, l2.getSize());
+    }
+
+    @Test
+    void testDetectAmdLegacyReservedAssociativity() {
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x80000000, 0x0, 0x80000008, 0x0, 0x0, 0x0)
+                .with(0x80000006, 0x0, 0x0, 0x0, 0x02009140, 0x0);
+
+        assertTrue(CacheHierarchy.detect(cpuid).getCaches().isEmpty());
+    }
+
+    @Test
+    void testDetectAmdLegacyTooFewLines() {
+        // A 1 KiB cache with 32 ways of 64 byte lines has no complete set
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x80000000, 0x0, 0x80000006, 0x0, 0x0, 0x0)
+                .with(0x80000006, 0x0, 0x0, 0x0, 0x0001A040, 0x0);
+
+        assertTrue(CacheHierarchy.detect(cpuid).getCaches().isEmpty());
+    }
+
+    @Test
+    void testDetectAmdLegacyL1Only() {
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x80000000, 0x0, 0x80000005, 0x0, 0x0, 0x0)
+                .with(0x80000005, 0x0, 0x0, 0x0, 0x40020140, 0x40020140);
+
+        assertEquals(2, CacheHierarchy.detect(cpuid).getCaches().size());
+    }
+
+    @Test
+    void testDetectNothingReported() {
+        CacheHierarchy hierarchy = CacheHierarchy.detect(new FakeCpuid());
+
+        assertTrue(hierarchy.getCaches().isEmpty());
+        assertEquals(0, hierarchy.getLevels());
+        assertEquals(CacheHierarchy.DEFAULT_LINE_SIZE,
+                hierarchy.getLineSize());
+        assertEquals(1, hierarchy.getThreadsPerCore());
+    }
+
+    @Test
+    void testCachesAreSortedAndUnmodifiable() {
+        CacheDescriptor l2 = CacheDescriptor.decode(0x43, 0x0, 0x0, 0x0);
+        CacheDescriptor l1i = CacheDescriptor.decode(0x22, 0x0, 0x0, 0x0);
+        CacheDescriptor l1d = CacheDescriptor.decode(0x21, 0x0, 0x0, 0x0);
+
+        CacheHierarchy hierarchy =
+                new CacheHierarchy(Arrays.asList(l2, l1i, l1d));
+
+        assertEquals(Arrays.asList(l1d, l1i, l2), hierarchy.getCaches());
+        assertThrows(UnsupportedOperationException.class,
+                () -> hierarchy.getCaches().add(l1d));
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("CacheHierarchy[]",
+                new CacheHierarchy(Collections.emptyList()).toString());
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CacheTypeTest {
+
+    @Test
+    void testFromCode() {
+        assertEquals(CacheType.DATA, CacheType.fromCode(1));
+        assertEquals(CacheType.INSTRUCTION, CacheType.fromCode(2));
+        assertEquals(CacheType.UNIFIED, CacheType.fromCode(3));
+    }
+
+    @Test
+    void testFromCodeUnknown() {
+        assertNull(CacheType.fromCode(0));
+        assertNull(CacheType.fromCode(4));
+    }
+
+    @Test
+    void testGetCode() {
+        assertEquals(3, CacheType.UNIFIED.getCode());
+    }
+
+}
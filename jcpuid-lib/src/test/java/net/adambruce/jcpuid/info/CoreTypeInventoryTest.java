@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.CpuidSweep;
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CoreTypeInventoryTest {
+
+    private static final int[] LEAVES = {0x0, 0x7, 0x1A};
+
+    private static final int[] SUBLEAVES = {0x0, 0x0, 0x0};
+
+    /**
+     * Builds the sweep of a hybrid processor whose CPUs are listed out of
+     * order, with the given EAX value of leaf 0x1A for each CPU.
+     */
+    private static CpuidSweepResult sweep(final int[] cpus,
+                                          final int[] coreTypeLeaves,
+                                          final int hybridFlag) {
+        int[] registers = new int[cpus.length * 12];
+        for (int i = 0; i < cpus.length; i++) {
+            registers[i * 12] = 0x20;
+            registers[i * 12 + 7] = hybridFlag;
+            registers[i * 12 + 8] = coreTypeLeaves[i];
+        }
+
+        return new CpuidSweepResult(cpus, LEAVES, SUBLEAVES, registers);
+    }
+
+    @Test
+    void testFromSweep() {
+        CoreTypeInventory inventory = CoreTypeInventory.fromSweep(sweep(
+                new int[]{4, 0, 5, 1},
+                new int[]{0x20000001, 0x40000001, 0x20000002, 0x40000001},
+                1 << 15));
+
+        assertTrue(inventory.isHybrid());
+        assertArrayEquals(new int[]{0, 1, 4, 5}, inventory.getCpus());
+        assertArrayEquals(new int[]{0, 1}, inventory.getPerformanceCpus());
+        assertArrayEquals(new int[]{4, 5}, inventory.getEfficiencyCpus());
+        assertArrayEquals(new int[0], inventory.getCpus(CoreType.UNKNOWN));
+        assertEquals(CoreType.EFFICIENCY, inventory.getCoreType(5));
+        assertEquals(2, inventory.getNativeModelId(5));
+        assertEquals("CoreTypeInventory{performance=[0, 1], "
+                + "efficiency=[4, 5], unknown=[]}", inventory.toString());
+    }
+
+    @Test
+    void testNotHybrid() {
+        CoreTypeInventory inventory = CoreTypeInventory.fromSweep(sweep(
+                new int[]{0, 1}, new int[]{0x40000001, 0x40000001}, 0));
+
+        assertFalse(inventory.isHybrid());
+        assertEquals(CoreType.UNKNOWN, inventory.getCoreType(0));
+        assertEquals(0, inventory.getNativeModelId(1));
+        assertArrayEquals(new int[]{0, 1},
+                inventory.getCpus(CoreType.UNKNOWN));
+    }
+
+    @Test
+    void testHybridLeafNotSupported() {
+        CpuidSweepResult result = sweep(new int[]{0},
+                new int[]{0x40000001}, 1 << 15);
+        int[] registers = new int[12];
+        registers[0] = 0x16;
+        registers[7] = 1 << 15;
+        registers[8] = 0x40000001;
+
+        CoreTypeInventory inventory = CoreTypeInventory.fromSweep(
+                new CpuidSweepResult(result.getCpus(), LEAVES, SUBLEAVES,
+                        registers));
+
+        assertFalse(inventory.isHybrid());
+    }
+
+    @Test
+    void testUnknownCpu() {
+        CoreTypeInventory inventory = CoreTypeInventory.fromSweep(sweep(
+                new int[]{0}, new int[]{0x40000001}, 1 << 15));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> inventory.getCoreType(1));
+    }
+
+    @Test
+    void testMissingLeaves() {
+        CpuidSweepResult result = new CpuidSweepResult(new int[]{0},
+                new int[]{0x0, 0x7}, new int[]{0x0, 0x0}, new int[8]);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CoreTypeInventory.fromSweep(result));
+        assertThrows(IllegalArgumentException.class,
+                () -> CoreTypeInventory.fromSweep(new CpuidSweepResult(
+                        new int[]{0}, new int[]{0x7, 0x1A},
+                        new int[]{0x0, 0x0}, new int[8])));
+        assertThrows(IllegalArgumentException.class,
+                () -> CoreTypeInventory.fromSweep(new CpuidSweepResult(
+                        new int[]{0}, new int[]{0x0, 0x1A},
+                        new int[]{0x0, 0x0}, new int[8])));
+    }
+
+    @Test
+    void testDetect() {
+        // CPUs 0 and 1 are performance cores, 2 and 3 efficiency cores
+        ThreadLocal<Integer> pinned = new ThreadLocal<>();
+        CpuidBridge bridge = new CpuidBridge() {
+            @Override
+            public CpuidResult executeCPUID(final int leaf) {
+                return executeCPUID(leaf, 0);
+            }
+
+            @Override
+            public CpuidResult executeCPUID(final int leaf,
+                                            final int subleaf) {
+                if (leaf == 0x0) {
+                    return new CpuidResult(0x20, 0, 0, 0);
+                } else if (leaf == 0x7) {
+                    return new CpuidResult(0, 0, 0, 1 << 15);
+                }
+
+                int type = 0x20000001;
+                if (pinned.get() < 2) {
+                    type = 0x40000001;
+                }
+                return new CpuidResult(type, 0, 0, 0);
+            }
+
+            @Override
+            public int[] getThreadAffinity() {
+                return new int[]{0, 1, 2, 3};
+            }
+
+            @Override
+            public boolean setThreadAffinity(final int... cpus) {
+                pinned.set(cpus[0]);
+                return true;
+            }
+        };
+
+        CoreTypeInventory inventory =
+                CoreTypeInventory.detect(new CpuidSweep(bridge));
+
+        assertArrayEquals(new int[]{0, 1}, inventory.getPerformanceCpus());
+        assertArrayEquals(new int[]{2, 3}, inventory.getEfficiencyCpus());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.FakeCpuid;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CoreTypeSamplerTest {
+
+    private static FakeCpuid hybrid(final int coreTypeLeaf) {
+        return new FakeCpuid()
+                .with(0x0, 0, 0x20, 0, 0, 0)
+                .with(0x7, 0, 0, 0, 0, 1 << 15)
+                .with(0x1A, 0, coreTypeLeaf, 0, 0, 0);
+    }
+
+    @Test
+    void testPerformanceCore() {
+        CoreTypeSampler sampler = CoreTypeSampler.create(hybrid(0x40000001));
+
+        assertTrue(sampler.isHybrid());
+        assertEquals(CoreType.PERFORMANCE, sampler.sample());
+        assertEquals(0x000001, sampler.sampleNativeModelId());
+    }
+
+    @Test
+    void testEfficiencyCore() {
+        CoreTypeSampler sampler = CoreTypeSampler.create(hybrid(0x20000001));
+
+        assertEquals(CoreType.EFFICIENCY, sampler.sample());
+    }
+
+    @Test
+    void testNotHybrid() {
+        FakeCpuid cpuid = hybrid(0x40000001)
+                .with(0x7, 0, 0, 0, 0, 0);
+
+        CoreTypeSampler sampler = CoreTypeSampler.create(cpuid);
+
+        assertFalse(sampler.isHybrid());
+        assertEquals(CoreType.UNKNOWN, sampler.sample());
+        assertEquals(0, sampler.sampleNativeModelId());
+        assertEquals("CoreTypeSampler{hybrid=false}", sampler.toString());
+    }
+
+    @Test
+    void testHybridLeafNotSupported() {
+        FakeCpuid cpuid = hybrid(0x40000001)
+                .with(0x0, 0, 0x16, 0, 0, 0);
+
+        assertFalse(CoreTypeSampler.create(cpuid).isHybrid());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CoreTypeTest {
+
+    @Test
+    void testFromCode() {
+        assertEquals(CoreType.PERFORMANCE, CoreType.fromCode(0x40));
+        assertEquals(CoreType.EFFICIENCY, CoreType.fromCode(0x20));
+        assertEquals(CoreType.UNKNOWN, CoreType.fromCode(0x0));
+        assertEquals(CoreType.UNKNOWN, CoreType.fromCode(0x10));
+    }
+
+    @Test
+    void testGetCode() {
+        assertEquals(0x40, CoreType.PERFORMANCE.getCode());
+        assertEquals(0x20, CoreType.EFFICIENCY.getCode());
+        assertEquals(0x0, CoreType.UNKNOWN.getCode());
+    }
+
+    @Test
+    void testFromLeafValue() {
+        assertEquals(CoreType.PERFORMANCE,
+                CoreType.fromLeafValue(0x40000001));
+        assertEquals(CoreType.EFFICIENCY, CoreType.fromLeafValue(0x20000001));
+        assertEquals(CoreType.UNKNOWN, CoreType.fromLeafValue(0));
+    }
+
+    @Test
+    void testNativeModelId() {
+        assertEquals(0x000001, CoreType.nativeModelId(0x40000001));
+        assertEquals(0x123456, CoreType.nativeModelId(0x20123456));
+    }
+}
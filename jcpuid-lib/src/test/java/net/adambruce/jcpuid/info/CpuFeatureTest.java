@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.type.CpuidRegisters;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CpuFeatureTest {
+
+    @Test
+    void testFitsInTwoWords() {
+        assertTrue(CpuFeature.values().length <= 2 * Long.SIZE);
+    }
+
+    @Test
+    void testBitsAreUnique() {
+        Set<String> bits = new HashSet<>();
+        for (CpuFeature feature : CpuFeature.values()) {
+            assertTrue(feature.getBit() >= 0 && feature.getBit() < 32);
+            assertTrue(bits.add(feature.getLeaf() + ":" + feature.getSubleaf()
+                    + ":" + feature.getRegister() + ":" + feature.getBit()),
+                    feature.name());
+        }
+    }
+
+    @Test
+    void testWordAndMask() {
+        assertEquals(0, CpuFeature.FPU.word());
+        assertEquals(1L, CpuFeature.FPU.mask());
+        assertEquals(1, CpuFeature.INVARIANT_TSC.word());
+        assertEquals(1L << (CpuFeature.INVARIANT_TSC.ordinal() - 64),
+                CpuFeature.INVARIANT_TSC.mask());
+    }
+
+    @Test
+    void testLocation() {
+        assertEquals(0x7, CpuFeature.AVX2.getLeaf());
+        assertEquals(0, CpuFeature.AVX2.getSubleaf());
+        assertEquals(CpuidRegisters.EBX, CpuFeature.AVX2.getRegister());
+        assertEquals(5, CpuFeature.AVX2.getBit());
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class CpuFeaturesTest {
+
+    private final Cpuid cpuid = mock(Cpuid.class, CALLS_REAL_METHODS);
+
+    @Test
+    void testDetect() {
+        stub(0x0, 0x0, new CpuidResult(0x7, 0, 0, 0));
+        stub(0x1, 0x0, new CpuidResult(0, 0, 1 << 28, 1 << 26));
+        stub(0x7, 0x0, new CpuidResult(0, 1 << 5, 0, 0));
+        stub(0x7, 0x1, new CpuidResult(1 << 4, 0, 0, 0));
+        stub(0x80000000, 0x0, new CpuidResult(0x80000001, 0, 0, 0));
+        stub(0x80000001, 0x0, new CpuidResult(0, 0, 0, 1 << 27));
+        stub(0x80000007, 0x0, new CpuidResult(0, 0, 0, 1 << 8));
+
+        CpuFeatures features = CpuFeatures.detect(cpuid);
+
+        assertEquals(CpuFeatures.of(CpuFeature.AVX, CpuFeature.SSE2,
+                CpuFeature.AVX2, CpuFeature.RDTSCP), features);
+    }
+
+    @Test
+    void testDetectIgnoresUnsupportedLeaves() {
+        stub(0x0, 0x0, new CpuidResult(0x1, 0, 0, 0));
+        stub(0x1, 0x0, new CpuidResult(0, 0, 0, 1 << 25));
+        stub(0x7, 0x0, new CpuidResult(0x1, 0xFFFFFFFF, 0, 0));
+        stub(0x7, 0x1, new CpuidResult(0xFFFFFFFF, 0, 0, 0));
+        stub(0x80000000, 0x0, new CpuidResult(0x1, 0, 0, 0));
+        stub(0x80000001, 0x0, new CpuidResult(0, 0, 0, 0xFFFFFFFF));
+        stub(0x80000007, 0x0, new CpuidResult(0, 0, 0, 0xFFFFFFFF));
+
+        assertEquals(CpuFeatures.of(CpuFeature.SSE),
+                CpuFeatures.detect(cpuid));
+    }
+
+    @Test
+    void testDetectStructuredSubleaf() {
+        stub(0x0, 0x0, new CpuidResult(0x7, 0, 0, 0));
+        stub(0x1, 0x0, new CpuidResult(0, 0, 0, 0));
+        stub(0x7, 0x0, new CpuidResult(0x1, 0, 0, 0));
+        stub(0x7, 0x1, new CpuidResult(1 << 5, 0, 0, 0));
+        stub(0x80000000, 0x0, new CpuidResult(0x80000008, 0, 0, 0));
+        stub(0x80000001, 0x0, new CpuidResult(0, 0, 0, 0));
+        stub(0x80000007, 0x0, new CpuidResult(0, 0, 0, 1 << 8));
+
+        assertEquals(CpuFeatures.of(CpuFeature.AVX512_BF16,
+                CpuFeature.INVARIANT_TSC), CpuFeatures.detect(cpuid));
+    }
+
+    @Test
+    void testHas() {
+        CpuFeatures features = CpuFeatures.of(CpuFeature.SSE2,
+                CpuFeature.INVARIANT_TSC);
+
+        assertTrue(features.has(CpuFeature.SSE2));
+        assertTrue(features.has(CpuFeature.INVARIANT_TSC));
+        assertFalse(features.has(CpuFeature.AVX));
+        assertFalse(features.has(CpuFeature.LM));
+    }
+
+    @Test
+    void testContainsAll() {
+        CpuFeatures host = CpuFeatures.of(CpuFeature.SSE2, CpuFeature.AVX2,
+                CpuFeature.INVARIANT_TSC);
+
+        assertTrue(host.containsAll(CpuFeatures.of(CpuFeature.AVX2,
+                CpuFeature.INVARIANT_TSC)));
+        assertTrue(host.containsAll(CpuFeatures.none()));
+        assertFalse(host.containsAll(CpuFeatures.of(CpuFeature.AVX512F)));
+        assertFalse(host.containsAll(CpuFeatures.of(CpuFeature.LM)));
+    }
+
+    @Test
+    void testSetOperations() {
+        CpuFeatures a = CpuFeatures.of(CpuFeature.SSE2, CpuFeature.AVX2,
+                CpuFeature.LM);
+        CpuFeatures b = CpuFeatures.of(CpuFeature.SSE2, CpuFeature.AVX512F,
+                CpuFeature.NX);
+
+        assertEquals(CpuFeatures.of(CpuFeature.SSE2), a.intersection(b));
+        assertEquals(CpuFeatures.of(CpuFeature.SSE2, CpuFeature.AVX2,
+                CpuFeature.LM, CpuFeature.AVX512F, CpuFeature.NX),
+                a.union(b));
+        assertEquals(CpuFeatures.of(CpuFeature.AVX2, CpuFeature.LM),
+                a.difference(b));
+    }
+
+    @Test
+    void testSizeAndEmpty() {
+        assertTrue(CpuFeatures.none().isEmpty());
+        assertEquals(0, CpuFeatures.none().size());
+        assertSame(CpuFeatures.none(), CpuFeatures.none());
+
+        CpuFeatures features = CpuFeatures.of(CpuFeature.SSE, CpuFeature.LM);
+        assertFalse(features.isEmpty());
+        assertEquals(2, features.size());
+        assertFalse(CpuFeatures.of(CpuFeature.LM).isEmpty());
+    }
+
+    @Test
+    void testToSet() {
+        assertEquals(EnumSet.of(CpuFeature.SSE, CpuFeature.LM),
+                CpuFeatures.of(CpuFeature.LM, CpuFeature.SSE).toSet());
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        CpuFeatures a = CpuFeatures.of(CpuFeature.SSE, CpuFeature.LM);
+        CpuFeatures b = CpuFeatures.of(CpuFeature.LM, CpuFeature.SSE);
+
+        assertEquals(a, a);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, CpuFeatures.of(CpuFeature.SSE));
+        assertNotEquals(a, CpuFeatures.of(CpuFeature.LM));
+        assertNotEquals(a, "CpuFeatures");
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("CpuFeatures[SSE, AVX2, LM]", CpuFeatures.of(
+                CpuFeature.LM, CpuFeature.AVX2, CpuFeature.SSE).toString());
+        assertEquals("CpuFeatures[]", CpuFeatures.none().toString());
+    }
+
+    private void stub(final int leaf, final int subleaf,
+                      final CpuidResult result) {
+        doReturn(result).when(cpuid).execute(leaf, subleaf);
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.FakeCpuid;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class CpuIdentityTest {
+
+    private static final String BRAND =
+            "  Intel(R) Xeon(R) Platinum 8488C CPU @ 2.40GHz";
+
+    @Test
+    void testDetectIntel() {
+        CpuIdentity identity = CpuIdentity.detect(intel(0x000806F8, BRAND));
+
+        assertEquals(CpuVendor.INTEL, identity.getVendor());
+        assertEquals("GenuineIntel", identity.getVendorId());
+        assertEquals("Intel(R) Xeon(R) Platinum 8488C CPU @ 2.40GHz",
+                identity.getBrand());
+        assertEquals(0x000806F8, identity.getSignature());
+        assertEquals(6, identity.getFamily());
+        assertEquals(0x8F, identity.getModel());
+        assertEquals(8, identity.getStepping());
+    }
+
+    @Test
+    void testDetectExtendedFamily() {
+        // AMD Zen 4: base family 0xF, extended family 0xA, model 0x61
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x0, 0, 0x10, 0x68747541, 0x444D4163, 0x69746E65)
+                .with(0x1, 0, 0x00A60F12, 0, 0, 0);
+
+        CpuIdentity identity = CpuIdentity.detect(cpuid);
+        assertEquals(CpuVendor.AMD, identity.getVendor());
+        assertEquals(0x19, identity.getFamily());
+        assertEquals(0x61, identity.getModel());
+        assertEquals(2, identity.getStepping());
+    }
+
+    @Test
+    void testDetectBaseModelOnly() {
+        // Family 5 does not use the extended model field
+        FakeCpuid cpuid = new FakeCpuid().with(0x1, 0, 0x000F0543, 0, 0, 0);
+
+        CpuIdentity identity = CpuIdentity.detect(cpuid);
+        assertEquals(5, identity.getFamily());
+        assertEquals(4, identity.getModel());
+    }
+
+    @Test
+    void testDetectWithoutBrand() {
+        FakeCpuid cpuid = intel(0x000806F8, BRAND)
+                .with(0x80000000, 0, 0x80000001, 0, 0, 0);
+
+        CpuIdentity identity = CpuIdentity.detect(cpuid);
+        assertEquals("", identity.getBrand());
+        assertEquals(CpuVendor.INTEL, identity.getVendor());
+    }
+
+    @Test
+    void testDetectUnknownVendor() {
+        CpuIdentity identity = CpuIdentity.detect(new FakeCpuid());
+
+        assertEquals(CpuVendor.UNKNOWN, identity.getVendor());
+        assertEquals("", identity.getVendorId());
+        assertEquals("", identity.getBrand());
+    }
+
+    @Test
+    void testBrandOnlySpaces() {
+        CpuIdentity identity = CpuIdentity.detect(intel(0, "   "));
+        assertEquals("", identity.getBrand());
+    }
+
+    @Test
+    void testBrandTrailingSpaces() {
+        CpuIdentity identity = CpuIdentity.detect(intel(0, "Test CPU  "));
+        assertEquals("Test CPU", identity.getBrand());
+    }
+
+    @Test
+    void testEquals() {
+        CpuIdentity identity = CpuIdentity.detect(intel(0x000806F8, BRAND));
+        CpuIdentity same = CpuIdentity.detect(intel(0x000806F8, BRAND));
+        CpuIdentity stepping = CpuIdentity.detect(intel(0x000806F7, BRAND));
+        CpuIdentity brand = CpuIdentity.detect(intel(0x000806F8, "Other"));
+
+        assertEquals(identity, identity);
+        assertEquals(identity, same);
+        assertEquals(identity.hashCode(), same.hashCode());
+        assertNotEquals(identity, stepping);
+        assertNotEquals(identity, brand);
+        assertNotEquals(identity, null);
+        assertNotEquals(identity, "identity");
+    }
+
+    @Test
+    void testToString() {
+        CpuIdentity identity = CpuIdentity.detect(intel(0x000806F8, "Test"));
+        assertEquals("CpuIdentity{vendor=INTEL, brand='Test', family=0x6, "
+                + "model=0x8f, stepping=8}", identity.toString());
+    }
+
+    private static FakeCpuid intel(final int signature, final String brand) {
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x0, 0, 0x20, 0x756E6547, 0x6C65746E, 0x49656E69)
+                .with(0x1, 0, signature, 0, 0, 0)
+                .with(0x80000000, 0, 0x80000008, 0, 0, 0);
+
+        int[] packed = new int[12];
+        byte[] bytes = brand.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < bytes.length; i++) {
+            packed[i / 4] |= (bytes[i] & 0xFF) << (i % 4 * 8);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            cpuid.with(0x80000002 + i, 0, packed[i * 4], packed[i * 4 + 1],
+                    packed[i * 4 + 2], packed[i * 4 + 3]);
+        }
+
+        return cpuid;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.CpuidSweep;
+import net.adambruce.jcpuid.FakeCpuid;
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CpuTopologyTest {
+
+    /**
+     * Builds the CPUID results of a CPU with two threads per core, four
+     * cores per package and an L3 cache shared by two cores.
+     */
+    private static FakeCpuid cpu(final int apicId) {
+        return new FakeCpuid()
+                .with(0x0, 0, 0xB, 0x756E6547, 0x6C65746E, 0x49656E69)
+                .with(0xB, 0, 1, 2, 0x100, apicId)
+                .with(0xB, 1, 3, 8, 0x201, apicId)
+                .with(0x4, 0, 3 | 3 << 5 | 3 << 14, 0, 0, 0);
+    }
+
+    /**
+     * Numbers the CPUs as Linux does, with the first thread of every core
+     * before the second threads.
+     */
+    private static int cpuOf(final int apicId) {
+        return (apicId & 1) * 8 + (apicId >> 1);
+    }
+
+    private static CpuidSweepResult sweep(final int... apicIds) {
+        int requests = CpuTopology.SWEEP_LEAVES.length;
+        int size = requests * CpuidResult.REGISTER_COUNT;
+        int[] cpus = new int[apicIds.length];
+        int[] registers = new int[apicIds.length * size];
+        int[] row = new int[size];
+        for (int i = 0; i < apicIds.length; i++) {
+            cpus[i] = cpuOf(apicIds[i]);
+            cpu(apicIds[i]).executeBatch(CpuTopology.SWEEP_LEAVES,
+                    CpuTopology.SWEEP_SUBLEAVES, row);
+            System.arraycopy(row, 0, registers, i * size, size);
+        }
+
+        return new CpuidSweepResult(cpus, CpuTopology.SWEEP_LEAVES,
+                CpuTopology.SWEEP_SUBLEAVES, registers);
+    }
+
+    private static CpuTopology twoPackages() {
+        // Two packages of 16 APIC IDs, swept out of order
+        return CpuTopology.fromSweep(sweep(9, 1, 0, 8, 2, 3, 10, 11, 4, 5,
+                12, 13, 6, 7, 14, 15));
+    }
+
+    @Test
+    void testLevels() {
+        CpuTopology topology = twoPackages();
+
+        assertEquals(2, topology.getCount(TopologyLevel.PACKAGE));
+        assertEquals(2, topology.getCount(TopologyLevel.DIE));
+        assertEquals(4, topology.getCount(TopologyLevel.L3_DOMAIN));
+        assertEquals(8, topology.getCount(TopologyLevel.CORE));
+        assertEquals(16, topology.getCount(TopologyLevel.THREAD));
+        assertEquals("CpuTopology{packages=2, dies=2, l3Domains=4, "
+                + "cores=8, threads=16}", topology.toString());
+
+        List<TopologyNode> cores = topology.getNodes(TopologyLevel.CORE);
+        for (int i = 0; i < cores.size(); i++) {
+            assertEquals(i, cores.get(i).getIndex());
+            assertEquals(i, cores.get(i).getId());
+        }
+    }
+
+    @Test
+    void testTree() {
+        TopologyNode pkg = twoPackages().getPackages().get(1);
+
+        assertEquals(TopologyLevel.PACKAGE, pkg.getLevel());
+        assertEquals(1, pkg.getId());
+        assertNull(pkg.getParent());
+        assertArrayEquals(new int[]{4, 5, 6, 7, 12, 13, 14, 15},
+                pkg.getCpus());
+
+        TopologyNode die = pkg.getChildren().get(0);
+        assertEquals(1, pkg.getChildren().size());
+        assertSame(pkg, die.getParent());
+        assertEquals(2, die.getChildren().size());
+
+        TopologyNode domain = die.getChildren().get(1);
+        assertEquals(TopologyLevel.L3_DOMAIN, domain.getLevel());
+        assertEquals(3, domain.getIndex());
+        assertArrayEquals(new int[]{6, 7, 14, 15}, domain.getCpus());
+        assertEquals(4, domain.getCpuCount());
+        assertEquals("TopologyNode{level=L3_DOMAIN, id=3, "
+                + "cpus=[6, 7, 14, 15]}", domain.toString());
+        assertThrows(UnsupportedOperationException.class,
+                () -> domain.getChildren().clear());
+    }
+
+    @Test
+    void testFindByApicId() {
+        CpuTopology topology = twoPackages();
+        TopologyNode thread = topology.findByApicId(5);
+
+        assertEquals(TopologyLevel.THREAD, thread.getLevel());
+        assertEquals(5, thread.getId());
+        assertArrayEquals(new int[]{10}, thread.getCpus());
+        assertEquals(0, thread.getChildren().size());
+        assertSame(thread, topology.findByCpu(10));
+        assertArrayEquals(new int[]{2, 10},
+                thread.getAncestor(TopologyLevel.CORE).getCpus());
+        assertArrayEquals(new int[]{2, 3, 10, 11},
+                thread.getAncestor(TopologyLevel.L3_DOMAIN).getCpus());
+        assertSame(topology.getPackages().get(0),
+                thread.getAncestor(TopologyLevel.PACKAGE));
+        assertSame(thread, thread.getAncestor(TopologyLevel.THREAD));
+
+        assertNull(topology.findByApicId(16));
+        assertNull(topology.findByCpu(16));
+    }
+
+    @Test
+    void testAncestorBelowNode() {
+        TopologyNode core = twoPackages().getNodes(TopologyLevel.CORE).get(0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> core.getAncestor(TopologyLevel.THREAD));
+    }
+
+    @Test
+    void testDuplicateApicId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CpuTopology.fromSweep(sweep(0, 1, 1)));
+    }
+
+    @Test
+    void testMissingLeaves() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CpuTopology.fromSweep(new CpuidSweepResult(
+                        new int[]{0}, new int[]{0x1}, new int[]{0x0},
+                        new int[4])));
+        assertThrows(IllegalArgumentException.class,
+                () -> CpuTopology.fromSweep(new CpuidSweepResult(
+                        new int[]{0}, new int[]{0x0}, new int[]{0x0},
+                        new int[4])));
+    }
+
+    @Test
+    void testMinimalSweep() {
+        // A single CPU without topology leaves is a single package
+        CpuTopology topology = CpuTopology.fromSweep(new CpuidSweepResult(
+                new int[]{3}, new int[]{0x0, 0x1}, new int[]{0x0, 0x0},
+                new int[]{0x1, 0, 0, 0, 0, 0x07000000, 0, 0}));
+
+        assertEquals("CpuTopology{packages=1, dies=1, l3Domains=1, "
+                + "cores=1, threads=1}", topology.toString());
+        assertArrayEquals(new int[]{3},
+                topology.findByApicId(7).getAncestor(TopologyLevel.PACKAGE)
+                        .getCpus());
+    }
+
+    @Test
+    void testDetect() {
+        // Each CPU reports its own APIC ID once the sweep pins to it
+        ThreadLocal<Integer> pinned = new ThreadLocal<>();
+        CpuidBridge bridge = new CpuidBridge() {
+            @Override
+            public CpuidResult executeCPUID(final int leaf) {
+                return executeCPUID(leaf, 0);
+            }
+
+            @Override
+            public CpuidResult executeCPUID(final int leaf,
+                                            final int subleaf) {
+                return cpu(pinned.get() * 2).execute(leaf, subleaf);
+            }
+
+            @Override
+            public int[] getThreadAffinity() {
+                return new int[]{0, 1, 2, 3};
+            }
+
+            @Override
+            public boolean setThreadAffinity(final int... cpus) {
+                pinned.set(cpus[0]);
+                return true;
+            }
+        };
+
+        CpuTopology topology = CpuTopology.detect(new CpuidSweep(bridge));
+
+        assertEquals(4, topology.getCount(TopologyLevel.CORE));
+        assertEquals(2, topology.getCount(TopologyLevel.L3_DOMAIN));
+        assertArrayEquals(new int[]{2},
+                topology.findByApicId(4).getCpus());
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CpuVendorTest {
+
+    @Test
+    void testFromRegistersIntel() {
+        assertEquals(CpuVendor.INTEL,
+                CpuVendor.fromRegisters(0x756E6547, 0x49656E69, 0x6C65746E));
+    }
+
+    @Test
+    void testFromRegistersAmd() {
+        assertEquals(CpuVendor.AMD,
+                CpuVendor.fromRegisters(0x68747541, 0x69746E65, 0x444D4163));
+    }
+
+    @Test
+    void testFromRegistersUnknown() {
+        assertEquals(CpuVendor.UNKNOWN, CpuVendor.fromRegisters(0, 0, 0));
+        assertEquals(CpuVendor.UNKNOWN,
+                CpuVendor.fromRegisters(0x756E6547, 0x49656E69, 0));
+    }
+
+    @Test
+    void testGetVendorId() {
+        assertEquals("  Shanghai  ", CpuVendor.ZHAOXIN.getVendorId());
+        assertEquals("", CpuVendor.UNKNOWN.getVendorId());
+    }
+
+}
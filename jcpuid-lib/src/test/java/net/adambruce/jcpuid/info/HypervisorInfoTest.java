@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.FakeCpuid;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HypervisorInfoTest {
+
+    private static final int HYPERVISOR_BIT = 1 << 31;
+
+    private static FakeCpuid guest() {
+        return new FakeCpuid().with(0x1, 0, 0, 0, HYPERVISOR_BIT, 0);
+    }
+
+    private static FakeCpuid kvm(final FakeCpuid cpuid, final int base,
+                                 final int maxLeaf) {
+        return cpuid.with(base, 0, maxLeaf, 0x4B4D564B, 0x564B4D56, 0x4D);
+    }
+
+    private static FakeCpuid hyperV(final FakeCpuid cpuid) {
+        return cpuid.with(0x40000000, 0, 0x4000000A, 0x7263694D, 0x666F736F,
+                0x76482074);
+    }
+
+    @Test
+    void testBareMetal() {
+        FakeCpuid cpuid = kvm(new FakeCpuid(), 0x40000000, 0x40000001);
+
+        HypervisorInfo info = HypervisorInfo.detect(cpuid);
+
+        assertFalse(info.isPresent());
+        assertEquals(HypervisorVendor.UNKNOWN, info.getVendor());
+        assertEquals(0, info.getBaseLeaf());
+        assertEquals(0, info.getMaxLeaf());
+        assertEquals(0L, info.getTscFrequency());
+        assertEquals(new CpuidResult(0, 0, 0, 0), info.getFeatures());
+    }
+
+    @Test
+    void testKvm() {
+        FakeCpuid cpuid = kvm(guest(), 0x40000000, 0x40000010)
+                .with(0x40000001, 0, 0x1007EFB, 0, 0, 0)
+                .with(0x40000010, 0, 2_000_000, 1_000_000, 0, 0);
+
+        HypervisorInfo info = HypervisorInfo.detect(cpuid);
+
+        assertTrue(info.isPresent());
+        assertEquals(HypervisorVendor.KVM, info.getVendor());
+        assertEquals(0x40000000, info.getBaseLeaf());
+        assertEquals(0x40000010, info.getMaxLeaf());
+        assertEquals(0x1007EFB, info.getFeatures().getEax().getIntValue());
+        assertEquals(2_000_000_000L, info.getTscFrequency());
+    }
+
+    @Test
+    void testKvmWithoutTimingLeaf() {
+        FakeCpuid cpuid = kvm(guest(), 0x40000000, 0x40000001)
+                .with(0x40000010, 0, 2_000_000, 0, 0, 0);
+
+        assertEquals(0L, HypervisorInfo.detect(cpuid).getTscFrequency());
+    }
+
+    @Test
+    void testEarlyKvmReportsZeroMaxLeaf() {
+        FakeCpuid cpuid = kvm(guest(), 0x40000000, 0)
+                .with(0x40000001, 0, 0x7, 0, 0, 0);
+
+        HypervisorInfo info = HypervisorInfo.detect(cpuid);
+
+        assertEquals(0x40000001, info.getMaxLeaf());
+        assertEquals(0x7, info.getFeatures().getEax().getIntValue());
+    }
+
+    @Test
+    void testKvmBehindHyperVEmulation() {
+        FakeCpuid cpuid = kvm(hyperV(guest()), 0x40000100, 0x40000101)
+                .with(0x40000101, 0, 0x1, 0, 0, 0);
+
+        HypervisorInfo info = HypervisorInfo.detect(cpuid);
+
+        assertEquals(HypervisorVendor.KVM, info.getVendor());
+        assertEquals(0x40000100, info.getBaseLeaf());
+        assertEquals(0x1, info.getFeatures().getEax().getIntValue());
+    }
+
+    @Test
+    void testHyperV() {
+        FakeCpuid cpuid = hyperV(guest())
+                .with(0x40000003, 0, 0xAFF, 0, 0, 0)
+                .with(0x40000010, 0, 2_000_000, 0, 0, 0);
+
+        HypervisorInfo info = HypervisorInfo.detect(cpuid);
+
+        assertEquals(HypervisorVendor.HYPER_V, info.getVendor());
+        assertEquals(0x4000000A, info.getMaxLeaf());
+        assertEquals(0xAFF, info.getFeatures().getEax().getIntValue());
+        assertEquals(0L, info.getTscFrequency());
+    }
+
+    @Test
+    void testXen() {
+        FakeCpuid cpuid = guest()
+                .with(0x40000000, 0, 0x40000005, 0x566E6558, 0x65584D4D,
+                        0x4D4D566E)
+                .with(0x40000003, 0, 0, 0, 2_500_000, 0)
+                .with(0x40000004, 0, 0x1F, 0, 0, 0);
+
+        HypervisorInfo info = HypervisorInfo.detect(cpuid);
+
+        assertEquals(HypervisorVendor.XEN, info.getVendor());
+        assertEquals(0x1F, info.getFeatures().getEax().getIntValue());
+        assertEquals(2_500_000_000L, info.getTscFrequency());
+    }
+
+    @Test
+    void testXenWithoutTimeLeaf() {
+        FakeCpuid cpuid = guest()
+                .with(0x40000000, 0, 0x40000002, 0x566E6558, 0x65584D4D,
+                        0x4D4D566E)
+                .with(0x40000003, 0, 0, 0, 2_500_000, 0);
+
+        HypervisorInfo info = HypervisorInfo.detect(cpuid);
+
+        assertEquals(0L, info.getTscFrequency());
+        assertEquals(new CpuidResult(0, 0, 0, 0), info.getFeatures());
+    }
+
+    @Test
+    void testVmware() {
+        FakeCpuid cpuid = guest()
+                .with(0x40000000, 0, 0x40000010, 0x61774D56, 0x4D566572,
+                        0x65726177)
+                .with(0x40000010, 0, 3_000_000, 0, 0, 0);
+
+        HypervisorInfo info = HypervisorInfo.detect(cpuid);
+
+        assertEquals(HypervisorVendor.VMWARE, info.getVendor());
+        assertEquals(3_000_000_000L, info.getTscFrequency());
+        assertEquals(new CpuidResult(0, 0, 0, 0), info.getFeatures());
+    }
+
+    @Test
+    void testUnknownHypervisor() {
+        FakeCpuid cpuid = guest()
+                .with(0x40000000, 0, 0x40000010, 1, 2, 3)
+                .with(0x40000010, 0, 3_000_000, 0, 0, 0);
+
+        HypervisorInfo info = HypervisorInfo.detect(cpuid);
+
+        assertTrue(info.isPresent());
+        assertEquals(HypervisorVendor.UNKNOWN, info.getVendor());
+        assertEquals(0x40000000, info.getBaseLeaf());
+        assertEquals(0L, info.getTscFrequency());
+    }
+
+    @Test
+    void testToString() {
+        FakeCpuid cpuid = kvm(guest(), 0x40000000, 0x40000001);
+
+        assertEquals("HypervisorInfo{present=true, vendor=KVM, "
+                        + "baseLeaf=0x40000000, maxLeaf=0x40000001, "
+                        + "tscFrequency=0}",
+                HypervisorInfo.detect(cpuid).toString());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HypervisorVendorTest {
+
+    @Test
+    void testFromRegistersKvm() {
+        assertEquals(HypervisorVendor.KVM,
+                HypervisorVendor.fromRegisters(0x4B4D564B, 0x564B4D56, 0x4D));
+    }
+
+    @Test
+    void testFromRegistersHyperV() {
+        assertEquals(HypervisorVendor.HYPER_V, HypervisorVendor.fromRegisters(
+                0x7263694D, 0x666F736F, 0x76482074));
+    }
+
+    @Test
+    void testFromRegistersUnknown() {
+        assertEquals(HypervisorVendor.UNKNOWN,
+                HypervisorVendor.fromRegisters(0, 0, 0));
+        assertEquals(HypervisorVendor.UNKNOWN,
+                HypervisorVendor.fromRegisters(0x4B4D564B, 0x564B4D56, 0));
+    }
+
+    @Test
+    void testGetSignature() {
+        assertEquals("VMwareVMware", HypervisorVendor.VMWARE.getSignature());
+        assertEquals("", HypervisorVendor.UNKNOWN.getSignature());
+    }
+
+    @Test
+    void testGetFeatureLeafOffset() {
+        assertEquals(1, HypervisorVendor.KVM.getFeatureLeafOffset());
+        assertEquals(3, HypervisorVendor.HYPER_V.getFeatureLeafOffset());
+        assertEquals(4, HypervisorVendor.XEN.getFeatureLeafOffset());
+        assertEquals(0, HypervisorVendor.VMWARE.getFeatureLeafOffset());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SweepRowCpuidTest {
+
+    private static final CpuidSweepResult RESULT = new CpuidSweepResult(
+            new int[]{0, 1}, new int[]{0x1, 0x4}, new int[]{0x0, 0x1},
+            new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+                13, 14, 15, 16});
+
+    @Test
+    void testExecute() {
+        SweepRowCpuid cpuid = new SweepRowCpuid(RESULT, 1);
+
+        assertEquals(new CpuidResult(9, 10, 11, 12), cpuid.execute(0x1));
+        assertEquals(new CpuidResult(13, 14, 15, 16),
+                cpuid.execute(0x4, 0x1));
+    }
+
+    @Test
+    void testMissingRequest() {
+        SweepRowCpuid cpuid = new SweepRowCpuid(RESULT, 0);
+        int[] registers = {-1, -1, -1, -1, -1, -1};
+
+        cpuid.execute(0x4, 0x0, registers, 1);
+
+        assertArrayEquals(new int[]{-1, 0, 0, 0, 0, -1}, registers);
+        assertEquals(new CpuidResult(0, 0, 0, 0), cpuid.execute(0x7));
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.info;
+
+import net.adambruce.jcpuid.FakeCpuid;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TopologyDecoderTest {
+
+    private static FakeCpuid intel(final int maxStandard) {
+        return new FakeCpuid().with(0x0, 0, maxStandard, 0x756E6547,
+                0x6C65746E, 0x49656E69);
+    }
+
+    private static FakeCpuid amd(final int maxExtended,
+                                 final boolean extensions) {
+        int ecx = 0;
+        if (extensions) {
+            ecx = 1 << 22;
+        }
+
+        return new FakeCpuid()
+                .with(0x0, 0, 0x10, 0x68747541, 0x444D4163, 0x69746E65)
+                .with(0x80000000, 0, maxExtended, 0, 0, 0)
+                .with(0x80000001, 0, 0, 0, ecx, 0);
+    }
+
+    /** Builds the EAX value of a cache leaf for a unified cache. */
+    private static int cache(final int level, final int sharing) {
+        return 3 | level << 5 | (sharing - 1) << 14;
+    }
+
+    private static void assertShifts(final TopologyDecoder decoder,
+                                     final int packageShift,
+                                     final int dieShift, final int l3Shift,
+                                     final int coreShift) {
+        assertEquals(packageShift,
+                decoder.getShift(TopologyLevel.PACKAGE));
+        assertEquals(dieShift, decoder.getShift(TopologyLevel.DIE));
+        assertEquals(l3Shift, decoder.getShift(TopologyLevel.L3_DOMAIN));
+        assertEquals(coreShift, decoder.getShift(TopologyLevel.CORE));
+        assertEquals(0, decoder.getShift(TopologyLevel.THREAD));
+    }
+
+    @Test
+    void testIntelExtendedTopology() {
+        // SMT, core, module and die levels, with an L3 shared by 8 IDs
+        FakeCpuid cpuid = intel(0x1F)
+                .with(0x1F, 0, 1, 2, 0x100, 0x5B)
+                .with(0x1F, 1, 3, 8, 0x201, 0x5B)
+                .with(0x1F, 2, 4, 16, 0x302, 0x5B)
+                .with(0x1F, 3, 6, 64, 0x503, 0x5B)
+                .with(0x4, 0, cache(1, 2), 0, 0, 0)
+                .with(0x4, 1, cache(3, 8), 0, 0, 0);
+
+        TopologyDecoder decoder = TopologyDecoder.decode(cpuid);
+
+        assertEquals(0x5B, decoder.getApicId());
+        assertShifts(decoder, 6, 4, 3, 1);
+        assertEquals(1, decoder.getId(TopologyLevel.PACKAGE));
+        assertEquals(0x5, decoder.getId(TopologyLevel.DIE));
+        assertEquals(0xB, decoder.getId(TopologyLevel.L3_DOMAIN));
+        assertEquals(0x2D, decoder.getId(TopologyLevel.CORE));
+        assertEquals(0x5B, decoder.getId(TopologyLevel.THREAD));
+    }
+
+    @Test
+    void testIntelX2ApicTopology() {
+        // Leaf 0x1F is supported but empty, so leaf 0xB is used
+        FakeCpuid cpuid = intel(0x1F)
+                .with(0xB, 0, 1, 2, 0x100, 0x21)
+                .with(0xB, 1, 5, 32, 0x201, 0x21);
+
+        TopologyDecoder decoder = TopologyDecoder.decode(cpuid);
+
+        assertEquals(0x21, decoder.getApicId());
+        assertShifts(decoder, 5, 5, 5, 1);
+    }
+
+    @Test
+    void testL3WithinCore() {
+        // An L3 shared by fewer CPUs than a core still holds the core
+        FakeCpuid cpuid = intel(0xB)
+                .with(0xB, 0, 1, 2, 0x100, 0x3)
+                .with(0xB, 1, 4, 16, 0x201, 0x3)
+                .with(0x4, 0, cache(3, 1), 0, 0, 0);
+
+        assertShifts(TopologyDecoder.decode(cpuid), 4, 4, 1, 1);
+    }
+
+    @Test
+    void testEveryLevelReported() {
+        // Reading stops after the last sub-leaf that is swept
+        FakeCpuid cpuid = intel(0xB);
+        for (int i = 0; i < TopologyDecoder.MAX_SUBLEAVES; i++) {
+            cpuid.with(0xB, i, i + 1, 1, 0x300 | i, 0);
+        }
+        cpuid.with(0xB, TopologyDecoder.MAX_SUBLEAVES, 31, 1, 0x200, 0);
+
+        assertShifts(TopologyDecoder.decode(cpuid),
+                TopologyDecoder.MAX_SUBLEAVES, 8, 8, 0);
+    }
+
+    @Test
+    void testIntelLegacy() {
+        // 16 logical CPUs per package, 8 cores, and no L3 cache
+        FakeCpuid cpuid = intel(0x4)
+                .with(0x1, 0, 0, 0x0D100800, 0, 1 << 28)
+                .with(0x4, 0, 7 << 26 | cache(1, 2), 0, 0, 0);
+
+        TopologyDecoder decoder = TopologyDecoder.decode(cpuid);
+
+        assertEquals(0xD, decoder.getApicId());
+        assertShifts(decoder, 4, 4, 4, 1);
+        assertEquals(6, decoder.getId(TopologyLevel.CORE));
+    }
+
+    @Test
+    void testSingleCpuLegacy() {
+        // Without HTT the logical CPU count is not valid
+        FakeCpuid cpuid = intel(0x1).with(0x1, 0, 0, 0x00100800, 0, 0);
+
+        assertShifts(TopologyDecoder.decode(cpuid), 0, 0, 0, 0);
+    }
+
+    @Test
+    void testAmdExtendedTopology() {
+        FakeCpuid cpuid = amd(0x80000026, true)
+                .with(0x80000026, 0, 1, 2, 0x100, 0x97)
+                .with(0x80000026, 1, 4, 16, 0x201, 0x97)
+                .with(0x80000026, 2, 5, 32, 0x302, 0x97)
+                .with(0x80000026, 3, 7, 128, 0x403, 0x97)
+                .with(0x80000026, 4, 0, 0, 0x504, 0x97);
+
+        TopologyDecoder decoder = TopologyDecoder.decode(cpuid);
+
+        assertEquals(0x97, decoder.getApicId());
+        assertShifts(decoder, 7, 5, 4, 1);
+        assertEquals(0x9, decoder.getId(TopologyLevel.L3_DOMAIN));
+    }
+
+    @Test
+    void testAmdExtendedTopologyWithoutSocket() {
+        // The highest level bounds the package, and the dies come from
+        // the node count of leaf 0x8000001E
+        FakeCpuid cpuid = amd(0x80000026, true)
+                .with(0x80000026, 0, 1, 2, 0x100, 0x7)
+                .with(0x80000026, 1, 4, 16, 0x201, 0x7)
+                .with(0x8000001E, 0, 0x7, 0x100, 0x100, 0);
+
+        assertShifts(TopologyDecoder.decode(cpuid), 4, 3, 3, 1);
+    }
+
+    @Test
+    void testAmdX2ApicTopology() {
+        // Leaf 0x80000026 is empty, leaf 0xB gives the cores and leaf
+        // 0x8000001D the CCX
+        FakeCpuid cpuid = amd(0x80000026, true)
+                .with(0xB, 0, 1, 2, 0x100, 0x13)
+                .with(0xB, 1, 6, 32, 0x201, 0x13)
+                .with(0x8000001D, 0, cache(1, 2), 0, 0, 0)
+                .with(0x8000001D, 1, cache(3, 8), 0, 0, 0)
+                .with(0x8000001E, 0, 0x13, 0x100, 0x300, 0);
+
+        TopologyDecoder decoder = TopologyDecoder.decode(cpuid);
+
+        assertEquals(0x13, decoder.getApicId());
+        assertShifts(decoder, 6, 4, 3, 1);
+    }
+
+    @Test
+    void testAmdLegacy() {
+        // 0x80000008 reports 8 cores without a core ID size, and
+        // 0x8000001E two threads per core and two nodes
+        FakeCpuid cpuid = amd(0x8000001E, true)
+                .with(0x1, 0, 0, 0x01100800, 0, 1 << 28)
+                .with(0x80000008, 0, 0, 0, 7, 0)
+                .with(0x8000001D, 0, cache(3, 4), 0, 0, 0)
+                .with(0x8000001E, 0, 0x5, 0x100, 0x100, 0);
+
+        TopologyDecoder decoder = TopologyDecoder.decode(cpuid);
+
+        assertEquals(0x5, decoder.getApicId());
+        assertShifts(decoder, 3, 2, 2, 1);
+    }
+
+    @Test
+    void testAmdLegacyCoreIdSize() {
+        // Without the topology extensions the extended APIC ID is not read
+        FakeCpuid cpuid = amd(0x8000001E, false)
+                .with(0x1, 0, 0, 0x03100800, 0, 1 << 28)
+                .with(0x80000008, 0, 0, 0, 4 << 12 | 15, 0)
+                .with(0x8000001E, 0, 0x99, 0x100, 0x100, 0);
+
+        TopologyDecoder decoder = TopologyDecoder.decode(cpuid);
+
+        assertEquals(0x3, decoder.getApicId());
+        assertShifts(decoder, 4, 4, 4, 0);
+    }
+
+    @Test
+    void testHygonWithoutExtendedLeaves() {
+        // The logical CPU count of leaf 0x1 bounds the package
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x0, 0, 0x1, 0x6F677948, 0x656E6975, 0x6E65476E)
+                .with(0x80000000, 0, 0x80000001, 0, 0, 0)
+                .with(0x80000001, 0, 0, 0, 1 << 22, 0)
+                .with(0x1, 0, 0, 0x02040800, 0, 1 << 28);
+
+        TopologyDecoder decoder = TopologyDecoder.decode(cpuid);
+
+        assertEquals(0x2, decoder.getApicId());
+        assertShifts(decoder, 2, 2, 2, 0);
+    }
+
+    @Test
+    void testAmdWithoutFeatureLeaf() {
+        FakeCpuid cpuid = amd(0x0, true)
+                .with(0x1, 0, 0, 0x01000800, 0, 0);
+
+        assertShifts(TopologyDecoder.decode(cpuid), 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AffinityArgumentsTest {
+
+    @Test
+    void testCheck() {
+        assertDoesNotThrow(() -> AffinityArguments.check(new int[]{0, 3}));
+    }
+
+    @Test
+    void testCheckNoCpus() {
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> AffinityArguments.check(new int[0]));
+
+        assertEquals("expected at least one CPU", ex.getMessage());
+    }
+
+    @Test
+    void testCheckNegativeCpu() {
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> AffinityArguments.check(new int[]{0, -1}));
+
+        assertEquals("invalid CPU number: -1", ex.getMessage());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchArgumentsTest {
+
+    @Test
+    void testCheck() {
+        assertDoesNotThrow(() -> BatchArguments.check(new int[]{0, 1},
+                new int[]{0, 0}, new int[8]));
+    }
+
+    @Test
+    void testCheckMismatchedSubleaves() {
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> BatchArguments.check(new int[]{0, 1}, new int[]{0},
+                        new int[8]));
+
+        assertEquals("expected one sub-leaf per leaf, got 2 leaves and 1 "
+                + "sub-leaves", ex.getMessage());
+    }
+
+    @Test
+    void testCheckOutputTooSmall() {
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> BatchArguments.check(new int[]{0, 1}, new int[]{0, 0},
+                        new int[7]));
+
+        assertEquals("output array too small, need 8 elements but got 7",
+                ex.getMessage());
+    }
+
+    @Test
+    void testCheckWithoutOutput() {
+        assertDoesNotThrow(() -> BatchArguments.check(new int[]{0, 1},
+                new int[]{0, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchArguments.check(new int[]{0, 1}, new int[]{0}));
+    }
+}
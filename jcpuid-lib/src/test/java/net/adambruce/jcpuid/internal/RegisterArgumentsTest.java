@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RegisterArgumentsTest {
+
+    @Test
+    void testCheck() {
+        assertDoesNotThrow(() -> RegisterArguments.check(new int[4], 0));
+        assertDoesNotThrow(() -> RegisterArguments.check(new int[8], 4));
+    }
+
+    @Test
+    void testCheckNullArray() {
+        assertThrows(NullPointerException.class,
+                () -> RegisterArguments.check(null, 0));
+    }
+
+    @Test
+    void testCheckOffsetOutOfRange() {
+        IndexOutOfBoundsException ex = assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> RegisterArguments.check(new int[8], 5));
+
+        assertEquals("offset 5 out of range for length 8", ex.getMessage());
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> RegisterArguments.check(new int[8], -1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> RegisterArguments.check(new int[3], 0));
+    }
+}
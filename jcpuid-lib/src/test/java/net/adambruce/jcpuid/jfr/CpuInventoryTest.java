@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.jfr;
+
+import net.adambruce.jcpuid.FakeCpuid;
+import net.adambruce.jcpuid.info.CpuTopology;
+import net.adambruce.jcpuid.info.TopologyLevel;
+import net.adambruce.jcpuid.type.CpuidSweepResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CpuInventoryTest {
+
+    private static FakeCpuid intel() {
+        return new FakeCpuid()
+                .with(0x0, 0, 0x7, 0x756E6547, 0x6C65746E, 0x49656E69)
+                .with(0x1, 0, 0x906EA, 0, 1 << 28 | 1 << 27, 1 << 4);
+    }
+
+    @Test
+    void testCollectOnBareMetal() {
+        CpuInventory inventory = CpuInventory.collect(intel(), null);
+
+        assertEquals("GenuineIntel", inventory.getIdentity().getVendorId());
+        assertEquals(0x9E, inventory.getIdentity().getModel());
+        assertEquals("TSC OSXSAVE AVX", inventory.getFeatures());
+        assertEquals(0, inventory.getCount(TopologyLevel.CORE));
+        assertEquals(CpuInventory.NO_HYPERVISOR, inventory.getHypervisor());
+        assertEquals(0L, inventory.getHypervisorTscFrequency());
+    }
+
+    @Test
+    void testCollectUnderHypervisor() {
+        FakeCpuid cpuid = intel()
+                .with(0x1, 0, 0x906EA, 0, 1 << 31, 0)
+                .with(0x40000000, 0, 0x40000010, 0x61774D56, 0x4D566572,
+                        0x65726177)
+                .with(0x40000010, 0, 2_000_000, 0, 0, 0);
+
+        CpuInventory inventory = CpuInventory.collect(cpuid, null);
+
+        assertEquals("HYPERVISOR", inventory.getFeatures());
+        assertEquals("VMWARE", inventory.getHypervisor());
+        assertEquals(2_000_000_000L, inventory.getHypervisorTscFrequency());
+    }
+
+    @Test
+    void testCollectWithTopology() {
+        int[] registers = {
+            0xB, 0x756E6547, 0x6C65746E, 0x49656E69,
+            0, 0, 0, 0
+        };
+        CpuTopology topology = CpuTopology.fromSweep(new CpuidSweepResult(
+                new int[] {0}, new int[] {0x0, 0x1}, new int[] {0x0, 0x0},
+                registers));
+
+        CpuInventory inventory = CpuInventory.collect(intel(), topology);
+
+        assertEquals(1, inventory.getCount(TopologyLevel.PACKAGE));
+        assertEquals(1, inventory.getCount(TopologyLevel.THREAD));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.jfr;
+
+import net.adambruce.jcpuid.FakeCpuid;
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the baseline classes, which are the ones on the test class path.
+ * The versioned classes are only used from the multi-release JAR.
+ */
+public class CpuidEventsTest {
+
+    @Test
+    void testBaselineIsNotAvailable() {
+        assertFalse(CpuidEvents.isAvailable());
+    }
+
+    @Test
+    void testBaselineDoesNotRegisterInventory() {
+        assertFalse(CpuidEvents.registerInventory(new FakeCpuid(), null));
+        assertFalse(JfrSupport.registerInventory(
+                CpuInventory.collect(new FakeCpuid(), null)));
+    }
+
+    @Test
+    void testBaselineDoesNotWrapBridge() {
+        CpuidBridge bridge = new CpuidBridge() {
+            @Override
+            public CpuidResult executeCPUID(final int leaf) {
+                return new CpuidResult(0, 0, 0, 0);
+            }
+
+            @Override
+            public CpuidResult executeCPUID(final int leaf,
+                                            final int subleaf) {
+                return new CpuidResult(0, 0, 0, 0);
+            }
+        };
+
+        assertSame(bridge, CpuidEvents.record(bridge));
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.loader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class NativeLibraryCacheTest {
+
+    private static final byte[] LIBRARY = {0x7F, 'E', 'L', 'F', 1, 2, 3};
+
+    private static final String NAME = "jcpuid-native-linux-x86_64-1.0.so";
+
+    @TempDir
+    Path directory;
+
+    private static UserPrincipal assumePosixUser(final Path path) {
+        assumeTrue(path.getFileSystem().supportedFileAttributeViews()
+                .contains("posix"));
+        UserPrincipal user = NativeLibraryCache.getCurrentUser();
+        assumeTrue(user != null);
+        return user;
+    }
+
+    private static void deleteTempDirectory(final Path path)
+            throws IOException {
+        assertEquals(Paths.get(System.getProperty("java.io.tmpdir")),
+                path.getParent());
+        Files.delete(path);
+    }
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(NativeLibraryCache.CACHE_DIRECTORY_PROPERTY);
+    }
+
+    @Test
+    void testExtract() throws IOException {
+        NativeLibraryCache cache = new NativeLibraryCache(directory);
+        Path path = cache.extract(NAME, new ByteArrayInputStream(LIBRARY));
+
+        assertEquals(directory, cache.getDirectory());
+        assertEquals(NAME, path.getFileName().toString());
+        assertEquals(directory.resolve(NativeLibraryCache.toHex(
+                NativeLibraryCache.hash(LIBRARY))), path.getParent());
+        assertArrayEquals(LIBRARY, Files.readAllBytes(path));
+    }
+
+    @Test
+    void testExtractReusesExistingFile() throws IOException {
+        NativeLibraryCache cache = new NativeLibraryCache(directory);
+        Path first = cache.extract(NAME, new ByteArrayInputStream(LIBRARY));
+        FileTime marker = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(first, marker);
+
+        Path second = cache.extract(NAME, new ByteArrayInputStream(LIBRARY));
+
+        assertEquals(first, second);
+        assertEquals(marker, Files.getLastModifiedTime(second));
+    }
+
+    @Test
+    void testExtractReplacesCorruptFile() throws IOException {
+        NativeLibraryCache cache = new NativeLibraryCache(directory);
+        Path path = cache.extract(NAME, new ByteArrayInputStream(LIBRARY));
+
+        byte[] corrupt = LIBRARY.clone();
+        corrupt[corrupt.length - 1] = 0;
+        Files.write(path, corrupt);
+        cache.extract(NAME, new ByteArrayInputStream(LIBRARY));
+        assertArrayEquals(LIBRARY, Files.readAllBytes(path));
+
+        Files.write(path, new byte[]{1});
+        cache.extract(NAME, new ByteArrayInputStream(LIBRARY));
+        assertArrayEquals(LIBRARY, Files.readAllBytes(path));
+    }
+
+    @Test
+    void testExtractDifferentContents() throws IOException {
+        NativeLibraryCache cache = new NativeLibraryCache(directory);
+        Path first = cache.extract(NAME, new ByteArrayInputStream(LIBRARY));
+        Path second = cache.extract(NAME,
+                new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        assertFalse(first.equals(second));
+        assertArrayEquals(LIBRARY, Files.readAllBytes(first));
+    }
+
+    @Test
+    void testExtractConcurrently() throws Exception {
+        NativeLibraryCache cache = new NativeLibraryCache(directory);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Path>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                Callable<Path> task = () -> cache.extract(NAME,
+                        new ByteArrayInputStream(LIBRARY));
+                futures.add(executor.submit(task));
+            }
+
+            Path expected = futures.get(0).get();
+            for (Future<Path> future : futures) {
+                assertEquals(expected, future.get());
+            }
+            assertArrayEquals(LIBRARY, Files.readAllBytes(expected));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testExtractInvalidName() {
+        NativeLibraryCache cache = new NativeLibraryCache(directory);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.extract("",
+                new ByteArrayInputStream(LIBRARY)));
+        assertThrows(IllegalArgumentException.class, () -> cache.extract(
+                "../lib.so", new ByteArrayInputStream(LIBRARY)));
+        assertThrows(IllegalArgumentException.class, () -> cache.extract(
+                "..\\lib.dll", new ByteArrayInputStream(LIBRARY)));
+    }
+
+    @Test
+    void testIsCachedMissingFile() throws IOException {
+        assertFalse(NativeLibraryCache.isCached(
+                directory.resolve(NAME), LIBRARY));
+        assertFalse(NativeLibraryCache.isCached(directory, LIBRARY));
+    }
+
+    @Test
+    void testToHex() {
+        assertEquals("00ff7f80", NativeLibraryCache.toHex(
+                new byte[]{0, (byte) 0xFF, 0x7F, (byte) 0x80}));
+    }
+
+    @Test
+    void testGetDefaultDirectoryProperty() {
+        System.setProperty(NativeLibraryCache.CACHE_DIRECTORY_PROPERTY,
+                directory.toString());
+
+        for (OperatingSystem os : OperatingSystem.values()) {
+            assertEquals(directory,
+                    NativeLibraryCache.getDefaultDirectory(os));
+        }
+    }
+
+    @Test
+    void testGetDefaultDirectory() {
+        System.setProperty(NativeLibraryCache.CACHE_DIRECTORY_PROPERTY, "");
+
+        for (OperatingSystem os : OperatingSystem.values()) {
+            Path path = NativeLibraryCache.getDefaultDirectory(os);
+            assertEquals("jcpuid", path.getFileName().toString());
+        }
+
+        assertTrue(NativeLibraryCache.getDefaultDirectory(
+                OperatingSystem.MACOS).endsWith(
+                        Paths.get("Library", "Caches", "jcpuid")));
+    }
+
+    @Test
+    void testGetDefaultDirectoryEnvironment() {
+        Map<String, String> env = new HashMap<>();
+        env.put("LOCALAPPDATA", directory.resolve("local").toString());
+        env.put("XDG_CACHE_HOME", directory.resolve("xdg").toString());
+
+        assertEquals(directory.resolve("local").resolve("jcpuid"),
+                NativeLibraryCache.getDefaultDirectory(
+                        OperatingSystem.WINDOWS, env));
+        assertEquals(directory.resolve("xdg").resolve("jcpuid"),
+                NativeLibraryCache.getDefaultDirectory(
+                        OperatingSystem.LINUX, env));
+    }
+
+    @Test
+    void testGetDefaultDirectoryEmptyEnvironment() {
+        Map<String, String> env = new HashMap<>();
+        env.put("LOCALAPPDATA", "");
+        env.put("XDG_CACHE_HOME", "");
+        Path home = Paths.get(System.getProperty("user.home"));
+
+        assertEquals(home.resolve(Paths.get("AppData", "Local", "jcpuid")),
+                NativeLibraryCache.getDefaultDirectory(
+                        OperatingSystem.WINDOWS, env));
+        assertEquals(home.resolve(Paths.get(".cache", "jcpuid")),
+                NativeLibraryCache.getDefaultDirectory(
+                        OperatingSystem.LINUX, env));
+    }
+
+    @Test
+    void testExtractLockedAlreadyExtracted() throws IOException {
+        Path target = directory.resolve(NAME);
+        Files.write(target, LIBRARY);
+        FileTime marker = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(target, marker);
+
+        NativeLibraryCache.extractLocked(directory, target, LIBRARY);
+
+        assertEquals(marker, Files.getLastModifiedTime(target));
+    }
+
+    @Test
+    void testGetFallbackDirectory() {
+        Path path = NativeLibraryCache.getFallbackDirectory();
+
+        assertEquals(Paths.get(System.getProperty("java.io.tmpdir")),
+                path.getParent());
+        assertTrue(path.getFileName().toString().startsWith("jcpuid-"));
+    }
+
+    @Test
+    void testCreatePrivateDirectory() throws IOException {
+        UserPrincipal user = assumePosixUser(directory);
+        Path candidate = directory.resolve("cache");
+
+        assertEquals(candidate,
+                NativeLibraryCache.createPrivateDirectory(candidate, user));
+        assertEquals("rwx------", PosixFilePermissions.toString(
+                Files.getPosixFilePermissions(candidate)));
+    }
+
+    @Test
+    void testCreatePrivateDirectoryReusesPrivateDirectory()
+            throws IOException {
+        UserPrincipal user = assumePosixUser(directory);
+        Path candidate = Files.createDirectory(directory.resolve("cache"));
+        Files.setPosixFilePermissions(candidate,
+                PosixFilePermissions.fromString("rwxr-xr-x"));
+
+        assertEquals(candidate,
+                NativeLibraryCache.createPrivateDirectory(candidate, user));
+    }
+
+    @Test
+    void testCreatePrivateDirectoryOwnedByAnotherUser() throws IOException {
+        assumePosixUser(directory);
+        UserPrincipal other = () -> "jcpuid-other-user";
+        Path candidate = Files.createDirectory(directory.resolve("cache"));
+
+        assertFalse(NativeLibraryCache.isPrivate(candidate, other));
+
+        Path created = NativeLibraryCache.createPrivateDirectory(candidate,
+                other);
+        assertNotEquals(candidate, created);
+        assertEquals("rwx------", PosixFilePermissions.toString(
+                Files.getPosixFilePermissions(created)));
+        deleteTempDirectory(created);
+    }
+
+    @Test
+    void testCreatePrivateDirectoryWritableByOthers() throws IOException {
+        UserPrincipal user = assumePosixUser(directory);
+        Path candidate = Files.createDirectory(directory.resolve("cache"));
+
+        Files.setPosixFilePermissions(candidate,
+                PosixFilePermissions.fromString("rwxrwx---"));
+        assertFalse(NativeLibraryCache.isPrivate(candidate, user));
+
+        Files.setPosixFilePermissions(candidate,
+                PosixFilePermissions.fromString("rwx---rwx"));
+        assertFalse(NativeLibraryCache.isPrivate(candidate, user));
+
+        Path created = NativeLibraryCache.createPrivateDirectory(candidate,
+                user);
+        assertNotEquals(candidate, created);
+        deleteTempDirectory(created);
+    }
+
+    @Test
+    void testCreatePrivateDirectorySymbolicLink() throws IOException {
+        UserPrincipal user = assumePosixUser(directory);
+        Path target = Files.createDirectory(directory.resolve("target"),
+                PosixFilePermissions.asFileAttribute(
+                        PosixFilePermissions.fromString("rwx------")));
+        Path link = Files.createSymbolicLink(directory.resolve("cache"),
+                target);
+
+        assertTrue(NativeLibraryCache.isPrivate(target, user));
+        assertFalse(NativeLibraryCache.isPrivate(link, user));
+    }
+
+    @Test
+    void testCreatePrivateDirectoryUnknownUser() throws IOException {
+        Path candidate = directory.resolve("cache");
+
+        Path created = NativeLibraryCache.createPrivateDirectory(candidate,
+                null);
+        assertFalse(Files.exists(candidate));
+        deleteTempDirectory(created);
+    }
+
+    @Test
+    void testOpenFallback() throws IOException {
+        NativeLibraryCache cache = NativeLibraryCache.openFallback();
+
+        assertTrue(Files.isDirectory(cache.getDirectory()));
+    }
+}
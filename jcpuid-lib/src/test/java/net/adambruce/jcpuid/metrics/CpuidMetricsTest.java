@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CpuidMetricsTest {
+
+    @Test
+    void testDisabledByDefault() {
+        assertFalse(CpuidMetrics.ENABLED);
+        assertSame(CpuidMetrics.global(), CpuidMetrics.global());
+    }
+
+    @Test
+    void testSlotOf() {
+        assertEquals(0, CpuidMetrics.slotOf(0x0));
+        assertEquals(0x1F, CpuidMetrics.slotOf(0x1F));
+        assertEquals(63, CpuidMetrics.slotOf(0x40));
+        assertEquals(64, CpuidMetrics.slotOf(0x40000000));
+        assertEquals(128 + 8, CpuidMetrics.slotOf(0x80000008));
+        assertEquals(191, CpuidMetrics.slotOf(0x8000FFFF));
+        assertEquals(192 + 1, CpuidMetrics.slotOf(0xC0000001));
+        assertEquals(255, CpuidMetrics.slotOf(-1));
+    }
+
+    @Test
+    void testLeafOf() {
+        assertEquals(0x1F, CpuidMetrics.leafOf(0x1F));
+        assertEquals(0x80000008, CpuidMetrics.leafOf(128 + 8));
+        assertEquals(0xC000003F, CpuidMetrics.leafOf(255));
+    }
+
+    @Test
+    void testRecordCall() {
+        CpuidMetrics metrics = new CpuidMetrics();
+        metrics.recordCall(0x7);
+        metrics.recordCall(0x7);
+        metrics.recordCall(0x80000001);
+        metrics.recordCall(0x80000100);
+        metrics.recordCall(0x80000200);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2L, snapshot.getCount(0x7));
+        assertEquals(1L, snapshot.getCount(0x80000001));
+        assertEquals(0L, snapshot.getCount(0x4));
+        assertEquals(2L, snapshot.getOverflowCount(0x80000000));
+        assertEquals(0L, snapshot.getOverflowCount(0x0));
+        assertEquals(5L, snapshot.getTotalCount());
+        assertArrayEquals(new int[]{0x7, 0x80000001, 0x8000003F},
+                snapshot.getLeaves());
+    }
+
+    @Test
+    void testRecordCache() {
+        CpuidMetrics metrics = new CpuidMetrics();
+        assertEquals(0.0, metrics.snapshot().getCacheHitRatio());
+
+        metrics.recordCacheHit();
+        metrics.recordCacheHit();
+        metrics.recordCacheHit();
+        metrics.recordCacheMiss();
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(3L, snapshot.getCacheHits());
+        assertEquals(1L, snapshot.getCacheMisses());
+        assertEquals(0.75, snapshot.getCacheHitRatio());
+    }
+
+    @Test
+    void testRecordBootstrap() {
+        CpuidMetrics metrics = new CpuidMetrics();
+        assertEquals(-1L, metrics.snapshot().getBootstrapNanos());
+
+        metrics.recordBootstrap(1000L);
+        metrics.recordBootstrap(5L);
+
+        assertEquals(1000L, metrics.snapshot().getBootstrapNanos());
+    }
+
+    @Test
+    void testReset() {
+        CpuidMetrics metrics = new CpuidMetrics();
+        metrics.recordCall(0x1);
+        metrics.recordLatency(100L);
+        metrics.recordCacheHit();
+        metrics.recordCacheMiss();
+        metrics.recordBootstrap(1000L);
+        metrics.reset();
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(0L, snapshot.getTotalCount());
+        assertEquals(0L, snapshot.getLatency().getCount());
+        assertEquals(0L, snapshot.getCacheHits());
+        assertEquals(0L, snapshot.getCacheMisses());
+        assertEquals(-1L, snapshot.getBootstrapNanos());
+    }
+
+    @Test
+    void testToString() {
+        CpuidMetrics metrics = new CpuidMetrics();
+        metrics.recordCall(0x1);
+        metrics.recordCacheHit();
+
+        String string = metrics.snapshot().toString();
+
+        assertEquals("MetricsSnapshot{calls=1, latency="
+                + metrics.snapshot().getLatency() + ", cacheHits=1,"
+                + " cacheMisses=0, bootstrapNanos=-1}", string);
+    }
+}
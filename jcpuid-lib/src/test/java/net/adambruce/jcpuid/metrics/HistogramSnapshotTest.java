@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HistogramSnapshotTest {
+
+    private static HistogramSnapshot record(final long... values) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value : values) {
+            histogram.record(value);
+        }
+
+        return histogram.snapshot();
+    }
+
+    @Test
+    void testGetValueAtPercentile() {
+        HistogramSnapshot snapshot = record(100L, 100L, 100L, 2000L);
+
+        assertEquals(127L, snapshot.getValueAtPercentile(0.0));
+        assertEquals(127L, snapshot.getValueAtPercentile(50.0));
+        assertEquals(127L, snapshot.getValueAtPercentile(75.0));
+        assertEquals(2000L, snapshot.getValueAtPercentile(99.0));
+        assertEquals(2000L, snapshot.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    void testGetValueAtPercentileLimitedByMax() {
+        HistogramSnapshot snapshot = record(1500L);
+
+        assertEquals(1500L, snapshot.getValueAtPercentile(50.0));
+    }
+
+    @Test
+    void testGetValueAtPercentileEmpty() {
+        assertEquals(0L, record().getValueAtPercentile(99.0));
+    }
+
+    @Test
+    void testGetValueAtPercentileOutOfRange() {
+        HistogramSnapshot snapshot = record(1L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> snapshot.getValueAtPercentile(-1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> snapshot.getValueAtPercentile(100.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> snapshot.getValueAtPercentile(Double.NaN));
+    }
+
+    @Test
+    void testToString() {
+        String string = record(3L).toString();
+
+        assertTrue(string.startsWith(
+                "HistogramSnapshot{count=1, mean=3.0, max=3, buckets=[0, 0, 1"));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void testBucketOf() {
+        assertEquals(0, LatencyHistogram.bucketOf(-5L));
+        assertEquals(0, LatencyHistogram.bucketOf(0L));
+        assertEquals(1, LatencyHistogram.bucketOf(1L));
+        assertEquals(2, LatencyHistogram.bucketOf(2L));
+        assertEquals(2, LatencyHistogram.bucketOf(3L));
+        assertEquals(11, LatencyHistogram.bucketOf(2000L));
+        assertEquals(63, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testGetUpperBound() {
+        assertEquals(0L, LatencyHistogram.getUpperBound(0));
+        assertEquals(1L, LatencyHistogram.getUpperBound(1));
+        assertEquals(2047L, LatencyHistogram.getUpperBound(11));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.getUpperBound(63));
+    }
+
+    @Test
+    void testGetUpperBoundOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LatencyHistogram.getUpperBound(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> LatencyHistogram.getUpperBound(LatencyHistogram.BUCKETS));
+    }
+
+    @Test
+    void testRecord() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100L);
+        histogram.record(100L);
+        histogram.record(2000L);
+        histogram.record(-1L);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(4L, snapshot.getCount());
+        assertEquals(2L, snapshot.getCount(7));
+        assertEquals(1L, snapshot.getCount(11));
+        assertEquals(1L, snapshot.getCount(0));
+        assertEquals(2000L, snapshot.getMax());
+        assertEquals(550.0, snapshot.getMean());
+    }
+
+    @Test
+    void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100L);
+        histogram.reset();
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(0L, snapshot.getCount());
+        assertEquals(0L, snapshot.getMax());
+        assertEquals(0.0, snapshot.getMean());
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.CpuidImpl;
+import net.adambruce.jcpuid.info.CpuIdentity;
+import net.adambruce.jcpuid.info.CpuVendor;
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CpuidDumpTest {
+
+    private static final String CPUID_TOOL = String.join("\n",
+            "CPU 0:",
+            "   0x00000000 0x00: eax=0x00000016 ebx=0x756e6547 "
+                    + "ecx=0x6c65746e edx=0x49656e69",
+            "   0x00000001 0x00: eax=0x000906ea ebx=0x00100800 "
+                    + "ecx=0x7ffafbbf edx=0xbfebfbff",
+            "   0x00000004 0x00: eax=0x1c004121 ebx=0x01c0003f "
+                    + "ecx=0x0000003f edx=0x00000000",
+            "   0x00000004 0x01: eax=0x1c004122 ebx=0x01c0003f "
+                    + "ecx=0x0000003f edx=0x00000000",
+            "   0x80000000 0x00: eax=0x80000008 ebx=0x00000000 "
+                    + "ecx=0x00000000 edx=0x00000000",
+            "CPU 1:",
+            "   0x00000000 0x00: eax=0x00000016 ebx=0x756e6547 "
+                    + "ecx=0x6c65746e edx=0x49656e69",
+            "   0x00000001 0x00: eax=0x000906ea ebx=0x01100800 "
+                    + "ecx=0x7ffafbbf edx=0xbfebfbff",
+            "");
+
+    private static final String INSTLAT = String.join("\r\n",
+            "GenuineIntel",
+            "------[ Versions ]------",
+            "",
+            "Program Version : AIDA64 Extreme v6.25.5400",
+            "BenchDLL Version : 4.5.816.8-x64",
+            "",
+            "------[ Logical CPU #0 ]------",
+            "",
+            "CPUID 00000000: 00000016-756E6547-6C65746E-49656E69 "
+                    + "[GenuineIntel]",
+            "CPUID 00000001: 000906EA-00100800-7FFAFBBF-BFEBFBFF",
+            "CPUID 00000004: 1C004121-01C0003F-0000003F-00000000 [SL 00]",
+            "CPUID 00000004: 1C004122-01C0003F-0000003F-00000000 [SL 01]",
+            "CPUID 00000007: 00000000-029C6FBF-00000000-9C002400 [SL 00]",
+            "CPUID 80000000: 80000008-00000000-00000000-00000000",
+            "CPUID 80000001: 00000000-00000000-00000121-2C100800",
+            "CPUID 80000002: 65746E49-2952286C-726F4320-4D542865 "
+                    + "[Intel(R) Core(TM]",
+            "CPUID 80000003: 37692029-3037382D-43204B30-40205550 "
+                    + "[) i7-8700K CPU @]",
+            "CPUID 80000004: 372E3320-7A484730-00000000-00000000 "
+                    + "[ 3.70GHz]",
+            "",
+            "------[ Logical CPU #2 ]------",
+            "",
+            "CPUID 00000001: 000906EA-02100800-7FFAFBBF-BFEBFBFF",
+            "",
+            "------[ MSR Registers ]------",
+            "",
+            "MSR 0000001B: 0000-0000-FEE0-0900",
+            "");
+
+    private static CpuidDump parse(final String dump) throws IOException {
+        return CpuidDump.parse(new StringReader(dump));
+    }
+
+    private static void assertMalformed(final String dump) {
+        IOException ex = assertThrows(IOException.class, () -> parse(dump));
+        assertTrue(ex.getMessage().startsWith("malformed CPUID dump at line"),
+                ex.getMessage());
+    }
+
+    @Test
+    void testParseCpuidTool() throws IOException {
+        CpuidDump dump = parse(CPUID_TOOL);
+
+        assertEquals(2, dump.getCpuCount());
+        assertArrayEquals(new int[]{0, 1}, dump.getCpus());
+        assertEquals(5, dump.getSnapshot(0).size());
+        assertEquals(new CpuidResult(0x1C004122, 0x01C0003F, 0x3F, 0),
+                dump.getResult(0, 0x4, 0x1));
+        assertEquals(new CpuidResult(0x906EA, 0x01100800, 0x7FFAFBBF,
+                0xBFEBFBFF), dump.getResult(1, 0x1, 0x0));
+    }
+
+    @Test
+    void testParseInstLat() throws IOException {
+        CpuidDump dump = parse(INSTLAT);
+
+        assertArrayEquals(new int[]{0, 2}, dump.getCpus());
+        assertEquals(10, dump.getSnapshot(0).size());
+        assertEquals(new CpuidResult(0x16, 0x756E6547, 0x6C65746E,
+                0x49656E69), dump.getResult(0, 0x0, 0x0));
+        assertEquals(new CpuidResult(0x1C004122, 0x01C0003F, 0x3F, 0),
+                dump.getResult(0, 0x4, 0x1));
+        assertEquals(new CpuidResult(0x65746E49, 0x2952286C, 0x726F4320,
+                0x4D542865), dump.getResult(0, 0x80000002, 0x0));
+        assertEquals(0x02100800, dump.getResult(2, 0x1, 0x0).getEbx()
+                .getIntValue());
+    }
+
+    @Test
+    void testParseSortsRecords() throws IOException {
+        CpuidDump dump = parse(String.join("\n",
+                "CPUID 80000000: 80000008-00000000-00000000-00000000",
+                "CPUID 00000004: 00000002-00000000-00000000-00000000 [SL 02]",
+                "CPUID 00000004: 00000001-00000000-00000000-00000000 [SL 01]",
+                "CPUID 00000000: 0000000D-756E6547-6C65746E-49656E69"));
+
+        CpuidSnapshot snapshot = dump.getSnapshot(0);
+        assertEquals(0x0, snapshot.getLeaf(0));
+        assertEquals(0x1, snapshot.getSubleaf(1));
+        assertEquals(0x2, snapshot.getSubleaf(2));
+        assertEquals(0x80000000, snapshot.getLeaf(3));
+    }
+
+    @Test
+    void testParseSubleafSpacing() throws IOException {
+        CpuidDump dump = parse(String.join("\n",
+                "CPUID 0000000B: 00000001-00000002-00000100-00000000 "
+                        + "[SL  01 ]  ",
+                "0x0000000b 0x02 : eax=0x00000000 ebx=0x00000000 "
+                        + "ecx=0x00000002 edx=0x00000000"));
+
+        assertEquals(0x100, dump.getResult(0, 0xB, 0x1).getEcx()
+                .getIntValue());
+        assertEquals(0x2, dump.getResult(0, 0xB, 0x2).getEcx()
+                .getIntValue());
+    }
+
+    @Test
+    void testParseLastRecordWins() throws IOException {
+        CpuidDump dump = parse(String.join("\n",
+                "CPUID 00000001: 00000001-00000000-00000000-00000000",
+                "CPUID 00000001: 00000002-00000000-00000000-00000000"));
+
+        assertEquals(1, dump.getSnapshot(0).size());
+        assertEquals(2, dump.getSnapshot(0).getEax(0));
+    }
+
+    @Test
+    void testParseWithoutSubleaf() throws IOException {
+        CpuidDump dump = parse(String.join("\n",
+                "CPU:",
+                "   0x00000001: eax=0x00000001 ebx=0x00000002 "
+                        + "ecx=0x00000003 edx=0x00000004"));
+
+        assertArrayEquals(new int[]{0}, dump.getCpus());
+        assertEquals(new CpuidResult(1, 2, 3, 4), dump.getResult(0, 1, 0));
+    }
+
+    @Test
+    void testParseIgnoresOtherLines() throws IOException {
+        CpuidDump dump = parse(String.join("\n",
+                "CPUID Registers",
+                "CPUID 0000000Z: 00000001-00000000-00000000-00000000",
+                "CPUID 0001: 00000001-00000000-00000000-00000000",
+                "0x",
+                "0xZZ 0x00: eax=0x0",
+                "CPU features:",
+                "0x0000001g eax=0x1",
+                "CPUID 00000001",
+                "CPUID 00000001 00000001-00000000-00000000-00000000",
+                "------[ Logical CPU # ]------",
+                "CPUID 00000001: 00000001-00000002-00000003-00000004"));
+
+        assertEquals(1, dump.getSnapshot(0).size());
+        assertEquals(new CpuidResult(1, 2, 3, 4), dump.getResult(0, 1, 0));
+    }
+
+    @Test
+    void testParseNoRecords() {
+        IOException ex = assertThrows(IOException.class,
+                () -> parse("not a dump\n"));
+        assertEquals("no CPUID records found", ex.getMessage());
+    }
+
+    @Test
+    void testParseMalformedCpuidTool() {
+        assertMalformed("0x00000001 0x00: eax=0x1 ebx=0x2 ecx=0x3");
+        assertMalformed("0x00000001 0x00: eax=0x1 ebx=0x2 edx=0x3 ecx=0x4");
+        assertMalformed("0x00000001 0x00: eax=0x1 ebx=0x2 ecx=0x3 edx=0xZ");
+        assertMalformed("0x00000001 0x00: eax=0x1 ebx=0x2 ecx=0x3 "
+                + "edx=0x123456789");
+        assertMalformed("0x00000001 0x00: eax=0x1 ebx=0x2 ecx=0x3 edx=0x4 "
+                + "extra");
+        assertMalformed("0x00000001");
+    }
+
+    @Test
+    void testParseMalformedInstLat() {
+        assertMalformed("CPUID 00000001: 00000001-00000002-00000003");
+        assertMalformed("CPUID 00000001: 00000001-00000002-00000003-"
+                + "00000004 [SL 00");
+        assertMalformed("CPUID 00000001: 00000001-00000002-00000003-"
+                + "0000000G");
+        assertMalformed("CPUID 00000001: 00000001-00000002-00000003-"
+                + "00000004 [SL 00 x");
+        assertMalformed("CPUID 00000001: 00000001-00000002-00000003 "
+                + "[SL 00]");
+        assertMalformed("CPUID 00000000: 00000016-756E6547-6C65746E-"
+                + "49656E69 GenuineIntel");
+        assertMalformed("CPUID 00000000: 00000016-756E6547-6C65746E-"
+                + "49656E69 [GenuineIntel");
+        assertMalformed("CPUID 00000000: 00000016-756E6547-6C65746E-"
+                + "49656E69 [GenuineIntel] x");
+    }
+
+    @Test
+    void testParseInstLatAnnotationAfterSubleaf() throws IOException {
+        CpuidDump dump = parse("CPUID 00000004: 1C004121-01C0003F-"
+                + "0000003F-00000000 [SL 00] [L1D]");
+
+        assertEquals(0x1C004121, dump.getResult(0, 0x4, 0x0).getEax()
+                .getIntValue());
+    }
+
+    @Test
+    void testParseFile(@TempDir final Path directory) throws IOException {
+        Path file = directory.resolve("cpuid.txt");
+        Files.write(file, CPUID_TOOL.getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(2, CpuidDump.parse(file).getCpuCount());
+    }
+
+    @Test
+    void testHasCpu() throws IOException {
+        CpuidDump dump = parse(INSTLAT);
+
+        assertTrue(dump.hasCpu(2));
+        assertFalse(dump.hasCpu(1));
+    }
+
+    @Test
+    void testGetSnapshotMissingCpu() throws IOException {
+        CpuidDump dump = parse(INSTLAT);
+        assertThrows(IllegalArgumentException.class,
+                () -> dump.getSnapshot(1));
+    }
+
+    @Test
+    void testGetResultMissing() throws IOException {
+        CpuidDump dump = parse(INSTLAT);
+
+        assertNull(dump.getResult(1, 0x0, 0x0));
+        assertNull(dump.getResult(0, 0x2, 0x0));
+    }
+
+    @Test
+    void testGetBridge() throws IOException {
+        CpuidDump dump = parse(INSTLAT);
+
+        CpuIdentity identity = CpuIdentity.detect(
+                new CpuidImpl(dump.getBridge()));
+        assertEquals(CpuVendor.INTEL, identity.getVendor());
+        assertEquals(0x6, identity.getFamily());
+        assertEquals("Intel(R) Core(TM) i7-8700K CPU @ 3.70GHz",
+                identity.getBrand());
+        assertEquals(0x02100800,
+                dump.getBridge(2).executeCPUID(0x1).getEbx().getIntValue());
+    }
+
+    @Test
+    void testEncodeSnapshot() throws IOException {
+        CpuidDump dump = parse(CPUID_TOOL);
+
+        SnapshotFile file = SnapshotFile.read(
+                SnapshotWriter.encode(dump.getSnapshot(1), 0L));
+        assertEquals("GenuineIntel", file.getVendorId());
+        assertEquals(0x906EA, file.getSignature());
+    }
+
+    @Test
+    void testToString() throws IOException {
+        assertEquals("CpuidDump{cpus=2, records=7}",
+                parse(CPUID_TOOL).toString());
+    }
+
+}
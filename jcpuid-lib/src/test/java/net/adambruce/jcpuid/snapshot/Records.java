@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+
+import java.nio.ByteBuffer;
+
+final class Records {
+
+    static final int[][] INTEL = {
+            {0x0, 0x0, 0x20, 0x756E6547, 0x6C65746E, 0x49656E69},
+            {0x1, 0x0, 0x806F8, 0x800, 0x7FFAFBFF, 0xBFEBFBFF},
+            {0x4, 0x0, 0x121, 0x1C0003F, 0x3F, 0x0},
+            {0x4, 0x1, 0x122, 0x1C0003F, 0x3F, 0x0},
+            {0x80000000, 0x0, 0x80000008, 0x0, 0x0, 0x0},
+            {0x80000002, 0x0, 0x65746E49, 0x2952286C, 0x6F655820, 0x2952286E},
+            {0x80000003, 0x0, 0x6F725020, 0x73736563, 0x0000726F, 0x0},
+            {0x80000004, 0x0, 0x0, 0x0, 0x0, 0x0}
+    };
+
+    private Records() {
+
+    }
+
+    static CpuidSnapshot snapshot(final int[][] records) {
+        ByteBuffer buffer = CpuidSnapshot.allocate(records.length);
+        for (int[] record : records) {
+            for (int value : record) {
+                buffer.putInt(value);
+            }
+        }
+        return CpuidSnapshot.wrap(buffer, records.length);
+    }
+
+    static CpuidSnapshot intel() {
+        return snapshot(INTEL);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.CpuidImpl;
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnapshotBridgeTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testExecuteCPUID() {
+        SnapshotBridge bridge = new SnapshotBridge(Records.intel());
+
+        assertEquals(new CpuidResult(0x20, 0x756E6547, 0x6C65746E,
+                0x49656E69), bridge.executeCPUID(0x0));
+        assertEquals(new CpuidResult(0x122, 0x1C0003F, 0x3F, 0x0),
+                bridge.executeCPUID(0x4, 0x1));
+    }
+
+    @Test
+    void testExecuteCPUIDMissing() {
+        SnapshotBridge bridge = new SnapshotBridge(Records.intel());
+
+        assertEquals(new CpuidResult(0, 0, 0, 0), bridge.executeCPUID(0x7));
+        assertEquals(new CpuidResult(0, 0, 0, 0),
+                bridge.executeCPUID(0x4, 0x2));
+    }
+
+    @Test
+    void testExecuteCPUIDSharesResults() {
+        SnapshotBridge bridge = new SnapshotBridge(Records.intel());
+
+        assertSame(bridge.executeCPUID(0x4, 0x1),
+                bridge.executeCPUID(0x4, 0x1));
+        assertSame(bridge.executeCPUID(0x7), bridge.executeCPUID(0x4, 0x2));
+    }
+
+    @Test
+    void testExecuteCPUIDRaw() {
+        SnapshotBridge bridge = new SnapshotBridge(Records.intel());
+        int[] dest = {-1, -1, -1, -1, -1, -1};
+
+        bridge.executeCPUID(0x80000000, 0x0, dest, 1);
+        assertArrayEquals(new int[]{-1, 0x80000008, 0, 0, 0, -1}, dest);
+
+        bridge.executeCPUID(0x1, 0x0, dest, 2);
+        assertArrayEquals(new int[]{-1, 0x80000008, 0x806F8, 0x800,
+                0x7FFAFBFF, 0xBFEBFBFF}, dest);
+
+        bridge.executeCPUID(0x7, 0x0, dest, 0);
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0x7FFAFBFF, 0xBFEBFBFF},
+                dest);
+    }
+
+    @Test
+    void testExecuteCPUIDRawOutOfRange() {
+        SnapshotBridge bridge = new SnapshotBridge(Records.intel());
+        int[] dest = new int[4];
+
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> bridge.executeCPUID(0x0, 0x0, dest, -1));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> bridge.executeCPUID(0x0, 0x0, dest, 1));
+    }
+
+    @Test
+    void testDumpCPUID() {
+        SnapshotBridge bridge = new SnapshotBridge(Records.intel());
+        ByteBuffer buffer = CpuidSnapshot.allocate(Records.INTEL.length);
+
+        assertEquals(Records.INTEL.length, bridge.dumpCPUID(buffer));
+
+        CpuidSnapshot copy = CpuidSnapshot.wrap(buffer, Records.INTEL.length);
+        for (int i = 0; i < Records.INTEL.length; i++) {
+            assertEquals(Records.INTEL[i][0], copy.getLeaf(i));
+            assertEquals(Records.INTEL[i][1], copy.getSubleaf(i));
+            assertEquals(Records.INTEL[i][5], copy.getEdx(i));
+        }
+    }
+
+    @Test
+    void testDumpCPUIDBufferTooSmall() {
+        SnapshotBridge bridge = new SnapshotBridge(Records.intel());
+        ByteBuffer buffer = CpuidSnapshot.allocate(2);
+
+        assertEquals(Records.INTEL.length, bridge.dumpCPUID(buffer));
+        assertEquals(0x1, CpuidSnapshot.wrap(buffer, 2).getLeaf(1));
+    }
+
+    @Test
+    void testOpen() throws IOException {
+        Path file = directory.resolve("host.jcpuid");
+        SnapshotWriter.write(new CpuidImpl(
+                new SnapshotBridge(Records.intel())), file);
+
+        SnapshotBridge bridge = SnapshotBridge.open(file);
+        assertEquals(Records.INTEL.length, bridge.getSnapshot().size());
+        assertEquals(new CpuidResult(0x806F8, 0x800, 0x7FFAFBFF, 0xBFEBFBFF),
+                bridge.executeCPUID(0x1));
+    }
+
+    @Test
+    void testGetSnapshot() {
+        CpuidSnapshot snapshot = Records.intel();
+        assertSame(snapshot, new SnapshotBridge(snapshot).getSnapshot());
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("SnapshotBridge{records=8}",
+                new SnapshotBridge(Records.intel()).toString());
+    }
+
+}
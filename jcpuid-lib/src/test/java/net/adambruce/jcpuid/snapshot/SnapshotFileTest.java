@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private static ByteBuffer encode() {
+        return SnapshotWriter.encode(Records.intel(), 1700000000000L)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void assertCorrupt(final ByteBuffer file,
+                                      final String message) {
+        IOException ex = assertThrows(IOException.class,
+                () -> SnapshotFile.read(file));
+        assertEquals(message, ex.getMessage());
+    }
+
+    private static void resign(final ByteBuffer file) {
+        file.putInt(SnapshotFormat.CHECKSUM_OFFSET,
+                SnapshotFormat.checksum(file));
+    }
+
+    @Test
+    void testRead() throws IOException {
+        SnapshotFile file = SnapshotFile.read(encode());
+
+        assertEquals(1, file.getVersion());
+        assertEquals(1700000000000L, file.getCreatedMillis());
+        assertEquals(0x806F8, file.getSignature());
+        assertEquals("GenuineIntel", file.getVendorId());
+        assertEquals("Intel(R) Xeon(R) Processor", file.getBrand());
+        assertEquals(Records.INTEL.length, file.getSnapshot().size());
+        assertEquals(new CpuidResult(0x121, 0x1C0003F, 0x3F, 0x0),
+                file.toBridge().executeCPUID(0x4, 0x0));
+    }
+
+    @Test
+    void testOpen() throws IOException {
+        Path path = directory.resolve("host.jcpuid");
+        ByteBuffer contents = encode();
+        byte[] bytes = new byte[contents.remaining()];
+        contents.get(bytes);
+        Files.write(path, bytes);
+
+        SnapshotFile file = SnapshotFile.open(path);
+        assertEquals("GenuineIntel", file.getVendorId());
+        assertEquals(0x756E6547, file.getSnapshot().getEbx(0));
+    }
+
+    @Test
+    void testReadIgnoresBufferPosition() throws IOException {
+        ByteBuffer contents = encode();
+        contents.position(50);
+
+        assertEquals(1, SnapshotFile.read(contents).getVersion());
+    }
+
+    @Test
+    void testReadEmptyIdentity() throws IOException {
+        SnapshotFile file = SnapshotFile.read(SnapshotWriter.encode(
+                Records.snapshot(new int[0][]), 0L));
+
+        assertEquals("", file.getVendorId());
+        assertEquals("", file.getBrand());
+        assertEquals(0, file.getSnapshot().size());
+    }
+
+    @Test
+    void testReadTooShort() {
+        assertCorrupt(ByteBuffer.allocate(95),
+                "not a snapshot file: too short");
+    }
+
+    @Test
+    void testReadBadMagic() {
+        ByteBuffer file = encode();
+        file.put(7, (byte) 'X');
+        assertCorrupt(file, "not a snapshot file: bad magic");
+    }
+
+    @Test
+    void testReadUnsupportedVersion() {
+        ByteBuffer file = encode();
+        file.putShort(SnapshotFormat.VERSION_OFFSET, (short) 2);
+        assertCorrupt(file, "unsupported snapshot version: 2");
+    }
+
+    @Test
+    void testReadBadHeaderSize() {
+        ByteBuffer file = encode();
+        file.putShort(SnapshotFormat.HEADER_SIZE_OFFSET, (short) 64);
+        assertCorrupt(file, "corrupt snapshot file: header does not match "
+                + "the file size");
+    }
+
+    @Test
+    void testReadBadRecordSize() {
+        ByteBuffer file = encode();
+        file.putInt(SnapshotFormat.RECORD_SIZE_OFFSET, 28);
+        assertCorrupt(file, "corrupt snapshot file: header does not match "
+                + "the file size");
+    }
+
+    @Test
+    void testReadBadCount() {
+        ByteBuffer file = encode();
+        file.putInt(SnapshotFormat.COUNT_OFFSET, -1);
+        assertCorrupt(file, "corrupt snapshot file: header does not match "
+                + "the file size");
+
+        file.putInt(SnapshotFormat.COUNT_OFFSET, Records.INTEL.length + 1);
+        assertCorrupt(file, "corrupt snapshot file: header does not match "
+                + "the file size");
+    }
+
+    @Test
+    void testReadBadChecksum() {
+        ByteBuffer file = encode();
+        file.putInt(SnapshotFormat.HEADER_SIZE + 8, 0x21);
+        assertCorrupt(file, "corrupt snapshot file: bad checksum");
+    }
+
+    @Test
+    void testReadUnorderedRecords() {
+        ByteBuffer file = encode();
+        file.putInt(SnapshotFormat.HEADER_SIZE, 0x80000001);
+        resign(file);
+        assertCorrupt(file, "corrupt snapshot file: records are not "
+                + "ordered");
+    }
+
+    @Test
+    void testToString() throws IOException {
+        assertEquals("SnapshotFile{version=1, vendor='GenuineIntel', "
+                + "brand='Intel(R) Xeon(R) Processor', signature=0x806f8, "
+                + "records=8}", SnapshotFile.read(encode()).toString());
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.snapshot;
+
+import net.adambruce.jcpuid.Cpuid;
+import net.adambruce.jcpuid.CpuidImpl;
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnapshotWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCapture() {
+        CpuidSnapshot snapshot = SnapshotWriter.capture(
+                new CpuidImpl(new SnapshotBridge(Records.intel())));
+
+        assertEquals(Records.INTEL.length, snapshot.size());
+        assertEquals(0x80000004, snapshot.getLeaf(snapshot.size() - 1));
+    }
+
+    @Test
+    void testCaptureGrowsBuffer() {
+        int[][] records = new int[1000][];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new int[]{0x4, i, i, 0, 0, 0};
+        }
+
+        CpuidSnapshot snapshot = SnapshotWriter.capture(
+                new CpuidImpl(new SnapshotBridge(Records.snapshot(records))));
+        assertEquals(records.length, snapshot.size());
+        assertEquals(999, snapshot.getEax(999));
+    }
+
+    @Test
+    void testCaptureTooLarge() {
+        Cpuid cpuid = new Cpuid() {
+            @Override
+            public CpuidResult execute(final int leaf) {
+                return execute(leaf, 0);
+            }
+
+            @Override
+            public CpuidResult execute(final int leaf, final int subleaf) {
+                return new CpuidResult(0, 0, 0, 0);
+            }
+
+            @Override
+            public CpuidSnapshot snapshot(final ByteBuffer buffer) {
+                throw new IllegalArgumentException("buffer too small");
+            }
+        };
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotWriter.capture(cpuid));
+    }
+
+    @Test
+    void testEncodeHeader() {
+        ByteBuffer file = SnapshotWriter.encode(Records.intel(), 1234L)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        byte[] magic = new byte[8];
+        file.get(magic);
+        assertEquals("JCPUIDSN", new String(magic, StandardCharsets.US_ASCII));
+        assertEquals(1, file.getShort(8));
+        assertEquals(96, file.getShort(10));
+        assertEquals(Records.INTEL.length, file.getInt(12));
+        assertEquals(24, file.getInt(16));
+        assertEquals(SnapshotFormat.checksum(file), file.getInt(20));
+        assertEquals(1234L, file.getLong(24));
+        assertEquals(0x806F8, file.getInt(32));
+        assertEquals(96 + 24 * Records.INTEL.length, file.limit());
+        assertEquals(0x80000002, file.getInt(96 + 24 * 5));
+    }
+
+    @Test
+    void testEncodeUnordered() {
+        CpuidSnapshot snapshot = Records.snapshot(new int[][]{
+                {0x1, 0x0, 0, 0, 0, 0},
+                {0x0, 0x0, 0, 0, 0, 0}
+        });
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotWriter.encode(snapshot, 0L));
+    }
+
+    @Test
+    void testEncodeDuplicate() {
+        CpuidSnapshot snapshot = Records.snapshot(new int[][]{
+                {0x4, 0x1, 0, 0, 0, 0},
+                {0x4, 0x1, 0, 0, 0, 0}
+        });
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotWriter.encode(snapshot, 0L));
+    }
+
+    @Test
+    void testEncode() throws IOException {
+        long before = System.currentTimeMillis();
+        SnapshotFile file = SnapshotFile.read(SnapshotWriter.encode(
+                new CpuidImpl(new SnapshotBridge(Records.intel()))));
+
+        assertTrue(file.getCreatedMillis() >= before);
+        assertEquals("GenuineIntel", file.getVendorId());
+    }
+
+    @Test
+    void testWriteReplacesFile() throws IOException {
+        Path path = directory.resolve("host.jcpuid");
+        Files.write(path, new byte[4096]);
+
+        SnapshotWriter.write(
+                new CpuidImpl(new SnapshotBridge(Records.intel())), path);
+
+        byte[] contents = Files.readAllBytes(path);
+        assertEquals(96 + 24 * Records.INTEL.length, contents.length);
+        assertArrayEquals("JCPUIDSN".getBytes(StandardCharsets.US_ASCII),
+                Arrays.copyOf(contents, 8));
+    }
+
+}
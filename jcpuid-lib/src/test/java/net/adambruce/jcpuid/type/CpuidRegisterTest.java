@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CpuidRegisterTest {
@@ -31,6 +32,14 @@ public class CpuidRegisterTest {
                 new CpuidRegister(0x78000000).getIntValue());
     }
 
+    @Test
+    public void testValueOf() {
+        assertSame(CpuidRegister.valueOf(0), CpuidRegister.valueOf(0));
+        assertSame(CpuidRegister.valueOf(255), CpuidRegister.valueOf(255));
+        assertEquals(new CpuidRegister(256), CpuidRegister.valueOf(256));
+        assertEquals(new CpuidRegister(-1), CpuidRegister.valueOf(-1));
+    }
+
     @Test
     public void testGetShortValue() {
         assertEquals(0x7800,
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.type;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CpuidRegistersTest {
+
+    @Test
+    public void testGetShortValue() {
+        assertEquals(0x7800, CpuidRegisters.getShortValue(0x78000000, 16));
+    }
+
+    @Test
+    public void testGetByteValue() {
+        assertEquals(0xEA, CpuidRegisters.getByteValue(0xEA00, 8));
+    }
+
+    @Test
+    public void testGetNibbleValue() {
+        assertEquals(0xF, CpuidRegisters.getNibbleValue(0xF00, 8));
+    }
+
+    @Test
+    public void testGetBitValue() {
+        assertEquals(1, CpuidRegisters.getBitValue(0b10, 1));
+    }
+
+    @Test
+    public void testIsBitSet() {
+        assertTrue(CpuidRegisters.isBitSet(0b1000, 3));
+        assertTrue(CpuidRegisters.isBitSet(0x80000000, 31));
+    }
+
+    @Test
+    public void testIsBitSetNotSet() {
+        assertFalse(CpuidRegisters.isBitSet(0b1000, 2));
+    }
+
+    @Test
+    public void testGetBits() {
+        assertEquals(0x3F, CpuidRegisters.getBits(0xFC000000, 26, 6));
+        assertEquals(0x5, CpuidRegisters.getBits(0x50, 4, 3));
+    }
+
+    @Test
+    public void testGetBitsFullWidth() {
+        assertEquals(0xDEADBEEF, CpuidRegisters.getBits(0xDEADBEEF, 0, 32));
+    }
+
+    @Test
+    public void testRegisterIndices() {
+        int[] registers = new int[4];
+        new CpuidResult(1, 2, 3, 4).copyTo(registers, 0);
+        assertEquals(1, registers[CpuidRegisters.EAX]);
+        assertEquals(2, registers[CpuidRegisters.EBX]);
+        assertEquals(3, registers[CpuidRegisters.ECX]);
+        assertEquals(4, registers[CpuidRegisters.EDX]);
+    }
+
+}
@@ -18,8 +18,10 @@ package net.adambruce.jcpuid.type;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CpuidResultTest {
@@ -48,11 +50,35 @@ public class CpuidResultTest {
         assertEquals(new CpuidRegister(1), result.getEdx());
     }
 
+    @Test
+    public void testGetRegisterValues() {
+        CpuidResult result = new CpuidResult(1, 2, 3, -4);
+        assertEquals(1, result.getEaxValue());
+        assertEquals(2, result.getEbxValue());
+        assertEquals(3, result.getEcxValue());
+        assertEquals(-4, result.getEdxValue());
+    }
+
+    @Test
+    public void testGetRegisterShared() {
+        CpuidResult result = new CpuidResult(0, 0, 0, 0);
+        assertSame(result.getEax(), result.getEdx());
+    }
+
+    @Test
+    public void testCopyTo() {
+        int[] dest = new int[6];
+        new CpuidResult(1, 2, 3, 4).copyTo(dest, 1);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 0}, dest);
+    }
+
     @Test
     public void testHashCode() {
         CpuidResult result1 = new CpuidResult(1, 2, 3, 4);
         CpuidResult result2 = new CpuidResult(1, 2, 3, 4);
         assertEquals(result1.hashCode(), result2.hashCode());
+        assertNotEquals(result1.hashCode(),
+                new CpuidResult(4, 3, 2, 1).hashCode());
     }
 
     @Test
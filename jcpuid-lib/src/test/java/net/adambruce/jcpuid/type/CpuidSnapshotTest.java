@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.type;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CpuidSnapshotTest {
+
+    private static CpuidSnapshot createSnapshot() {
+        ByteBuffer buffer = CpuidSnapshot.allocate(4);
+        int[][] records = {
+                {0x0, 0x0, 0xD, 0x756E6547, 0x6C65746E, 0x49656E69},
+                {0x4, 0x0, 0x121, 0x1C0003F, 0x3F, 0x0},
+                {0x4, 0x1, 0x122, 0x1C0003F, 0x3F, 0x0},
+                {0x80000000, 0x0, 0x80000008, 0x0, 0x0, 0x0}
+        };
+        for (int[] record : records) {
+            for (int value : record) {
+                buffer.putInt(value);
+            }
+        }
+        return CpuidSnapshot.wrap(buffer, records.length);
+    }
+
+    @Test
+    public void testAllocate() {
+        ByteBuffer buffer = CpuidSnapshot.allocate(3);
+        assertTrue(buffer.isDirect());
+        assertEquals(3 * CpuidSnapshot.RECORD_SIZE, buffer.capacity());
+    }
+
+    @Test
+    public void testWrapBufferTooSmall() {
+        ByteBuffer buffer = CpuidSnapshot.allocate(1);
+        assertThrows(IllegalArgumentException.class,
+                () -> CpuidSnapshot.wrap(buffer, 2));
+    }
+
+    @Test
+    public void testWrapNegativeCount() {
+        ByteBuffer buffer = CpuidSnapshot.allocate(1);
+        assertThrows(IllegalArgumentException.class,
+                () -> CpuidSnapshot.wrap(buffer, -1));
+    }
+
+    @Test
+    public void testWrapByteOrder() {
+        ByteBuffer buffer = ByteBuffer.allocate(CpuidSnapshot.RECORD_SIZE)
+                .order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(0x80000000).putInt(0x1).putInt(0x2).putInt(0x3)
+                .putInt(0x4).putInt(0x5);
+
+        CpuidSnapshot snapshot = CpuidSnapshot.wrap(buffer, 1,
+                ByteOrder.BIG_ENDIAN);
+        assertEquals(0x80000000, snapshot.getLeaf(0));
+        assertEquals(0x1, snapshot.getSubleaf(0));
+        assertEquals(0x5, snapshot.getEdx(0));
+    }
+
+    @Test
+    public void testSize() {
+        assertEquals(4, createSnapshot().size());
+    }
+
+    @Test
+    public void testGetFields() {
+        CpuidSnapshot snapshot = createSnapshot();
+        assertEquals(0x4, snapshot.getLeaf(2));
+        assertEquals(0x1, snapshot.getSubleaf(2));
+        assertEquals(0x122, snapshot.getEax(2));
+        assertEquals(0x1C0003F, snapshot.getEbx(2));
+        assertEquals(0x3F, snapshot.getEcx(2));
+        assertEquals(0x49656E69, snapshot.getEdx(0));
+    }
+
+    @Test
+    public void testGetResult() {
+        assertEquals(new CpuidResult(0x80000008, 0, 0, 0),
+                createSnapshot().getResult(3));
+    }
+
+    @Test
+    public void testGetFieldOutOfRange() {
+        CpuidSnapshot snapshot = createSnapshot();
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> snapshot.getLeaf(4));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> snapshot.getLeaf(-1));
+    }
+
+    @Test
+    public void testIndexOf() {
+        CpuidSnapshot snapshot = createSnapshot();
+        assertEquals(0, snapshot.indexOf(0x0, 0x0));
+        assertEquals(1, snapshot.indexOf(0x4, 0x0));
+        assertEquals(2, snapshot.indexOf(0x4, 0x1));
+        assertEquals(3, snapshot.indexOf(0x80000000, 0x0));
+    }
+
+    @Test
+    public void testIndexOfMissing() {
+        CpuidSnapshot snapshot = createSnapshot();
+        assertEquals(-1, snapshot.indexOf(0x4, 0x2));
+        assertEquals(-1, snapshot.indexOf(0x2, 0x0));
+        assertEquals(-1, snapshot.indexOf(0x80000001, 0x0));
+    }
+
+    @Test
+    public void testToString() {
+        assertTrue(createSnapshot().toString().contains("records=4"));
+    }
+
+}
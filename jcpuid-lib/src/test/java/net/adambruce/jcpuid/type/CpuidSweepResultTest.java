@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.type;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CpuidSweepResultTest {
+
+    private final CpuidSweepResult result = new CpuidSweepResult(
+            new int[]{4, 6}, new int[]{0x1, 0xB}, new int[]{0x0, 0x1},
+            new int[]{
+                1, 2, 3, 4,
+                5, 6, 7, 8,
+                9, 10, 11, 12,
+                13, 14, 15, 16
+            });
+
+    @Test
+    void testCpus() {
+        assertEquals(2, result.getCpuCount());
+        assertEquals(4, result.getCpu(0));
+        assertEquals(6, result.getCpu(1));
+        assertArrayEquals(new int[]{4, 6}, result.getCpus());
+    }
+
+    @Test
+    void testIndexOfCpu() {
+        assertEquals(1, result.indexOfCpu(6));
+        assertEquals(-1, result.indexOfCpu(5));
+    }
+
+    @Test
+    void testRequests() {
+        assertEquals(2, result.getRequestCount());
+        assertEquals(0xB, result.getLeaf(1));
+        assertEquals(0x1, result.getSubleaf(1));
+    }
+
+    @Test
+    void testIndexOfRequest() {
+        assertEquals(1, result.indexOfRequest(0xB, 0x1));
+        assertEquals(-1, result.indexOfRequest(0xB, 0x0));
+        assertEquals(-1, result.indexOfRequest(0x4, 0x1));
+    }
+
+    @Test
+    void testGetResult() {
+        assertEquals(new CpuidResult(5, 6, 7, 8), result.getResult(0, 1));
+        assertEquals(new CpuidResult(9, 10, 11, 12), result.getResult(1, 0));
+    }
+
+    @Test
+    void testGetRegister() {
+        assertEquals(15, result.getRegister(1, 1, CpuidRegisters.ECX));
+        assertEquals(1, result.getRegister(0, 0, CpuidRegisters.EAX));
+    }
+
+    @Test
+    void testGetRegisterOutOfRange() {
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> result.getRegister(0, 0, 4));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> result.getRegister(0, 0, -1));
+    }
+
+    @Test
+    void testIndexOutOfRange() {
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> result.getResult(2, 0));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> result.getResult(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> result.getResult(0, 2));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> result.getResult(0, -1));
+    }
+
+    @Test
+    void testArraysAreCopied() {
+        int[] cpus = {0};
+        int[] registers = {1, 2, 3, 4};
+        CpuidSweepResult copied = new CpuidSweepResult(cpus, new int[]{0x0},
+                new int[]{0x0}, registers);
+
+        cpus[0] = 9;
+        registers[0] = 9;
+        copied.getCpus()[0] = 9;
+
+        assertEquals(0, copied.getCpu(0));
+        assertEquals(new CpuidResult(1, 2, 3, 4), copied.getResult(0, 0));
+    }
+
+    @Test
+    void testMismatchedSubleaves() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CpuidSweepResult(new int[]{0}, new int[]{0x1},
+                        new int[0], new int[4]));
+    }
+
+    @Test
+    void testWrongRegisterCount() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CpuidSweepResult(new int[]{0, 1}, new int[]{0x1},
+                        new int[]{0x0}, new int[4]));
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("CpuidSweepResult{cpus=2, requests=2}",
+                result.toString());
+    }
+
+}
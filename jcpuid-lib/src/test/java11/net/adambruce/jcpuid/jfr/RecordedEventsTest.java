@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.adambruce.jcpuid.FakeCpuid;
+import net.adambruce.jcpuid.bridge.CpuidBridge;
+import net.adambruce.jcpuid.type.CpuidResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the versioned classes, which are the ones loaded from the
+ * multi-release JAR on Java 11 and above.
+ */
+public class RecordedEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testIsAvailable() {
+        assertTrue(CpuidEvents.isAvailable());
+        CpuidBridge bridge = new SlowBridge(0);
+        assertNotSame(bridge, CpuidEvents.record(bridge));
+    }
+
+    @Test
+    void testInventoryEvent() throws IOException {
+        FakeCpuid cpuid = new FakeCpuid()
+                .with(0x0, 0, 0x7, 0x756E6547, 0x6C65746E, 0x49656E69)
+                .with(0x1, 0, 0x906EA, 0, 1 << 28 | 1 << 27, 1 << 4);
+        assertTrue(CpuidEvents.registerInventory(cpuid, null));
+
+        List<RecordedEvent> events = record(CpuidEvents.INVENTORY_EVENT,
+                () -> { });
+
+        assertTrue(events.size() > 0);
+        RecordedEvent event = events.get(0);
+        assertEquals("GenuineIntel", event.getString("vendor"));
+        assertEquals(6, event.getInt("family"));
+        assertEquals(0x9E, event.getInt("model"));
+        assertEquals(0xA, event.getInt("stepping"));
+        assertEquals("TSC OSXSAVE AVX", event.getString("features"));
+        assertEquals(0, event.getInt("cores"));
+        assertEquals(CpuInventory.NO_HYPERVISOR,
+                event.getString("hypervisor"));
+        assertEquals(0L, event.getLong("hypervisorTscFrequency"));
+    }
+
+    @Test
+    void testCallEvents() throws IOException {
+        CpuidBridge bridge = CpuidEvents.record(new SlowBridge(1));
+
+        List<RecordedEvent> events = record(CpuidEvents.CALL_EVENT, () -> {
+            bridge.executeCPUID(0x7, 0x1);
+            bridge.executeCPUIDBatch(new int[] {0x4, 0x4},
+                    new int[] {0x0, 0x1}, new int[8]);
+        });
+
+        assertEquals(2, events.size());
+        assertCall(events.get(0), 0x7, 0x1, 1);
+        assertCall(events.get(1), 0x4, 0x0, 2);
+    }
+
+    @Test
+    void testDelegates() {
+        CpuidBridge delegate = mock(CpuidBridge.class);
+        CpuidBridge bridge = CpuidEvents.record(delegate);
+        int[] dest = new int[4];
+        ByteBuffer buffer = ByteBuffer.allocate(0);
+
+        bridge.executeCPUID(0x1);
+        bridge.executeCPUID(0x1, 0x2, dest, 0);
+        bridge.dumpCPUID(buffer);
+        bridge.getThreadAffinity();
+        bridge.setThreadAffinity(3);
+        bridge.getCurrentCpu();
+        bridge.isTSCSupported();
+        bridge.readTSC();
+        bridge.readTSCP();
+
+        verify(delegate).executeCPUID(0x1);
+        verify(delegate).executeCPUID(0x1, 0x2, dest, 0);
+        verify(delegate).dumpCPUID(buffer);
+        verify(delegate).getThreadAffinity();
+        verify(delegate).setThreadAffinity(3);
+        verify(delegate).getCurrentCpu();
+        verify(delegate).isTSCSupported();
+        verify(delegate).readTSC();
+        verify(delegate).readTSCP();
+    }
+
+    private List<RecordedEvent> record(final String name,
+                                       final Runnable action)
+            throws IOException {
+        Path file = directory.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(name);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private static void assertCall(final RecordedEvent event, final int leaf,
+                                   final int subleaf, final int count) {
+        assertEquals(leaf, event.getInt("leaf"));
+        assertEquals(subleaf, event.getInt("subleaf"));
+        assertEquals(count, event.getInt("count"));
+    }
+
+    /**
+     * A bridge that sleeps on each execution so that the calls pass the
+     * threshold of the call event.
+     */
+    private static class SlowBridge implements CpuidBridge {
+
+        private final long millis;
+
+        SlowBridge(final long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public CpuidResult executeCPUID(final int leaf) {
+            return executeCPUID(leaf, 0);
+        }
+
+        @Override
+        public CpuidResult executeCPUID(final int leaf, final int subleaf) {
+            sleep();
+            return new CpuidResult(0, 0, 0, 0);
+        }
+
+        @Override
+        public void executeCPUIDBatch(final int[] leaves,
+                                      final int[] subleaves,
+                                      final int[] out) {
+            sleep();
+        }
+
+        private void sleep() {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
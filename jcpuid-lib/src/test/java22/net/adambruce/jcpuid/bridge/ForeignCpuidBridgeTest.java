@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 Adam Bruce
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.adambruce.jcpuid.bridge;
+
+import net.adambruce.jcpuid.type.CpuidResult;
+import net.adambruce.jcpuid.type.CpuidSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests the versioned classes, which are the ones loaded from the
+ * multi-release JAR on Java 22 and above. The bridge is only created on
+ * x86_64, so the tests are skipped on other architectures.
+ */
+public class ForeignCpuidBridgeTest {
+
+    private static final String BRIDGE_CLASS =
+            "net.adambruce.jcpuid.bridge.ForeignCpuidBridge";
+
+    private CpuidBridge bridge;
+
+    @BeforeEach
+    void createBridge() {
+        String osArch = System.getProperty("os.arch");
+        assumeTrue(osArch.equals("amd64") || osArch.equals("x86_64"));
+        bridge = ForeignBridgeSupport.createBridge();
+    }
+
+    @Test
+    void testCreatesForeignBridge() throws ClassNotFoundException {
+        assertSame(Class.forName(BRIDGE_CLASS), bridge.getClass());
+    }
+
+    @Test
+    void testPlatformBridgeIsForeign() throws Exception {
+        assertSame(Class.forName(BRIDGE_CLASS),
+                CpuidBridgeFactory.getPlatformBridge().getClass());
+    }
+
+    @Test
+    void testExecuteCPUID() {
+        CpuidResult result = bridge.executeCPUID(0x0);
+
+        assertTrue(result.getEaxValue() > 0);
+        assertNotEquals(0, result.getEbxValue());
+        assertEquals(result, bridge.executeCPUID(0x0, 0x0));
+    }
+
+    @Test
+    void testExecuteCPUIDIntoArray() {
+        CpuidResult result = bridge.executeCPUID(0x0);
+        int[] dest = new int[CpuidResult.REGISTER_COUNT + 2];
+
+        bridge.executeCPUID(0x0, 0x0, dest, 1);
+
+        assertArrayEquals(new int[] {
+            0, result.getEaxValue(), result.getEbxValue(),
+            result.getEcxValue(), result.getEdxValue(), 0
+        }, dest);
+    }
+
+    @Test
+    void testExecuteCPUIDIntoArrayOutOfBounds() {
+        int[] dest = new int[CpuidResult.REGISTER_COUNT];
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> bridge.executeCPUID(0x0, 0x0, dest, 1));
+    }
+
+    @Test
+    void testExecuteCPUIDBatch() {
+        int[] leaves = {0x0, 0x80000000};
+        int[] out = new int[leaves.length * CpuidResult.REGISTER_COUNT];
+
+        bridge.executeCPUIDBatch(leaves, new int[leaves.length], out);
+
+        for (int i = 0; i < leaves.length; i++) {
+            int[] single = new int[CpuidResult.REGISTER_COUNT];
+            bridge.executeCPUID(leaves[i], 0x0, single, 0);
+            for (int j = 0; j < single.length; j++) {
+                assertEquals(single[j],
+                        out[i * CpuidResult.REGISTER_COUNT + j]);
+            }
+        }
+    }
+
+    @Test
+    void testExecuteCPUIDBatchChecksArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bridge.executeCPUIDBatch(new int[2], new int[1],
+                        new int[2 * CpuidResult.REGISTER_COUNT]));
+        assertThrows(IllegalArgumentException.class,
+                () -> bridge.executeCPUIDBatch(new int[2], new int[2],
+                        new int[CpuidResult.REGISTER_COUNT]));
+    }
+
+    @Test
+    void testDumpCPUID() {
+        int records = bridge.dumpCPUID(ByteBuffer.allocate(0));
+        assertTrue(records > 0);
+
+        ByteBuffer buffer =
+                ByteBuffer.allocate(records * CpuidSnapshot.RECORD_SIZE);
+        assertEquals(records, bridge.dumpCPUID(buffer));
+    }
+
+    @Test
+    void testThreadAffinity() {
+        int[] cpus = bridge.getThreadAffinity();
+        assumeTrue(cpus.length > 0);
+
+        assertTrue(bridge.setThreadAffinity(cpus));
+        assertArrayEquals(cpus, bridge.getThreadAffinity());
+    }
+
+    @Test
+    void testGetCurrentCpu() {
+        assertTrue(bridge.getCurrentCpu() >= 0);
+    }
+
+    @Test
+    void testReadTSC() {
+        assertTrue(bridge.isTSCSupported());
+        assertNotEquals(0L, bridge.readTSC());
+    }
+}
@@ -15,37 +15,317 @@
  */
 
 #include <intrin.h>
+#include <windows.h>
 
 #include "net_adambruce_jcpuid_bridge_CpuidBridgeImpl.h"
 
-JNIEXPORT jobject JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_executeCPUIDNative__I
-  (JNIEnv *env, jobject jobj, jint leaf) {
+// Number of CPUs in a processor group affinity mask
+#define AFFINITY_MASK_CPUS (sizeof(DWORD_PTR) * 8)
+
+// Class of the result object, pinned with a global reference on load
+static jclass resultClass = NULL;
+
+// Constructor ID of the result object
+static jmethodID resultConstructor = NULL;
+
+JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
+    JNIEnv *env;
+    if ((*vm)->GetEnv(vm, (void **) &env, JNI_VERSION_1_8) != JNI_OK) {
+        return JNI_ERR;
+    }
+
     // Class of return object
     jclass clazz = (*env)->FindClass(env, "net/adambruce/jcpuid/type/CpuidResult");
+    if (clazz == NULL) {
+        return JNI_ERR;
+    }
 
     // Constructor ID
-    jmethodID cid = (*env)->GetMethodID(env, clazz, "<init>", "(IIII)V");
+    resultConstructor = (*env)->GetMethodID(env, clazz, "<init>", "(IIII)V");
+    if (resultConstructor == NULL) {
+        (*env)->DeleteLocalRef(env, clazz);
+        return JNI_ERR;
+    }
+
+    // Pin the class so the cached constructor ID stays valid
+    resultClass = (jclass) (*env)->NewGlobalRef(env, clazz);
+    (*env)->DeleteLocalRef(env, clazz);
+    if (resultClass == NULL) {
+        resultConstructor = NULL;
+        return JNI_ERR;
+    }
+
+    return JNI_VERSION_1_8;
+}
 
+JNIEXPORT void JNICALL JNI_OnUnload(JavaVM *vm, void *reserved) {
+    JNIEnv *env;
+    if ((*vm)->GetEnv(vm, (void **) &env, JNI_VERSION_1_8) != JNI_OK) {
+        return;
+    }
+
+    if (resultClass != NULL) {
+        (*env)->DeleteGlobalRef(env, resultClass);
+        resultClass = NULL;
+    }
+    resultConstructor = NULL;
+}
+
+JNIEXPORT jobject JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_executeCPUIDNative__I
+  (JNIEnv *env, jobject jobj, jint leaf) {
     int registers[4];
     __cpuid(registers, leaf);
 
     // Create new CPUIDResult
-    jobject newobj = (*env)->NewObject(env, clazz, cid, registers[0], registers[1], registers[2], registers[3]);
+    jobject newobj = (*env)->NewObject(env, resultClass, resultConstructor, registers[0], registers[1], registers[2], registers[3]);
     return newobj;
 }
 
 JNIEXPORT jobject JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_executeCPUIDNative__II
   (JNIEnv *env, jobject jobj, jint leaf, jint subleaf) {
-    // Class of return object
-    jclass clazz = (*env)->FindClass(env, "net/adambruce/jcpuid/type/CpuidResult");
-
-    // Constructor ID
-    jmethodID cid = (*env)->GetMethodID(env, clazz, "<init>", "(IIII)V");
-
     int registers[4];
     __cpuidex(registers, leaf, subleaf);
 
     // Create new CPUIDResult
-    jobject newobj = (*env)->NewObject(env, clazz, cid, registers[0], registers[1], registers[2], registers[3]);
+    jobject newobj = (*env)->NewObject(env, resultClass, resultConstructor, registers[0], registers[1], registers[2], registers[3]);
     return newobj;
+}
+
+JNIEXPORT void JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_executeCPUIDNative__II_3II
+  (JNIEnv *env, jobject jobj, jint leaf, jint subleaf, jintArray dest, jint offset) {
+    int registers[4];
+    __cpuidex(registers, leaf, subleaf);
+
+    // Copy straight into the caller's array, no objects are created
+    (*env)->SetIntArrayRegion(env, dest, offset, 4, (jint *) registers);
+}
+
+JNIEXPORT void JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_executeCPUIDBatchNative
+  (JNIEnv *env, jobject jobj, jintArray leaves, jintArray subleaves, jintArray out) {
+    jsize count = (*env)->GetArrayLength(env, leaves);
+
+    // Pin the arrays for the whole batch, no other JNI calls may be made
+    // until they are released
+    jint *leafValues = (*env)->GetPrimitiveArrayCritical(env, leaves, NULL);
+    jint *subleafValues = (*env)->GetPrimitiveArrayCritical(env, subleaves, NULL);
+    jint *outValues = (*env)->GetPrimitiveArrayCritical(env, out, NULL);
+
+    if (leafValues != NULL && subleafValues != NULL && outValues != NULL) {
+        for (jsize i = 0; i < count; i++) {
+            __cpuidex((int *) &outValues[i * 4], leafValues[i], subleafValues[i]);
+        }
+    }
+
+    if (outValues != NULL) {
+        (*env)->ReleasePrimitiveArrayCritical(env, out, outValues, 0);
+    }
+    if (subleafValues != NULL) {
+        (*env)->ReleasePrimitiveArrayCritical(env, subleaves, subleafValues, JNI_ABORT);
+    }
+    if (leafValues != NULL) {
+        (*env)->ReleasePrimitiveArrayCritical(env, leaves, leafValues, JNI_ABORT);
+    }
+}
+
+// Upper bound on the number of leaves enumerated in a single range
+#define MAX_LEAVES_PER_RANGE 0x100
+
+// Upper bound on the number of sub-leaves enumerated for a single leaf
+#define MAX_SUBLEAVES 64
+
+// Number of ints in a record: leaf, sub-leaf, eax, ebx, ecx, edx
+#define RECORD_INTS 6
+
+// Records written by an enumeration
+typedef struct {
+    jint *records;
+    jint capacity;
+    jint count;
+} record_stream;
+
+// Executes CPUID without checking the maximum supported leaf
+static void execute_cpuid(unsigned int leaf, unsigned int subleaf, unsigned int *registers) {
+    __cpuidex((int *) registers, (int) leaf, (int) subleaf);
+}
+
+// Executes CPUID and appends the result to the stream if there is room left
+static void record(record_stream *stream, unsigned int leaf, unsigned int subleaf, unsigned int *registers) {
+    execute_cpuid(leaf, subleaf, registers);
+
+    if (stream->count < stream->capacity) {
+        jint *out = &stream->records[stream->count * RECORD_INTS];
+        out[0] = (jint) leaf;
+        out[1] = (jint) subleaf;
+        out[2] = (jint) registers[0];
+        out[3] = (jint) registers[1];
+        out[4] = (jint) registers[2];
+        out[5] = (jint) registers[3];
+    }
+
+    stream->count++;
+}
+
+static void record_leaf(record_stream *stream, unsigned int leaf) {
+    unsigned int registers[4];
+    unsigned int subleaf;
+    unsigned int max;
+    unsigned long long mask;
+
+    switch (leaf) {
+        // Cache leaves, terminated by a null cache type
+        case 0x4:
+        case 0x8000001D:
+            for (subleaf = 0; subleaf < MAX_SUBLEAVES; subleaf++) {
+                record(stream, leaf, subleaf, registers);
+                if ((registers[0] & 0x1F) == 0) {
+                    break;
+                }
+            }
+            break;
+
+        // Topology leaves, terminated by an invalid level type
+        case 0xB:
+        case 0x1F:
+        case 0x80000026:
+            for (subleaf = 0; subleaf < MAX_SUBLEAVES; subleaf++) {
+                record(stream, leaf, subleaf, registers);
+                if (((registers[2] >> 8) & 0xFF) == 0) {
+                    break;
+                }
+            }
+            break;
+
+        // Leaves reporting their maximum sub-leaf in EAX of sub-leaf 0
+        case 0x7:
+        case 0x14:
+        case 0x17:
+        case 0x18:
+        case 0x1D:
+        case 0x20:
+            record(stream, leaf, 0, registers);
+            max = registers[0];
+            if (max >= MAX_SUBLEAVES) {
+                max = MAX_SUBLEAVES - 1;
+            }
+            for (subleaf = 1; subleaf <= max; subleaf++) {
+                record(stream, leaf, subleaf, registers);
+            }
+            break;
+
+        // Extended state, sub-leaves are the supported XCR0 and XSS bits
+        case 0xD:
+            record(stream, leaf, 0, registers);
+            mask = registers[0] | ((unsigned long long) registers[3] << 32);
+            record(stream, leaf, 1, registers);
+            mask |= registers[2] | ((unsigned long long) registers[3] << 32);
+            for (subleaf = 2; subleaf < MAX_SUBLEAVES; subleaf++) {
+                if ((mask >> subleaf) & 1) {
+                    record(stream, leaf, subleaf, registers);
+                }
+            }
+            break;
+
+        default:
+            record(stream, leaf, 0, registers);
+            break;
+    }
+}
+
+static void record_range(record_stream *stream, unsigned int base) {
+    unsigned int registers[4];
+    unsigned int last;
+    unsigned int i;
+
+    record(stream, base, 0, registers);
+    if (registers[0] < base) {
+        return;
+    }
+
+    last = registers[0] - base;
+    if (last >= MAX_LEAVES_PER_RANGE) {
+        last = MAX_LEAVES_PER_RANGE - 1;
+    }
+
+    for (i = 1; i <= last; i++) {
+        record_leaf(stream, base + i);
+    }
+}
+
+JNIEXPORT jint JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_dumpCPUIDNative
+  (JNIEnv *env, jobject jobj, jobject buffer, jint capacity) {
+    record_stream stream;
+    stream.records = (jint *) (*env)->GetDirectBufferAddress(env, buffer);
+    stream.capacity = stream.records == NULL ? 0 : capacity;
+    stream.count = 0;
+
+    record_range(&stream, 0x0);
+    record_range(&stream, 0x80000000);
+
+    return stream.count;
+}
+
+JNIEXPORT jintArray JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_getThreadAffinityNative
+  (JNIEnv *env, jobject jobj) {
+    DWORD_PTR processMask;
+    DWORD_PTR systemMask;
+    if (!GetProcessAffinityMask(GetCurrentProcess(), &processMask, &systemMask)) {
+        return NULL;
+    }
+
+    jint elements[AFFINITY_MASK_CPUS];
+    jint count = 0;
+    jint cpu;
+    for (cpu = 0; cpu < (jint) AFFINITY_MASK_CPUS; cpu++) {
+        if ((processMask >> cpu) & 1) {
+            elements[count++] = cpu;
+        }
+    }
+
+    jintArray result = (*env)->NewIntArray(env, count);
+    if (result != NULL) {
+        (*env)->SetIntArrayRegion(env, result, 0, count, elements);
+    }
+    return result;
+}
+
+JNIEXPORT jboolean JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_setThreadAffinityNative
+  (JNIEnv *env, jobject jobj, jintArray cpus) {
+    jsize length = (*env)->GetArrayLength(env, cpus);
+    jint *elements = (*env)->GetIntArrayElements(env, cpus, NULL);
+    if (elements == NULL) {
+        return JNI_FALSE;
+    }
+
+    // CPUs outside the current processor group cannot be set in the mask
+    DWORD_PTR mask = 0;
+    jsize i;
+    for (i = 0; i < length; i++) {
+        if (elements[i] >= (jint) AFFINITY_MASK_CPUS) {
+            (*env)->ReleaseIntArrayElements(env, cpus, elements, JNI_ABORT);
+            return JNI_FALSE;
+        }
+        mask |= (DWORD_PTR) 1 << elements[i];
+    }
+    (*env)->ReleaseIntArrayElements(env, cpus, elements, JNI_ABORT);
+
+    return SetThreadAffinityMask(GetCurrentThread(), mask) != 0 ? JNI_TRUE : JNI_FALSE;
+}
+
+JNIEXPORT jint JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_getCurrentCpuNative
+  (JNIEnv *env, jobject jobj) {
+    // Windows reads the number with RDPID or RDTSCP where it can, and does
+    // not document what it stores in TSC_AUX, so ask it directly
+    return (jint) GetCurrentProcessorNumber();
+}
+
+JNIEXPORT jlong JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_readTSCNative
+  (JNIEnv *env, jobject jobj) {
+    return (jlong) __rdtsc();
+}
+
+JNIEXPORT jlong JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_readTSCPNative
+  (JNIEnv *env, jobject jobj) {
+    // The processor number written to TSC_AUX is not needed here
+    unsigned int aux;
+    return (jlong) __rdtscp(&aux);
 }
\ No newline at end of file
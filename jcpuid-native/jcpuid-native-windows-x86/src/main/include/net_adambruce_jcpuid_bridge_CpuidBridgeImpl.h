@@ -23,6 +23,70 @@ JNIEXPORT jobject JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_execu
 JNIEXPORT jobject JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_executeCPUIDNative__II
   (JNIEnv *, jobject, jint, jint);
 
+/*
+ * Class:     net_adambruce_jcpuid_bridge_CpuidBridgeImpl
+ * Method:    executeCPUIDNative
+ * Signature: (II[II)V
+ */
+JNIEXPORT void JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_executeCPUIDNative__II_3II
+  (JNIEnv *, jobject, jint, jint, jintArray, jint);
+
+/*
+ * Class:     net_adambruce_jcpuid_bridge_CpuidBridgeImpl
+ * Method:    executeCPUIDBatchNative
+ * Signature: ([I[I[I)V
+ */
+JNIEXPORT void JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_executeCPUIDBatchNative
+  (JNIEnv *, jobject, jintArray, jintArray, jintArray);
+
+/*
+ * Class:     net_adambruce_jcpuid_bridge_CpuidBridgeImpl
+ * Method:    dumpCPUIDNative
+ * Signature: (Ljava/nio/ByteBuffer;I)I
+ */
+JNIEXPORT jint JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_dumpCPUIDNative
+  (JNIEnv *, jobject, jobject, jint);
+
+/*
+ * Class:     net_adambruce_jcpuid_bridge_CpuidBridgeImpl
+ * Method:    getThreadAffinityNative
+ * Signature: ()[I
+ */
+JNIEXPORT jintArray JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_getThreadAffinityNative
+  (JNIEnv *, jobject);
+
+/*
+ * Class:     net_adambruce_jcpuid_bridge_CpuidBridgeImpl
+ * Method:    setThreadAffinityNative
+ * Signature: ([I)Z
+ */
+JNIEXPORT jboolean JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_setThreadAffinityNative
+  (JNIEnv *, jobject, jintArray);
+
+/*
+ * Class:     net_adambruce_jcpuid_bridge_CpuidBridgeImpl
+ * Method:    getCurrentCpuNative
+ * Signature: ()I
+ */
+JNIEXPORT jint JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_getCurrentCpuNative
+  (JNIEnv *, jobject);
+
+/*
+ * Class:     net_adambruce_jcpuid_bridge_CpuidBridgeImpl
+ * Method:    readTSCNative
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_readTSCNative
+  (JNIEnv *, jobject);
+
+/*
+ * Class:     net_adambruce_jcpuid_bridge_CpuidBridgeImpl
+ * Method:    readTSCPNative
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_net_adambruce_jcpuid_bridge_CpuidBridgeImpl_readTSCPNative
+  (JNIEnv *, jobject);
+
 #ifdef __cplusplus
 }
 #endif